@@ -0,0 +1,13 @@
+package com.microsoft.kiota;
+
+import java.util.Iterator;
+
+/**
+ * An iterator holding resources which are released once it has been exhausted or closed.
+ * @param <T> the type of the elements returned by the iterator.
+ */
+public interface CloseableIterator<T> extends Iterator<T>, AutoCloseable {
+    /** Releases the resources held by the iterator. */
+    @Override
+    void close();
+}
@@ -0,0 +1,18 @@
+package com.microsoft.kiota;
+
+import jakarta.annotation.Nonnull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/** Writes a request body to the transport when the request is sent, instead of buffering it when the request information is built. */
+@FunctionalInterface
+public interface DeferredRequestContent {
+    /**
+     * Writes the request body to the provided stream.
+     * This method may be called more than once for the same request, for instance when the request is retried, and must write the same content each time.
+     * @param outputStream the stream to write the request body to, it must not be closed by the implementation.
+     * @throws IOException when the request body could not be written.
+     */
+    void writeTo(@Nonnull final OutputStream outputStream) throws IOException;
+}
@@ -10,7 +10,9 @@ import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /** Service responsible for translating abstract Request Info into concrete native HTTP requests. */
 public interface RequestAdapter {
@@ -52,6 +54,43 @@ public interface RequestAdapter {
             @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
             @Nonnull final ParsableFactory<ModelType> factory);
 
+    /**
+     * Executes the HTTP request specified by the given RequestInformation and returns an iterator over the deserialized response model collection.
+     * Implementations can deserialize the models one at a time as the iterator advances, the response is released once the iterator is exhausted or closed.
+     * The default implementation iterates over the result of {@link #sendCollection(RequestInformation, HashMap, ParsableFactory)}.
+     * @param requestInfo the request info to execute.
+     * @param errorMappings the error factories mapping to use in case of a failed request.
+     * @param factory the factory to create the parsable object from the type discriminator.
+     * @param <ModelType> the type of the response model to deserialize the response into.
+     * @return an iterator over the deserialized response model collection.
+     */
+    @Nullable default <ModelType extends Parsable> CloseableIterator<ModelType> sendCollectionStream(
+            @Nonnull final RequestInformation requestInfo,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
+            @Nonnull final ParsableFactory<ModelType> factory) {
+        final List<ModelType> result = sendCollection(requestInfo, errorMappings, factory);
+        if (result == null) {
+            return null;
+        }
+        final Iterator<ModelType> iterator = result.iterator();
+        return new CloseableIterator<ModelType>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public ModelType next() {
+                return iterator.next();
+            }
+
+            @Override
+            public void close() {
+                // nothing to release, the collection is already in memory
+            }
+        };
+    }
+
     /**
      * Executes the HTTP request specified by the given RequestInformation and returns the deserialized primitive response model.
      * @param requestInfo the request info to execute.
@@ -104,6 +143,140 @@ public interface RequestAdapter {
             @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
             @Nonnull final ValuedEnumParser<ModelType> enumParser);
 
+    /**
+     * Executes the HTTP request specified by the given RequestInformation without blocking the calling thread and returns a future completing with the deserialized response model.
+     * The default implementation executes the request synchronously on the calling thread, implementations should override it to provide a non-blocking alternative.
+     * @param requestInfo the request info to execute.
+     * @param errorMappings the error factories mapping to use in case of a failed request.
+     * @param factory the factory to create the parsable object from the type discriminator.
+     * @param <ModelType> the type of the response model to deserialize the response into.
+     * @return a future completing with the deserialized response model.
+     */
+    @Nonnull default <ModelType extends Parsable> CompletableFuture<ModelType> sendAsync(
+            @Nonnull final RequestInformation requestInfo,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
+            @Nonnull final ParsableFactory<ModelType> factory) {
+        final CompletableFuture<ModelType> result = new CompletableFuture<>();
+        try {
+            result.complete(send(requestInfo, errorMappings, factory));
+        } catch (RuntimeException ex) {
+            result.completeExceptionally(ex);
+        }
+        return result;
+    }
+
+    /**
+     * Executes the HTTP request specified by the given RequestInformation without blocking the calling thread and returns a future completing with the deserialized response model collection.
+     * The default implementation executes the request synchronously on the calling thread, implementations should override it to provide a non-blocking alternative.
+     * @param requestInfo the request info to execute.
+     * @param errorMappings the error factories mapping to use in case of a failed request.
+     * @param factory the factory to create the parsable object from the type discriminator.
+     * @param <ModelType> the type of the response model to deserialize the response into.
+     * @return a future completing with the deserialized response model collection.
+     */
+    @Nonnull default <ModelType extends Parsable> CompletableFuture<List<ModelType>> sendCollectionAsync(
+            @Nonnull final RequestInformation requestInfo,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
+            @Nonnull final ParsableFactory<ModelType> factory) {
+        final CompletableFuture<List<ModelType>> result = new CompletableFuture<>();
+        try {
+            result.complete(sendCollection(requestInfo, errorMappings, factory));
+        } catch (RuntimeException ex) {
+            result.completeExceptionally(ex);
+        }
+        return result;
+    }
+
+    /**
+     * Executes the HTTP request specified by the given RequestInformation without blocking the calling thread and returns a future completing with the deserialized primitive response model.
+     * The default implementation executes the request synchronously on the calling thread, implementations should override it to provide a non-blocking alternative.
+     * @param requestInfo the request info to execute.
+     * @param errorMappings the error factories mapping to use in case of a failed request.
+     * @param targetClass the class of the response model to deserialize the response into.
+     * @param <ModelType> the type of the response model to deserialize the response into.
+     * @return a future completing with the deserialized primitive response model.
+     */
+    @Nonnull default <ModelType> CompletableFuture<ModelType> sendPrimitiveAsync(
+            @Nonnull final RequestInformation requestInfo,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
+            @Nonnull final Class<ModelType> targetClass) {
+        final CompletableFuture<ModelType> result = new CompletableFuture<>();
+        try {
+            result.complete(sendPrimitive(requestInfo, errorMappings, targetClass));
+        } catch (RuntimeException ex) {
+            result.completeExceptionally(ex);
+        }
+        return result;
+    }
+
+    /**
+     * Executes the HTTP request specified by the given RequestInformation without blocking the calling thread and returns a future completing with the deserialized primitive collection response model.
+     * The default implementation executes the request synchronously on the calling thread, implementations should override it to provide a non-blocking alternative.
+     * @param requestInfo the request info to execute.
+     * @param errorMappings the error factories mapping to use in case of a failed request.
+     * @param targetClass the class of the response model to deserialize the response into.
+     * @param <ModelType> the type of the response model to deserialize the response into.
+     * @return a future completing with the deserialized primitive collection response model.
+     */
+    @Nonnull default <ModelType> CompletableFuture<List<ModelType>> sendPrimitiveCollectionAsync(
+            @Nonnull final RequestInformation requestInfo,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
+            @Nonnull final Class<ModelType> targetClass) {
+        final CompletableFuture<List<ModelType>> result = new CompletableFuture<>();
+        try {
+            result.complete(sendPrimitiveCollection(requestInfo, errorMappings, targetClass));
+        } catch (RuntimeException ex) {
+            result.completeExceptionally(ex);
+        }
+        return result;
+    }
+
+    /**
+     * Executes the HTTP request specified by the given RequestInformation without blocking the calling thread and returns a future completing with the deserialized enum value.
+     * The default implementation executes the request synchronously on the calling thread, implementations should override it to provide a non-blocking alternative.
+     * @param requestInfo the request info to execute.
+     * @param errorMappings the error factories mapping to use in case of a failed request.
+     * @param enumParser a parser from string to enum instances.
+     * @param <ModelType> the type of the response model to deserialize the response into.
+     * @return a future completing with the deserialized enum value.
+     */
+    @Nonnull default <ModelType extends Enum<ModelType>> CompletableFuture<ModelType> sendEnumAsync(
+            @Nonnull final RequestInformation requestInfo,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
+            @Nonnull final ValuedEnumParser<ModelType> enumParser) {
+        final CompletableFuture<ModelType> result = new CompletableFuture<>();
+        try {
+            result.complete(sendEnum(requestInfo, errorMappings, enumParser));
+        } catch (RuntimeException ex) {
+            result.completeExceptionally(ex);
+        }
+        return result;
+    }
+
+    /**
+     * Executes the HTTP request specified by the given RequestInformation without blocking the calling thread and returns a future completing with the deserialized enum collection value.
+     * The default implementation executes the request synchronously on the calling thread, implementations should override it to provide a non-blocking alternative.
+     * @param requestInfo the request info to execute.
+     * @param errorMappings the error factories mapping to use in case of a failed request.
+     * @param enumParser a parser from string to enum instances.
+     * @param <ModelType> the type of the response model to deserialize the response into.
+     * @return a future completing with the deserialized enum collection value.
+     */
+    @Nonnull default <ModelType extends Enum<ModelType>>
+            CompletableFuture<List<ModelType>> sendEnumCollectionAsync(
+                    @Nonnull final RequestInformation requestInfo,
+                    @Nullable final HashMap<String, ParsableFactory<? extends Parsable>>
+                                    errorMappings,
+                    @Nonnull final ValuedEnumParser<ModelType> enumParser) {
+        final CompletableFuture<List<ModelType>> result = new CompletableFuture<>();
+        try {
+            result.complete(sendEnumCollection(requestInfo, errorMappings, enumParser));
+        } catch (RuntimeException ex) {
+            result.completeExceptionally(ex);
+        }
+        return result;
+    }
+
     /**
      * Sets The base url for every request.
      * @param baseUrl The base url for every request.
@@ -116,6 +289,14 @@ public interface RequestAdapter {
      */
     @Nonnull String getBaseUrl();
 
+    /**
+     * Gets whether request bodies set from models are serialized directly into the transport when the request is sent, instead of being buffered when the request information is built.
+     * @return true if model request bodies are serialized when the request is sent.
+     */
+    default boolean isRequestContentStreamingEnabled() {
+        return false;
+    }
+
     /**
      * Converts the given RequestInformation into a native HTTP request.
      * @param <T> the type of the native HTTP request.
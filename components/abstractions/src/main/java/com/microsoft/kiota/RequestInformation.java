@@ -2,6 +2,7 @@ package com.microsoft.kiota;
 
 import com.microsoft.kiota.serialization.Parsable;
 import com.microsoft.kiota.serialization.SerializationWriter;
+import com.microsoft.kiota.serialization.SerializationWriterFactory;
 import com.microsoft.kiota.serialization.ValuedEnum;
 
 import io.github.stduritemplate.StdUriTemplate;
@@ -29,6 +30,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /** This class represents an abstract HTTP request. */
 public class RequestInformation {
@@ -199,6 +201,16 @@ public class RequestInformation {
     /** The Request Body. */
     @Nullable public InputStream content;
 
+    @Nullable private DeferredRequestContent deferredContent;
+
+    /**
+     * Gets the request body to write when the request is sent, if it is not buffered in {@link #content}.
+     * @return the deferred request body, or null if the request body is buffered or empty.
+     */
+    @Nullable public DeferredRequestContent getDeferredContent() {
+        return deferredContent;
+    }
+
     @Nonnull private final HashMap<String, RequestOption> requestOptions = new HashMap<>();
 
     /**
@@ -268,6 +280,24 @@ public class RequestInformation {
             throw new IllegalArgumentException("contentType cannot be empty");
         }
         this.content = value;
+        this.deferredContent = null;
+        headers.tryAdd(CONTENT_TYPE_HEADER, contentType);
+    }
+
+    /**
+     * Sets the request body to be written to the transport when the request is sent.
+     * @param value the writer for the request body.
+     * @param contentType the content type of the request body.
+     */
+    public void setDeferredContent(
+            @Nonnull final DeferredRequestContent value, @Nonnull final String contentType) {
+        Objects.requireNonNull(value);
+        Objects.requireNonNull(contentType);
+        if (contentType.isEmpty()) {
+            throw new IllegalArgumentException("contentType cannot be empty");
+        }
+        this.content = null;
+        this.deferredContent = value;
         headers.tryAdd(CONTENT_TYPE_HEADER, contentType);
     }
 
@@ -291,6 +321,19 @@ public class RequestInformation {
                         .spanBuilder(SPAN_NAME)
                         .startSpan();
         try (final Scope scope = span.makeCurrent()) {
+            if (Objects.requireNonNull(requestAdapter).isRequestContentStreamingEnabled()) {
+                Objects.requireNonNull(values);
+                setDeferredContent(
+                        requestAdapter,
+                        contentType,
+                        contentType,
+                        writer ->
+                                writer.writeCollectionOfObjectValues(null, Arrays.asList(values)));
+                if (values.length > 0) {
+                    setRequestType(values[0], span);
+                }
+                return;
+            }
             try (final SerializationWriter writer =
                     getSerializationWriter(requestAdapter, contentType, values)) {
                 headers.tryAdd(CONTENT_TYPE_HEADER, contentType);
@@ -299,6 +342,7 @@ public class RequestInformation {
                 }
                 writer.writeCollectionOfObjectValues(null, Arrays.asList(values));
                 this.content = writer.getSerializedContent();
+                this.deferredContent = null;
             } catch (IOException ex) {
                 final RuntimeException result = new RuntimeException(SERIALIZE_ERROR, ex);
                 span.recordException(result);
@@ -325,6 +369,23 @@ public class RequestInformation {
                         .spanBuilder(SPAN_NAME)
                         .startSpan();
         try (final Scope scope = span.makeCurrent()) {
+            if (Objects.requireNonNull(requestAdapter).isRequestContentStreamingEnabled()) {
+                Objects.requireNonNull(value);
+                Objects.requireNonNull(contentType);
+                String effectiveContentType = contentType;
+                if (value instanceof MultipartBody) {
+                    final MultipartBody multipartBody = (MultipartBody) value;
+                    effectiveContentType += "; boundary=" + multipartBody.getBoundary();
+                    multipartBody.requestAdapter = requestAdapter;
+                }
+                setDeferredContent(
+                        requestAdapter,
+                        contentType,
+                        effectiveContentType,
+                        writer -> writer.writeObjectValue(null, value));
+                setRequestType(value, span);
+                return;
+            }
             try (final SerializationWriter writer =
                     getSerializationWriter(requestAdapter, contentType, value)) {
                 String effectiveContentType = contentType;
@@ -337,6 +398,7 @@ public class RequestInformation {
                 setRequestType(value, span);
                 writer.writeObjectValue(null, value);
                 this.content = writer.getSerializedContent();
+                this.deferredContent = null;
             } catch (IOException ex) {
                 final RuntimeException result = new RuntimeException(SERIALIZE_ERROR, ex);
                 span.recordException(result);
@@ -347,6 +409,39 @@ public class RequestInformation {
         }
     }
 
+    private void setDeferredContent(
+            @Nonnull final RequestAdapter requestAdapter,
+            @Nonnull final String contentType,
+            @Nonnull final String effectiveContentType,
+            @Nonnull final Consumer<SerializationWriter> serializer) {
+        setDeferredContent(
+                outputStream -> {
+                    final SerializationWriterFactory factory =
+                            requestAdapter.getSerializationWriterFactory();
+                    final SerializationWriter streamingWriter =
+                            factory.getSerializationWriter(contentType, outputStream);
+                    if (streamingWriter != null) {
+                        try (final SerializationWriter writer = streamingWriter) {
+                            serializer.accept(writer);
+                        }
+                        return;
+                    }
+                    // the factory can only buffer, copy the serialized content to the transport
+                    try (final SerializationWriter writer =
+                            factory.getSerializationWriter(contentType)) {
+                        serializer.accept(writer);
+                        try (final InputStream serializedContent = writer.getSerializedContent()) {
+                            final byte[] buffer = new byte[8192];
+                            int read;
+                            while ((read = serializedContent.read(buffer)) != -1) {
+                                outputStream.write(buffer, 0, read);
+                            }
+                        }
+                    }
+                },
+                effectiveContentType);
+    }
+
     private void setRequestType(final Object result, final Span span) {
         if (result == null) return;
         if (span == null) return;
@@ -415,6 +510,7 @@ public class RequestInformation {
                     throw result;
                 }
                 this.content = writer.getSerializedContent();
+                this.deferredContent = null;
             } catch (IOException ex) {
                 final RuntimeException result = new RuntimeException(SERIALIZE_ERROR, ex);
                 span.recordException(result);
@@ -447,6 +543,7 @@ public class RequestInformation {
                 if (values.length > 0) setRequestType(values[0], span);
                 writer.writeCollectionOfPrimitiveValues(null, Arrays.asList(values));
                 this.content = writer.getSerializedContent();
+                this.deferredContent = null;
             } catch (IOException ex) {
                 final RuntimeException result = new RuntimeException(SERIALIZE_ERROR, ex);
                 span.recordException(result);
@@ -0,0 +1,100 @@
+package com.microsoft.kiota.serialization;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Dispatches parse nodes to the field deserializers of a model instance.
+ * Model types can register deserializers which do not capture the instance, they are then built once per type instead of once per deserialized object.
+ * Other types fall back to the deserializers returned by {@link Parsable#getFieldDeserializers()}.
+ * @param <T> the type of the model.
+ */
+public final class FieldDeserializerDispatch<T extends Parsable> {
+    private static final ConcurrentHashMap<Class<?>, FieldDeserializerDispatch<?>> registered =
+            new ConcurrentHashMap<>();
+
+    @Nullable private final Map<String, BiConsumer<? super T, ParseNode>> typedDeserializers;
+    @Nullable private final Map<String, Consumer<ParseNode>> instanceDeserializers;
+
+    private FieldDeserializerDispatch(
+            @Nullable final Map<String, BiConsumer<? super T, ParseNode>> typedDeserializers,
+            @Nullable final Map<String, Consumer<ParseNode>> instanceDeserializers) {
+        this.typedDeserializers = typedDeserializers;
+        this.instanceDeserializers = instanceDeserializers;
+    }
+
+    /**
+     * Registers the field deserializers of a model type, models typically call this from a static initializer.
+     * The deserializers are only used for instances of exactly this type, derived types need to register their own.
+     * @param type the type of the model.
+     * @param fieldDeserializers the deserializers for each property key of the model.
+     * @param <T> the type of the model.
+     */
+    public static <T extends Parsable> void register(
+            @Nonnull final Class<T> type,
+            @Nonnull final Map<String, BiConsumer<? super T, ParseNode>> fieldDeserializers) {
+        Objects.requireNonNull(type, "parameter type cannot be null");
+        Objects.requireNonNull(fieldDeserializers, "parameter fieldDeserializers cannot be null");
+        registered.put(
+                type,
+                new FieldDeserializerDispatch<T>(
+                        Collections.unmodifiableMap(new HashMap<>(fieldDeserializers)), null));
+    }
+
+    /**
+     * Gets the dispatch for the given model instance.
+     * @param item the model instance to deserialize.
+     * @param <T> the type of the model.
+     * @return the dispatch registered for the type of the model, or one wrapping the deserializers of the instance.
+     */
+    @SuppressWarnings("unchecked")
+    @Nonnull public static <T extends Parsable> FieldDeserializerDispatch<T> of(@Nonnull final T item) {
+        Objects.requireNonNull(item, "parameter item cannot be null");
+        final FieldDeserializerDispatch<?> result = registered.get(item.getClass());
+        if (result != null) {
+            return (FieldDeserializerDispatch<T>) result;
+        }
+        return new FieldDeserializerDispatch<T>(null, item.getFieldDeserializers());
+    }
+
+    /**
+     * Gets whether a deserializer is available for the given property key.
+     * @param fieldName the property key.
+     * @return true if the property can be assigned through {@link #deserialize(Parsable, String, ParseNode)}.
+     */
+    public boolean canDeserialize(@Nonnull final String fieldName) {
+        if (typedDeserializers != null) {
+            return typedDeserializers.containsKey(fieldName);
+        }
+        return instanceDeserializers != null && instanceDeserializers.containsKey(fieldName);
+    }
+
+    /**
+     * Assigns the property of the model from the parse node, if a deserializer is available for it.
+     * @param item the model instance to deserialize.
+     * @param fieldName the property key.
+     * @param node the parse node holding the value of the property.
+     */
+    public void deserialize(
+            @Nonnull final T item, @Nonnull final String fieldName, @Nonnull final ParseNode node) {
+        if (typedDeserializers != null) {
+            final BiConsumer<? super T, ParseNode> deserializer = typedDeserializers.get(fieldName);
+            if (deserializer != null) {
+                deserializer.accept(item, node);
+            }
+        } else if (instanceDeserializers != null) {
+            final Consumer<ParseNode> deserializer = instanceDeserializers.get(fieldName);
+            if (deserializer != null) {
+                deserializer.accept(node);
+            }
+        }
+    }
+}
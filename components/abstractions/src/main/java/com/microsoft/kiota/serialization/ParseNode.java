@@ -10,6 +10,7 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.util.EnumSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.UUID;
 import java.util.function.Consumer;
@@ -142,6 +143,19 @@ public interface ParseNode {
     @Nullable <T extends Parsable> List<T> getCollectionOfObjectValues(
             @Nonnull final ParsableFactory<T> factory);
 
+    /**
+     * Gets an iterator over the collection of object values of the node.
+     * Implementations reading from a stream can create the model objects as the iterator advances, the default implementation iterates over {@link #getCollectionOfObjectValues(ParsableFactory)}.
+     * @param factory the factory to use to create the model object.
+     * @return an iterator over the collection of object values of the node.
+     * @param <T> the type of the model object.
+     */
+    @Nullable default <T extends Parsable> Iterator<T> iterateCollectionOfObjectValues(
+            @Nonnull final ParsableFactory<T> factory) {
+        final List<T> result = getCollectionOfObjectValues(factory);
+        return result == null ? null : result.iterator();
+    }
+
     /**
      * Gets the collection of Enum values of the node.
      * @return the collection of Enum values of the node.
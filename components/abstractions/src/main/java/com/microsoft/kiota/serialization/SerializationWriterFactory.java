@@ -1,6 +1,9 @@
 package com.microsoft.kiota.serialization;
 
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.io.OutputStream;
 
 /** Defines the contract for a factory that creates SerializationWriter instances. */
 public interface SerializationWriterFactory {
@@ -16,4 +19,16 @@ public interface SerializationWriterFactory {
      * @return a new SerializationWriter instance for the given content type.
      */
     @Nonnull SerializationWriter getSerializationWriter(@Nonnull final String contentType);
+
+    /**
+     * Creates a new SerializationWriter instance for the given content type that writes directly to the provided stream instead of buffering the serialized content.
+     * The writer does not close the stream, and {@link SerializationWriter#getSerializedContent()} is not supported on such writers.
+     * @param contentType the content type to create a serialization writer for.
+     * @param outputStream the stream the serialized content is written to.
+     * @return a new SerializationWriter instance for the given content type, or null if this factory does not support writing to a stream.
+     */
+    @Nullable default SerializationWriter getSerializationWriter(
+            @Nonnull final String contentType, @Nonnull final OutputStream outputStream) {
+        return null;
+    }
 }
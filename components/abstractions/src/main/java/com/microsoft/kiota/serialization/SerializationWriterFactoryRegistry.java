@@ -5,6 +5,7 @@ import com.microsoft.kiota.store.BackingStoreSerializationWriterProxyFactory;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 
+import java.io.OutputStream;
 import java.util.HashMap;
 import java.util.Objects;
 import java.util.regex.Pattern;
@@ -55,15 +56,7 @@ public class SerializationWriterFactoryRegistry implements SerializationWriterFa
         SerializationWriterFactory factory = getSerializationWriterFactory(cleanedContentType);
         if (factory == null) {
             cleanedContentType = getCleanedVendorSpecificContentType(cleanedContentType);
-            factory =
-                    getSerializationWriterFactory(
-                            getCleanedVendorSpecificContentType(cleanedContentType));
-            if (factory == null) {
-                throw new RuntimeException(
-                        "Content type "
-                                + contentType
-                                + " does not have a factory to be serialized");
-            }
+            factory = getRequiredSerializationWriterFactory(contentType, cleanedContentType);
         }
         if (!serializeOnlyChangedValues) {
             if (factory instanceof BackingStoreSerializationWriterProxyFactory) {
@@ -74,6 +67,34 @@ public class SerializationWriterFactoryRegistry implements SerializationWriterFa
         return factory.getSerializationWriter(cleanedContentType);
     }
 
+    @Override
+    @Nullable public SerializationWriter getSerializationWriter(
+            @Nonnull final String contentType, @Nonnull final OutputStream outputStream) {
+        Objects.requireNonNull(contentType, "parameter contentType cannot be null");
+        Objects.requireNonNull(outputStream, "parameter outputStream cannot be null");
+        if (contentType.isEmpty()) {
+            throw new NullPointerException("contentType cannot be empty");
+        }
+        String cleanedContentType = getVendorSpecificContentType(contentType);
+        SerializationWriterFactory factory = getSerializationWriterFactory(cleanedContentType);
+        if (factory == null) {
+            cleanedContentType = getCleanedVendorSpecificContentType(cleanedContentType);
+            factory = getRequiredSerializationWriterFactory(contentType, cleanedContentType);
+        }
+        return factory.getSerializationWriter(cleanedContentType, outputStream);
+    }
+
+    @Nonnull private SerializationWriterFactory getRequiredSerializationWriterFactory(
+            @Nonnull final String contentType, @Nonnull final String cleanedContentType) {
+        final SerializationWriterFactory factory =
+                getSerializationWriterFactory(cleanedContentType);
+        if (factory == null) {
+            throw new RuntimeException(
+                    "Content type " + contentType + " does not have a factory to be serialized");
+        }
+        return factory;
+    }
+
     /**
      * Gets a SerializationWriterFactory that is mapped to a cleaned content type string
      * @param contentType wrapper object carrying initial content type and result of parsing it
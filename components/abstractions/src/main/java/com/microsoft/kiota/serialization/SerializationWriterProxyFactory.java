@@ -3,6 +3,7 @@ package com.microsoft.kiota.serialization;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 
+import java.io.OutputStream;
 import java.util.Objects;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
@@ -37,7 +38,17 @@ public abstract class SerializationWriterProxyFactory implements SerializationWr
     }
 
     @Nonnull public SerializationWriter getSerializationWriter(@Nonnull final String contentType) {
-        final SerializationWriter writer = proxiedFactory.getSerializationWriter(contentType);
+        return addCallbacks(proxiedFactory.getSerializationWriter(contentType));
+    }
+
+    @Nullable public SerializationWriter getSerializationWriter(
+            @Nonnull final String contentType, @Nonnull final OutputStream outputStream) {
+        final SerializationWriter writer =
+                proxiedFactory.getSerializationWriter(contentType, outputStream);
+        return writer == null ? null : addCallbacks(writer);
+    }
+
+    @Nonnull private SerializationWriter addCallbacks(@Nonnull final SerializationWriter writer) {
         final Consumer<Parsable> originalBefore = writer.getOnBeforeObjectSerialization();
         final Consumer<Parsable> originalAfter = writer.getOnAfterObjectSerialization();
         final BiConsumer<Parsable, SerializationWriter> originalStart =
@@ -0,0 +1,39 @@
+package com.microsoft.kiota.serialization;
+
+import jakarta.annotation.Nonnull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Objects;
+
+/**
+ * The serialized content returned by the serialization writers, held in memory.
+ * Request adapters can write the remaining content straight from the buffer, without copying it and without moving the position or the mark of the stream.
+ */
+public class SerializedContentStream extends ByteArrayInputStream {
+    /**
+     * Creates a new stream over the given buffer, which is not copied.
+     * @param content the serialized content.
+     */
+    public SerializedContentStream(@Nonnull final byte[] content) {
+        super(Objects.requireNonNull(content, "parameter content cannot be null"));
+    }
+
+    /**
+     * Writes the content remaining from the current position to the given stream, leaving the position unchanged.
+     * @param output the stream to write to.
+     * @throws IOException when the content cannot be written.
+     */
+    public void writeRemainingTo(@Nonnull final OutputStream output) throws IOException {
+        Objects.requireNonNull(output, "parameter output cannot be null");
+        final int start;
+        final int end;
+        synchronized (this) {
+            // the position and count are guarded by the stream itself, the buffer never changes
+            start = this.pos;
+            end = this.count;
+        }
+        output.write(this.buf, start, end - start);
+    }
+}
@@ -5,7 +5,9 @@ import com.microsoft.kiota.TriConsumer;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * Stores model information in a different location than the object properties. Implementations can provide dirty tracking capabilities, caching capabilities or integration with 3rd party stores.
@@ -28,6 +30,73 @@ public interface BackingStore {
      */
     <T> void set(@Nonnull final String key, @Nullable final T value);
 
+    /**
+     * Sets or updates the stored values for the given keys as a single batch.
+     * Subscriptions callbacks are called once per changed key after all the values are set.
+     * @param values The values to be stored, by key.
+     */
+    default void setAll(@Nonnull final Map<String, ?> values) {
+        Objects.requireNonNull(values);
+        beginBatch();
+        try {
+            for (final Map.Entry<String, ?> entry : values.entrySet()) {
+                set(entry.getKey(), entry.getValue());
+            }
+        } finally {
+            endBatch();
+        }
+    }
+
+    /**
+     * Starts a batch of changes. Until the batch ends, subscriptions callbacks are deferred, after which they are called once per changed key.
+     * Batches can be nested, callbacks are called when the outermost batch ends. Implementations which do not support batches call the callbacks immediately.
+     */
+    default void beginBatch() {
+        // callbacks are called immediately
+    }
+
+    /**
+     * Ends a batch of changes started with {@link #beginBatch()}, calling the deferred subscriptions callbacks.
+     */
+    default void endBatch() {
+        // callbacks were called immediately
+    }
+
+    /**
+     * Takes an immutable snapshot of the values stored in the backing store, regardless of "ReturnOnlyChangedValues".
+     * @return The snapshot.
+     */
+    @Nonnull BackingStoreSnapshot snapshot();
+
+    /**
+     * Computes the changes between two snapshots of a backing store, such as the properties to send in a PATCH request.
+     * Values are compared with {@link Object#equals(Object)}.
+     * @param from The older snapshot.
+     * @param to The newer snapshot.
+     * @return The values of the newer snapshot which are different or were added, and null for the keys which were removed.
+     */
+    @Nonnull static Map<String, Object> diff(
+            @Nonnull final BackingStoreSnapshot from, @Nonnull final BackingStoreSnapshot to) {
+        Objects.requireNonNull(from);
+        Objects.requireNonNull(to);
+        final Map<String, Object> fromValues = from.getValues();
+        final Map<String, Object> toValues = to.getValues();
+        final Map<String, Object> result = new HashMap<>();
+        for (final Map.Entry<String, Object> entry : toValues.entrySet()) {
+            final Object previous = fromValues.get(entry.getKey());
+            if ((previous == null && !fromValues.containsKey(entry.getKey()))
+                    || !Objects.equals(previous, entry.getValue())) {
+                result.put(entry.getKey(), entry.getValue());
+            }
+        }
+        for (final String key : fromValues.keySet()) {
+            if (!toValues.containsKey(key)) {
+                result.put(key, null);
+            }
+        }
+        return result;
+    }
+
     /**
      * Enumerates all the values stored in the backing store. Values will be filtered if "ReturnOnlyChangedValues" is true.
      * @return The values available in the backing store.
@@ -28,9 +28,20 @@ public class BackingStoreParseNodeFactory extends ParseNodeProxyFactory {
                         final BackedModel backedModel = (BackedModel) x;
                         final BackingStore backingStore = backedModel.getBackingStore();
                         if (backingStore != null) {
-                            backingStore.setIsInitializationCompleted(true);
+                            completeInitialization(backingStore);
                         }
                     }
                 });
     }
+
+    private static void completeInitialization(@Nonnull final BackingStore backingStore) {
+        // the nested models were completed when they were parsed, the known stores skip them
+        if (backingStore instanceof InMemoryBackingStore) {
+            ((InMemoryBackingStore) backingStore).completeDeserialization();
+        } else if (backingStore instanceof SlotBackingStore) {
+            ((SlotBackingStore) backingStore).completeDeserialization();
+        } else {
+            backingStore.setIsInitializationCompleted(true);
+        }
+    }
 }
@@ -0,0 +1,25 @@
+package com.microsoft.kiota.store;
+
+import jakarta.annotation.Nonnull;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable view of the values of a backing store at the time the snapshot was taken, which can be read from any thread.
+ * The snapshot holds the same objects as the store: replacing a value in the store after the snapshot was taken does not change the snapshot,
+ * but changes made inside a collection or a nested model held by both are visible through the snapshot.
+ */
+public interface BackingStoreSnapshot {
+    /**
+     * Gets the values held by the backing store when the snapshot was taken, whether they changed or not.
+     * @return The values by key.
+     */
+    @Nonnull Map<String, Object> getValues();
+
+    /**
+     * Gets the keys of the values which had changed since the initialization of the backing store was completed when the snapshot was taken.
+     * @return The keys of the changed values.
+     */
+    @Nonnull Set<String> getChangedKeys();
+}
@@ -0,0 +1,201 @@
+package com.microsoft.kiota.store;
+
+import com.microsoft.kiota.TriConsumer;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The subscriptions of a backing store, kept in an array replaced on every change so notifying them does not allocate and callbacks can subscribe and unsubscribe while being notified.
+ * While a batch is open, notifications are deferred and coalesced: subscribers are notified once per changed key when the batch ends, and the propagations to parent models once in total.
+ */
+final class BackingStoreSubscriptions {
+    private static final Subscription[] EMPTY = new Subscription[0];
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile Subscription[] subscriptions = EMPTY;
+    // read without the lock so changes outside of batches do not take it
+    private final AtomicInteger batchDepth = new AtomicInteger();
+    // the old and new values of the keys changed during the batch, in the order they changed
+    @Nullable private Map<String, Object[]> pendingChanges;
+
+    /**
+     * Adds or replaces a subscription
+     * @param subscriptionId the id of the subscription
+     * @param callback the callback to notify
+     */
+    void subscribe(
+            @Nonnull final String subscriptionId,
+            @Nonnull final TriConsumer<String, Object, Object> callback) {
+        Objects.requireNonNull(callback);
+        Objects.requireNonNull(subscriptionId);
+        lock.lock();
+        try {
+            final Subscription[] current = subscriptions;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i].id.equals(subscriptionId)) {
+                    final Subscription[] updated = current.clone();
+                    updated[i] = new Subscription(subscriptionId, callback);
+                    subscriptions = updated;
+                    return;
+                }
+            }
+            final Subscription[] updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = new Subscription(subscriptionId, callback);
+            subscriptions = updated;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes a subscription
+     * @param subscriptionId the id of the subscription
+     */
+    void unsubscribe(@Nonnull final String subscriptionId) {
+        Objects.requireNonNull(subscriptionId);
+        lock.lock();
+        try {
+            final Subscription[] current = subscriptions;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i].id.equals(subscriptionId)) {
+                    final Subscription[] updated = new Subscription[current.length - 1];
+                    System.arraycopy(current, 0, updated, 0, i);
+                    System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                    subscriptions = updated;
+                    return;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Notifies the subscribers of a change, or defers the notification until the batch ends
+     * @param key the key of the value which changed
+     * @param oldValue the previous value
+     * @param newValue the new value
+     */
+    void notify(
+            @Nonnull final String key,
+            @Nullable final Object oldValue,
+            @Nullable final Object newValue) {
+        final Subscription[] current = subscriptions;
+        if (current.length == 0) {
+            return;
+        }
+        if (batchDepth.get() > 0 && defer(key, oldValue, newValue)) {
+            return;
+        }
+        for (final Subscription subscription : current) {
+            subscription.callback.accept(key, oldValue, newValue);
+        }
+    }
+
+    private boolean defer(
+            @Nonnull final String key,
+            @Nullable final Object oldValue,
+            @Nullable final Object newValue) {
+        lock.lock();
+        try {
+            // the batch may have ended since the depth was read
+            if (batchDepth.get() == 0) {
+                return false;
+            }
+            if (pendingChanges == null) {
+                pendingChanges = new LinkedHashMap<>();
+            }
+            final Object[] change = pendingChanges.get(key);
+            if (change == null) {
+                pendingChanges.put(key, new Object[] {oldValue, newValue});
+            } else {
+                change[1] = newValue;
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Opens a batch, batches can be nested */
+    void beginBatch() {
+        batchDepth.incrementAndGet();
+    }
+
+    /** Closes a batch, notifying the subscribers of the deferred changes when the outermost batch ends */
+    void endBatch() {
+        final Map<String, Object[]> changes;
+        lock.lock();
+        try {
+            if (batchDepth.get() == 0) {
+                throw new IllegalStateException("No batch is in progress");
+            }
+            if (batchDepth.decrementAndGet() > 0 || pendingChanges == null) {
+                return;
+            }
+            changes = pendingChanges;
+            pendingChanges = null;
+        } finally {
+            lock.unlock();
+        }
+        String lastKey = null;
+        Object[] lastChange = null;
+        final Subscription[] current = subscriptions;
+        for (final Map.Entry<String, Object[]> change : changes.entrySet()) {
+            lastKey = change.getKey();
+            lastChange = change.getValue();
+            for (final Subscription subscription : current) {
+                if (!(subscription.callback instanceof Propagation)) {
+                    subscription.callback.accept(lastKey, lastChange[0], lastChange[1]);
+                }
+            }
+        }
+        if (lastKey != null) {
+            for (final Subscription subscription : current) {
+                if (subscription.callback instanceof Propagation) {
+                    subscription.callback.accept(lastKey, lastChange[0], lastChange[1]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Wraps the callback a parent store registers on the store of a nested model to mark itself as changed.
+     * The callback ignores which value changed, so it is only called once per batch.
+     */
+    static final class Propagation implements TriConsumer<String, Object, Object> {
+        private final Runnable action;
+
+        Propagation(@Nonnull final Runnable action) {
+            this.action = action;
+        }
+
+        @Override
+        public void accept(
+                @Nullable final String key,
+                @Nullable final Object oldValue,
+                @Nullable final Object newValue) {
+            action.run();
+        }
+    }
+
+    private static final class Subscription {
+        private final String id;
+        private final TriConsumer<String, Object, Object> callback;
+
+        Subscription(
+                @Nonnull final String id,
+                @Nonnull final TriConsumer<String, Object, Object> callback) {
+            this.id = id;
+            this.callback = callback;
+        }
+    }
+}
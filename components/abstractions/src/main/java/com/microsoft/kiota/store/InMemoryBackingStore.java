@@ -7,14 +7,20 @@ import jakarta.annotation.Nullable;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
-/** In-memory implementation of the backing store. Allows for dirty tracking of changes. */
+/**
+ * In-memory implementation of the backing store. Allows for dirty tracking of changes.
+ * Values are kept in an immutable map replaced on every change, so the store is read and written from any thread without locking and snapshots are taken in constant time.
+ */
 public class InMemoryBackingStore implements BackingStore {
     /** Creates a new instance of the backing store. */
     public InMemoryBackingStore() {
@@ -47,19 +53,41 @@ public class InMemoryBackingStore implements BackingStore {
         }
     }
 
-    private boolean isInitializationCompleted = true;
-    private boolean returnOnlyChangedValues;
-    private final Map<String, Pair<Boolean, Object>> store = new ConcurrentHashMap<>();
-    private final Map<String, TriConsumer<String, Object, Object>> subscriptionStore =
-            new ConcurrentHashMap<>();
+    /** The values of the store and whether its initialization is completed, which change together */
+    private static final class State {
+        private static final State INITIAL = new State(PersistentStringMap.empty(), true);
+
+        private final PersistentStringMap<Pair<Boolean, Object>> values;
+        private final boolean isInitializationCompleted;
+
+        State(
+                @Nonnull final PersistentStringMap<Pair<Boolean, Object>> values,
+                final boolean isInitializationCompleted) {
+            this.values = values;
+            this.isInitializationCompleted = isInitializationCompleted;
+        }
+    }
+
+    private volatile boolean returnOnlyChangedValues;
+    // replaced on every change, the maps share their unchanged branches so snapshots are free;
+    // values set while the initialization flag changes get the dirty flag matching it
+    private final AtomicReference<State> state = new AtomicReference<>(State.INITIAL);
+    private final BackingStoreSubscriptions subscriptions = new BackingStoreSubscriptions();
 
     public void setIsInitializationCompleted(final boolean value) {
-        this.isInitializationCompleted = value;
         ensureCollectionPropertiesAreConsistent();
-        for (final Map.Entry<String, Pair<Boolean, Object>> entry : this.store.entrySet()) {
+        final State updated =
+                this.state.updateAndGet(
+                        current ->
+                                new State(
+                                        current.values.replaceAll(
+                                                (key, wrapper) ->
+                                                        wrapper.getValue0() == value
+                                                                ? wrapper.setValue0(!value)
+                                                                : wrapper),
+                                        value));
+        for (final Map.Entry<String, Pair<Boolean, Object>> entry : updated.values.entries()) {
             final Pair<Boolean, Object> wrapper = entry.getValue();
-            final Pair<Boolean, Object> updatedValue = new Pair<>(!value, wrapper.getValue1());
-            entry.setValue(updatedValue);
 
             if (wrapper.getValue1() instanceof BackedModel) {
                 BackedModel backedModel = (BackedModel) wrapper.getValue1();
@@ -69,34 +97,43 @@ public class InMemoryBackingStore implements BackingStore {
             }
             if (isCollectionValue(wrapper)) {
                 final Pair<?, Integer> collectionTuple = (Pair<?, Integer>) wrapper.getValue1();
-                Object[] items = getObjectArrayFromCollectionWrapper(collectionTuple);
-                final boolean isCollection = collectionTuple.getValue0() instanceof Collection;
-
-                // No need to iterate over collection if first item is not BackedModel
-                if ((isCollection && items.length != 0 && items[0] instanceof BackedModel)
-                        || !isCollection) {
-                    for (final Object item : items) {
-                        if (item instanceof BackedModel) {
-                            BackedModel backedModel = (BackedModel) item;
-                            backedModel
-                                    .getBackingStore()
-                                    .setIsInitializationCompleted(
-                                            value); // propagate initialization
-                        }
+                for (final Object item : getNestedModelCandidates(collectionTuple.getValue0())) {
+                    if (item instanceof BackedModel) {
+                        BackedModel backedModel = (BackedModel) item;
+                        backedModel
+                                .getBackingStore()
+                                .setIsInitializationCompleted(value); // propagate initialization
                     }
                 }
             }
         }
     }
 
+    /**
+     * Completes the initialization of a store populated by a parse node, whose nested models completed their own initialization when they were parsed.
+     * Unlike setIsInitializationCompleted, the nested models are not visited, so completing a whole graph is linear in its size.
+     */
+    void completeDeserialization() {
+        this.state.updateAndGet(
+                current ->
+                        new State(
+                                current.values.replaceAll(
+                                        (key, wrapper) ->
+                                                wrapper.getValue0()
+                                                        ? wrapper.setValue0(false)
+                                                        : wrapper),
+                                true));
+    }
+
     public boolean getIsInitializationCompleted() {
-        return this.isInitializationCompleted;
+        return this.state.get().isInitializationCompleted;
     }
 
     public void setReturnOnlyChangedValues(final boolean value) {
         this.returnOnlyChangedValues = value;
         // propagate to nested backed models
-        for (final Map.Entry<String, Pair<Boolean, Object>> entry : this.store.entrySet()) {
+        for (final Map.Entry<String, Pair<Boolean, Object>> entry :
+                this.state.get().values.entries()) {
             final Pair<Boolean, Object> wrapper = entry.getValue();
             if (wrapper.getValue1() instanceof BackedModel) {
                 final BackedModel item = (BackedModel) wrapper.getValue1();
@@ -104,17 +141,10 @@ public class InMemoryBackingStore implements BackingStore {
             }
             if (isCollectionValue(wrapper)) {
                 final Pair<?, Integer> collectionTuple = (Pair<?, Integer>) wrapper.getValue1();
-                Object[] items = getObjectArrayFromCollectionWrapper(collectionTuple);
-                final boolean isCollection = collectionTuple.getValue0() instanceof Collection;
-
-                // No need to iterate over collection if first item is not BackedModel
-                if ((isCollection && items.length != 0 && items[0] instanceof BackedModel)
-                        || !isCollection) {
-                    for (final Object item : items) {
-                        if (item instanceof BackedModel) {
-                            BackedModel backedModel = (BackedModel) item;
-                            backedModel.getBackingStore().setReturnOnlyChangedValues(value);
-                        }
+                for (final Object item : getNestedModelCandidates(collectionTuple.getValue0())) {
+                    if (item instanceof BackedModel) {
+                        BackedModel backedModel = (BackedModel) item;
+                        backedModel.getBackingStore().setReturnOnlyChangedValues(value);
                     }
                 }
             }
@@ -126,19 +156,29 @@ public class InMemoryBackingStore implements BackingStore {
     }
 
     public void clear() {
-        this.store.clear();
+        this.state.updateAndGet(
+                current ->
+                        new State(PersistentStringMap.empty(), current.isInitializationCompleted));
     }
 
     @Nonnull public Map<String, Object> enumerate() {
+        final boolean onlyChangedValues = getReturnOnlyChangedValues();
+        if (onlyChangedValues) {
+            // checked once for the whole store rather than for every unchanged collection
+            ensureCollectionPropertiesAreConsistent();
+        }
         final Map<String, Object> result = new HashMap<>();
-        for (final Map.Entry<String, Pair<Boolean, Object>> entry : this.store.entrySet()) {
+        for (final Map.Entry<String, Pair<Boolean, Object>> entry :
+                this.state.get().values.entries()) {
             final Pair<Boolean, Object> wrapper = entry.getValue();
-            final Object value = this.get(entry.getKey());
+            final boolean hasChanged = wrapper.getValue0();
+            if (onlyChangedValues && !hasChanged) {
+                continue;
+            }
+            final Object value = this.getValueFromWrapper(wrapper);
 
-            if (value != null) {
+            if (value != null || hasChanged) {
                 result.put(entry.getKey(), value);
-            } else if (Boolean.TRUE.equals(wrapper.getValue0())) {
-                result.put(entry.getKey(), null);
             }
         }
         return result;
@@ -146,7 +186,8 @@ public class InMemoryBackingStore implements BackingStore {
 
     @Nonnull public Iterable<String> enumerateKeysForValuesChangedToNull() {
         final List<String> result = new ArrayList<>();
-        for (final Map.Entry<String, Pair<Boolean, Object>> entry : this.store.entrySet()) {
+        for (final Map.Entry<String, Pair<Boolean, Object>> entry :
+                this.state.get().values.entries()) {
             final Pair<Boolean, Object> wrapper = entry.getValue();
             final Object value = wrapper.getValue1();
             if (value == null && wrapper.getValue0()) {
@@ -156,7 +197,39 @@ public class InMemoryBackingStore implements BackingStore {
         return result;
     }
 
-    private Object getValueFromWrapper(final Pair<Boolean, Object> wrapper) {
+    @Override
+    @Nonnull public BackingStoreSnapshot snapshot() {
+        return new Snapshot(this.state.get().values);
+    }
+
+    /** A snapshot holding the immutable map the store held when it was taken */
+    private static final class Snapshot implements BackingStoreSnapshot {
+        private final PersistentStringMap<Pair<Boolean, Object>> values;
+
+        Snapshot(@Nonnull final PersistentStringMap<Pair<Boolean, Object>> values) {
+            this.values = values;
+        }
+
+        @Nonnull public Map<String, Object> getValues() {
+            final Map<String, Object> result = new HashMap<>();
+            for (final Map.Entry<String, Pair<Boolean, Object>> entry : values.entries()) {
+                result.put(entry.getKey(), getValueFromWrapper(entry.getValue()));
+            }
+            return Collections.unmodifiableMap(result);
+        }
+
+        @Nonnull public Set<String> getChangedKeys() {
+            final Set<String> result = new HashSet<>();
+            for (final Map.Entry<String, Pair<Boolean, Object>> entry : values.entries()) {
+                if (entry.getValue().getValue0()) {
+                    result.add(entry.getKey());
+                }
+            }
+            return Collections.unmodifiableSet(result);
+        }
+    }
+
+    private static Object getValueFromWrapper(final Pair<Boolean, Object> wrapper) {
         if (wrapper == null) {
             return null;
         }
@@ -170,7 +243,7 @@ public class InMemoryBackingStore implements BackingStore {
     @SuppressWarnings("unchecked")
     @Nullable public <T> T get(@Nonnull final String key) {
         Objects.requireNonNull(key);
-        final Pair<Boolean, Object> wrapper = this.store.get(key);
+        final Pair<Boolean, Object> wrapper = this.state.get().values.get(key);
         if (wrapper == null) {
             return null;
         }
@@ -179,8 +252,9 @@ public class InMemoryBackingStore implements BackingStore {
         boolean hasChanged = wrapper.getValue0();
         if (getReturnOnlyChangedValues() && !hasChanged) {
             if (isCollectionValue(wrapper)) {
-                ensureCollectionPropertiesAreConsistent();
-                hasChanged = this.store.get(key).getValue0();
+                ensureCollectionPropertyIsConsistent(key, wrapper);
+                final Pair<Boolean, Object> checked = this.state.get().values.get(key);
+                hasChanged = checked != null && checked.getValue0();
             }
             if (!hasChanged) {
                 return null;
@@ -196,13 +270,13 @@ public class InMemoryBackingStore implements BackingStore {
 
     public <T> void set(@Nonnull final String key, @Nullable final T value) {
         Objects.requireNonNull(key);
-        Pair<Boolean, Object> valueToAdd = new Pair<>(this.isInitializationCompleted, value);
+        Object valueToAdd = value;
         if (value instanceof Collection) {
-            valueToAdd = valueToAdd.setValue1(new Pair<>(value, ((Collection<?>) value).size()));
+            valueToAdd = new Pair<>(value, ((Collection<?>) value).size());
             final Collection<Object> items = (Collection<Object>) value;
             setupNestedSubscriptions(items, key, value);
         } else if (value instanceof Map) {
-            valueToAdd = valueToAdd.setValue1(new Pair<>(value, ((Map<?, ?>) value).size()));
+            valueToAdd = new Pair<>(value, ((Map<?, ?>) value).size());
             final Map<?, Object> items = (Map<?, Object>) value;
             setupNestedSubscriptions(items.values(), key, value);
         } else if (value instanceof BackedModel) {
@@ -211,30 +285,36 @@ public class InMemoryBackingStore implements BackingStore {
                     .getBackingStore()
                     .subscribe(
                             key,
-                            (keyString, oldObject, newObject) -> {
-                                backedModel
-                                        .getBackingStore()
-                                        .setIsInitializationCompleted(
-                                                false); // All its properties are dirty as the model
-                                // has been touched.
-                                set(key, value);
-                            }); // use property name(key) as subscriptionId to prevent excess
+                            new BackingStoreSubscriptions.Propagation(
+                                    () -> {
+                                        backedModel
+                                                .getBackingStore()
+                                                .setIsInitializationCompleted(
+                                                        false); // All its properties are dirty as
+                                        // the model has been touched.
+                                        set(key, value);
+                                    })); // use property name(key) as subscriptionId to prevent
+            // excess
             // subscription creation in the event this is called again
         }
 
-        final Pair<Boolean, Object> oldValue = this.store.put(key, valueToAdd);
-        for (final TriConsumer<String, Object, Object> callback : this.subscriptionStore.values()) {
-            if (oldValue != null) {
-                callback.accept(key, oldValue.getValue1(), value);
-            } else {
-                callback.accept(key, null, value);
-            }
-        }
+        final Object storedValue = valueToAdd;
+        final State previous =
+                this.state.getAndUpdate(
+                        current ->
+                                new State(
+                                        current.values.put(
+                                                key,
+                                                new Pair<>(
+                                                        current.isInitializationCompleted,
+                                                        storedValue)),
+                                        current.isInitializationCompleted));
+        final Pair<Boolean, Object> oldValue = previous.values.get(key);
+        this.subscriptions.notify(key, getValueFromWrapper(oldValue), value);
     }
 
     public void unsubscribe(@Nonnull final String subscriptionId) {
-        Objects.requireNonNull(subscriptionId);
-        this.subscriptionStore.remove(subscriptionId);
+        this.subscriptions.unsubscribe(subscriptionId);
     }
 
     @Nonnull public String subscribe(@Nonnull final TriConsumer<String, Object, Object> callback) {
@@ -246,9 +326,17 @@ public class InMemoryBackingStore implements BackingStore {
     public void subscribe(
             @Nonnull final String subscriptionId,
             @Nonnull final TriConsumer<String, Object, Object> callback) {
-        Objects.requireNonNull(callback);
-        Objects.requireNonNull(subscriptionId);
-        this.subscriptionStore.put(subscriptionId, callback);
+        this.subscriptions.subscribe(subscriptionId, callback);
+    }
+
+    @Override
+    public void beginBatch() {
+        this.subscriptions.beginBatch();
+    }
+
+    @Override
+    public void endBatch() {
+        this.subscriptions.endBatch();
     }
 
     private void setupNestedSubscriptions(
@@ -256,76 +344,96 @@ public class InMemoryBackingStore implements BackingStore {
         for (final Object item : items) {
             if (item instanceof BackedModel) {
                 final BackedModel backedModel = (BackedModel) item;
-                backedModel.getBackingStore().setIsInitializationCompleted(false);
+                // items set while this store is initialized are part of its initial state
+                if (this.state.get().isInitializationCompleted) {
+                    backedModel.getBackingStore().setIsInitializationCompleted(false);
+                }
                 backedModel
                         .getBackingStore()
-                        .subscribe(key, (keyString, oldObject, newObject) -> set(key, value));
+                        .subscribe(
+                                key,
+                                new BackingStoreSubscriptions.Propagation(() -> set(key, value)));
             }
         }
     }
 
     private void ensureCollectionPropertiesAreConsistent() {
-        final HashMap<String, Object> currentStoreDirtyCollections = new HashMap<>();
-        final List<BackedModel> nestedBackedModelsToEnumerate = new ArrayList<>();
+        for (final Map.Entry<String, Pair<Boolean, Object>> entry :
+                this.state.get().values.entries()) {
+            ensureCollectionPropertyIsConsistent(entry.getKey(), entry.getValue());
+        }
+    }
 
-        for (final Map.Entry<String, Pair<Boolean, Object>> entry : this.store.entrySet()) {
-            final Pair<Boolean, Object> wrapper = entry.getValue();
-            if (isCollectionValue(wrapper)) {
-                final Pair<?, Integer> collectionTuple = (Pair<?, Integer>) wrapper.getValue1();
-                Object[] items = getObjectArrayFromCollectionWrapper(collectionTuple);
-                final boolean isCollection = collectionTuple.getValue0() instanceof Collection;
-                // No need to iterate over collection if first item is not BackedModel
-                if ((isCollection && items.length != 0 && items[0] instanceof BackedModel)
-                        || !isCollection) {
-                    for (final Object item : items) {
-                        if (item instanceof BackedModel) {
-                            final BackedModel backedModel = (BackedModel) item;
-                            nestedBackedModelsToEnumerate.add(backedModel);
-                        }
+    /**
+     * Marks a collection property as changed when items were added to or removed from the collection since it was set.
+     * Only the collection and the models it holds are checked, not the other properties of the store.
+     * @param key the key of the property
+     * @param wrapper the stored value of the property
+     */
+    private void ensureCollectionPropertyIsConsistent(
+            final String key, final Pair<Boolean, Object> wrapper) {
+        if (!isCollectionValue(wrapper)) {
+            return;
+        }
+        final Object collection = ((Pair<?, ?>) wrapper.getValue1()).getValue0();
+        boolean hasNestedModels = false;
+        // Check nested backed models first since they may trigger the parent to be dirty
+        for (final Object item : getNestedModelCandidates(collection)) {
+            if (item instanceof BackedModel) {
+                hasNestedModels = true;
+                final BackingStore nestedStore = ((BackedModel) item).getBackingStore();
+                if (nestedStore instanceof InMemoryBackingStore) {
+                    if (nestedStore.getReturnOnlyChangedValues()) {
+                        ((InMemoryBackingStore) nestedStore)
+                                .ensureCollectionPropertiesAreConsistent();
                     }
-                }
-                if (collectionTuple.getValue1()
-                        != items.length) { // and the size has changed since we last updated
-                    currentStoreDirtyCollections.put(entry.getKey(), collectionTuple.getValue0());
+                } else {
+                    nestedStore.enumerate();
                 }
             }
         }
 
-        // Enumerate nested backed models first since they may trigger the parent to be dirty
-        for (BackedModel nestedBackedModel : nestedBackedModelsToEnumerate) {
-            nestedBackedModel.getBackingStore().enumerate();
+        final Pair<Boolean, Object> current = this.state.get().values.get(key);
+        if (current == null || !isCollectionValue(current)) {
+            return;
         }
-
-        // Only update parent properties that haven't been marked as dirty by the nested models
-        for (final Map.Entry<String, Object> entry : currentStoreDirtyCollections.entrySet()) {
-            // Always set() if there were no nested models
-            if (nestedBackedModelsToEnumerate.isEmpty()) {
-                set(entry.getKey(), entry.getValue());
-                continue;
-            }
-            boolean hasChanged = this.store.get(entry.getKey()).getValue0();
-            if (!hasChanged) {
-                set(entry.getKey(), entry.getValue());
-            }
+        final Pair<?, Integer> collectionTuple = (Pair<?, Integer>) current.getValue1();
+        // and the size has changed since we last updated
+        // Only update the property if it hasn't been marked as dirty by the nested models
+        if (collectionTuple.getValue1() != getCollectionSize(collectionTuple.getValue0())
+                && (!hasNestedModels || !current.getValue0())) {
+            set(key, collectionTuple.getValue0());
         }
     }
 
-    private Object[] getObjectArrayFromCollectionWrapper(final Pair<?, Integer> collectionTuple) {
-        if (collectionTuple == null) {
-            throw new IllegalArgumentException("collectionTuple cannot be null");
-        }
-        if (collectionTuple.getValue0() instanceof Collection) {
-            final Collection<?> items = (Collection<?>) collectionTuple.getValue0();
-            return items.toArray();
+    /**
+     * Gets the items of a collection or map which may be backed models, without copying them
+     * @param collection the collection or map
+     * @return the items, empty if the collection holds no backed models
+     */
+    private static Iterable<?> getNestedModelCandidates(final Object collection) {
+        if (collection instanceof Collection) {
+            final Collection<?> items = (Collection<?>) collection;
+            // No need to iterate over collection if first item is not BackedModel
+            if (!items.isEmpty() && items.iterator().next() instanceof BackedModel) {
+                return items;
+            }
+            return Collections.emptyList();
         }
-        if (collectionTuple.getValue0() instanceof Map) {
-            final Map<?, ?> items = (Map<?, ?>) collectionTuple.getValue0();
-            return items.values().toArray();
+        if (collection instanceof Map) {
+            return ((Map<?, ?>) collection).values();
         }
         throw new IllegalArgumentException("collectionTuple must be a Collection or a Map");
     }
 
-    private boolean isCollectionValue(final Pair<Boolean, Object> wrapper) {
+    private static int getCollectionSize(final Object collection) {
+        if (collection instanceof Collection) {
+            return ((Collection<?>) collection).size();
+        }
+        return ((Map<?, ?>) collection).size();
+    }
+
+    private static boolean isCollectionValue(final Pair<Boolean, Object> wrapper) {
         return wrapper.getValue1() instanceof Pair;
     }
 }
@@ -0,0 +1,290 @@
+package com.microsoft.kiota.store;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * An immutable hash array mapped trie keyed by strings. Adding a value copies the path to its leaf and shares the rest of the trie with the previous map.
+ * @param <V> the type of the values
+ */
+final class PersistentStringMap<V> {
+    private static final PersistentStringMap<?> EMPTY =
+            new PersistentStringMap<>(new BitmapNode(0, new Object[0]), 0);
+
+    private final Object root;
+    private final int size;
+
+    private PersistentStringMap(@Nonnull final Object root, final int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Gets the empty map
+     * @param <V> the type of the values
+     * @return the empty map
+     */
+    @SuppressWarnings("unchecked")
+    @Nonnull static <V> PersistentStringMap<V> empty() {
+        return (PersistentStringMap<V>) EMPTY;
+    }
+
+    /**
+     * Gets the number of entries of the map
+     * @return the number of entries
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Gets the value of a key
+     * @param key the key
+     * @return the value, or null if the map has no value for the key
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable V get(@Nonnull final String key) {
+        final int hash = hash(key);
+        Object node = root;
+        int shift = 0;
+        while (true) {
+            if (node instanceof CollisionNode) {
+                final Object[] array = ((CollisionNode) node).array;
+                for (int i = 0; i < array.length; i += 2) {
+                    if (key.equals(array[i])) {
+                        return (V) array[i + 1];
+                    }
+                }
+                return null;
+            }
+            final BitmapNode bitmapNode = (BitmapNode) node;
+            final int bit = bit(hash, shift);
+            if ((bitmapNode.bitmap & bit) == 0) {
+                return null;
+            }
+            final int index = bitmapNode.index(bit);
+            final Object entryKey = bitmapNode.array[index];
+            if (entryKey == null) {
+                node = bitmapNode.array[index + 1];
+                shift += 5;
+            } else {
+                return key.equals(entryKey) ? (V) bitmapNode.array[index + 1] : null;
+            }
+        }
+    }
+
+    /**
+     * Gets a map with a value added or replaced
+     * @param key the key
+     * @param value the value
+     * @return the new map, sharing the unchanged branches of this map
+     */
+    @Nonnull PersistentStringMap<V> put(@Nonnull final String key, @Nullable final V value) {
+        final boolean[] added = new boolean[1];
+        final Object newRoot = put(root, 0, hash(key), key, value, added);
+        if (newRoot == root) {
+            return this;
+        }
+        return new PersistentStringMap<>(newRoot, added[0] ? size + 1 : size);
+    }
+
+    /**
+     * Gets the entries of the map, in no particular order
+     * @return the entries
+     */
+    @Nonnull List<Map.Entry<String, V>> entries() {
+        final List<Map.Entry<String, V>> result = new ArrayList<>(size);
+        addEntries(root, result);
+        return result;
+    }
+
+    /**
+     * Gets a map with every value replaced by the result of a function, copying each node at most once
+     * @param function the function, returning the same instance to keep a value unchanged
+     * @return the new map, sharing the branches whose values did not change
+     */
+    @Nonnull PersistentStringMap<V> replaceAll(@Nonnull final BiFunction<String, V, V> function) {
+        final Object newRoot = replaceAll(root, function);
+        return newRoot == root ? this : new PersistentStringMap<>(newRoot, size);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nonnull private static <V> Object replaceAll(
+            @Nonnull final Object node, @Nonnull final BiFunction<String, V, V> function) {
+        final boolean isCollision = node instanceof CollisionNode;
+        final Object[] array =
+                isCollision ? ((CollisionNode) node).array : ((BitmapNode) node).array;
+        Object[] updated = null;
+        for (int i = 0; i < array.length; i += 2) {
+            final Object replacement =
+                    array[i] == null
+                            ? replaceAll(array[i + 1], function)
+                            : function.apply((String) array[i], (V) array[i + 1]);
+            if (replacement != array[i + 1]) {
+                if (updated == null) {
+                    updated = array.clone();
+                }
+                updated[i + 1] = replacement;
+            }
+        }
+        if (updated == null) {
+            return node;
+        }
+        return isCollision
+                ? new CollisionNode(((CollisionNode) node).hash, updated)
+                : new BitmapNode(((BitmapNode) node).bitmap, updated);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> void addEntries(
+            @Nonnull final Object node, @Nonnull final List<Map.Entry<String, V>> result) {
+        final Object[] array =
+                node instanceof CollisionNode
+                        ? ((CollisionNode) node).array
+                        : ((BitmapNode) node).array;
+        for (int i = 0; i < array.length; i += 2) {
+            if (array[i] == null) {
+                addEntries(array[i + 1], result);
+            } else {
+                result.add(
+                        new AbstractMap.SimpleImmutableEntry<>(
+                                (String) array[i], (V) array[i + 1]));
+            }
+        }
+    }
+
+    @Nonnull private static Object put(
+            @Nonnull final Object node,
+            final int shift,
+            final int hash,
+            @Nonnull final String key,
+            @Nullable final Object value,
+            @Nonnull final boolean[] added) {
+        if (node instanceof CollisionNode) {
+            final CollisionNode collisionNode = (CollisionNode) node;
+            if (collisionNode.hash != hash) {
+                // the new key branches off before the colliding keys
+                final BitmapNode parent =
+                        new BitmapNode(bit(collisionNode.hash, shift), new Object[] {null, node});
+                return put(parent, shift, hash, key, value, added);
+            }
+            final Object[] array = collisionNode.array;
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) {
+                    if (array[i + 1] == value) {
+                        return node;
+                    }
+                    final Object[] updated = array.clone();
+                    updated[i + 1] = value;
+                    return new CollisionNode(hash, updated);
+                }
+            }
+            added[0] = true;
+            final Object[] updated = Arrays.copyOf(array, array.length + 2);
+            updated[array.length] = key;
+            updated[array.length + 1] = value;
+            return new CollisionNode(hash, updated);
+        }
+        final BitmapNode bitmapNode = (BitmapNode) node;
+        final int bit = bit(hash, shift);
+        final int index = bitmapNode.index(bit);
+        final Object[] array = bitmapNode.array;
+        if ((bitmapNode.bitmap & bit) == 0) {
+            added[0] = true;
+            final Object[] updated = new Object[array.length + 2];
+            System.arraycopy(array, 0, updated, 0, index);
+            updated[index] = key;
+            updated[index + 1] = value;
+            System.arraycopy(array, index, updated, index + 2, array.length - index);
+            return new BitmapNode(bitmapNode.bitmap | bit, updated);
+        }
+        final Object entryKey = array[index];
+        final Object entryValue = array[index + 1];
+        final Object replacement;
+        if (entryKey == null) {
+            replacement = put(entryValue, shift + 5, hash, key, value, added);
+            if (replacement == entryValue) {
+                return node;
+            }
+        } else if (key.equals(entryKey)) {
+            if (entryValue == value) {
+                return node;
+            }
+            final Object[] updated = array.clone();
+            updated[index + 1] = value;
+            return new BitmapNode(bitmapNode.bitmap, updated);
+        } else {
+            added[0] = true;
+            replacement = merge(shift + 5, (String) entryKey, entryValue, hash, key, value);
+        }
+        final Object[] updated = array.clone();
+        updated[index] = null;
+        updated[index + 1] = replacement;
+        return new BitmapNode(bitmapNode.bitmap, updated);
+    }
+
+    @Nonnull private static Object merge(
+            final int shift,
+            @Nonnull final String key1,
+            @Nullable final Object value1,
+            final int hash2,
+            @Nonnull final String key2,
+            @Nullable final Object value2) {
+        final int hash1 = hash(key1);
+        if (hash1 == hash2) {
+            return new CollisionNode(hash1, new Object[] {key1, value1, key2, value2});
+        }
+        final int bit1 = bit(hash1, shift);
+        final int bit2 = bit(hash2, shift);
+        if (bit1 == bit2) {
+            return new BitmapNode(
+                    bit1, new Object[] {null, merge(shift + 5, key1, value1, hash2, key2, value2)});
+        }
+        // entries are ordered by their bit
+        return Integer.compareUnsigned(bit1, bit2) < 0
+                ? new BitmapNode(bit1 | bit2, new Object[] {key1, value1, key2, value2})
+                : new BitmapNode(bit1 | bit2, new Object[] {key2, value2, key1, value1});
+    }
+
+    private static int hash(@Nonnull final String key) {
+        final int hash = key.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int bit(final int hash, final int shift) {
+        return 1 << ((hash >>> shift) & 31);
+    }
+
+    /** A node holding up to 32 entries or sub-nodes, as pairs of a key and its value or of null and the sub-node */
+    private static final class BitmapNode {
+        private final int bitmap;
+        private final Object[] array;
+
+        BitmapNode(final int bitmap, @Nonnull final Object[] array) {
+            this.bitmap = bitmap;
+            this.array = array;
+        }
+
+        int index(final int bit) {
+            return 2 * Integer.bitCount(bitmap & (bit - 1));
+        }
+    }
+
+    /** A node holding the entries of keys with the same hash, as pairs of a key and its value */
+    private static final class CollisionNode {
+        private final int hash;
+        private final Object[] array;
+
+        CollisionNode(final int hash, @Nonnull final Object[] array) {
+            this.hash = hash;
+            this.array = array;
+        }
+    }
+}
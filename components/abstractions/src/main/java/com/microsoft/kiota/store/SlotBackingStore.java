@@ -0,0 +1,403 @@
+package com.microsoft.kiota.store;
+
+import com.microsoft.kiota.TriConsumer;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * In-memory implementation of the backing store keeping the values in an array and their dirty flags in a bit set. Allows for dirty tracking of changes.
+ * Property names are mapped to array slots by layouts shared between the stores of the models of a class, so setting a value does not allocate once the property has a slot.
+ * Stores given more properties than a shared layout may hold extend a layout of their own instead.
+ * Unlike {@link InMemoryBackingStore}, instances are not safe for concurrent modification, which models are not either.
+ */
+public class SlotBackingStore implements BackingStore {
+    private static final int INITIAL_CAPACITY = 8;
+    private static final int NOT_A_COLLECTION = -1;
+
+    private SlotLayout layout = SlotLayout.EMPTY;
+    private Object[] values = new Object[0];
+    private int[] collectionSizes = new int[0];
+    private final BitSet dirty = new BitSet();
+    // whether the values array is held by a snapshot and must be copied before it is changed
+    private boolean valuesShared;
+    private boolean isInitializationCompleted = true;
+    private boolean returnOnlyChangedValues;
+    private final BackingStoreSubscriptions subscriptions = new BackingStoreSubscriptions();
+
+    /** Creates a new instance of the backing store. */
+    public SlotBackingStore() {
+        // default constructor
+    }
+
+    public void setIsInitializationCompleted(final boolean value) {
+        this.isInitializationCompleted = value;
+        ensureCollectionPropertiesAreConsistent();
+        final int size = layout.size();
+        if (value) {
+            dirty.clear();
+        } else {
+            dirty.set(0, size);
+        }
+        for (int slot = 0; slot < size; slot++) {
+            final Object slotValue = values[slot];
+            if (slotValue instanceof BackedModel) {
+                ((BackedModel) slotValue)
+                        .getBackingStore()
+                        .setIsInitializationCompleted(value); // propagate initialization
+            } else if (collectionSizes[slot] != NOT_A_COLLECTION) {
+                final Iterable<?> items = getNestedModelCandidates(slotValue);
+                if (items != null) {
+                    for (final Object item : items) {
+                        if (item instanceof BackedModel) {
+                            ((BackedModel) item)
+                                    .getBackingStore()
+                                    .setIsInitializationCompleted(value);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Completes the initialization of a store populated by a parse node, whose nested models completed their own initialization when they were parsed.
+     * Unlike setIsInitializationCompleted, the nested models are not visited, so completing a whole graph is linear in its size.
+     */
+    void completeDeserialization() {
+        this.isInitializationCompleted = true;
+        dirty.clear();
+    }
+
+    public boolean getIsInitializationCompleted() {
+        return this.isInitializationCompleted;
+    }
+
+    public void setReturnOnlyChangedValues(final boolean value) {
+        this.returnOnlyChangedValues = value;
+        // propagate to nested backed models
+        final int size = layout.size();
+        for (int slot = 0; slot < size; slot++) {
+            final Object slotValue = values[slot];
+            if (slotValue instanceof BackedModel) {
+                ((BackedModel) slotValue).getBackingStore().setReturnOnlyChangedValues(value);
+            } else if (collectionSizes[slot] != NOT_A_COLLECTION) {
+                final Iterable<?> items = getNestedModelCandidates(slotValue);
+                if (items != null) {
+                    for (final Object item : items) {
+                        if (item instanceof BackedModel) {
+                            ((BackedModel) item)
+                                    .getBackingStore()
+                                    .setReturnOnlyChangedValues(value);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    public boolean getReturnOnlyChangedValues() {
+        return this.returnOnlyChangedValues;
+    }
+
+    public void clear() {
+        if (valuesShared) {
+            values = new Object[values.length];
+            valuesShared = false;
+        } else {
+            Arrays.fill(values, 0, layout.size(), null);
+        }
+        dirty.clear();
+        layout = SlotLayout.EMPTY;
+    }
+
+    @Nonnull public Map<String, Object> enumerate() {
+        if (returnOnlyChangedValues) {
+            ensureCollectionPropertiesAreConsistent();
+        }
+        final int size = layout.size();
+        final Map<String, Object> result = new HashMap<>();
+        for (int slot = 0; slot < size; slot++) {
+            final boolean hasChanged = dirty.get(slot);
+            if (returnOnlyChangedValues && !hasChanged) {
+                continue;
+            }
+            final Object value = values[slot];
+            if (value != null || hasChanged) {
+                result.put(layout.getKey(slot), value);
+            }
+        }
+        return result;
+    }
+
+    @Nonnull public Iterable<String> enumerateKeysForValuesChangedToNull() {
+        final List<String> result = new ArrayList<>();
+        final int size = layout.size();
+        for (int slot = dirty.nextSetBit(0);
+                slot >= 0 && slot < size;
+                slot = dirty.nextSetBit(slot + 1)) {
+            if (values[slot] == null) {
+                result.add(layout.getKey(slot));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The snapshot shares the values of the store, which copies them the next time one of them changes.
+     * Like the other methods of the store, it must be called from the thread owning the store, or with the store otherwise guarded against concurrent writes.
+     */
+    @Override
+    @Nonnull public BackingStoreSnapshot snapshot() {
+        valuesShared = true;
+        return new Snapshot(layout, values, (BitSet) dirty.clone());
+    }
+
+    /** A snapshot holding the layout and values the store held when it was taken */
+    private static final class Snapshot implements BackingStoreSnapshot {
+        private final SlotLayout layout;
+        private final Object[] values;
+        private final BitSet dirty;
+
+        Snapshot(
+                @Nonnull final SlotLayout layout,
+                @Nonnull final Object[] values,
+                @Nonnull final BitSet dirty) {
+            this.layout = layout;
+            this.values = values;
+            this.dirty = dirty;
+        }
+
+        @Nonnull public Map<String, Object> getValues() {
+            final int size = layout.size();
+            final Map<String, Object> result = new HashMap<>();
+            for (int slot = 0; slot < size; slot++) {
+                result.put(layout.getKey(slot), values[slot]);
+            }
+            return Collections.unmodifiableMap(result);
+        }
+
+        @Nonnull public Set<String> getChangedKeys() {
+            final int size = layout.size();
+            final Set<String> result = new HashSet<>();
+            for (int slot = dirty.nextSetBit(0);
+                    slot >= 0 && slot < size;
+                    slot = dirty.nextSetBit(slot + 1)) {
+                result.add(layout.getKey(slot));
+            }
+            return Collections.unmodifiableSet(result);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nullable public <T> T get(@Nonnull final String key) {
+        Objects.requireNonNull(key);
+        final int slot = layout.indexOf(key);
+        if (slot < 0) {
+            return null;
+        }
+        if (getReturnOnlyChangedValues() && !dirty.get(slot)) {
+            if (collectionSizes[slot] == NOT_A_COLLECTION) {
+                return null;
+            }
+            ensureCollectionPropertyIsConsistent(slot);
+            if (!dirty.get(slot)) {
+                return null;
+            }
+        }
+        return (T) values[slot];
+    }
+
+    public <T> void set(@Nonnull final String key, @Nullable final T value) {
+        Objects.requireNonNull(key);
+        int slot = layout.indexOf(key);
+        if (slot < 0) {
+            slot = layout.size();
+            layout = layout.extend(key);
+            ensureCapacity(slot + 1);
+        }
+        setSlot(slot, key, value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void setSlot(final int slot, @Nonnull final String key, @Nullable final Object value) {
+        if (value instanceof Collection) {
+            collectionSizes[slot] = ((Collection<?>) value).size();
+            setupNestedSubscriptions((Collection<Object>) value, key, value);
+        } else if (value instanceof Map) {
+            collectionSizes[slot] = ((Map<?, ?>) value).size();
+            setupNestedSubscriptions(((Map<?, Object>) value).values(), key, value);
+        } else {
+            collectionSizes[slot] = NOT_A_COLLECTION;
+            if (value instanceof BackedModel) {
+                final BackedModel backedModel = (BackedModel) value;
+                backedModel
+                        .getBackingStore()
+                        .subscribe(
+                                key,
+                                new BackingStoreSubscriptions.Propagation(
+                                        () -> {
+                                            // All its properties are dirty as the model has been
+                                            // touched.
+                                            backedModel
+                                                    .getBackingStore()
+                                                    .setIsInitializationCompleted(false);
+                                            set(key, value);
+                                        }));
+                // use property name(key) as subscriptionId to prevent excess subscription creation
+                // in the event this is called again
+            }
+        }
+
+        final Object oldValue = values[slot];
+        if (valuesShared) {
+            values = values.clone();
+            valuesShared = false;
+        }
+        values[slot] = value;
+        dirty.set(slot, isInitializationCompleted);
+        subscriptions.notify(key, oldValue, value);
+    }
+
+    public void unsubscribe(@Nonnull final String subscriptionId) {
+        this.subscriptions.unsubscribe(subscriptionId);
+    }
+
+    @Nonnull public String subscribe(@Nonnull final TriConsumer<String, Object, Object> callback) {
+        final String subscriptionId = UUID.randomUUID().toString();
+        subscribe(subscriptionId, callback);
+        return subscriptionId;
+    }
+
+    public void subscribe(
+            @Nonnull final String subscriptionId,
+            @Nonnull final TriConsumer<String, Object, Object> callback) {
+        this.subscriptions.subscribe(subscriptionId, callback);
+    }
+
+    @Override
+    public void beginBatch() {
+        this.subscriptions.beginBatch();
+    }
+
+    @Override
+    public void endBatch() {
+        this.subscriptions.endBatch();
+    }
+
+    private void ensureCapacity(final int capacity) {
+        if (capacity > values.length) {
+            final int newCapacity =
+                    Math.max(capacity, Math.max(INITIAL_CAPACITY, values.length * 2));
+            values = Arrays.copyOf(values, newCapacity);
+            valuesShared = false;
+            collectionSizes = Arrays.copyOf(collectionSizes, newCapacity);
+        }
+    }
+
+    private void setupNestedSubscriptions(
+            final Collection<Object> items, final String key, final Object value) {
+        for (final Object item : items) {
+            if (item instanceof BackedModel) {
+                final BackedModel backedModel = (BackedModel) item;
+                // items set while this store is initialized are part of its initial state
+                if (this.isInitializationCompleted) {
+                    backedModel.getBackingStore().setIsInitializationCompleted(false);
+                }
+                backedModel
+                        .getBackingStore()
+                        .subscribe(
+                                key,
+                                new BackingStoreSubscriptions.Propagation(() -> set(key, value)));
+            }
+        }
+    }
+
+    private void ensureCollectionPropertiesAreConsistent() {
+        final int size = layout.size();
+        for (int slot = 0; slot < size; slot++) {
+            ensureCollectionPropertyIsConsistent(slot);
+        }
+    }
+
+    /**
+     * Marks a collection property as changed when items were added to or removed from the collection since it was set.
+     * Only the collection and the models it holds are checked, not the other properties of the store.
+     * @param slot the slot of the property
+     */
+    private void ensureCollectionPropertyIsConsistent(final int slot) {
+        if (collectionSizes[slot] == NOT_A_COLLECTION) {
+            return;
+        }
+        boolean hasNestedModels = false;
+        final Iterable<?> items = getNestedModelCandidates(values[slot]);
+        if (items != null) {
+            // Check nested backed models first since they may trigger the parent to be dirty
+            for (final Object item : items) {
+                if (item instanceof BackedModel) {
+                    hasNestedModels = true;
+                    final BackingStore nestedStore = ((BackedModel) item).getBackingStore();
+                    if (nestedStore instanceof SlotBackingStore) {
+                        if (nestedStore.getReturnOnlyChangedValues()) {
+                            ((SlotBackingStore) nestedStore)
+                                    .ensureCollectionPropertiesAreConsistent();
+                        }
+                    } else {
+                        nestedStore.enumerate();
+                    }
+                }
+            }
+        }
+
+        // Only update the property if it hasn't been marked as dirty by the nested models
+        final int collectionSize = collectionSizes[slot];
+        if (collectionSize != NOT_A_COLLECTION
+                && collectionSize != getCollectionSize(values[slot])
+                && (!hasNestedModels || !dirty.get(slot))) {
+            setSlot(slot, layout.getKey(slot), values[slot]);
+        }
+    }
+
+    /**
+     * Gets the items of a collection value which may be backed models
+     * @param value the collection or map
+     * @return the items, or null if the value holds no backed models
+     */
+    @Nullable private static Iterable<?> getNestedModelCandidates(@Nullable final Object value) {
+        if (value instanceof Collection) {
+            final Collection<?> items = (Collection<?>) value;
+            // No need to iterate over collection if first item is not BackedModel
+            return !items.isEmpty() && items.iterator().next() instanceof BackedModel
+                    ? items
+                    : null;
+        }
+        if (value instanceof Map) {
+            return ((Map<?, ?>) value).values();
+        }
+        return null;
+    }
+
+    private static int getCollectionSize(@Nullable final Object value) {
+        if (value instanceof Collection) {
+            return ((Collection<?>) value).size();
+        }
+        if (value instanceof Map) {
+            return ((Map<?, ?>) value).size();
+        }
+        return NOT_A_COLLECTION;
+    }
+}
@@ -0,0 +1,16 @@
+package com.microsoft.kiota.store;
+
+import jakarta.annotation.Nonnull;
+
+/** This class is used to create instances of SlotBackingStore */
+public class SlotBackingStoreFactory implements BackingStoreFactory {
+    /** Creates a new instance of the factory */
+    public SlotBackingStoreFactory() {
+        // default constructor
+    }
+
+    @Override
+    @Nonnull public BackingStore createBackingStore() {
+        return new SlotBackingStore();
+    }
+}
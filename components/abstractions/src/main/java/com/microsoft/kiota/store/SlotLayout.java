@@ -0,0 +1,174 @@
+package com.microsoft.kiota.store;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Maps the property names of a {@link SlotBackingStore} to the slots holding their values.
+ * Layouts are immutable: a store starts with the empty layout and moves to the layout extended with each new property it is given.
+ * Models of the same class set their properties in the same order, so their stores end up sharing the same layouts.
+ * A layout is extended in place when it is the latest of its chain, so the layouts of a model class share their slots and each one costs a single slot; only layouts branching off an earlier layout copy its slots.
+ * The shared layouts are bounded in size and in number of slots. Beyond the bounds a store is given layouts of its own.
+ */
+final class SlotLayout {
+    /** The layout of the stores holding no value */
+    static final SlotLayout EMPTY =
+            new SlotLayout(new ConcurrentHashMap<>(), new String[0], 0, true);
+
+    /** The number of extended layouts a layout remembers, beyond which extended layouts are not shared */
+    private static final int MAX_TRANSITIONS = 64;
+
+    /** The number of slots of the largest shared layout */
+    static final int MAX_SHARED_SIZE = 256;
+
+    /** The number of slots held by all the shared layouts together, beyond which extended layouts are not shared */
+    static final int MAX_SHARED_SLOTS = 1 << 16;
+
+    private static final AtomicInteger sharedSlotCount = new AtomicInteger();
+
+    // held while shared layouts are extended, which is rare once the layouts of the model classes
+    // exist; a lock rather than synchronized so callers on virtual threads do not pin their
+    // carrier
+    private static final ReentrantLock sharedExtensionLock = new ReentrantLock();
+
+    // layouts share their slots and keys with the layouts they were extended from in place, the
+    // entries beyond the size belong to the extended layouts; shared layouts use a concurrent map
+    // as it is extended while other threads read it
+    private final Map<String, Integer> slots;
+    private final String[] keys;
+    private final int size;
+    @Nullable private final ConcurrentHashMap<String, SlotLayout> transitions;
+
+    private SlotLayout(
+            @Nonnull final Map<String, Integer> slots,
+            @Nonnull final String[] keys,
+            final int size,
+            final boolean shared) {
+        this.slots = slots;
+        this.keys = keys;
+        this.size = size;
+        this.transitions = shared ? new ConcurrentHashMap<>() : null;
+    }
+
+    /**
+     * Gets whether the layout is shared between stores
+     * @return false if the layout belongs to a single store
+     */
+    boolean isShared() {
+        return transitions != null;
+    }
+
+    /**
+     * Gets the number of slots of the layout
+     * @return the number of slots
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Gets the slot of a property
+     * @param key the name of the property
+     * @return the slot, or -1 if the layout has no slot for the property
+     */
+    int indexOf(@Nonnull final String key) {
+        final Integer slot = slots.get(key);
+        return slot == null || slot >= size ? -1 : slot;
+    }
+
+    /**
+     * Gets the name of the property held by a slot
+     * @param slot the slot
+     * @return the name of the property
+     */
+    @Nonnull String getKey(final int slot) {
+        return keys[slot];
+    }
+
+    /**
+     * Gets the layout with an additional slot for a property, placed after the existing slots
+     * @param key the name of the property, which must not have a slot already
+     * @return the extended layout, shared when this layout is shared and the bounds of the shared layouts are not reached
+     */
+    @Nonnull SlotLayout extend(@Nonnull final String key) {
+        final ConcurrentHashMap<String, SlotLayout> sharedTransitions = this.transitions;
+        if (sharedTransitions == null) {
+            return isLatestOfChain() ? extendInPlace(key, false) : copy(key, false);
+        }
+        final SlotLayout existing = sharedTransitions.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        sharedExtensionLock.lock();
+        try {
+            final SlotLayout raced = sharedTransitions.get(key);
+            if (raced != null) {
+                return raced;
+            }
+            // stores given arbitrary keys would otherwise grow the shared layouts without bounds
+            final boolean inPlace = isLatestOfChain();
+            if (size + 1 > MAX_SHARED_SIZE
+                    || sharedTransitions.size() >= MAX_TRANSITIONS
+                    || !reserveSharedSlots(inPlace ? 1 : size + 1)) {
+                return copy(key, false);
+            }
+            final SlotLayout extended = inPlace ? extendInPlace(key, true) : copy(key, true);
+            sharedTransitions.put(key, extended);
+            return extended;
+        } finally {
+            sharedExtensionLock.unlock();
+        }
+    }
+
+    /**
+     * Gets whether the layout is the latest of the layouts sharing its slots, which can be extended in place
+     * @return true if no layout was extended in place from this layout
+     */
+    private boolean isLatestOfChain() {
+        return slots.size() == size;
+    }
+
+    /**
+     * Extends the latest layout of a chain, the layouts it was extended from keep seeing their own slots only
+     * @param key the name of the property
+     * @param shared whether the extended layout is shared
+     * @return the extended layout
+     */
+    @Nonnull private SlotLayout extendInPlace(@Nonnull final String key, final boolean shared) {
+        final String[] extendedKeys = size < keys.length ? keys : Arrays.copyOf(keys, 2 * size + 1);
+        extendedKeys[size] = key;
+        slots.put(key, size);
+        return new SlotLayout(slots, extendedKeys, size + 1, shared);
+    }
+
+    @Nonnull private SlotLayout copy(@Nonnull final String key, final boolean shared) {
+        final Map<String, Integer> extendedSlots =
+                shared ? new ConcurrentHashMap<>() : new HashMap<>();
+        for (int slot = 0; slot < size; slot++) {
+            extendedSlots.put(keys[slot], slot);
+        }
+        extendedSlots.put(key, size);
+        // leave room to be extended in place
+        final String[] extendedKeys = Arrays.copyOf(keys, 2 * size + 1);
+        extendedKeys[size] = key;
+        return new SlotLayout(extendedSlots, extendedKeys, size + 1, shared);
+    }
+
+    private static boolean reserveSharedSlots(final int count) {
+        int current;
+        do {
+            current = sharedSlotCount.get();
+            if (current + count > MAX_SHARED_SLOTS) {
+                return false;
+            }
+        } while (!sharedSlotCount.compareAndSet(current, current + count));
+        return true;
+    }
+}
@@ -15,8 +15,13 @@ import com.microsoft.kiota.serialization.mocks.TestEnum;
 
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.time.*;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -359,6 +364,54 @@ class RequestInformationTest {
         verify(writerMock, times(1)).writeCollectionOfObjectValues(any(), any(Iterable.class));
     }
 
+    @Test
+    void DefersParsableContentWhenStreamingIsEnabled() throws IOException {
+        // Arrange as the request builders would
+        final RequestInformation requestInfo = new RequestInformation();
+        requestInfo.httpMethod = HttpMethod.POST;
+        requestInfo.urlTemplate = "http://localhost/users";
+        final SerializationWriter writerMock = mock(SerializationWriter.class);
+        final SerializationWriterFactory factoryMock = mock(SerializationWriterFactory.class);
+        when(factoryMock.getSerializationWriter(anyString(), any(OutputStream.class)))
+                .thenReturn(writerMock);
+        final RequestAdapter requestAdapterMock = createMockRequestAdapter(factoryMock);
+        when(requestAdapterMock.isRequestContentStreamingEnabled()).thenReturn(true);
+        requestInfo.setContentFromParsable(
+                requestAdapterMock, "application/json", new TestEntity());
+
+        final DeferredRequestContent deferredContent = requestInfo.getDeferredContent();
+        assertNull(requestInfo.content);
+        assertNotNull(deferredContent);
+        assertEquals("application/json", requestInfo.headers.get("Content-Type").toArray()[0]);
+        verify(writerMock, never()).writeObjectValue(any(), any(TestEntity.class));
+
+        deferredContent.writeTo(new ByteArrayOutputStream());
+        verify(writerMock, times(1)).writeObjectValue(any(), any(TestEntity.class));
+        verify(writerMock, never()).getSerializedContent();
+    }
+
+    @Test
+    void CopiesBufferedContentWhenTheFactoryCannotStream() throws IOException {
+        // Arrange as the request builders would
+        final RequestInformation requestInfo = new RequestInformation();
+        requestInfo.httpMethod = HttpMethod.POST;
+        requestInfo.urlTemplate = "http://localhost/users";
+        final SerializationWriter writerMock = mock(SerializationWriter.class);
+        when(writerMock.getSerializedContent())
+                .thenReturn(new ByteArrayInputStream("[{}]".getBytes(StandardCharsets.UTF_8)));
+        final RequestAdapter requestAdapterMock = createMockRequestAdapter(writerMock);
+        when(requestAdapterMock.isRequestContentStreamingEnabled()).thenReturn(true);
+        requestInfo.setContentFromParsable(
+                requestAdapterMock, "application/json", new TestEntity[] {new TestEntity()});
+
+        final DeferredRequestContent deferredContent = requestInfo.getDeferredContent();
+        assertNotNull(deferredContent);
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        deferredContent.writeTo(outputStream);
+        verify(writerMock, times(1)).writeCollectionOfObjectValues(any(), any(Iterable.class));
+        assertEquals("[{}]", outputStream.toString("UTF-8"));
+    }
+
     @Test
     void SetsScalarContentCollection() {
         // Arrange as the request builders would
@@ -0,0 +1,87 @@
+package com.microsoft.kiota.serialization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.microsoft.kiota.serialization.mocks.TestEntity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+class FieldDeserializerDispatchTest {
+    static class RegisteredEntity implements Parsable {
+        String name;
+
+        static {
+            final Map<String, BiConsumer<? super RegisteredEntity, ParseNode>> deserializers =
+                    new HashMap<>();
+            deserializers.put("name", (o, n) -> o.name = n.getStringValue());
+            FieldDeserializerDispatch.register(RegisteredEntity.class, deserializers);
+        }
+
+        @Override
+        public Map<String, Consumer<ParseNode>> getFieldDeserializers() {
+            throw new UnsupportedOperationException("the registered deserializers are expected");
+        }
+
+        @Override
+        public void serialize(SerializationWriter writer) {}
+    }
+
+    static class DerivedEntity extends RegisteredEntity {
+        @Override
+        public Map<String, Consumer<ParseNode>> getFieldDeserializers() {
+            final Map<String, Consumer<ParseNode>> deserializers = new HashMap<>();
+            deserializers.put("name", n -> this.name = "derived " + n.getStringValue());
+            return deserializers;
+        }
+    }
+
+    @Test
+    void usesTheDeserializersRegisteredForTheType() {
+        final RegisteredEntity first = new RegisteredEntity();
+        final RegisteredEntity second = new RegisteredEntity();
+        final FieldDeserializerDispatch<RegisteredEntity> dispatch =
+                FieldDeserializerDispatch.of(first);
+        assertSame(dispatch, FieldDeserializerDispatch.of(second));
+        assertTrue(dispatch.canDeserialize("name"));
+        assertFalse(dispatch.canDeserialize("id"));
+
+        final ParseNode node = mock(ParseNode.class);
+        when(node.getStringValue()).thenReturn("first", "second");
+        dispatch.deserialize(first, "name", node);
+        dispatch.deserialize(second, "name", node);
+        dispatch.deserialize(second, "id", node);
+        assertEquals("first", first.name);
+        assertEquals("second", second.name);
+    }
+
+    @Test
+    void fallsBackToTheInstanceDeserializers() {
+        final DerivedEntity derived = new DerivedEntity();
+        final ParseNode node = mock(ParseNode.class);
+        when(node.getStringValue()).thenReturn("value");
+        final FieldDeserializerDispatch<DerivedEntity> dispatch =
+                FieldDeserializerDispatch.of(derived);
+        assertTrue(dispatch.canDeserialize("name"));
+        dispatch.deserialize(derived, "name", node);
+        assertEquals("derived value", derived.name);
+
+        final TestEntity entity = new TestEntity();
+        final FieldDeserializerDispatch<TestEntity> entityDispatch =
+                FieldDeserializerDispatch.of(entity);
+        assertFalse(entityDispatch.canDeserialize("unknown"));
+        entityDispatch.deserialize(entity, "id", node);
+        assertEquals("value", entity.getId());
+        assertNull(entity.getOfficeLocation());
+    }
+}
@@ -1,19 +1,31 @@
 package com.microsoft.kiota.store;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import com.microsoft.kiota.TestEntity;
 import com.microsoft.kiota.TestEntityCollectionResponse;
+import com.microsoft.kiota.serialization.Parsable;
+import com.microsoft.kiota.serialization.ParseNode;
+import com.microsoft.kiota.serialization.ParseNodeFactory;
 
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
+import java.io.ByteArrayInputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 class InMemoryBackingStoreTest {
     @Test
@@ -588,4 +600,214 @@ class InMemoryBackingStoreTest {
         assertNotNull(testUser.getColleagues());
         assertEquals(1, changedValues.size());
     }
+
+    @Test
+    void ChecksOnlyTheRequestedCollectionPropertyForChanges() {
+        // Arrange a store with a collection of models and a collection of values
+        var nestedChecks = new AtomicInteger();
+        var nestedStore =
+                new InMemoryBackingStore() {
+                    @Override
+                    public boolean getReturnOnlyChangedValues() {
+                        nestedChecks.incrementAndGet();
+                        return super.getReturnOnlyChangedValues();
+                    }
+                };
+        BackedModel nestedModel = () -> nestedStore;
+        var testBackingStore = new InMemoryBackingStore();
+        testBackingStore.set("models", new ArrayList<Object>(List.of(nestedModel)));
+        testBackingStore.set("phones", new ArrayList<Object>(List.of("+1 234 567 891")));
+        testBackingStore.setIsInitializationCompleted(true);
+        testBackingStore.setReturnOnlyChangedValues(true);
+        nestedChecks.set(0);
+        // Act and Assert that the nested models are only checked for their own collection
+        assertNull(testBackingStore.get("phones"));
+        assertEquals(0, nestedChecks.get());
+        assertNull(testBackingStore.get("models"));
+        assertEquals(1, nestedChecks.get());
+    }
+
+    @Test
+    void SetAllNotifiesSubscribersOncePerChangedKey() {
+        // Arrange
+        var testBackingStore = new InMemoryBackingStore();
+        var notifications = new ArrayList<String>();
+        testBackingStore.subscribe(
+                (key, oldValue, newValue) ->
+                        notifications.add(key + ":" + oldValue + ":" + newValue));
+        // Act
+        testBackingStore.beginBatch();
+        testBackingStore.set("name", "Peter");
+        testBackingStore.set("name", "Peter Pan");
+        assertTrue(notifications.isEmpty());
+        var values = new HashMap<String, Object>();
+        values.put("email", "peterpan@neverland.com");
+        testBackingStore.setAll(values);
+        assertTrue(notifications.isEmpty());
+        testBackingStore.endBatch();
+        // Assert
+        assertEquals(
+                List.of("name:null:Peter Pan", "email:null:peterpan@neverland.com"), notifications);
+        assertEquals("Peter Pan", testBackingStore.get("name"));
+        assertThrows(IllegalStateException.class, testBackingStore::endBatch);
+    }
+
+    @Test
+    void BatchedChangesToNestedModelPropagateToParentOnce() {
+        // Arrange dummy user with initialized backingstore
+        var testUser = new TestEntity();
+        var manager = new TestEntity();
+        testUser.setManager(manager);
+        testUser.getBackingStore().setIsInitializationCompleted(true);
+        var parentNotifications = new AtomicInteger();
+        testUser.getBackingStore()
+                .subscribe((key, oldValue, newValue) -> parentNotifications.incrementAndGet());
+        // Act on the nested model in a batch
+        manager.getBackingStore().beginBatch();
+        manager.setId("2fe22fe5-1132-42cf-90f9-1dc17e325a74");
+        manager.setOdataType("#microsoft.graph.user");
+        manager.setBusinessPhones(Arrays.asList("+1 234 567 891"));
+        manager.getBackingStore().endBatch();
+        // Assert
+        assertEquals(1, parentNotifications.get());
+        testUser.getBackingStore().setReturnOnlyChangedValues(true);
+        assertTrue(testUser.getBackingStore().enumerate().containsKey("manager"));
+    }
+
+    @Test
+    void SnapshotsAreNotAffectedByLaterChanges() {
+        // Arrange
+        var testBackingStore = new InMemoryBackingStore();
+        testBackingStore.set("name", "Peter");
+        testBackingStore.set("email", "peter@neverland.com");
+        testBackingStore.setIsInitializationCompleted(true);
+        var before = testBackingStore.snapshot();
+        // Act
+        testBackingStore.set("name", "Peter Pan");
+        testBackingStore.set("phone", "+1 234 567 891");
+        var after = testBackingStore.snapshot();
+        testBackingStore.clear();
+        // Assert
+        assertEquals("Peter", before.getValues().get("name"));
+        assertTrue(before.getChangedKeys().isEmpty());
+        assertEquals(3, after.getValues().size());
+        assertEquals(Set.of("name", "phone"), after.getChangedKeys());
+        assertEquals(
+                Map.of("name", "Peter Pan", "phone", "+1 234 567 891"),
+                BackingStore.diff(before, after));
+        var removed = BackingStore.diff(after, before);
+        assertEquals(2, removed.size());
+        assertNull(removed.get("phone"));
+        assertTrue(removed.containsKey("phone"));
+    }
+
+    @Test
+    void SnapshotsAreConsistentWhileAnotherThreadWrites() throws InterruptedException {
+        // Arrange a writer which always sets "first" before "second"
+        var testBackingStore = new InMemoryBackingStore();
+        testBackingStore.set("first", 0);
+        testBackingStore.set("second", 0);
+        var writer =
+                new Thread(
+                        () -> {
+                            for (int i = 1; i <= 10000; i++) {
+                                testBackingStore.set("first", i);
+                                testBackingStore.set("second", i);
+                            }
+                        });
+        // Act
+        writer.start();
+        try {
+            for (int i = 0; i < 1000; i++) {
+                var values = testBackingStore.snapshot().getValues();
+                // Assert
+                assertTrue((Integer) values.get("second") <= (Integer) values.get("first"));
+            }
+        } finally {
+            writer.join();
+        }
+        assertEquals(10000, (Integer) testBackingStore.snapshot().getValues().get("second"));
+    }
+
+    @Test
+    void SnapshotsHoldTheSameNestedObjects() {
+        // Arrange
+        var testUser = new TestEntity();
+        var phones = new ArrayList<>(List.of("+1 234 567 891"));
+        var manager = new TestEntity();
+        manager.setId("2fe22fe5-1132-42cf-90f9-1dc17e325a74");
+        testUser.setBusinessPhones(phones);
+        testUser.setManager(manager);
+        var snapshot = testUser.getBackingStore().snapshot();
+        // Act
+        phones.add("+1 234 567 892");
+        manager.setId("84c747c1-d2c0-410d-ba50-fc23e0b4abbe");
+        testUser.setId("9d0a2f5e-4d3b-4a45-8e4f-2b1c0e6d7a8b");
+        // Assert
+        assertSame(phones, snapshot.getValues().get("businessPhones"));
+        assertEquals(2, ((List<?>) snapshot.getValues().get("businessPhones")).size());
+        assertEquals(
+                "84c747c1-d2c0-410d-ba50-fc23e0b4abbe",
+                ((TestEntity) snapshot.getValues().get("manager")).getId());
+        assertFalse(snapshot.getValues().containsKey("id"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void ModelsWhoseParsingFailedStillNotifyTheirSubscribers() {
+        // Arrange
+        final var parseNode = mock(ParseNode.class);
+        final var parseNodeFactory = mock(ParseNodeFactory.class);
+        when(parseNodeFactory.getParseNode(eq("application/json"), any())).thenReturn(parseNode);
+        new BackingStoreParseNodeFactory(parseNodeFactory)
+                .getParseNode("application/json", new ByteArrayInputStream(new byte[0]));
+        final ArgumentCaptor<Consumer<Parsable>> onBefore = ArgumentCaptor.forClass(Consumer.class);
+        verify(parseNode).setOnBeforeAssignFieldValues(onBefore.capture());
+        final var testUser = new TestEntity();
+        final var notifications = new ArrayList<String>();
+        testUser.getBackingStore()
+                .subscribe("test", (key, oldValue, newValue) -> notifications.add(key));
+        // Act, the parse node fails before it calls the after hook
+        onBefore.getValue().accept(testUser);
+        testUser.setId("84c747c1-d2c0-410d-ba50-fc23e0b4abbe");
+        // Assert
+        assertEquals(List.of("id"), notifications);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void DeserializedModelsAreCompletedWithoutChangedValues() {
+        // Arrange a parse node calling the hooks of the backing store parse node factory
+        final var parseNode = mock(ParseNode.class);
+        final var parseNodeFactory = mock(ParseNodeFactory.class);
+        when(parseNodeFactory.getParseNode(eq("application/json"), any())).thenReturn(parseNode);
+        new BackingStoreParseNodeFactory(parseNodeFactory)
+                .getParseNode("application/json", new ByteArrayInputStream(new byte[0]));
+        final ArgumentCaptor<Consumer<Parsable>> onBefore = ArgumentCaptor.forClass(Consumer.class);
+        final ArgumentCaptor<Consumer<Parsable>> onAfter = ArgumentCaptor.forClass(Consumer.class);
+        verify(parseNode).setOnBeforeAssignFieldValues(onBefore.capture());
+        verify(parseNode).setOnAfterAssignFieldValues(onAfter.capture());
+        // Act as a parse node would, the nested models are parsed before their parent
+        final var colleague = new TestEntity();
+        onBefore.getValue().accept(colleague);
+        colleague.setId("48d31887-5fad-4d73-a9f5-3c356e68a038");
+        onAfter.getValue().accept(colleague);
+        final var manager = new TestEntity();
+        onBefore.getValue().accept(manager);
+        manager.setId("2fe22fe5-1132-42cf-90f9-1dc17e325a74");
+        onAfter.getValue().accept(manager);
+        final var testUser = new TestEntity();
+        onBefore.getValue().accept(testUser);
+        testUser.setManager(manager);
+        testUser.setColleagues(new ArrayList<>(List.of(colleague)));
+        onAfter.getValue().accept(testUser);
+        // Assert
+        for (final var model : List.of(testUser, manager, colleague)) {
+            assertTrue(model.getBackingStore().getIsInitializationCompleted());
+            model.getBackingStore().setReturnOnlyChangedValues(true);
+            assertTrue(model.getBackingStore().enumerate().isEmpty());
+        }
+        colleague.setId("9a3b5e1c-7f0c-4a4e-8d3e-2c1b0a9f8e7d");
+        assertTrue(testUser.getBackingStore().enumerate().containsKey("colleagues"));
+    }
 }
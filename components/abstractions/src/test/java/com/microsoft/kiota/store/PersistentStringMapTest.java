@@ -0,0 +1,50 @@
+package com.microsoft.kiota.store;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+class PersistentStringMapTest {
+    @Test
+    void AddsAndReplacesValuesWithoutChangingPreviousMaps() {
+        PersistentStringMap<Integer> map = PersistentStringMap.empty();
+        final Map<String, Integer> expected = new HashMap<>();
+        PersistentStringMap<Integer> half = null;
+        for (int i = 0; i < 2000; i++) {
+            map = map.put("property" + i, i);
+            expected.put("property" + i, i);
+            if (i == 999) {
+                half = map;
+            }
+        }
+        map = map.put("property0", -1);
+        expected.put("property0", -1);
+
+        assertEquals(2000, map.size());
+        for (final Map.Entry<String, Integer> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+        assertEquals(2000, map.entries().size());
+        assertNotNull(half);
+        assertEquals(1000, half.size());
+        assertEquals(0, half.get("property0"));
+        assertNull(half.get("property1000"));
+        assertSame(map, map.put("property1", 1));
+    }
+
+    @Test
+    void HandlesKeysWithTheSameHash() {
+        // "Aa" and "BB" have the same hash code
+        PersistentStringMap<String> map = PersistentStringMap.<String>empty().put("Aa", "first");
+        map = map.put("BB", "second").put("C", "third").put("Aa", "replaced");
+
+        assertEquals(3, map.size());
+        assertEquals("replaced", map.get("Aa"));
+        assertEquals("second", map.get("BB"));
+        assertEquals("third", map.get("C"));
+        assertNull(map.get("AaBB"));
+    }
+}
@@ -0,0 +1,170 @@
+package com.microsoft.kiota.store;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.microsoft.kiota.TestEntity;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/** Runs the backing store tests against models backed by the slot backing store. */
+class SlotBackingStoreTest extends InMemoryBackingStoreTest {
+    private BackingStoreFactory previousFactory;
+
+    @BeforeEach
+    void useSlotBackingStore() {
+        previousFactory = BackingStoreFactorySingleton.instance;
+        BackingStoreFactorySingleton.instance = new SlotBackingStoreFactory();
+    }
+
+    @AfterEach
+    void restoreBackingStoreFactory() {
+        BackingStoreFactorySingleton.instance = previousFactory;
+    }
+
+    @Test
+    void ModelsAreBackedBySlotBackingStore() {
+        assertInstanceOf(SlotBackingStore.class, new TestEntity().getBackingStore());
+    }
+
+    @Test
+    void SetsGetsAndClearsValues() {
+        var testBackingStore = new SlotBackingStore();
+        testBackingStore.set("name", "Peter");
+        testBackingStore.set("email", null);
+        testBackingStore.set("name", "Peter Pan");
+
+        assertEquals("Peter Pan", testBackingStore.get("name"));
+        assertNull(testBackingStore.get("phone"));
+        assertEquals(2, testBackingStore.enumerate().size());
+
+        testBackingStore.clear();
+        assertTrue(testBackingStore.enumerate().isEmpty());
+        assertNull(testBackingStore.get("name"));
+        testBackingStore.set("phone", "+1 234 567 891");
+        assertEquals(1, testBackingStore.enumerate().size());
+    }
+
+    @Test
+    void TracksChangesToManyProperties() {
+        var testBackingStore = new SlotBackingStore();
+        for (int i = 0; i < 100; i++) {
+            testBackingStore.set("property" + i, i);
+        }
+        testBackingStore.setIsInitializationCompleted(true);
+        testBackingStore.set("property70", null);
+        testBackingStore.set("property99", -99);
+
+        testBackingStore.setReturnOnlyChangedValues(true);
+        var changedValues = testBackingStore.enumerate();
+        assertEquals(2, changedValues.size());
+        assertEquals(-99, (Integer) changedValues.get("property99"));
+        assertNull(testBackingStore.get("property1"));
+        assertEquals(
+                "property70",
+                testBackingStore.enumerateKeysForValuesChangedToNull().iterator().next());
+    }
+
+    @Test
+    void NotifiesSubscribersAddedWhileNotifying() {
+        var testBackingStore = new SlotBackingStore();
+        final List<String> notifications = new ArrayList<>();
+        testBackingStore.subscribe(
+                "first",
+                (key, oldValue, newValue) -> {
+                    notifications.add("first:" + key + ":" + oldValue + ":" + newValue);
+                    testBackingStore.subscribe(
+                            "second", (k, o, n) -> notifications.add("second:" + k));
+                });
+        testBackingStore.set("name", "Peter");
+        testBackingStore.set("name", "Peter Pan");
+        testBackingStore.unsubscribe("first");
+        testBackingStore.set("name", "Wendy");
+
+        assertEquals(
+                List.of(
+                        "first:name:null:Peter",
+                        "first:name:Peter:Peter Pan",
+                        "second:name",
+                        "second:name"),
+                notifications);
+    }
+
+    @Test
+    void SharesLayoutsBetweenStoresWithTheSameProperties() {
+        var layout = SlotLayout.EMPTY.extend("id").extend("name");
+
+        assertSame(layout, SlotLayout.EMPTY.extend("id").extend("name"));
+        assertEquals(2, layout.size());
+        assertEquals(1, layout.indexOf("name"));
+        assertEquals(-1, layout.indexOf("mail"));
+    }
+
+    @Test
+    void DoesNotShareLayoutsBeyondTheMaximumSize() {
+        var testBackingStore = new SlotBackingStore();
+        for (int i = 0; i <= SlotLayout.MAX_SHARED_SIZE; i++) {
+            testBackingStore.set("property" + i, i);
+        }
+        var snapshot = testBackingStore.snapshot();
+        testBackingStore.set("extra", "value");
+        testBackingStore.set("other", "value");
+
+        var layout = SlotLayout.EMPTY;
+        for (int i = 0; i < SlotLayout.MAX_SHARED_SIZE; i++) {
+            layout = layout.extend("property" + i);
+        }
+        assertTrue(layout.isShared());
+        assertFalse(layout.extend("property" + SlotLayout.MAX_SHARED_SIZE).isShared());
+        assertEquals(SlotLayout.MAX_SHARED_SIZE + 3, testBackingStore.enumerate().size());
+        assertEquals(
+                SlotLayout.MAX_SHARED_SIZE,
+                (int) testBackingStore.get("property" + SlotLayout.MAX_SHARED_SIZE));
+        // the snapshot does not see the properties added to the layout of the store
+        assertEquals(SlotLayout.MAX_SHARED_SIZE + 1, snapshot.getValues().size());
+    }
+
+    @Test
+    void SharesTheLayoutsOfManyLargeModelClasses() {
+        // the classes branch off a common layout and extend their own layouts in place
+        var root = SlotLayout.EMPTY.extend("SharesTheLayoutsOfManyLargeModelClasses");
+        for (int modelClass = 0; modelClass < 60; modelClass++) {
+            var layout = root;
+            for (int property = 0; property < 200; property++) {
+                layout = layout.extend("class" + modelClass + "property" + property);
+            }
+
+            assertTrue(layout.isShared());
+            assertEquals(201, layout.size());
+            assertEquals(200, layout.indexOf("class" + modelClass + "property199"));
+            assertEquals(-1, layout.indexOf("class" + (modelClass + 1) + "property0"));
+            // the stores of the class end up with the same layout
+            var sameLayout = root;
+            for (int property = 0; property < 200; property++) {
+                sameLayout = sameLayout.extend("class" + modelClass + "property" + property);
+            }
+            assertSame(layout, sameLayout);
+        }
+    }
+
+    @Test
+    void SnapshotsKeepTheirValuesWhenTheStoreChanges() {
+        var testBackingStore = new SlotBackingStore();
+        testBackingStore.set("name", "Peter");
+        var snapshot = testBackingStore.snapshot();
+        testBackingStore.set("name", "Peter Pan");
+        var renamed = testBackingStore.snapshot();
+        testBackingStore.clear();
+
+        assertEquals(Map.of("name", "Peter"), snapshot.getValues());
+        assertEquals(Set.of("name"), snapshot.getChangedKeys());
+        assertEquals(Map.of("name", "Peter Pan"), BackingStore.diff(snapshot, renamed));
+        assertTrue(testBackingStore.snapshot().getValues().isEmpty());
+    }
+}
@@ -1,5 +1,6 @@
 package com.microsoft.kiota.authentication;
 
+import com.azure.core.credential.AccessToken;
 import com.azure.core.credential.TokenCredential;
 import com.azure.core.credential.TokenRequestContext;
 
@@ -29,6 +30,7 @@ public class AzureIdentityAccessTokenProvider implements AccessTokenProvider {
     private final AllowedHostsValidator _hostValidator;
     private final ObservabilityOptions _observabilityOptions;
     private final boolean _isCaeEnabled;
+    @Nullable private final TokenCache _tokenCache;
     private static final HashSet<String> localhostStrings =
             new HashSet<>(Arrays.asList("localhost", "[::1]", "::1", "127.0.0.1"));
 
@@ -77,6 +79,26 @@ public class AzureIdentityAccessTokenProvider implements AccessTokenProvider {
             @Nullable final ObservabilityOptions observabilityOptions,
             final boolean isCaeEnabled,
             @Nonnull final String... scopes) {
+        this(tokenCredential, allowedHosts, observabilityOptions, isCaeEnabled, null, scopes);
+    }
+
+    /**
+     * Creates a new instance of AzureIdentityAccessTokenProvider.
+     * @param tokenCredential The Azure.Identity.TokenCredential implementation to use.
+     * @param allowedHosts The list of allowed hosts for which to request access tokens.
+     * @param observabilityOptions The observability options to use.
+     * @param isCaeEnabled A flag to enable or disable the Continuous Access Evaluation.
+     * @param tokenCacheOptions The access token caching options to use, tokens are cached with the default options when null.
+     * @param scopes The scopes to request access tokens for.
+     */
+    @SuppressWarnings("LambdaLast")
+    public AzureIdentityAccessTokenProvider(
+            @Nonnull final TokenCredential tokenCredential,
+            @Nonnull final String[] allowedHosts,
+            @Nullable final ObservabilityOptions observabilityOptions,
+            final boolean isCaeEnabled,
+            @Nullable final TokenCacheOptions tokenCacheOptions,
+            @Nonnull final String... scopes) {
         creds = Objects.requireNonNull(tokenCredential, "parameter tokenCredential cannot be null");
 
         if (scopes == null) {
@@ -95,6 +117,9 @@ public class AzureIdentityAccessTokenProvider implements AccessTokenProvider {
             _observabilityOptions = observabilityOptions;
         }
         _isCaeEnabled = isCaeEnabled;
+        final TokenCacheOptions cacheOptions =
+                tokenCacheOptions == null ? new TokenCacheOptions() : tokenCacheOptions;
+        _tokenCache = cacheOptions.isEnabled() ? new TokenCache(cacheOptions) : null;
     }
 
     private static final String ClaimsKey = "claims";
@@ -164,7 +189,16 @@ public class AzureIdentityAccessTokenProvider implements AccessTokenProvider {
             if (decodedClaim != null && !decodedClaim.isEmpty()) {
                 context.setClaims(decodedClaim);
             }
-            return this.creds.getTokenSync(context).getToken();
+            if (_tokenCache == null) {
+                return this.creds.getTokenSync(context).getToken();
+            }
+            final AccessToken token =
+                    _tokenCache.getToken(
+                            scopes,
+                            context.getClaims(),
+                            _isCaeEnabled,
+                            () -> this.creds.getTokenSync(context));
+            return Objects.requireNonNull(token, "the credential returned a null token").getToken();
         } catch (IllegalArgumentException e) {
             span.recordException(e);
             throw e;
@@ -177,6 +211,14 @@ public class AzureIdentityAccessTokenProvider implements AccessTokenProvider {
         return _hostValidator;
     }
 
+    /**
+     * Gets the cache of the access tokens acquired by this provider, which exposes the cache metrics.
+     * @return the token cache, or null when caching is disabled.
+     */
+    @Nullable public TokenCache getTokenCache() {
+        return _tokenCache;
+    }
+
     private static boolean isLocalhostUrl(@Nonnull String host) {
         Objects.requireNonNull(host);
         return localhostStrings.contains(host.toLowerCase(Locale.ROOT));
@@ -52,8 +52,33 @@ public class AzureIdentityAuthenticationProvider extends BaseBearerTokenAuthenti
             @Nullable final ObservabilityOptions observabilityOptions,
             final boolean isCaeEnabled,
             @Nonnull final String... scopes) {
+        this(tokenCredential, allowedHosts, observabilityOptions, isCaeEnabled, null, scopes);
+    }
+
+    /**
+     * Creates a new instance of AzureIdentityAuthenticationProvider.
+     * @param tokenCredential The Azure.Identity.TokenCredential implementation to use.
+     * @param allowedHosts The list of allowed hosts for which to request access tokens.
+     * @param observabilityOptions The observability options to use.
+     * @param isCaeEnabled A flag to enable or disable the Continuous Access Evaluation.
+     * @param tokenCacheOptions The access token caching options to use, tokens are cached with the default options when null.
+     * @param scopes The scopes to request access tokens for.
+     */
+    @SuppressWarnings("LambdaLast")
+    public AzureIdentityAuthenticationProvider(
+            @Nonnull final TokenCredential tokenCredential,
+            @Nonnull final String[] allowedHosts,
+            @Nullable final ObservabilityOptions observabilityOptions,
+            final boolean isCaeEnabled,
+            @Nullable final TokenCacheOptions tokenCacheOptions,
+            @Nonnull final String... scopes) {
         super(
                 new AzureIdentityAccessTokenProvider(
-                        tokenCredential, allowedHosts, observabilityOptions, isCaeEnabled, scopes));
+                        tokenCredential,
+                        allowedHosts,
+                        observabilityOptions,
+                        isCaeEnabled,
+                        tokenCacheOptions,
+                        scopes));
     }
 }
@@ -0,0 +1,204 @@
+package com.microsoft.kiota.authentication;
+
+import com.azure.core.credential.AccessToken;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Caches the access tokens acquired by {@link AzureIdentityAccessTokenProvider}, keyed by scopes, claims and continuous access evaluation flag.
+ * Cached tokens are refreshed in the background before they expire, a single refresh runs at a time for a given key.
+ * Answering a claims challenge evicts the token cached without claims for the same scopes, as the challenge means it was revoked.
+ */
+public final class TokenCache {
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final Duration refreshBeforeExpiry;
+    private final Executor refreshExecutor;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder refreshFailures = new LongAdder();
+
+    TokenCache(@Nonnull final TokenCacheOptions options) {
+        Objects.requireNonNull(options, "parameter options cannot be null");
+        this.refreshBeforeExpiry = options.getRefreshBeforeExpiry();
+        this.refreshExecutor = options.getRefreshExecutor();
+    }
+
+    /**
+     * Gets the number of requests served by a cached token
+     * @return the number of cache hits
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of requests which acquired a token from the credential
+     * @return the number of cache misses
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Gets the number of background refreshes started
+     * @return the number of background refreshes
+     */
+    public long getRefreshCount() {
+        return refreshes.sum();
+    }
+
+    /**
+     * Gets the number of background refreshes which failed, the cached token is kept until it expires when a refresh fails
+     * @return the number of failed background refreshes
+     */
+    public long getRefreshFailureCount() {
+        return refreshFailures.sum();
+    }
+
+    /** Removes all the cached tokens */
+    public void clear() {
+        entries.clear();
+    }
+
+    @Nullable AccessToken getToken(
+            @Nonnull final Collection<String> scopes,
+            @Nullable final String claims,
+            final boolean isCaeEnabled,
+            @Nonnull final Supplier<AccessToken> acquire) {
+        final Key key = new Key(scopes, claims, isCaeEnabled);
+        final Entry entry = entries.computeIfAbsent(key, k -> new Entry());
+        final AccessToken cached = entry.token;
+        final OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        if (isUsable(cached, now)) {
+            hits.increment();
+            if (shouldRefresh(cached, now)) {
+                scheduleRefresh(entry, acquire);
+            }
+            return cached;
+        }
+        // a lock rather than a synchronized block so callers on virtual threads do not pin their
+        // carrier while the token is acquired
+        entry.lock.lock();
+        try {
+            // another caller may have acquired the token while this one was waiting
+            final AccessToken current = entry.token;
+            if (isUsable(current, OffsetDateTime.now(ZoneOffset.UTC))) {
+                hits.increment();
+                return current;
+            }
+            misses.increment();
+            if (!key.claims.isEmpty()) {
+                // a claims challenge means the token acquired without claims for the same scopes
+                // was revoked, later requests without claims must not be handed it anymore
+                entries.remove(new Key(scopes, null, isCaeEnabled));
+            }
+            final AccessToken acquired = acquire.get();
+            entry.token = acquired;
+            return acquired;
+        } finally {
+            entry.lock.unlock();
+        }
+    }
+
+    private void scheduleRefresh(
+            @Nonnull final Entry entry, @Nonnull final Supplier<AccessToken> acquire) {
+        if (!entry.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        refreshes.increment();
+        try {
+            refreshExecutor.execute(
+                    () -> {
+                        try {
+                            final AccessToken refreshed = acquire.get();
+                            if (refreshed != null) {
+                                entry.token = refreshed;
+                            }
+                        } catch (final RuntimeException ex) {
+                            refreshFailures.increment();
+                        } finally {
+                            entry.refreshing.set(false);
+                        }
+                    });
+        } catch (final RejectedExecutionException ex) {
+            refreshFailures.increment();
+            entry.refreshing.set(false);
+        }
+    }
+
+    private static boolean isUsable(
+            @Nullable final AccessToken token, @Nonnull final OffsetDateTime now) {
+        if (token == null || token.getExpiresAt() == null) {
+            return false;
+        }
+        return now.isBefore(token.getExpiresAt().minus(TokenCacheOptions.EXPIRY_MARGIN));
+    }
+
+    private boolean shouldRefresh(
+            @Nonnull final AccessToken token, @Nonnull final OffsetDateTime now) {
+        OffsetDateTime refreshAt = token.getExpiresAt().minus(refreshBeforeExpiry);
+        final OffsetDateTime suggestedRefreshAt = token.getRefreshAt();
+        if (suggestedRefreshAt != null && suggestedRefreshAt.isBefore(refreshAt)) {
+            refreshAt = suggestedRefreshAt;
+        }
+        return !now.isBefore(refreshAt);
+    }
+
+    private static final class Entry {
+        volatile AccessToken token;
+        final AtomicBoolean refreshing = new AtomicBoolean();
+        final ReentrantLock lock = new ReentrantLock();
+    }
+
+    private static final class Key {
+        private final Set<String> scopes;
+        private final String claims;
+        private final boolean isCaeEnabled;
+
+        Key(
+                @Nonnull final Collection<String> scopes,
+                @Nullable final String claims,
+                final boolean isCaeEnabled) {
+            this.scopes = Collections.unmodifiableSet(new TreeSet<>(scopes));
+            this.claims = claims == null ? "" : claims;
+            this.isCaeEnabled = isCaeEnabled;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            return isCaeEnabled == other.isCaeEnabled
+                    && claims.equals(other.claims)
+                    && scopes.equals(other.scopes);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(scopes, claims, isCaeEnabled);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.microsoft.kiota.authentication;
+
+import jakarta.annotation.Nonnull;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/** Holds the access token caching configuration for the authentication provider */
+public class TokenCacheOptions {
+    /** The default duration before expiry at which tokens are refreshed in the background */
+    @Nonnull public static final Duration DEFAULT_REFRESH_BEFORE_EXPIRY = Duration.ofMinutes(5);
+
+    /** The duration before expiry at which a cached token is no longer handed out */
+    @Nonnull public static final Duration EXPIRY_MARGIN = Duration.ofSeconds(30);
+
+    /** default constructor */
+    public TokenCacheOptions() {}
+
+    private boolean enabled = true;
+    @Nonnull private Duration refreshBeforeExpiry = DEFAULT_REFRESH_BEFORE_EXPIRY;
+    @Nonnull private Executor refreshExecutor = DefaultRefreshExecutor.INSTANCE;
+
+    /**
+     * Gets whether access tokens are cached by the provider
+     * @return whether access tokens are cached
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether access tokens are cached by the provider, when disabled every request acquires a token from the credential
+     * @param enabled whether access tokens are cached
+     */
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Gets the duration before expiry at which cached tokens are refreshed in the background
+     * @return the duration before expiry
+     */
+    @Nonnull public Duration getRefreshBeforeExpiry() {
+        return refreshBeforeExpiry;
+    }
+
+    /**
+     * Sets the duration before expiry at which cached tokens are refreshed in the background.
+     * Requests keep receiving the cached token while it is being refreshed, as long as it does not expire within {@link #EXPIRY_MARGIN}.
+     * @param refreshBeforeExpiry the duration before expiry
+     */
+    public void setRefreshBeforeExpiry(@Nonnull final Duration refreshBeforeExpiry) {
+        Objects.requireNonNull(refreshBeforeExpiry, "parameter refreshBeforeExpiry cannot be null");
+        if (refreshBeforeExpiry.isNegative())
+            throw new IllegalArgumentException("Refresh before expiry cannot be negative");
+        this.refreshBeforeExpiry = refreshBeforeExpiry;
+    }
+
+    /**
+     * Gets the executor running the background refreshes
+     * @return the executor running the background refreshes
+     */
+    @Nonnull public Executor getRefreshExecutor() {
+        return refreshExecutor;
+    }
+
+    /**
+     * Sets the executor running the background refreshes.
+     * Refreshes block while the credential acquires the token, so they default to a pool of two daemon threads shared by the providers rather than the common pool.
+     * When the executor rejects a refresh, the refresh is counted as failed and attempted again by the next request.
+     * @param refreshExecutor the executor running the background refreshes
+     */
+    public void setRefreshExecutor(@Nonnull final Executor refreshExecutor) {
+        this.refreshExecutor =
+                Objects.requireNonNull(refreshExecutor, "parameter refreshExecutor cannot be null");
+    }
+
+    /** Holds the executor running the background refreshes by default, created when first used */
+    private static final class DefaultRefreshExecutor {
+        private static final int THREADS = 2;
+        private static final int QUEUE_CAPACITY = 64;
+        private static final Executor INSTANCE = create();
+
+        private static Executor create() {
+            final ThreadPoolExecutor executor =
+                    new ThreadPoolExecutor(
+                            THREADS,
+                            THREADS,
+                            60,
+                            TimeUnit.SECONDS,
+                            new LinkedBlockingQueue<>(QUEUE_CAPACITY),
+                            runnable -> {
+                                final Thread thread =
+                                        new Thread(runnable, "kiota-token-cache-refresh");
+                                thread.setDaemon(true);
+                                return thread;
+                            });
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+    }
+}
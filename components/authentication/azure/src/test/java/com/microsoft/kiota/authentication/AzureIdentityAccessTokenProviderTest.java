@@ -2,9 +2,14 @@ package com.microsoft.kiota.authentication;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertLinesMatch;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.azure.core.credential.AccessToken;
@@ -19,9 +24,14 @@ import org.mockito.ArgumentCaptor;
 
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 public class AzureIdentityAccessTokenProviderTest {
 
@@ -89,6 +99,152 @@ public class AzureIdentityAccessTokenProviderTest {
                 new String[] {"https://graph.microsoft.com/.default"});
     }
 
+    @Test
+    void cachesTokensUntilTheyNeedRefreshing() throws URISyntaxException {
+        var tokenCredential = mock(TokenCredential.class);
+        when(tokenCredential.getTokenSync(any(TokenRequestContext.class)))
+                .thenReturn(new AccessToken("token", OffsetDateTime.now().plusHours(1)));
+        var accessTokenProvider =
+                new AzureIdentityAccessTokenProvider(tokenCredential, new String[] {});
+        var uri = new URI("https://graph.microsoft.com/v1.0/me");
+
+        assertEquals("token", accessTokenProvider.getAuthorizationToken(uri, new HashMap<>()));
+        assertEquals("token", accessTokenProvider.getAuthorizationToken(uri, new HashMap<>()));
+
+        verify(tokenCredential, times(1)).getTokenSync(any(TokenRequestContext.class));
+        var tokenCache = accessTokenProvider.getTokenCache();
+        assertNotNull(tokenCache);
+        assertEquals(1, tokenCache.getHitCount());
+        assertEquals(1, tokenCache.getMissCount());
+        assertEquals(0, tokenCache.getRefreshCount());
+    }
+
+    @Test
+    void cachesTokensPerClaims() throws URISyntaxException {
+        var tokenCredential = mock(TokenCredential.class);
+        when(tokenCredential.getTokenSync(any(TokenRequestContext.class)))
+                .thenReturn(new AccessToken("token", OffsetDateTime.now().plusHours(1)));
+        var accessTokenProvider =
+                new AzureIdentityAccessTokenProvider(tokenCredential, new String[] {});
+        var uri = new URI("https://graph.microsoft.com/v1.0/me");
+        var claimsContext = new HashMap<String, Object>();
+        claimsContext.put(
+                "claims",
+                Base64.getEncoder()
+                        .encodeToString(
+                                "{\"access_token\":{\"nbf\":{\"essential\":true}}}"
+                                        .getBytes(StandardCharsets.UTF_8)));
+
+        accessTokenProvider.getAuthorizationToken(uri, new HashMap<>());
+        accessTokenProvider.getAuthorizationToken(uri, claimsContext);
+        accessTokenProvider.getAuthorizationToken(uri, claimsContext);
+
+        verify(tokenCredential, times(2)).getTokenSync(any(TokenRequestContext.class));
+        assertEquals(2, accessTokenProvider.getTokenCache().getMissCount());
+    }
+
+    @Test
+    void evictsTheTokenWithoutClaimsWhenAClaimsChallengeIsAnswered() throws URISyntaxException {
+        var tokenCredential = mock(TokenCredential.class);
+        when(tokenCredential.getTokenSync(any(TokenRequestContext.class)))
+                .thenReturn(new AccessToken("revoked", OffsetDateTime.now().plusHours(1)))
+                .thenReturn(new AccessToken("challenged", OffsetDateTime.now().plusHours(1)))
+                .thenReturn(new AccessToken("renewed", OffsetDateTime.now().plusHours(1)));
+        var accessTokenProvider =
+                new AzureIdentityAccessTokenProvider(tokenCredential, new String[] {});
+        var uri = new URI("https://graph.microsoft.com/v1.0/me");
+        var claimsContext = new HashMap<String, Object>();
+        claimsContext.put(
+                "claims",
+                Base64.getEncoder()
+                        .encodeToString(
+                                "{\"access_token\":{\"nbf\":{\"essential\":true}}}"
+                                        .getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals("revoked", accessTokenProvider.getAuthorizationToken(uri, new HashMap<>()));
+        assertEquals("challenged", accessTokenProvider.getAuthorizationToken(uri, claimsContext));
+        assertEquals("renewed", accessTokenProvider.getAuthorizationToken(uri, new HashMap<>()));
+        assertEquals("challenged", accessTokenProvider.getAuthorizationToken(uri, claimsContext));
+        assertEquals("renewed", accessTokenProvider.getAuthorizationToken(uri, new HashMap<>()));
+
+        verify(tokenCredential, times(3)).getTokenSync(any(TokenRequestContext.class));
+    }
+
+    @Test
+    void refreshesTokensOnDedicatedDaemonThreadsByDefault() throws Exception {
+        var thread = new CompletableFuture<Thread>();
+        new TokenCacheOptions()
+                .getRefreshExecutor()
+                .execute(() -> thread.complete(Thread.currentThread()));
+
+        var refreshThread = thread.get(10, TimeUnit.SECONDS);
+        assertTrue(refreshThread.isDaemon());
+        assertEquals("kiota-token-cache-refresh", refreshThread.getName());
+    }
+
+    @Test
+    void refreshesTokensInTheBackgroundBeforeTheyExpire() throws URISyntaxException {
+        var tokenCredential = mock(TokenCredential.class);
+        when(tokenCredential.getTokenSync(any(TokenRequestContext.class)))
+                .thenReturn(new AccessToken("expiring", OffsetDateTime.now().plusMinutes(2)))
+                .thenReturn(new AccessToken("refreshed", OffsetDateTime.now().plusHours(1)));
+        var tokenCacheOptions = new TokenCacheOptions();
+        tokenCacheOptions.setRefreshExecutor(Runnable::run);
+        var accessTokenProvider =
+                new AzureIdentityAccessTokenProvider(
+                        tokenCredential, new String[] {}, null, true, tokenCacheOptions);
+        var uri = new URI("https://graph.microsoft.com/v1.0/me");
+
+        assertEquals("expiring", accessTokenProvider.getAuthorizationToken(uri, new HashMap<>()));
+        assertEquals("expiring", accessTokenProvider.getAuthorizationToken(uri, new HashMap<>()));
+        assertEquals("refreshed", accessTokenProvider.getAuthorizationToken(uri, new HashMap<>()));
+
+        verify(tokenCredential, times(2)).getTokenSync(any(TokenRequestContext.class));
+        var tokenCache = accessTokenProvider.getTokenCache();
+        assertEquals(1, tokenCache.getMissCount());
+        assertEquals(2, tokenCache.getHitCount());
+        assertEquals(1, tokenCache.getRefreshCount());
+        assertEquals(0, tokenCache.getRefreshFailureCount());
+    }
+
+    @Test
+    void keepsTheCachedTokenWhenTheRefreshFails() throws URISyntaxException {
+        var tokenCredential = mock(TokenCredential.class);
+        when(tokenCredential.getTokenSync(any(TokenRequestContext.class)))
+                .thenReturn(new AccessToken("expiring", OffsetDateTime.now().plusMinutes(2)))
+                .thenThrow(new IllegalStateException("the identity provider is unavailable"));
+        var tokenCacheOptions = new TokenCacheOptions();
+        tokenCacheOptions.setRefreshExecutor(Runnable::run);
+        var accessTokenProvider =
+                new AzureIdentityAccessTokenProvider(
+                        tokenCredential, new String[] {}, null, true, tokenCacheOptions);
+        var uri = new URI("https://graph.microsoft.com/v1.0/me");
+
+        assertEquals("expiring", accessTokenProvider.getAuthorizationToken(uri, new HashMap<>()));
+        assertEquals("expiring", accessTokenProvider.getAuthorizationToken(uri, new HashMap<>()));
+
+        assertEquals(1, accessTokenProvider.getTokenCache().getRefreshFailureCount());
+    }
+
+    @Test
+    void acquiresTokensForEveryRequestWhenCachingIsDisabled() throws URISyntaxException {
+        var tokenCredential = mock(TokenCredential.class);
+        when(tokenCredential.getTokenSync(any(TokenRequestContext.class)))
+                .thenReturn(new AccessToken("token", OffsetDateTime.now().plusHours(1)));
+        var tokenCacheOptions = new TokenCacheOptions();
+        tokenCacheOptions.setEnabled(false);
+        var accessTokenProvider =
+                new AzureIdentityAccessTokenProvider(
+                        tokenCredential, new String[] {}, null, true, tokenCacheOptions);
+        var uri = new URI("https://graph.microsoft.com/v1.0/me");
+
+        accessTokenProvider.getAuthorizationToken(uri, new HashMap<>());
+        accessTokenProvider.getAuthorizationToken(uri, new HashMap<>());
+
+        assertNull(accessTokenProvider.getTokenCache());
+        verify(tokenCredential, times(2)).getTokenSync(any(TokenRequestContext.class));
+    }
+
     private static void assertScopes(
             TokenCredential tokenCredential,
             AzureIdentityAccessTokenProvider accessTokenProvider,
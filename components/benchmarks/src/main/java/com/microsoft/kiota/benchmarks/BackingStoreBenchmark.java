@@ -0,0 +1,103 @@
+package com.microsoft.kiota.benchmarks;
+
+import com.microsoft.kiota.store.BackingStore;
+import com.microsoft.kiota.store.BackingStoreFactory;
+import com.microsoft.kiota.store.InMemoryBackingStoreFactory;
+import com.microsoft.kiota.store.SlotBackingStoreFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/** Compares the dirty tracking of the backing store implementations. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BackingStoreBenchmark {
+    /** The number of properties of the model. */
+    @Param({"10", "100"})
+    public int properties;
+
+    /** The backing store implementation. */
+    @Param({"inMemory", "slot"})
+    public String store;
+
+    private BackingStoreFactory factory;
+    private String[] keys;
+    private BackingStore initializedStore;
+
+    /** Builds the property keys and a store with initialization completed. */
+    @Setup
+    public void setup() {
+        factory =
+                "slot".equals(store)
+                        ? new SlotBackingStoreFactory()
+                        : new InMemoryBackingStoreFactory();
+        keys = new String[properties];
+        for (int i = 0; i < properties; i++) {
+            keys[i] = "property" + i;
+        }
+        initializedStore = populate();
+    }
+
+    private BackingStore populate() {
+        final BackingStore backingStore = factory.createBackingStore();
+        for (int i = 0; i < keys.length; i++) {
+            backingStore.set(keys[i], i);
+        }
+        backingStore.setIsInitializationCompleted(true);
+        return backingStore;
+    }
+
+    /**
+     * Populates a store the way deserialization does and completes its initialization.
+     * @return the populated store.
+     */
+    @Benchmark
+    public BackingStore populateAndComplete() {
+        return populate();
+    }
+
+    /**
+     * Changes a tenth of the properties and enumerates the changed values the way serialization does.
+     * @return the changed values.
+     */
+    @Benchmark
+    public Map<String, Object> enumerateChangedValues() {
+        for (int i = 0; i < keys.length; i += 10) {
+            initializedStore.set(keys[i], -i);
+        }
+        initializedStore.setReturnOnlyChangedValues(true);
+        final Map<String, Object> result = initializedStore.enumerate();
+        initializedStore.setReturnOnlyChangedValues(false);
+        return result;
+    }
+
+    /**
+     * Reads every property.
+     * @return the sum of the values, to prevent dead code elimination.
+     */
+    @Benchmark
+    public long readAll() {
+        long result = 0;
+        for (final String key : keys) {
+            final Integer value = initializedStore.get(key);
+            result += value;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,73 @@
+package com.microsoft.kiota.benchmarks;
+
+import com.microsoft.kiota.benchmarks.models.Address;
+import com.microsoft.kiota.benchmarks.models.Payloads;
+import com.microsoft.kiota.serialization.FormParseNodeFactory;
+import com.microsoft.kiota.serialization.FormSerializationWriter;
+import com.microsoft.kiota.serialization.ParseNodeFactory;
+import com.microsoft.kiota.serialization.SerializationWriter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/** Serializes and parses a flat model as url encoded form data. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FormRoundTripBenchmark {
+    private static final String CONTENT_TYPE = "application/x-www-form-urlencoded";
+
+    private Address model;
+    private byte[] payload;
+    private final ParseNodeFactory parseNodeFactory = new FormParseNodeFactory();
+
+    /**
+     * Builds the model and its payload.
+     * @throws IOException when the payload cannot be read.
+     */
+    @Setup
+    public void setup() throws IOException {
+        model = Payloads.address(42);
+        payload = serialize().readAllBytes();
+    }
+
+    /**
+     * Serializes the model.
+     * @return the serialized content.
+     * @throws IOException when the writer cannot be closed.
+     */
+    @Benchmark
+    public InputStream serialize() throws IOException {
+        try (final SerializationWriter writer = new FormSerializationWriter()) {
+            writer.writeObjectValue(null, model);
+            return writer.getSerializedContent();
+        }
+    }
+
+    /**
+     * Parses the model.
+     * @return the parsed model.
+     */
+    @Benchmark
+    public Address parse() {
+        return parseNodeFactory
+                .getParseNode(CONTENT_TYPE, new ByteArrayInputStream(payload))
+                .getObjectValue(Address::createFromDiscriminatorValue);
+    }
+}
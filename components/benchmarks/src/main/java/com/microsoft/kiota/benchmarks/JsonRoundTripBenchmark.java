@@ -0,0 +1,107 @@
+package com.microsoft.kiota.benchmarks;
+
+import com.microsoft.kiota.benchmarks.models.Payloads;
+import com.microsoft.kiota.benchmarks.models.UserCollectionResponse;
+import com.microsoft.kiota.serialization.JsonParseNodeFactory;
+import com.microsoft.kiota.serialization.JsonSerializationWriterFactory;
+import com.microsoft.kiota.serialization.JsonStreamingParseNodeFactory;
+import com.microsoft.kiota.serialization.ParseNodeFactory;
+import com.microsoft.kiota.serialization.PooledJsonSerializationWriterFactory;
+import com.microsoft.kiota.serialization.SerializationWriter;
+import com.microsoft.kiota.serialization.SerializationWriterFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/** Serializes and parses pages of users of representative sizes. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonRoundTripBenchmark {
+    private static final String CONTENT_TYPE = "application/json";
+
+    /** The number of users in the page. */
+    @Param({"1", "100", "10000"})
+    public int count;
+
+    private UserCollectionResponse model;
+    private byte[] payload;
+    private final SerializationWriterFactory writerFactory = new JsonSerializationWriterFactory();
+    private final SerializationWriterFactory pooledWriterFactory =
+            new PooledJsonSerializationWriterFactory();
+    private final ParseNodeFactory treeParseNodeFactory = new JsonParseNodeFactory();
+    private final ParseNodeFactory streamingParseNodeFactory = new JsonStreamingParseNodeFactory();
+
+    /** Builds the model and its payload. */
+    @Setup
+    public void setup() {
+        model = Payloads.users(count);
+        payload = Payloads.usersJson(count);
+    }
+
+    /**
+     * Serializes the page with a new writer.
+     * @return the serialized content.
+     * @throws IOException when the writer cannot be closed.
+     */
+    @Benchmark
+    public InputStream serialize() throws IOException {
+        return serialize(writerFactory);
+    }
+
+    /**
+     * Serializes the page with a pooled writer.
+     * @return the serialized content.
+     * @throws IOException when the writer cannot be closed.
+     */
+    @Benchmark
+    public InputStream serializePooled() throws IOException {
+        return serialize(pooledWriterFactory);
+    }
+
+    private InputStream serialize(final SerializationWriterFactory factory) throws IOException {
+        try (final SerializationWriter writer = factory.getSerializationWriter(CONTENT_TYPE)) {
+            writer.writeObjectValue(null, model);
+            return writer.getSerializedContent();
+        }
+    }
+
+    /**
+     * Parses the page from a json tree.
+     * @return the parsed page.
+     */
+    @Benchmark
+    public UserCollectionResponse parse() {
+        return treeParseNodeFactory
+                .getParseNode(CONTENT_TYPE, new ByteArrayInputStream(payload))
+                .getObjectValue(UserCollectionResponse::createFromDiscriminatorValue);
+    }
+
+    /**
+     * Parses the page from the json token stream.
+     * @return the parsed page.
+     */
+    @Benchmark
+    public UserCollectionResponse parseStreaming() {
+        return streamingParseNodeFactory
+                .getParseNode(CONTENT_TYPE, new ByteArrayInputStream(payload))
+                .getObjectValue(UserCollectionResponse::createFromDiscriminatorValue);
+    }
+}
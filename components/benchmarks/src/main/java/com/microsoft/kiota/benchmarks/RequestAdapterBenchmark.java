@@ -0,0 +1,131 @@
+package com.microsoft.kiota.benchmarks;
+
+import com.microsoft.kiota.HttpMethod;
+import com.microsoft.kiota.RequestInformation;
+import com.microsoft.kiota.authentication.AnonymousAuthenticationProvider;
+import com.microsoft.kiota.benchmarks.models.Payloads;
+import com.microsoft.kiota.benchmarks.models.User;
+import com.microsoft.kiota.benchmarks.models.UserCollectionResponse;
+import com.microsoft.kiota.http.KiotaClientFactory;
+import com.microsoft.kiota.http.OkHttpRequestAdapter;
+import com.microsoft.kiota.serialization.JsonParseNodeFactory;
+import com.microsoft.kiota.serialization.JsonSerializationWriterFactory;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import okio.Buffer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/** Sends requests through the default middleware pipeline to an in-process server. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestAdapterBenchmark {
+    private static final String URL_TEMPLATE = "{+baseurl}/users";
+
+    /** The number of users in the response page. */
+    @Param({"1", "100"})
+    public int count;
+
+    private MockWebServer server;
+    private OkHttpClient client;
+    private OkHttpRequestAdapter adapter;
+    private User body;
+
+    /**
+     * Starts the server and builds the adapter with the default middleware.
+     * @throws IOException when the server cannot be started.
+     */
+    @Setup
+    public void setup() throws IOException {
+        final Buffer responseBody = new Buffer().write(Payloads.usersJson(count));
+        server = new MockWebServer();
+        server.setDispatcher(
+                new Dispatcher() {
+                    @Override
+                    public MockResponse dispatch(final RecordedRequest request) {
+                        if ("POST".equals(request.getMethod())) {
+                            return new MockResponse().setResponseCode(204);
+                        }
+                        return new MockResponse()
+                                .setHeader("Content-Type", "application/json")
+                                .setBody(responseBody.clone());
+                    }
+                });
+        server.start();
+        client = KiotaClientFactory.create().build();
+        adapter =
+                new OkHttpRequestAdapter(
+                        new AnonymousAuthenticationProvider(),
+                        new JsonParseNodeFactory(),
+                        new JsonSerializationWriterFactory(),
+                        client);
+        adapter.setBaseUrl(server.url("/v1.0").toString());
+        body = Payloads.user(1);
+    }
+
+    /**
+     * Stops the server and releases the client resources.
+     * @throws IOException when the server cannot be stopped.
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        client.dispatcher().executorService().shutdown();
+        client.connectionPool().evictAll();
+        server.shutdown();
+    }
+
+    private RequestInformation newRequest(final HttpMethod method) {
+        final HashMap<String, Object> pathParameters = new HashMap<>();
+        pathParameters.put("baseurl", adapter.getBaseUrl());
+        final RequestInformation requestInfo =
+                new RequestInformation(method, URL_TEMPLATE, pathParameters);
+        requestInfo.headers.tryAdd("Accept", "application/json");
+        return requestInfo;
+    }
+
+    /**
+     * Gets a page of users.
+     * @return the parsed page.
+     */
+    @Benchmark
+    public UserCollectionResponse send() {
+        return adapter.send(
+                newRequest(HttpMethod.GET),
+                null,
+                UserCollectionResponse::createFromDiscriminatorValue);
+    }
+
+    /**
+     * Posts a user, serializing the request body.
+     */
+    @Benchmark
+    public void sendNoContent() {
+        final RequestInformation requestInfo = newRequest(HttpMethod.POST);
+        requestInfo.setContentFromParsable(adapter, "application/json", body);
+        adapter.sendPrimitive(requestInfo, null, Void.class);
+    }
+}
@@ -0,0 +1,51 @@
+package com.microsoft.kiota.benchmarks;
+
+import com.microsoft.kiota.HttpMethod;
+import com.microsoft.kiota.RequestInformation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/** Expands the url template of a request the way request builders do. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestInformationBenchmark {
+    private static final String URL_TEMPLATE =
+            "{+baseurl}/users/{user%2Did}/messages{?%24top,%24skip,%24search,%24filter,%24count,%24orderby,%24select}";
+
+    /**
+     * Builds a request and expands its url.
+     * @return the url of the request.
+     * @throws URISyntaxException when the url is invalid.
+     */
+    @Benchmark
+    public URI getUri() throws URISyntaxException {
+        final HashMap<String, Object> pathParameters = new HashMap<>();
+        pathParameters.put("baseurl", "https://graph.microsoft.com/v1.0");
+        pathParameters.put("user%2Did", "5f4a3b2c-1d0e-4f9a-8b7c-6d5e4f3a2b1c");
+        final RequestInformation requestInfo =
+                new RequestInformation(HttpMethod.GET, URL_TEMPLATE, pathParameters);
+        requestInfo.addQueryParameter("%24top", 10);
+        requestInfo.addQueryParameter("%24filter", "startswith(subject, 'Re: ')");
+        requestInfo.addQueryParameter("%24count", true);
+        requestInfo.addQueryParameter(
+                "%24select", new String[] {"subject", "from", "receivedDateTime"});
+        return requestInfo.getUri();
+    }
+}
@@ -0,0 +1,73 @@
+package com.microsoft.kiota.benchmarks;
+
+import com.microsoft.kiota.benchmarks.models.Payloads;
+import com.microsoft.kiota.serialization.JsonParseNodeFactory;
+import com.microsoft.kiota.serialization.JsonSerializationWriter;
+import com.microsoft.kiota.serialization.ParseNodeFactory;
+import com.microsoft.kiota.serialization.SerializationWriter;
+import com.microsoft.kiota.serialization.UntypedNode;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/** Parses and serializes json payloads which are not described by a model. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UntypedPayloadBenchmark {
+    /** The number of records in the payload. */
+    @Param({"10", "1000"})
+    public int count;
+
+    private byte[] payload;
+    private UntypedNode node;
+    private final ParseNodeFactory parseNodeFactory = new JsonParseNodeFactory();
+
+    /** Builds the payload and its untyped representation. */
+    @Setup
+    public void setup() {
+        payload = Payloads.untypedJson(count);
+        node = parse();
+    }
+
+    /**
+     * Parses the payload into untyped nodes.
+     * @return the untyped node.
+     */
+    @Benchmark
+    public UntypedNode parse() {
+        return parseNodeFactory
+                .getParseNode("application/json", new ByteArrayInputStream(payload))
+                .getObjectValue(UntypedNode::createFromDiscriminatorValue);
+    }
+
+    /**
+     * Serializes the untyped nodes.
+     * @return the serialized content.
+     * @throws IOException when the writer cannot be closed.
+     */
+    @Benchmark
+    public InputStream serialize() throws IOException {
+        try (final SerializationWriter writer = new JsonSerializationWriter()) {
+            writer.writeObjectValue(null, node);
+            return writer.getSerializedContent();
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.microsoft.kiota.benchmarks;
+
+import com.microsoft.kiota.HttpMethod;
+import com.microsoft.kiota.RequestInformation;
+import com.microsoft.kiota.authentication.AnonymousAuthenticationProvider;
+import com.microsoft.kiota.benchmarks.models.Payloads;
+import com.microsoft.kiota.benchmarks.models.UserCollectionResponse;
+import com.microsoft.kiota.http.KiotaClientFactory;
+import com.microsoft.kiota.http.KiotaClientOptions;
+import com.microsoft.kiota.http.OkHttpRequestAdapter;
+import com.microsoft.kiota.http.VirtualThreads;
+import com.microsoft.kiota.serialization.JsonParseNodeFactory;
+import com.microsoft.kiota.serialization.JsonSerializationWriterFactory;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import okio.Buffer;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs many concurrent blocking sends against a server with a fixed latency, on a pool of platform threads or on virtual threads.
+ * The peakThreads counter reports the highest number of live platform threads during each iteration, which includes the carrier threads of the virtual threads as well as the threads of the in-process server.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class VirtualThreadBenchmark {
+    private static final int CONCURRENT_CALLS = 1000;
+    private static final int PLATFORM_THREADS = 200;
+    private static final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+    /** The threads the blocking sends run on, platform or virtual. */
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    /** The latency of the server in milliseconds. */
+    @Param({"20"})
+    public int latency;
+
+    private MockWebServer server;
+    private OkHttpClient client;
+    private OkHttpRequestAdapter adapter;
+    private ExecutorService executor;
+
+    /** Counts the peak number of platform threads. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class ThreadCounters {
+        /** The highest number of live platform threads during the iteration. */
+        public long peakThreads;
+
+        /** Resets the peak before each iteration. */
+        @Setup(Level.Iteration)
+        public void reset() {
+            threadMXBean.resetPeakThreadCount();
+            peakThreads = 0;
+        }
+    }
+
+    /**
+     * Starts the server and builds the adapter and the executor running the sends.
+     * @throws IOException when the server cannot be started.
+     */
+    @Setup
+    public void setup() throws IOException {
+        final boolean virtual = "virtual".equals(threads);
+        if (virtual && !VirtualThreads.isSupported()) {
+            throw new IllegalStateException("virtual threads require Java 21 or above");
+        }
+        final Buffer responseBody = new Buffer().write(Payloads.usersJson(1));
+        server = new MockWebServer();
+        server.setDispatcher(
+                new Dispatcher() {
+                    @Override
+                    public MockResponse dispatch(final RecordedRequest request) {
+                        return new MockResponse()
+                                .setHeader("Content-Type", "application/json")
+                                .setBody(responseBody.clone())
+                                .setHeadersDelay(latency, TimeUnit.MILLISECONDS);
+                    }
+                });
+        server.start();
+        final KiotaClientOptions options = KiotaClientOptions.highThroughputSingleHost();
+        options.setMaxIdleConnections(CONCURRENT_CALLS);
+        options.setUseVirtualThreads(virtual);
+        client = KiotaClientFactory.create(options).build();
+        adapter =
+                new OkHttpRequestAdapter(
+                        new AnonymousAuthenticationProvider(),
+                        new JsonParseNodeFactory(),
+                        new JsonSerializationWriterFactory(),
+                        client);
+        adapter.setBaseUrl(server.url("/v1.0").toString());
+        executor =
+                virtual
+                        ? VirtualThreads.newVirtualThreadPerTaskExecutor()
+                        : Executors.newFixedThreadPool(PLATFORM_THREADS);
+    }
+
+    /**
+     * Stops the executor, the client and the server.
+     * @throws IOException when the server cannot be stopped.
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        executor.shutdownNow();
+        client.dispatcher().executorService().shutdown();
+        client.connectionPool().evictAll();
+        server.shutdown();
+    }
+
+    /**
+     * Sends a batch of concurrent blocking requests and waits for all of them.
+     * @param counters the thread counters.
+     * @return the number of users received.
+     * @throws InterruptedException when the benchmark is interrupted.
+     * @throws ExecutionException when a request fails.
+     */
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENT_CALLS)
+    public int sendConcurrently(final ThreadCounters counters)
+            throws InterruptedException, ExecutionException {
+        final List<Future<UserCollectionResponse>> results = new ArrayList<>(CONCURRENT_CALLS);
+        for (int i = 0; i < CONCURRENT_CALLS; i++) {
+            results.add(
+                    executor.submit(
+                            () ->
+                                    adapter.send(
+                                            newRequest(),
+                                            null,
+                                            UserCollectionResponse::createFromDiscriminatorValue)));
+        }
+        int users = 0;
+        for (final Future<UserCollectionResponse> result : results) {
+            users += result.get().getValue().size();
+        }
+        counters.peakThreads = Math.max(counters.peakThreads, threadMXBean.getPeakThreadCount());
+        return users;
+    }
+
+    private RequestInformation newRequest() {
+        final HashMap<String, Object> pathParameters = new HashMap<>();
+        pathParameters.put("baseurl", adapter.getBaseUrl());
+        final RequestInformation requestInfo =
+                new RequestInformation(HttpMethod.GET, "{+baseurl}/users", pathParameters);
+        requestInfo.headers.tryAdd("Accept", "application/json");
+        return requestInfo;
+    }
+}
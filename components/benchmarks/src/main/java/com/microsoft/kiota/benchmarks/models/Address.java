@@ -0,0 +1,80 @@
+package com.microsoft.kiota.benchmarks.models;
+
+import com.microsoft.kiota.serialization.Parsable;
+import com.microsoft.kiota.serialization.ParseNode;
+import com.microsoft.kiota.serialization.SerializationWriter;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/** A flat model, used for the form benchmarks and nested in {@link User}. */
+public class Address implements Parsable {
+    private String street;
+    private String city;
+    private String postalCode;
+    private Integer floor;
+
+    /**
+     * Creates a new instance of the model.
+     * @param parseNode the parse node to use to read the discriminator value.
+     * @return the new model.
+     */
+    @Nonnull public static Address createFromDiscriminatorValue(@Nonnull final ParseNode parseNode) {
+        Objects.requireNonNull(parseNode);
+        return new Address();
+    }
+
+    @Nullable public String getStreet() {
+        return street;
+    }
+
+    public void setStreet(@Nullable final String value) {
+        this.street = value;
+    }
+
+    @Nullable public String getCity() {
+        return city;
+    }
+
+    public void setCity(@Nullable final String value) {
+        this.city = value;
+    }
+
+    @Nullable public String getPostalCode() {
+        return postalCode;
+    }
+
+    public void setPostalCode(@Nullable final String value) {
+        this.postalCode = value;
+    }
+
+    @Nullable public Integer getFloor() {
+        return floor;
+    }
+
+    public void setFloor(@Nullable final Integer value) {
+        this.floor = value;
+    }
+
+    @Nonnull public Map<String, Consumer<ParseNode>> getFieldDeserializers() {
+        final HashMap<String, Consumer<ParseNode>> deserializerMap = new HashMap<>(4);
+        deserializerMap.put("street", n -> setStreet(n.getStringValue()));
+        deserializerMap.put("city", n -> setCity(n.getStringValue()));
+        deserializerMap.put("postalCode", n -> setPostalCode(n.getStringValue()));
+        deserializerMap.put("floor", n -> setFloor(n.getIntegerValue()));
+        return deserializerMap;
+    }
+
+    public void serialize(@Nonnull final SerializationWriter writer) {
+        Objects.requireNonNull(writer);
+        writer.writeStringValue("street", getStreet());
+        writer.writeStringValue("city", getCity());
+        writer.writeStringValue("postalCode", getPostalCode());
+        writer.writeIntegerValue("floor", getFloor());
+    }
+}
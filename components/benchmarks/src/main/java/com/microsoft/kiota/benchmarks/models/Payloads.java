@@ -0,0 +1,108 @@
+package com.microsoft.kiota.benchmarks.models;
+
+import com.microsoft.kiota.serialization.JsonSerializationWriter;
+import com.microsoft.kiota.serialization.SerializationWriter;
+
+import jakarta.annotation.Nonnull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/** Builds the deterministic models and payloads the benchmarks run against. */
+public final class Payloads {
+    private Payloads() {}
+
+    /**
+     * Creates a page of users.
+     * @param count the number of users in the page.
+     * @return the page of users.
+     */
+    @Nonnull public static UserCollectionResponse users(final int count) {
+        final List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(user(i));
+        }
+        final UserCollectionResponse response = new UserCollectionResponse();
+        response.setValue(users);
+        response.setNextLink("https://graph.microsoft.com/v1.0/users?$skiptoken=" + count);
+        return response;
+    }
+
+    /**
+     * Creates a user.
+     * @param index the index of the user, used to vary the values.
+     * @return the user.
+     */
+    @Nonnull public static User user(final int index) {
+        final User user = new User();
+        user.setId(String.format("%08d-0000-0000-0000-000000000000", index));
+        user.setDisplayName("User " + index);
+        user.setMail("user" + index + "@contoso.com");
+        user.setAccountEnabled(index % 2 == 0);
+        user.setAge(20 + index % 50);
+        user.setCreatedDateTime(OffsetDateTime.of(2024, 1, 1, 0, 0, index % 60, 0, ZoneOffset.UTC));
+        user.setBusinessPhones(Arrays.asList("+1 425 555 " + index, "+1 206 555 " + index));
+        user.setAddress(address(index));
+        user.getAdditionalData().put("jobTitle", "Engineer " + index % 7);
+        user.getAdditionalData().put("employeeNumber", (double) index);
+        return user;
+    }
+
+    /**
+     * Creates an address.
+     * @param index the index of the address, used to vary the values.
+     * @return the address.
+     */
+    @Nonnull public static Address address(final int index) {
+        final Address address = new Address();
+        address.setStreet(index + " Microsoft Way");
+        address.setCity("Redmond");
+        address.setPostalCode("98052");
+        address.setFloor(index % 12);
+        return address;
+    }
+
+    /**
+     * Creates a json payload without a model describing it, representative of untyped properties.
+     * @param count the number of records in the payload.
+     * @return the json payload.
+     */
+    @Nonnull public static byte[] untypedJson(final int count) {
+        final StringBuilder builder = new StringBuilder("{\"records\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append("{\"name\":\"record ")
+                    .append(i)
+                    .append("\",\"score\":")
+                    .append(i * 1.5)
+                    .append(",\"active\":")
+                    .append(i % 2 == 0)
+                    .append(
+                            ",\"tags\":[\"a\",\"b\",\"c\"],\"location\":{\"lat\":47.6,\"lon\":-122.1,"
+                                + "\"label\":null}}");
+        }
+        return builder.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Serializes a page of users to json.
+     * @param count the number of users in the page.
+     * @return the json payload.
+     */
+    @Nonnull public static byte[] usersJson(final int count) {
+        try (final SerializationWriter writer = new JsonSerializationWriter()) {
+            writer.writeObjectValue(null, users(count));
+            return writer.getSerializedContent().readAllBytes();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.microsoft.kiota.benchmarks.models;
+
+import com.microsoft.kiota.serialization.AdditionalDataHolder;
+import com.microsoft.kiota.serialization.Parsable;
+import com.microsoft.kiota.serialization.ParseNode;
+import com.microsoft.kiota.serialization.SerializationWriter;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/** A model shaped like the entities generated clients typically exchange. */
+public class User implements Parsable, AdditionalDataHolder {
+    private String id;
+    private String displayName;
+    private String mail;
+    private Boolean accountEnabled;
+    private Integer age;
+    private OffsetDateTime createdDateTime;
+    private List<String> businessPhones;
+    private Address address;
+    private Map<String, Object> additionalData = new HashMap<>();
+
+    /**
+     * Creates a new instance of the model.
+     * @param parseNode the parse node to use to read the discriminator value.
+     * @return the new model.
+     */
+    @Nonnull public static User createFromDiscriminatorValue(@Nonnull final ParseNode parseNode) {
+        Objects.requireNonNull(parseNode);
+        return new User();
+    }
+
+    @Nullable public String getId() {
+        return id;
+    }
+
+    public void setId(@Nullable final String value) {
+        this.id = value;
+    }
+
+    @Nullable public String getDisplayName() {
+        return displayName;
+    }
+
+    public void setDisplayName(@Nullable final String value) {
+        this.displayName = value;
+    }
+
+    @Nullable public String getMail() {
+        return mail;
+    }
+
+    public void setMail(@Nullable final String value) {
+        this.mail = value;
+    }
+
+    @Nullable public Boolean getAccountEnabled() {
+        return accountEnabled;
+    }
+
+    public void setAccountEnabled(@Nullable final Boolean value) {
+        this.accountEnabled = value;
+    }
+
+    @Nullable public Integer getAge() {
+        return age;
+    }
+
+    public void setAge(@Nullable final Integer value) {
+        this.age = value;
+    }
+
+    @Nullable public OffsetDateTime getCreatedDateTime() {
+        return createdDateTime;
+    }
+
+    public void setCreatedDateTime(@Nullable final OffsetDateTime value) {
+        this.createdDateTime = value;
+    }
+
+    @Nullable public List<String> getBusinessPhones() {
+        return businessPhones;
+    }
+
+    public void setBusinessPhones(@Nullable final List<String> value) {
+        this.businessPhones = value;
+    }
+
+    @Nullable public Address getAddress() {
+        return address;
+    }
+
+    public void setAddress(@Nullable final Address value) {
+        this.address = value;
+    }
+
+    @Nonnull public Map<String, Object> getAdditionalData() {
+        return additionalData;
+    }
+
+    public void setAdditionalData(@Nonnull final Map<String, Object> value) {
+        this.additionalData = Objects.requireNonNull(value);
+    }
+
+    @Nonnull public Map<String, Consumer<ParseNode>> getFieldDeserializers() {
+        final HashMap<String, Consumer<ParseNode>> deserializerMap = new HashMap<>(8);
+        deserializerMap.put("id", n -> setId(n.getStringValue()));
+        deserializerMap.put("displayName", n -> setDisplayName(n.getStringValue()));
+        deserializerMap.put("mail", n -> setMail(n.getStringValue()));
+        deserializerMap.put("accountEnabled", n -> setAccountEnabled(n.getBooleanValue()));
+        deserializerMap.put("age", n -> setAge(n.getIntegerValue()));
+        deserializerMap.put("createdDateTime", n -> setCreatedDateTime(n.getOffsetDateTimeValue()));
+        deserializerMap.put(
+                "businessPhones",
+                n -> setBusinessPhones(n.getCollectionOfPrimitiveValues(String.class)));
+        deserializerMap.put(
+                "address",
+                n -> setAddress(n.getObjectValue(Address::createFromDiscriminatorValue)));
+        return deserializerMap;
+    }
+
+    public void serialize(@Nonnull final SerializationWriter writer) {
+        Objects.requireNonNull(writer);
+        writer.writeStringValue("id", getId());
+        writer.writeStringValue("displayName", getDisplayName());
+        writer.writeStringValue("mail", getMail());
+        writer.writeBooleanValue("accountEnabled", getAccountEnabled());
+        writer.writeIntegerValue("age", getAge());
+        writer.writeOffsetDateTimeValue("createdDateTime", getCreatedDateTime());
+        writer.writeCollectionOfPrimitiveValues("businessPhones", getBusinessPhones());
+        writer.writeObjectValue("address", getAddress());
+        writer.writeAdditionalData(getAdditionalData());
+    }
+}
@@ -0,0 +1,62 @@
+package com.microsoft.kiota.benchmarks.models;
+
+import com.microsoft.kiota.serialization.Parsable;
+import com.microsoft.kiota.serialization.ParseNode;
+import com.microsoft.kiota.serialization.SerializationWriter;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/** A page of users, shaped like collection responses of generated clients. */
+public class UserCollectionResponse implements Parsable {
+    private List<User> value;
+    private String nextLink;
+
+    /**
+     * Creates a new instance of the model.
+     * @param parseNode the parse node to use to read the discriminator value.
+     * @return the new model.
+     */
+    @Nonnull public static UserCollectionResponse createFromDiscriminatorValue(
+            @Nonnull final ParseNode parseNode) {
+        Objects.requireNonNull(parseNode);
+        return new UserCollectionResponse();
+    }
+
+    @Nullable public List<User> getValue() {
+        return value;
+    }
+
+    public void setValue(@Nullable final List<User> value) {
+        this.value = value;
+    }
+
+    @Nullable public String getNextLink() {
+        return nextLink;
+    }
+
+    public void setNextLink(@Nullable final String value) {
+        this.nextLink = value;
+    }
+
+    @Nonnull public Map<String, Consumer<ParseNode>> getFieldDeserializers() {
+        final HashMap<String, Consumer<ParseNode>> deserializerMap = new HashMap<>(2);
+        deserializerMap.put(
+                "value",
+                n -> setValue(n.getCollectionOfObjectValues(User::createFromDiscriminatorValue)));
+        deserializerMap.put("@odata.nextLink", n -> setNextLink(n.getStringValue()));
+        return deserializerMap;
+    }
+
+    public void serialize(@Nonnull final SerializationWriter writer) {
+        Objects.requireNonNull(writer);
+        writer.writeCollectionOfObjectValues("value", getValue());
+        writer.writeStringValue("@odata.nextLink", getNextLink());
+    }
+}
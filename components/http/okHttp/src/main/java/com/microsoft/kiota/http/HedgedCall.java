@@ -0,0 +1,226 @@
+package com.microsoft.kiota.http;
+
+import io.opentelemetry.api.trace.Span;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sends a request and a second copy of it when the first has not received a response after the hedging delay.
+ * The first successful response received is passed to the callback and the other copy is cancelled.
+ * A server error response waits for the other copy while it is in flight, and is only passed to the callback when the other copy does not succeed.
+ * The callback only fails once every copy sent failed.
+ */
+final class HedgedCall implements Callback {
+    /** Span event recorded when the second copy of a request is sent */
+    static final String HEDGE_SENT_EVENT = "com.microsoft.kiota.hedge_sent";
+
+    private final Call.Factory client;
+    private final Request request;
+    private final String key;
+    private final HedgingPolicy policy;
+    private final Span span;
+    private final Callback callback;
+    private final Call primary;
+    private final long primaryStart;
+    // a lock rather than synchronized so callers on virtual threads do not pin their carrier
+    private final ReentrantLock lock = new ReentrantLock();
+    private boolean completed;
+    private int pending = 1;
+    // a server error response kept while the other copy is in flight
+    @Nullable private Response heldResponse;
+    private boolean heldFromPrimary;
+    private volatile Call hedge;
+    private volatile ScheduledFuture<?> hedgeTask;
+
+    HedgedCall(
+            @Nonnull final Call.Factory client,
+            @Nonnull final Request request,
+            @Nonnull final String key,
+            @Nonnull final HedgingPolicy policy,
+            @Nonnull final Span span,
+            @Nonnull final Callback callback) {
+        this.client = Objects.requireNonNull(client, "parameter client cannot be null");
+        this.request = Objects.requireNonNull(request, "parameter request cannot be null");
+        this.key = Objects.requireNonNull(key, "parameter key cannot be null");
+        this.policy = Objects.requireNonNull(policy, "parameter policy cannot be null");
+        this.span = Objects.requireNonNull(span, "parameter span cannot be null");
+        this.callback = Objects.requireNonNull(callback, "parameter callback cannot be null");
+        this.primary = client.newCall(request);
+        this.primaryStart = System.nanoTime();
+    }
+
+    /**
+     * Sends the first copy of the request and schedules the second one
+     * @param scheduler the scheduler the second copy is sent from
+     */
+    void enqueue(@Nonnull final ScheduledExecutorService scheduler) {
+        policy.recordRequest();
+        primary.enqueue(this);
+        scheduleHedge(scheduler);
+    }
+
+    /**
+     * Sends the first copy of the request on the calling thread and schedules the second one, which is enqueued on the dispatcher of the client.
+     * The callback has been called once this method returns, unless the first copy received a server error response while the second one is in flight.
+     * @param scheduler the scheduler the second copy is sent from
+     */
+    void execute(@Nonnull final ScheduledExecutorService scheduler) {
+        policy.recordRequest();
+        scheduleHedge(scheduler);
+        final Response response;
+        try {
+            response = primary.execute();
+        } catch (IOException ex) {
+            // also raised when the second copy won and the first one was cancelled
+            onFailure(primary, ex);
+            return;
+        }
+        try {
+            onResponse(primary, response);
+        } catch (IOException ex) {
+            callback.onFailure(primary, ex);
+        }
+    }
+
+    /** Cancels every copy of the request */
+    void cancel() {
+        final Response held;
+        lock.lock();
+        try {
+            completed = true;
+            held = takeHeldResponse();
+        } finally {
+            lock.unlock();
+        }
+        if (held != null) {
+            held.close();
+        }
+        cancelAllBut(null);
+    }
+
+    private void scheduleHedge(@Nonnull final ScheduledExecutorService scheduler) {
+        try {
+            hedgeTask =
+                    scheduler.schedule(
+                            this::sendHedge, policy.getDelayMillis(key), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ex) {
+            // the request is sent without hedging
+        }
+    }
+
+    private void sendHedge() {
+        final Call hedgeCall;
+        lock.lock();
+        try {
+            if (completed || !policy.tryAcquireHedge()) {
+                return;
+            }
+            pending++;
+            hedgeCall = client.newCall(request);
+            hedge = hedgeCall;
+        } finally {
+            lock.unlock();
+        }
+        span.addEvent(HEDGE_SENT_EVENT);
+        hedgeCall.enqueue(this);
+    }
+
+    @Override
+    public void onResponse(@Nonnull final Call call, @Nonnull final Response response)
+            throws IOException {
+        final Response held;
+        lock.lock();
+        try {
+            if (completed) {
+                response.close();
+                return;
+            }
+            if (response.code() >= 500 && pending > 1) {
+                // the other copy may still succeed
+                pending--;
+                heldFromPrimary = call == primary;
+                heldResponse = response;
+                return;
+            }
+            completed = true;
+            held = takeHeldResponse();
+        } finally {
+            lock.unlock();
+        }
+        if (held != null) {
+            held.close();
+        }
+        complete(call, response);
+    }
+
+    @Override
+    public void onFailure(@Nonnull final Call call, @Nonnull final IOException ex) {
+        final Call fallbackCall;
+        final Response fallback;
+        lock.lock();
+        try {
+            if (--pending > 0 || completed) {
+                // the other copy may still succeed
+                return;
+            }
+            completed = true;
+            fallbackCall = heldFromPrimary ? primary : hedge;
+            fallback = takeHeldResponse();
+        } finally {
+            lock.unlock();
+        }
+        if (fallback == null) {
+            cancelAllBut(call);
+            callback.onFailure(call, ex);
+            return;
+        }
+        try {
+            complete(Objects.requireNonNull(fallbackCall), fallback);
+        } catch (IOException callbackEx) {
+            callback.onFailure(call, callbackEx);
+        }
+    }
+
+    private void complete(@Nonnull final Call call, @Nonnull final Response response)
+            throws IOException {
+        cancelAllBut(call);
+        // the latency of the first copy, or a lower bound of it when the second copy won, so
+        // hedging does not lower the percentile the delay is computed from
+        policy.recordLatency(key, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - primaryStart));
+        callback.onResponse(call, response);
+    }
+
+    @Nullable private Response takeHeldResponse() {
+        final Response held = heldResponse;
+        heldResponse = null;
+        return held;
+    }
+
+    private void cancelAllBut(final Call winner) {
+        final ScheduledFuture<?> task = hedgeTask;
+        if (task != null) {
+            task.cancel(false);
+        }
+        if (primary != winner) {
+            primary.cancel();
+        }
+        final Call hedgeCall = hedge;
+        if (hedgeCall != null && hedgeCall != winner) {
+            hedgeCall.cancel();
+        }
+    }
+}
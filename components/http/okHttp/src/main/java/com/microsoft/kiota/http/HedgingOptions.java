@@ -0,0 +1,148 @@
+package com.microsoft.kiota.http;
+
+import com.microsoft.kiota.RequestOption;
+
+import jakarta.annotation.Nonnull;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Holds the configuration of hedged requests for the request adapter.
+ * A hedged request is sent a second time when the first copy has not received a response after a delay, the first response received is used and the other copy is cancelled.
+ * The delay is the configured percentile of the recent latencies of the url template, so only the slowest requests are hedged.
+ * Only GET and HEAD requests are hedged, unless hedging is enabled on a request with a request option.
+ * When set as a request option, only whether the request is hedged is taken into account.
+ */
+public final class HedgingOptions implements RequestOption {
+    /** Default percentile of the recent latencies after which a request is hedged */
+    public static final double DEFAULT_PERCENTILE = 95;
+
+    /** Default delay after which a request is hedged until enough latencies were recorded */
+    @Nonnull public static final Duration DEFAULT_INITIAL_DELAY = Duration.ofSeconds(1);
+
+    /** Default minimum delay after which a request is hedged */
+    @Nonnull public static final Duration DEFAULT_MIN_DELAY = Duration.ofMillis(10);
+
+    /** Default maximum fraction of extra requests hedging may add */
+    public static final double DEFAULT_MAX_EXTRA_LOAD = 0.05;
+
+    private boolean enabled = true;
+    private double percentile = DEFAULT_PERCENTILE;
+    @Nonnull private Duration initialDelay = DEFAULT_INITIAL_DELAY;
+    @Nonnull private Duration minDelay = DEFAULT_MIN_DELAY;
+    private double maxExtraLoad = DEFAULT_MAX_EXTRA_LOAD;
+
+    /** Creates a new instance of the hedging options */
+    public HedgingOptions() {}
+
+    /**
+     * Creates a copy of the provided hedging options
+     * @param source the options to copy
+     */
+    public HedgingOptions(@Nonnull final HedgingOptions source) {
+        Objects.requireNonNull(source, "parameter source cannot be null");
+        this.enabled = source.enabled;
+        this.percentile = source.percentile;
+        this.initialDelay = source.initialDelay;
+        this.minDelay = source.minDelay;
+        this.maxExtraLoad = source.maxExtraLoad;
+    }
+
+    /**
+     * Gets whether requests are hedged
+     * @return whether requests are hedged
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether requests are hedged, on a request option this also enables hedging for methods other than GET and HEAD
+     * @param enabled whether requests are hedged
+     */
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Gets the percentile of the recent latencies after which a request is hedged
+     * @return the percentile, between 0 and 100
+     */
+    public double getPercentile() {
+        return percentile;
+    }
+
+    /**
+     * Sets the percentile of the recent latencies after which a request is hedged
+     * @param percentile the percentile, between 0 and 100
+     */
+    public void setPercentile(final double percentile) {
+        if (!(percentile >= 0 && percentile <= 100))
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        this.percentile = percentile;
+    }
+
+    /**
+     * Gets the delay after which a request is hedged until enough latencies were recorded for its url template
+     * @return the initial delay
+     */
+    @Nonnull public Duration getInitialDelay() {
+        return initialDelay;
+    }
+
+    /**
+     * Sets the delay after which a request is hedged until enough latencies were recorded for its url template
+     * @param initialDelay the initial delay
+     */
+    public void setInitialDelay(@Nonnull final Duration initialDelay) {
+        Objects.requireNonNull(initialDelay, "parameter initialDelay cannot be null");
+        if (initialDelay.isNegative())
+            throw new IllegalArgumentException("Initial delay cannot be negative");
+        this.initialDelay = initialDelay;
+    }
+
+    /**
+     * Gets the minimum delay after which a request is hedged
+     * @return the minimum delay
+     */
+    @Nonnull public Duration getMinDelay() {
+        return minDelay;
+    }
+
+    /**
+     * Sets the minimum delay after which a request is hedged
+     * @param minDelay the minimum delay
+     */
+    public void setMinDelay(@Nonnull final Duration minDelay) {
+        Objects.requireNonNull(minDelay, "parameter minDelay cannot be null");
+        if (minDelay.isNegative())
+            throw new IllegalArgumentException("Min delay cannot be negative");
+        this.minDelay = minDelay;
+    }
+
+    /**
+     * Gets the maximum fraction of extra requests hedging may add
+     * @return the maximum extra load
+     */
+    public double getMaxExtraLoad() {
+        return maxExtraLoad;
+    }
+
+    /**
+     * Sets the maximum fraction of extra requests hedging may add, 0.05 allows one hedge every 20 requests
+     * @param maxExtraLoad the maximum extra load, between 0 and 1
+     */
+    public void setMaxExtraLoad(final double maxExtraLoad) {
+        if (!(maxExtraLoad >= 0 && maxExtraLoad <= 1))
+            throw new IllegalArgumentException("Max extra load must be between 0 and 1");
+        this.maxExtraLoad = maxExtraLoad;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @SuppressWarnings("unchecked")
+    @Nonnull public <T extends RequestOption> Class<T> getType() {
+        return (Class<T>) HedgingOptions.class;
+    }
+}
@@ -0,0 +1,117 @@
+package com.microsoft.kiota.http;
+
+import jakarta.annotation.Nonnull;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Tracks the recent latencies of each url template to compute the hedging delays, and the budget of extra requests hedging may add.
+ */
+final class HedgingPolicy {
+    /** Number of latencies kept per url template */
+    static final int SAMPLE_SIZE = 256;
+
+    /** Number of latencies recorded for a url template before its percentile is used */
+    static final int MIN_SAMPLES = 20;
+
+    /** Number of latencies recorded between two computations of the percentile */
+    private static final int RECOMPUTE_INTERVAL = 16;
+
+    /** Maximum number of hedges which can be sent in a row after a period without hedges */
+    private static final double MAX_HEDGE_TOKENS = 10;
+
+    private final double percentile;
+    private final long initialDelayMillis;
+    private final long minDelayMillis;
+    private final double maxExtraLoad;
+    private final ConcurrentHashMap<String, LatencyTracker> trackers = new ConcurrentHashMap<>();
+    private final ReentrantLock budgetLock = new ReentrantLock();
+    private double hedgeTokens;
+
+    HedgingPolicy(@Nonnull final HedgingOptions options) {
+        Objects.requireNonNull(options, "parameter options cannot be null");
+        this.percentile = options.getPercentile();
+        this.initialDelayMillis = options.getInitialDelay().toMillis();
+        this.minDelayMillis = options.getMinDelay().toMillis();
+        this.maxExtraLoad = options.getMaxExtraLoad();
+    }
+
+    /**
+     * Gets the delay after which a request should be hedged
+     * @param key the url template of the request
+     * @return the delay in milliseconds
+     */
+    long getDelayMillis(@Nonnull final String key) {
+        final LatencyTracker tracker = trackers.get(key);
+        final long delay = tracker == null ? -1 : tracker.delayMillis;
+        return Math.max(minDelayMillis, delay < 0 ? initialDelayMillis : delay);
+    }
+
+    /**
+     * Records the latency of a response
+     * @param key the url template of the request
+     * @param latencyMillis the latency in milliseconds
+     */
+    void recordLatency(@Nonnull final String key, final long latencyMillis) {
+        trackers.computeIfAbsent(key, k -> new LatencyTracker()).record(latencyMillis);
+    }
+
+    /** Records a request eligible to hedging, which adds to the hedging budget */
+    void recordRequest() {
+        budgetLock.lock();
+        try {
+            hedgeTokens = Math.min(MAX_HEDGE_TOKENS, hedgeTokens + maxExtraLoad);
+        } finally {
+            budgetLock.unlock();
+        }
+    }
+
+    /**
+     * Withdraws a hedge from the budget
+     * @return whether the hedge can be sent
+     */
+    boolean tryAcquireHedge() {
+        budgetLock.lock();
+        try {
+            if (hedgeTokens < 1) {
+                return false;
+            }
+            hedgeTokens -= 1;
+            return true;
+        } finally {
+            budgetLock.unlock();
+        }
+    }
+
+    private final class LatencyTracker {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final long[] samples = new long[SAMPLE_SIZE];
+        private int count;
+        private int next;
+        private int sinceRecompute;
+        volatile long delayMillis = -1;
+
+        void record(final long latencyMillis) {
+            lock.lock();
+            try {
+                samples[next] = latencyMillis;
+                next = (next + 1) % SAMPLE_SIZE;
+                count = Math.min(count + 1, SAMPLE_SIZE);
+                sinceRecompute++;
+                if (count >= MIN_SAMPLES
+                        && (delayMillis < 0 || sinceRecompute >= RECOMPUTE_INTERVAL)) {
+                    sinceRecompute = 0;
+                    final long[] sorted = Arrays.copyOf(samples, count);
+                    Arrays.sort(sorted);
+                    final int index = (int) Math.ceil(percentile / 100 * count) - 1;
+                    delayMillis = sorted[Math.max(0, Math.min(count - 1, index))];
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -3,29 +3,50 @@ package com.microsoft.kiota.http;
 import com.microsoft.kiota.RequestOption;
 import com.microsoft.kiota.authentication.BaseBearerTokenAuthenticationProvider;
 import com.microsoft.kiota.http.middleware.AuthorizationHandler;
+import com.microsoft.kiota.http.middleware.CacheHandler;
+import com.microsoft.kiota.http.middleware.CompressionHandler;
+import com.microsoft.kiota.http.middleware.DecompressionHandler;
 import com.microsoft.kiota.http.middleware.HeadersInspectionHandler;
 import com.microsoft.kiota.http.middleware.ParametersNameDecodingHandler;
+import com.microsoft.kiota.http.middleware.RateLimitHandler;
 import com.microsoft.kiota.http.middleware.RedirectHandler;
 import com.microsoft.kiota.http.middleware.RetryHandler;
 import com.microsoft.kiota.http.middleware.UrlReplaceHandler;
 import com.microsoft.kiota.http.middleware.UserAgentHandler;
+import com.microsoft.kiota.http.middleware.options.CacheHandlerOption;
+import com.microsoft.kiota.http.middleware.options.CircuitBreakerOption;
+import com.microsoft.kiota.http.middleware.options.CompressionHandlerOption;
+import com.microsoft.kiota.http.middleware.options.DecompressionHandlerOption;
 import com.microsoft.kiota.http.middleware.options.HeadersInspectionOption;
 import com.microsoft.kiota.http.middleware.options.ParametersNameDecodingOption;
+import com.microsoft.kiota.http.middleware.options.RateLimitHandlerOption;
 import com.microsoft.kiota.http.middleware.options.RedirectHandlerOption;
+import com.microsoft.kiota.http.middleware.options.RetryBudgetOption;
 import com.microsoft.kiota.http.middleware.options.RetryHandlerOption;
 import com.microsoft.kiota.http.middleware.options.UrlReplaceHandlerOption;
 import com.microsoft.kiota.http.middleware.options.UserAgentHandlerOption;
 
 import jakarta.annotation.Nonnull;
 
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.HttpUrl;
 import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
 
-import java.time.Duration;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 /** This class is used to build the HttpClient instance used by the core service. */
 public class KiotaClientFactory {
@@ -49,23 +70,58 @@ public class KiotaClientFactory {
         return create(createDefaultInterceptors(requestOptions));
     }
 
+    /**
+     * Creates an OkHttpClient Builder with the default middleware and the provided connection configuration.
+     * @param options The connection pool, dispatcher, protocol and timeout configuration of the client.
+     * @return an OkHttpClient Builder instance.
+     */
+    @Nonnull public static OkHttpClient.Builder create(@Nonnull final KiotaClientOptions options) {
+        return create(createDefaultInterceptors(), options);
+    }
+
     /**
      * Creates an OkHttpClient Builder with the default configuration and middleware.
      * @param interceptors The interceptors to add to the client. Will default to createDefaultInterceptors() if null.
      * @return an OkHttpClient Builder instance.
      */
     @Nonnull public static OkHttpClient.Builder create(@Nonnull final Interceptor[] interceptors) {
+        return create(interceptors, new KiotaClientOptions());
+    }
+
+    /**
+     * Creates an OkHttpClient Builder with the provided middleware and connection configuration.
+     * @param interceptors The interceptors to add to the client.
+     * @param options The connection pool, dispatcher, protocol and timeout configuration of the client.
+     * @return an OkHttpClient Builder instance.
+     */
+    @Nonnull public static OkHttpClient.Builder create(
+            @Nonnull final Interceptor[] interceptors, @Nonnull final KiotaClientOptions options) {
         Objects.requireNonNull(interceptors, "parameter interceptors cannot be null");
+        Objects.requireNonNull(options, "parameter options cannot be null");
+        final Dispatcher dispatcher =
+                options.getUseVirtualThreads() && VirtualThreads.isSupported()
+                        ? new Dispatcher(VirtualThreads.newVirtualThreadPerTaskExecutor())
+                        : new Dispatcher();
+        dispatcher.setMaxRequests(options.getMaxRequests());
+        dispatcher.setMaxRequestsPerHost(options.getMaxRequestsPerHost());
         final OkHttpClient.Builder builder =
                 new OkHttpClient.Builder()
                         .followRedirects(
                                 false) // Redirects handled by .middleware.RedirectHandler rather
                         // than okhttp
-                        .connectTimeout(Duration.ofSeconds(100))
-                        .readTimeout(Duration.ofSeconds(100))
-                        .callTimeout(
-                                Duration.ofSeconds(
-                                        100)); // TODO configure the default client options.
+                        .connectTimeout(options.getConnectTimeout())
+                        .readTimeout(options.getReadTimeout())
+                        .callTimeout(options.getCallTimeout())
+                        .connectionPool(
+                                new ConnectionPool(
+                                        options.getMaxIdleConnections(),
+                                        options.getKeepAliveDuration().toMillis(),
+                                        TimeUnit.MILLISECONDS))
+                        .dispatcher(dispatcher)
+                        .pingInterval(options.getPingInterval());
+        if (options.getHttp2PriorKnowledge()) {
+            builder.protocols(Collections.singletonList(Protocol.H2_PRIOR_KNOWLEDGE));
+        }
 
         for (final Interceptor interceptor : interceptors) {
             builder.addInterceptor(interceptor);
@@ -104,10 +160,70 @@ public class KiotaClientFactory {
             @Nonnull final RequestOption[] requestOptions) {
         ArrayList<Interceptor> interceptors =
                 new ArrayList<>(Arrays.asList(createDefaultInterceptors(requestOptions)));
-        interceptors.add(new AuthorizationHandler(authenticationProvider));
+        // the cache keys responses by the Authorization header, which must be set before it runs
+        int authorizationIndex = interceptors.size();
+        for (int i = 0; i < interceptors.size(); i++) {
+            if (interceptors.get(i) instanceof CacheHandler) {
+                authorizationIndex = i;
+                break;
+            }
+        }
+        interceptors.add(authorizationIndex, new AuthorizationHandler(authenticationProvider));
         return create(interceptors);
     }
 
+    /**
+     * Opens connections to the pre-warm urls of the options, so the first requests made by the client do not pay for DNS resolution and the TCP and TLS handshakes.
+     * OkHttp cannot open a connection without sending a request, so a request with the pre-warm method of the options, HEAD by default, is sent to each url.
+     * The requests do not go through the middleware of the client: they are sent without authentication, retries or rate limiting, and services may log or throttle them like any other request.
+     * Failures and error responses are ignored.
+     * @param client The client to open the connections for, the connections are added to its pool.
+     * @param options The options holding the urls to pre-warm connections to.
+     * @return a future completing once every pre-warm request has completed or failed.
+     */
+    @Nonnull public static CompletableFuture<Void> prewarmConnections(
+            @Nonnull final OkHttpClient client, @Nonnull final KiotaClientOptions options) {
+        Objects.requireNonNull(client, "parameter client cannot be null");
+        Objects.requireNonNull(options, "parameter options cannot be null");
+        // the derived client shares the connection pool and dispatcher of the original one
+        final OkHttpClient.Builder prewarmBuilder = client.newBuilder();
+        prewarmBuilder.interceptors().clear();
+        final OkHttpClient prewarmClient = prewarmBuilder.build();
+        final List<CompletableFuture<Void>> results = new ArrayList<>();
+        for (final String url : options.getPrewarmUrls()) {
+            final CompletableFuture<Void> result = new CompletableFuture<>();
+            results.add(result);
+            final HttpUrl httpUrl = HttpUrl.parse(url);
+            if (httpUrl == null) {
+                result.complete(null);
+                continue;
+            }
+            prewarmClient
+                    .newCall(
+                            new Request.Builder()
+                                    .url(httpUrl)
+                                    .method(options.getPrewarmMethod(), null)
+                                    .build())
+                    .enqueue(
+                            new Callback() {
+                                @Override
+                                public void onFailure(
+                                        @Nonnull final Call call, @Nonnull final IOException e) {
+                                    result.complete(null);
+                                }
+
+                                @Override
+                                public void onResponse(
+                                        @Nonnull final Call call,
+                                        @Nonnull final Response response) {
+                                    response.close();
+                                    result.complete(null);
+                                }
+                            });
+        }
+        return CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0]));
+    }
+
     /**
      * Creates the default interceptors for the client.
      * @return an array of interceptors.
@@ -118,6 +234,11 @@ public class KiotaClientFactory {
 
     /**
      * Creates the default interceptors for the client.
+     * The {@link RateLimitHandler} is only added when a {@link RateLimitHandlerOption} is provided.
+     * Retries are only limited by a budget or circuit breaker when a {@link RetryBudgetOption} or {@link CircuitBreakerOption} is provided.
+     * The {@link CacheHandler} is only added when a {@link CacheHandlerOption} is provided.
+     * The {@link CompressionHandler} is only added when a {@link CompressionHandlerOption} is provided.
+     * The {@link DecompressionHandler} is only added when a {@link DecompressionHandlerOption} is provided.
      * @param requestOptions The request options to use for the interceptors.
      * @return an array of interceptors.
      */
@@ -131,6 +252,12 @@ public class KiotaClientFactory {
         RedirectHandlerOption redirectHandlerOption = null;
         ParametersNameDecodingOption parametersNameDecodingOption = null;
         HeadersInspectionOption headersInspectionHandlerOption = null;
+        RateLimitHandlerOption rateLimitHandlerOption = null;
+        RetryBudgetOption retryBudgetOption = null;
+        CircuitBreakerOption circuitBreakerOption = null;
+        CacheHandlerOption cacheHandlerOption = null;
+        CompressionHandlerOption compressionHandlerOption = null;
+        DecompressionHandlerOption decompressionHandlerOption = null;
 
         for (final RequestOption option : requestOptions) {
             if (uriReplacementOption == null && option instanceof UrlReplaceHandlerOption) {
@@ -147,6 +274,20 @@ public class KiotaClientFactory {
             } else if (headersInspectionHandlerOption == null
                     && option instanceof HeadersInspectionOption) {
                 headersInspectionHandlerOption = (HeadersInspectionOption) option;
+            } else if (rateLimitHandlerOption == null && option instanceof RateLimitHandlerOption) {
+                rateLimitHandlerOption = (RateLimitHandlerOption) option;
+            } else if (retryBudgetOption == null && option instanceof RetryBudgetOption) {
+                retryBudgetOption = (RetryBudgetOption) option;
+            } else if (circuitBreakerOption == null && option instanceof CircuitBreakerOption) {
+                circuitBreakerOption = (CircuitBreakerOption) option;
+            } else if (cacheHandlerOption == null && option instanceof CacheHandlerOption) {
+                cacheHandlerOption = (CacheHandlerOption) option;
+            } else if (compressionHandlerOption == null
+                    && option instanceof CompressionHandlerOption) {
+                compressionHandlerOption = (CompressionHandlerOption) option;
+            } else if (decompressionHandlerOption == null
+                    && option instanceof DecompressionHandlerOption) {
+                decompressionHandlerOption = (DecompressionHandlerOption) option;
             }
         }
 
@@ -170,14 +311,30 @@ public class KiotaClientFactory {
                 headersInspectionHandlerOption != null
                         ? new HeadersInspectionHandler(headersInspectionHandlerOption)
                         : new HeadersInspectionHandler());
+        // the cache is opt-in and sits before the redirect and retry handlers so hits skip them and
+        // only final responses are stored
+        if (cacheHandlerOption != null) {
+            handlers.add(new CacheHandler(cacheHandlerOption));
+        }
+        // compression is opt-in and sits before the redirect and retry handlers, which replay the
+        // compressed body
+        if (compressionHandlerOption != null) {
+            handlers.add(new CompressionHandler(compressionHandlerOption));
+        }
+        // decompression is opt-in and sits after the cache so cached bodies are stored decoded
+        if (decompressionHandlerOption != null) {
+            handlers.add(new DecompressionHandler(decompressionHandlerOption));
+        }
         handlers.add(
                 redirectHandlerOption != null
                         ? new RedirectHandler(redirectHandlerOption)
                         : new RedirectHandler());
-        handlers.add(
-                retryHandlerOption != null
-                        ? new RetryHandler(retryHandlerOption)
-                        : new RetryHandler());
+        handlers.add(new RetryHandler(retryHandlerOption, retryBudgetOption, circuitBreakerOption));
+        // the rate limiter is opt-in and sits after the retry handler so retried attempts are
+        // paced as well
+        if (rateLimitHandlerOption != null) {
+            handlers.add(new RateLimitHandler(rateLimitHandlerOption));
+        }
 
         return handlers.toArray(new Interceptor[0]);
     }
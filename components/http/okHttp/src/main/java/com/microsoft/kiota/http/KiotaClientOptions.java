@@ -0,0 +1,299 @@
+package com.microsoft.kiota.http;
+
+import jakarta.annotation.Nonnull;
+
+import okhttp3.internal.http.HttpMethod;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Holds the connection pool, dispatcher, protocol and timeout configuration used by {@link KiotaClientFactory} to build the client.
+ * The default values match the client built by the factory without options, presets are available for common workloads.
+ */
+public class KiotaClientOptions {
+    /** The default timeout for connecting, reading and the whole call */
+    @Nonnull public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(100);
+
+    /** The default maximum number of idle connections kept in the pool */
+    public static final int DEFAULT_MAX_IDLE_CONNECTIONS = 5;
+
+    /** The default duration idle connections are kept in the pool */
+    @Nonnull public static final Duration DEFAULT_KEEP_ALIVE_DURATION = Duration.ofMinutes(5);
+
+    /** The default maximum number of requests executing concurrently */
+    public static final int DEFAULT_MAX_REQUESTS = 64;
+
+    /** The default maximum number of requests executing concurrently for a single host */
+    public static final int DEFAULT_MAX_REQUESTS_PER_HOST = 5;
+
+    /** The default method of the requests sent to pre-warm connections */
+    @Nonnull public static final String DEFAULT_PREWARM_METHOD = "HEAD";
+
+    /** Creates a new instance of the client options with the default values */
+    public KiotaClientOptions() {}
+
+    private int maxIdleConnections = DEFAULT_MAX_IDLE_CONNECTIONS;
+    @Nonnull private Duration keepAliveDuration = DEFAULT_KEEP_ALIVE_DURATION;
+    private int maxRequests = DEFAULT_MAX_REQUESTS;
+    private int maxRequestsPerHost = DEFAULT_MAX_REQUESTS_PER_HOST;
+    private boolean http2PriorKnowledge;
+    private boolean useVirtualThreads;
+    @Nonnull private Duration pingInterval = Duration.ZERO;
+    @Nonnull private Duration connectTimeout = DEFAULT_TIMEOUT;
+    @Nonnull private Duration readTimeout = DEFAULT_TIMEOUT;
+    @Nonnull private Duration callTimeout = DEFAULT_TIMEOUT;
+    @Nonnull private List<String> prewarmUrls = Collections.emptyList();
+    @Nonnull private String prewarmMethod = DEFAULT_PREWARM_METHOD;
+
+    /**
+     * Creates options for clients sending many concurrent requests to a single host, like a Graph API client fanning out requests.
+     * Requests to the host are multiplexed over HTTP/2 when the server supports it, and the ping interval keeps the shared connection alive and detects when it is broken.
+     * @return the options for a high throughput client talking to a single host.
+     */
+    @Nonnull public static KiotaClientOptions highThroughputSingleHost() {
+        final KiotaClientOptions options = new KiotaClientOptions();
+        options.setMaxRequests(256);
+        options.setMaxRequestsPerHost(256);
+        options.setMaxIdleConnections(16);
+        options.setPingInterval(Duration.ofSeconds(30));
+        return options;
+    }
+
+    /**
+     * Creates options for clients talking to many different hosts, like a client following links across services.
+     * Concurrency is spread across hosts and idle connections are released sooner so the pool does not hold on to connections which will not be reused.
+     * @return the options for a client talking to many hosts.
+     */
+    @Nonnull public static KiotaClientOptions manyHosts() {
+        final KiotaClientOptions options = new KiotaClientOptions();
+        options.setMaxRequests(256);
+        options.setMaxRequestsPerHost(16);
+        options.setMaxIdleConnections(64);
+        options.setKeepAliveDuration(Duration.ofMinutes(1));
+        return options;
+    }
+
+    /**
+     * Gets the maximum number of idle connections kept in the pool
+     * @return the maximum number of idle connections
+     */
+    public int getMaxIdleConnections() {
+        return maxIdleConnections;
+    }
+
+    /**
+     * Sets the maximum number of idle connections kept in the pool
+     * @param maxIdleConnections the maximum number of idle connections
+     */
+    public void setMaxIdleConnections(final int maxIdleConnections) {
+        if (maxIdleConnections < 0)
+            throw new IllegalArgumentException("Max idle connections cannot be negative");
+        this.maxIdleConnections = maxIdleConnections;
+    }
+
+    /**
+     * Gets the duration idle connections are kept in the pool
+     * @return the keep alive duration
+     */
+    @Nonnull public Duration getKeepAliveDuration() {
+        return keepAliveDuration;
+    }
+
+    /**
+     * Sets the duration idle connections are kept in the pool
+     * @param keepAliveDuration the keep alive duration
+     */
+    public void setKeepAliveDuration(@Nonnull final Duration keepAliveDuration) {
+        Objects.requireNonNull(keepAliveDuration, "parameter keepAliveDuration cannot be null");
+        if (keepAliveDuration.isNegative() || keepAliveDuration.isZero())
+            throw new IllegalArgumentException("Keep alive duration must be positive");
+        this.keepAliveDuration = keepAliveDuration;
+    }
+
+    /**
+     * Gets the maximum number of requests executing concurrently
+     * @return the maximum number of requests
+     */
+    public int getMaxRequests() {
+        return maxRequests;
+    }
+
+    /**
+     * Sets the maximum number of requests executing concurrently, requests above this limit are queued
+     * @param maxRequests the maximum number of requests
+     */
+    public void setMaxRequests(final int maxRequests) {
+        if (maxRequests < 1) throw new IllegalArgumentException("Max requests must be positive");
+        this.maxRequests = maxRequests;
+    }
+
+    /**
+     * Gets the maximum number of requests executing concurrently for a single host
+     * @return the maximum number of requests per host
+     */
+    public int getMaxRequestsPerHost() {
+        return maxRequestsPerHost;
+    }
+
+    /**
+     * Sets the maximum number of requests executing concurrently for a single host, requests above this limit are queued
+     * @param maxRequestsPerHost the maximum number of requests per host
+     */
+    public void setMaxRequestsPerHost(final int maxRequestsPerHost) {
+        if (maxRequestsPerHost < 1)
+            throw new IllegalArgumentException("Max requests per host must be positive");
+        this.maxRequestsPerHost = maxRequestsPerHost;
+    }
+
+    /**
+     * Gets whether the client uses HTTP/2 without negotiating it first
+     * @return whether the client uses HTTP/2 with prior knowledge
+     */
+    public boolean getHttp2PriorKnowledge() {
+        return http2PriorKnowledge;
+    }
+
+    /**
+     * Sets whether the client uses HTTP/2 without negotiating it first.
+     * This only applies to cleartext (http) urls, it is meant for services behind a proxy terminating TLS; https urls negotiate HTTP/2 regardless of this option.
+     * @param http2PriorKnowledge whether the client uses HTTP/2 with prior knowledge
+     */
+    public void setHttp2PriorKnowledge(final boolean http2PriorKnowledge) {
+        this.http2PriorKnowledge = http2PriorKnowledge;
+    }
+
+    /**
+     * Gets whether asynchronous calls are executed on virtual threads
+     * @return whether asynchronous calls are executed on virtual threads
+     */
+    public boolean getUseVirtualThreads() {
+        return useVirtualThreads;
+    }
+
+    /**
+     * Sets whether asynchronous calls are executed on virtual threads instead of the cached thread pool of the dispatcher.
+     * This is ignored when the runtime does not support virtual threads, see {@link VirtualThreads#isSupported()}.
+     * Synchronous calls always run on the calling thread, callers scaling out blocking calls should run them on virtual threads as well.
+     * @param useVirtualThreads whether asynchronous calls are executed on virtual threads
+     */
+    public void setUseVirtualThreads(final boolean useVirtualThreads) {
+        this.useVirtualThreads = useVirtualThreads;
+    }
+
+    /**
+     * Gets the interval between HTTP/2 and web socket pings, zero if pings are disabled
+     * @return the ping interval
+     */
+    @Nonnull public Duration getPingInterval() {
+        return pingInterval;
+    }
+
+    /**
+     * Sets the interval between HTTP/2 and web socket pings, zero disables pings
+     * @param pingInterval the ping interval
+     */
+    public void setPingInterval(@Nonnull final Duration pingInterval) {
+        Objects.requireNonNull(pingInterval, "parameter pingInterval cannot be null");
+        if (pingInterval.isNegative())
+            throw new IllegalArgumentException("Ping interval cannot be negative");
+        this.pingInterval = pingInterval;
+    }
+
+    /**
+     * Gets the connect timeout
+     * @return the connect timeout
+     */
+    @Nonnull public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    /**
+     * Sets the connect timeout, zero means no timeout
+     * @param connectTimeout the connect timeout
+     */
+    public void setConnectTimeout(@Nonnull final Duration connectTimeout) {
+        this.connectTimeout = validateTimeout(connectTimeout, "connectTimeout");
+    }
+
+    /**
+     * Gets the read timeout
+     * @return the read timeout
+     */
+    @Nonnull public Duration getReadTimeout() {
+        return readTimeout;
+    }
+
+    /**
+     * Sets the read timeout, zero means no timeout
+     * @param readTimeout the read timeout
+     */
+    public void setReadTimeout(@Nonnull final Duration readTimeout) {
+        this.readTimeout = validateTimeout(readTimeout, "readTimeout");
+    }
+
+    /**
+     * Gets the timeout for the whole call, including redirects and retries
+     * @return the call timeout
+     */
+    @Nonnull public Duration getCallTimeout() {
+        return callTimeout;
+    }
+
+    /**
+     * Sets the timeout for the whole call, including redirects and retries, zero means no timeout
+     * @param callTimeout the call timeout
+     */
+    public void setCallTimeout(@Nonnull final Duration callTimeout) {
+        this.callTimeout = validateTimeout(callTimeout, "callTimeout");
+    }
+
+    /**
+     * Gets the urls the connections are opened to by {@link KiotaClientFactory#prewarmConnections(okhttp3.OkHttpClient, KiotaClientOptions)}
+     * @return the urls to pre-warm connections to
+     */
+    @Nonnull public List<String> getPrewarmUrls() {
+        return prewarmUrls;
+    }
+
+    /**
+     * Sets the urls the connections are opened to by {@link KiotaClientFactory#prewarmConnections(okhttp3.OkHttpClient, KiotaClientOptions)}, typically the base url of the service.
+     * A request is sent to each url as is, pick a path the service answers cheaply to unauthenticated requests.
+     * @param prewarmUrls the urls to pre-warm connections to
+     */
+    public void setPrewarmUrls(@Nonnull final List<String> prewarmUrls) {
+        Objects.requireNonNull(prewarmUrls, "parameter prewarmUrls cannot be null");
+        this.prewarmUrls = Collections.unmodifiableList(new ArrayList<>(prewarmUrls));
+    }
+
+    /**
+     * Gets the method of the requests sent by {@link KiotaClientFactory#prewarmConnections(okhttp3.OkHttpClient, KiotaClientOptions)}
+     * @return the method of the pre-warm requests
+     */
+    @Nonnull public String getPrewarmMethod() {
+        return prewarmMethod;
+    }
+
+    /**
+     * Sets the method of the requests sent by {@link KiotaClientFactory#prewarmConnections(okhttp3.OkHttpClient, KiotaClientOptions)}, for services rejecting HEAD requests
+     * @param prewarmMethod the method of the pre-warm requests, which must not require a request body
+     */
+    public void setPrewarmMethod(@Nonnull final String prewarmMethod) {
+        Objects.requireNonNull(prewarmMethod, "parameter prewarmMethod cannot be null");
+        if (prewarmMethod.isEmpty() || HttpMethod.requiresRequestBody(prewarmMethod)) {
+            throw new IllegalArgumentException(
+                    "prewarmMethod must be a method without a request body");
+        }
+        this.prewarmMethod = prewarmMethod;
+    }
+
+    @Nonnull private static Duration validateTimeout(
+            @Nonnull final Duration timeout, @Nonnull final String name) {
+        Objects.requireNonNull(timeout, "parameter " + name + " cannot be null");
+        if (timeout.isNegative()) throw new IllegalArgumentException(name + " cannot be negative");
+        return timeout;
+    }
+}
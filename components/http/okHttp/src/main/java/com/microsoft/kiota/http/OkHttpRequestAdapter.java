@@ -4,6 +4,7 @@ import static com.microsoft.kiota.http.TelemetrySemanticConventions.*;
 
 import com.microsoft.kiota.*;
 import com.microsoft.kiota.authentication.AuthenticationProvider;
+import com.microsoft.kiota.http.middleware.AsyncRetryContext;
 import com.microsoft.kiota.http.middleware.ParametersNameDecodingHandler;
 import com.microsoft.kiota.serialization.Parsable;
 import com.microsoft.kiota.serialization.ParsableFactory;
@@ -12,6 +13,7 @@ import com.microsoft.kiota.serialization.ParseNodeFactory;
 import com.microsoft.kiota.serialization.ParseNodeFactoryRegistry;
 import com.microsoft.kiota.serialization.SerializationWriterFactory;
 import com.microsoft.kiota.serialization.SerializationWriterFactoryRegistry;
+import com.microsoft.kiota.serialization.SerializedContentStream;
 import com.microsoft.kiota.serialization.ValuedEnumParser;
 import com.microsoft.kiota.store.BackingStoreFactory;
 import com.microsoft.kiota.store.BackingStoreFactorySingleton;
@@ -33,6 +35,7 @@ import okio.Okio;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.math.BigDecimal;
 import java.net.URISyntaxException;
 import java.net.URL;
@@ -41,13 +44,20 @@ import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 
 /** RequestAdapter implementation for OkHttp */
@@ -69,6 +79,134 @@ public class OkHttpRequestAdapter implements com.microsoft.kiota.RequestAdapter
         return baseUrl;
     }
 
+    private boolean requestContentStreamingEnabled;
+
+    @Override
+    public boolean isRequestContentStreamingEnabled() {
+        return requestContentStreamingEnabled;
+    }
+
+    /**
+     * Sets whether request bodies set from models are serialized directly into the connection when the request is sent instead of being buffered in memory.
+     * Streamed request bodies are sent with an unknown content length unless a Content-Length header is set on the request.
+     * @param enabled true to serialize model request bodies when the request is sent.
+     */
+    public void setRequestContentStreamingEnabled(final boolean enabled) {
+        this.requestContentStreamingEnabled = enabled;
+    }
+
+    @Nullable private HedgingOptions hedgingOptions;
+
+    @Nullable private HedgingPolicy hedgingPolicy;
+
+    /**
+     * Gets a copy of the hedging options of the adapter.
+     * @return a copy of the hedging options, null if requests are not hedged.
+     */
+    @Nullable public HedgingOptions getHedgingOptions() {
+        final HedgingOptions options = this.hedgingOptions;
+        return options == null ? null : new HedgingOptions(options);
+    }
+
+    /**
+     * Sets the hedging options of the adapter, hedged requests are sent a second time when the first copy is slower than most recent requests to the same url template.
+     * The recorded latencies are reset when the options are set.
+     * Requests sent asynchronously while {@link #isAsyncRetryEnabled()} is set are not hedged.
+     * @param hedgingOptions the hedging options, null to stop hedging requests.
+     */
+    public void setHedgingOptions(@Nullable final HedgingOptions hedgingOptions) {
+        this.hedgingPolicy =
+                hedgingOptions == null || !hedgingOptions.isEnabled()
+                        ? null
+                        : new HedgingPolicy(hedgingOptions);
+        this.hedgingOptions = hedgingOptions == null ? null : new HedgingOptions(hedgingOptions);
+    }
+
+    @Nullable private RequestCoalescer requestCoalescer;
+
+    /**
+     * Gets whether identical GET requests sent concurrently share a single response.
+     * @return true if identical concurrent GET requests are coalesced.
+     */
+    public boolean isRequestCoalescingEnabled() {
+        return requestCoalescer != null;
+    }
+
+    /**
+     * Sets whether identical GET requests sent concurrently share a single response.
+     * Requests are identical when they have the same url and the same headers, which include the authorization of the caller.
+     * Only the first request is sent. When identical requests joined it, its response body is buffered and every request is served a response of its own over the buffered body.
+     * Requests carrying request options, such as a {@link ResponseHandlerOption} or a headers inspection option, are not coalesced.
+     * Requests for streams, sent with {@link #sendCollectionStream} or for an {@link InputStream}, are not coalesced so their body is not buffered.
+     * Asynchronous requests sent while {@link #isAsyncRetryEnabled()} is set are not coalesced either.
+     * @param enabled true to coalesce identical concurrent GET requests.
+     */
+    public void setRequestCoalescingEnabled(final boolean enabled) {
+        if (enabled != isRequestCoalescingEnabled()) {
+            this.requestCoalescer = enabled ? new RequestCoalescer() : null;
+        }
+    }
+
+    /**
+     * Gets the number of requests which were served the response of an identical request in flight instead of being sent.
+     * @return the number of coalesced requests since coalescing was enabled.
+     */
+    public long getCoalescedRequestCount() {
+        final RequestCoalescer coalescer = this.requestCoalescer;
+        return coalescer == null ? 0 : coalescer.getCoalescedCount();
+    }
+
+    @Nullable private ParsedModelCache parsedModelCache;
+
+    /**
+     * Gets the maximum number of values held by the models cached by ETag.
+     * @return the maximum weight of the parsed model cache, 0 if models are not cached.
+     */
+    public long getParsedModelCacheMaxWeight() {
+        final ParsedModelCache cache = this.parsedModelCache;
+        return cache == null ? 0 : cache.getMaxWeight();
+    }
+
+    /**
+     * Sets the maximum number of values held by the models cached by ETag.
+     * The models deserialized by {@link #send} and {@link #sendCollection} from GET responses carrying an ETag are cached, and later responses with the same url, authorization and ETag, including 304 responses, are served a copy of the cached models without being parsed.
+     * Only models backed by a store are cached, see {@link #enableBackingStore}. The cached models are cleared when the maximum weight is set.
+     * @param maxWeight the maximum number of values held by the cached models, 0 to stop caching models.
+     */
+    public void setParsedModelCacheMaxWeight(final long maxWeight) {
+        if (maxWeight < 0) throw new IllegalArgumentException("Max weight cannot be negative");
+        this.parsedModelCache = maxWeight == 0 ? null : new ParsedModelCache(maxWeight);
+    }
+
+    /**
+     * Gets the number of responses which were served cached models instead of being parsed.
+     * @return the number of parsed model cache hits since the maximum weight was set.
+     */
+    public long getParsedModelCacheHitCount() {
+        final ParsedModelCache cache = this.parsedModelCache;
+        return cache == null ? 0 : cache.getHitCount();
+    }
+
+    private boolean asyncRetryEnabled;
+
+    /**
+     * Gets whether the asynchronous send methods wait between retries without holding on to a dispatcher thread.
+     * @return true if retries of asynchronous requests are scheduled by the adapter.
+     */
+    public boolean isAsyncRetryEnabled() {
+        return asyncRetryEnabled;
+    }
+
+    /**
+     * Sets whether the asynchronous send methods wait between retries without holding on to a dispatcher thread.
+     * When enabled, the {@link com.microsoft.kiota.http.middleware.RetryHandler} returns throttled responses of asynchronous requests immediately and the adapter sends the request again on a shared scheduler once the delay expires.
+     * The synchronous send methods are not affected.
+     * @param enabled true to schedule the retries of asynchronous requests.
+     */
+    public void setAsyncRetryEnabled(final boolean enabled) {
+        this.asyncRetryEnabled = enabled;
+    }
+
     /**
      * Instantiates a new OkHttp request adapter with the provided authentication
      * provider.
@@ -218,44 +356,224 @@ public class OkHttpRequestAdapter implements com.microsoft.kiota.RequestAdapter
 
         final Span span = startSpan(requestInfo, "sendCollection");
         try (final Scope scope = span.makeCurrent()) {
-            Response response = this.getHttpResponseMessage(requestInfo, span, span, null);
-            final ResponseHandler responseHandler = getResponseHandler(requestInfo);
-            if (responseHandler == null) {
-                boolean closeResponse = true;
-                try {
-                    this.throwIfFailedResponse(response, span, errorMappings);
-                    if (this.shouldReturnNull(response)) {
-                        return null;
-                    }
-                    final ParseNode rootNode = getRootParseNode(response, span, span);
-                    if (rootNode == null) {
-                        closeResponse = false;
-                        return null;
+            Response response = this.getHttpResponseMessage(requestInfo, span, span, null, false);
+            return this.handleCollectionResponse(
+                    response, requestInfo, errorMappings, factory, span);
+        } finally {
+            span.end();
+        }
+    }
+
+    @Nonnull public <ModelType extends Parsable> CompletableFuture<List<ModelType>> sendCollectionAsync(
+            @Nonnull final RequestInformation requestInfo,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
+            @Nonnull final ParsableFactory<ModelType> factory) {
+        Objects.requireNonNull(requestInfo, nullRequestInfoParameter);
+        Objects.requireNonNull(factory, nullFactoryParameter);
+
+        final Span span = startSpan(requestInfo, "sendCollectionAsync");
+        return this.handleResponseAsync(
+                requestInfo,
+                span,
+                false,
+                response ->
+                        this.handleCollectionResponse(
+                                response, requestInfo, errorMappings, factory, span));
+    }
+
+    @Nullable private <ModelType extends Parsable> List<ModelType> handleCollectionResponse(
+            @Nonnull final Response response,
+            @Nonnull final RequestInformation requestInfo,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
+            @Nonnull final ParsableFactory<ModelType> factory,
+            @Nonnull final Span span) {
+        final ResponseHandler responseHandler = getResponseHandler(requestInfo);
+        if (responseHandler == null) {
+            boolean closeResponse = true;
+            try {
+                this.throwIfFailedResponse(response, span, errorMappings);
+                final ParsedModelCache modelCache = this.parsedModelCache;
+                final String cacheKey =
+                        modelCache == null
+                                ? null
+                                : ParsedModelCache.getKey(
+                                        response, ParsedModelCache.COLLECTION, factory);
+                if (cacheKey != null) {
+                    final List<ModelType> cached = getCachedModel(modelCache, cacheKey, span);
+                    if (cached != null) {
+                        return cached;
                     }
-                    final Span deserializationSpan =
-                            GlobalOpenTelemetry.getTracer(obsOptions.getTracerInstrumentationName())
-                                    .spanBuilder("getCollectionOfObjectValues")
-                                    .startSpan();
-                    try (final Scope deserializationScope = deserializationSpan.makeCurrent()) {
-                        final List<ModelType> result =
-                                rootNode.getCollectionOfObjectValues(factory);
-                        setResponseType(result, span);
-                        return result;
-                    } finally {
-                        deserializationSpan.end();
+                }
+                if (this.shouldReturnNull(response)) {
+                    return null;
+                }
+                final ParseNode rootNode = getRootParseNode(response, span, span);
+                if (rootNode == null) {
+                    closeResponse = false;
+                    return null;
+                }
+                final Span deserializationSpan =
+                        GlobalOpenTelemetry.getTracer(obsOptions.getTracerInstrumentationName())
+                                .spanBuilder("getCollectionOfObjectValues")
+                                .startSpan();
+                try (final Scope deserializationScope = deserializationSpan.makeCurrent()) {
+                    final List<ModelType> result = rootNode.getCollectionOfObjectValues(factory);
+                    setResponseType(result, span);
+                    if (cacheKey != null && ParsedModelCache.isCacheable(result)) {
+                        modelCache.put(cacheKey, result);
                     }
+                    return result;
                 } finally {
-                    closeResponse(closeResponse, response);
+                    deserializationSpan.end();
                 }
-            } else {
+            } finally {
+                closeResponse(closeResponse, response);
+            }
+        } else {
+            span.addEvent(eventResponseHandlerInvokedKey);
+            return responseHandler.handleResponse(response, errorMappings);
+        }
+    }
+
+    @Nullable public <ModelType extends Parsable> CloseableIterator<ModelType> sendCollectionStream(
+            @Nonnull final RequestInformation requestInfo,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
+            @Nonnull final ParsableFactory<ModelType> factory) {
+        Objects.requireNonNull(requestInfo, nullRequestInfoParameter);
+        Objects.requireNonNull(factory, nullFactoryParameter);
+
+        final Span span = startSpan(requestInfo, "sendCollectionStream");
+        try (final Scope scope = span.makeCurrent()) {
+            Response response = this.getHttpResponseMessage(requestInfo, span, span, null, true);
+            final ResponseHandler responseHandler = getResponseHandler(requestInfo);
+            if (responseHandler != null) {
                 span.addEvent(eventResponseHandlerInvokedKey);
-                return responseHandler.handleResponse(response, errorMappings);
+                final List<ModelType> result =
+                        responseHandler.handleResponse(response, errorMappings);
+                return result == null ? null : new ResponseIterator<>(result.iterator(), null);
+            }
+            boolean closeResponse = true;
+            try {
+                this.throwIfFailedResponse(response, span, errorMappings);
+                if (this.shouldReturnNull(response)) {
+                    return null;
+                }
+                final ParseNode rootNode = getRootParseNode(response, span, span);
+                if (rootNode == null) {
+                    return null;
+                }
+                final Iterator<ModelType> result =
+                        rootNode.iterateCollectionOfObjectValues(factory);
+                if (result == null) {
+                    return null;
+                }
+                closeResponse = false;
+                return new ResponseIterator<>(result, response);
+            } finally {
+                if (closeResponse) {
+                    response.close();
+                }
             }
         } finally {
             span.end();
         }
     }
 
+    /**
+     * Iterator over the models deserialized from a response body, closing the response once it
+     * has been exhausted, closed, or failed.
+     *
+     * @param <ModelType> the type of the response models.
+     */
+    private static class ResponseIterator<ModelType> implements CloseableIterator<ModelType> {
+        private final Iterator<ModelType> source;
+        @Nullable private Response response;
+
+        ResponseIterator(
+                @Nonnull final Iterator<ModelType> source, @Nullable final Response response) {
+            this.source = source;
+            this.response = response;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                final boolean result = source.hasNext();
+                if (!result) {
+                    close();
+                }
+                return result;
+            } catch (RuntimeException ex) {
+                close();
+                throw ex;
+            }
+        }
+
+        @Override
+        public ModelType next() {
+            try {
+                return source.next();
+            } catch (RuntimeException ex) {
+                close();
+                throw ex;
+            }
+        }
+
+        @Override
+        public void close() {
+            if (response != null) {
+                response.close();
+                response = null;
+            }
+        }
+    }
+
+    /**
+     * Sends the request asynchronously and hands the response over to the provided handler on the
+     * OkHttp completion callback. The span is ended once the returned future completes.
+     *
+     * @param requestInfo the request info to execute.
+     * @param span the span for the request.
+     * @param streamed whether the handler streams the response body rather than reading it.
+     * @param handler the handler processing the response.
+     * @param <T> the type of the result.
+     * @return a future completing with the result of the handler.
+     */
+    @Nonnull private <T> CompletableFuture<T> handleResponseAsync(
+            @Nonnull final RequestInformation requestInfo,
+            @Nonnull final Span span,
+            final boolean streamed,
+            @Nonnull final Function<Response, T> handler) {
+        final CompletableFuture<Response> responseFuture =
+                this.getHttpResponseMessageAsync(requestInfo, span, span, null, streamed);
+        final CompletableFuture<T> result =
+                responseFuture
+                        .thenApply(
+                                response -> {
+                                    try (final Scope scope = span.makeCurrent()) {
+                                        return handler.apply(response);
+                                    }
+                                })
+                        .whenComplete((value, ex) -> span.end());
+        whenCancelled(result, () -> responseFuture.cancel(false));
+        return result;
+    }
+
+    /**
+     * Runs an action once the future is cancelled, immediately if it already was
+     * @param future the future which may be cancelled
+     * @param action the action to run, such as cancelling the call sent for the future
+     */
+    private static void whenCancelled(
+            @Nonnull final CompletableFuture<?> future, @Nonnull final Runnable action) {
+        future.whenComplete(
+                (value, ex) -> {
+                    if (future.isCancelled()) {
+                        action.run();
+                    }
+                });
+    }
+
     private ResponseHandler getResponseHandler(final RequestInformation requestInfo) {
         final Collection<RequestOption> requestOptions = requestInfo.getRequestOptions();
         for (final RequestOption rOption : requestOptions) {
@@ -286,6 +604,13 @@ public class OkHttpRequestAdapter implements com.microsoft.kiota.RequestAdapter
         return span;
     }
 
+    /** The key used for the event when a request is served the response of an identical request in flight. */
+    @Nonnull public static final String eventRequestCoalescedKey = "com.microsoft.kiota.request_coalesced";
+
+    /** The key used for the event when a response is served cached models instead of being parsed. */
+    @Nonnull public static final String eventParsedModelCacheHitKey =
+            "com.microsoft.kiota.parsed_model_cache_hit";
+
     /** The key used for the event when a custom response handler is invoked. */
     @Nonnull public static final String eventResponseHandlerInvokedKey =
             "com.microsoft.kiota.response_handler_invoked";
@@ -299,44 +624,98 @@ public class OkHttpRequestAdapter implements com.microsoft.kiota.RequestAdapter
 
         final Span span = startSpan(requestInfo, "send");
         try (final Scope scope = span.makeCurrent()) {
-            Response response = this.getHttpResponseMessage(requestInfo, span, span, null);
-            final ResponseHandler responseHandler = getResponseHandler(requestInfo);
-            if (responseHandler == null) {
-                boolean closeResponse = true;
-                try {
-                    this.throwIfFailedResponse(response, span, errorMappings);
-                    if (this.shouldReturnNull(response)) {
-                        return null;
-                    }
-                    final ParseNode rootNode = getRootParseNode(response, span, span);
-                    if (rootNode == null) {
-                        closeResponse = false;
-                        return null;
+            Response response = this.getHttpResponseMessage(requestInfo, span, span, null, false);
+            return this.handleObjectResponse(response, requestInfo, errorMappings, factory, span);
+        } finally {
+            span.end();
+        }
+    }
+
+    @Nonnull public <ModelType extends Parsable> CompletableFuture<ModelType> sendAsync(
+            @Nonnull final RequestInformation requestInfo,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
+            @Nonnull final ParsableFactory<ModelType> factory) {
+        Objects.requireNonNull(requestInfo, nullRequestInfoParameter);
+        Objects.requireNonNull(factory, nullFactoryParameter);
+
+        final Span span = startSpan(requestInfo, "sendAsync");
+        return this.handleResponseAsync(
+                requestInfo,
+                span,
+                false,
+                response ->
+                        this.handleObjectResponse(
+                                response, requestInfo, errorMappings, factory, span));
+    }
+
+    @Nullable private <ModelType extends Parsable> ModelType handleObjectResponse(
+            @Nonnull final Response response,
+            @Nonnull final RequestInformation requestInfo,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
+            @Nonnull final ParsableFactory<ModelType> factory,
+            @Nonnull final Span span) {
+        final ResponseHandler responseHandler = getResponseHandler(requestInfo);
+        if (responseHandler == null) {
+            boolean closeResponse = true;
+            try {
+                this.throwIfFailedResponse(response, span, errorMappings);
+                final ParsedModelCache modelCache = this.parsedModelCache;
+                final String cacheKey =
+                        modelCache == null
+                                ? null
+                                : ParsedModelCache.getKey(
+                                        response, ParsedModelCache.OBJECT, factory);
+                if (cacheKey != null) {
+                    final ModelType cached = getCachedModel(modelCache, cacheKey, span);
+                    if (cached != null) {
+                        return cached;
                     }
-                    final Span deserializationSpan =
-                            GlobalOpenTelemetry.getTracer(obsOptions.getTracerInstrumentationName())
-                                    .spanBuilder("getObjectValue")
-                                    .setParent(Context.current().with(span))
-                                    .startSpan();
-                    try (final Scope deserializationScope = deserializationSpan.makeCurrent()) {
-                        final ModelType result = rootNode.getObjectValue(factory);
-                        setResponseType(result, span);
-                        return result;
-                    } finally {
-                        deserializationSpan.end();
+                }
+                if (this.shouldReturnNull(response)) {
+                    return null;
+                }
+                final ParseNode rootNode = getRootParseNode(response, span, span);
+                if (rootNode == null) {
+                    closeResponse = false;
+                    return null;
+                }
+                final Span deserializationSpan =
+                        GlobalOpenTelemetry.getTracer(obsOptions.getTracerInstrumentationName())
+                                .spanBuilder("getObjectValue")
+                                .setParent(Context.current().with(span))
+                                .startSpan();
+                try (final Scope deserializationScope = deserializationSpan.makeCurrent()) {
+                    final ModelType result = rootNode.getObjectValue(factory);
+                    setResponseType(result, span);
+                    if (cacheKey != null && ParsedModelCache.isCacheable(result)) {
+                        modelCache.put(cacheKey, result);
                     }
+                    return result;
                 } finally {
-                    closeResponse(closeResponse, response);
+                    deserializationSpan.end();
                 }
-            } else {
-                span.addEvent(eventResponseHandlerInvokedKey);
-                return responseHandler.handleResponse(response, errorMappings);
+            } finally {
+                closeResponse(closeResponse, response);
             }
-        } finally {
-            span.end();
+        } else {
+            span.addEvent(eventResponseHandlerInvokedKey);
+            return responseHandler.handleResponse(response, errorMappings);
         }
     }
 
+    @SuppressWarnings("unchecked")
+    @Nullable private <T> T getCachedModel(
+            @Nonnull final ParsedModelCache modelCache,
+            @Nonnull final String cacheKey,
+            @Nonnull final Span span) {
+        final Object cached = modelCache.get(cacheKey);
+        if (cached != null) {
+            span.addEvent(eventParsedModelCacheHitKey);
+            setResponseType(cached, span);
+        }
+        return (T) cached;
+    }
+
     private void setResponseType(final Object result, final Span span) {
         if (result != null) {
             span.setAttribute("com.microsoft.kiota.response.type", result.getClass().getName());
@@ -363,108 +742,57 @@ public class OkHttpRequestAdapter implements com.microsoft.kiota.RequestAdapter
         Objects.requireNonNull(targetClass, "parameter targetClass cannot be null");
         final Span span = startSpan(requestInfo, "sendPrimitive");
         try (final Scope scope = span.makeCurrent()) {
-            Response response = this.getHttpResponseMessage(requestInfo, span, span, null);
-            final ResponseHandler responseHandler = getResponseHandler(requestInfo);
-            if (responseHandler == null) {
-                boolean closeResponse = true;
-                try {
-                    this.throwIfFailedResponse(response, span, errorMappings);
-                    if (this.shouldReturnNull(response)) {
-                        return null;
-                    }
-                    if (targetClass == Void.class) {
-                        return null;
-                    } else {
-                        if (targetClass == InputStream.class) {
-                            closeResponse = false;
-                            final ResponseBody body = response.body();
-                            if (body == null) {
-                                return null;
-                            }
-                            final InputStream rawInputStream = body.byteStream();
-                            return (ModelType) rawInputStream;
-                        }
-                        final ParseNode rootNode = getRootParseNode(response, span, span);
-                        if (rootNode == null) {
-                            closeResponse = false;
-                            return null;
-                        }
-                        final Span deserializationSpan =
-                                GlobalOpenTelemetry.getTracer(
-                                                obsOptions.getTracerInstrumentationName())
-                                        .spanBuilder("get" + targetClass.getName() + "Value")
-                                        .setParent(Context.current().with(span))
-                                        .startSpan();
-                        try (final Scope deserializationScope = deserializationSpan.makeCurrent()) {
-                            Object result;
-                            if (targetClass == Boolean.class) {
-                                result = rootNode.getBooleanValue();
-                            } else if (targetClass == Byte.class) {
-                                result = rootNode.getByteValue();
-                            } else if (targetClass == String.class) {
-                                result = rootNode.getStringValue();
-                            } else if (targetClass == Short.class) {
-                                result = rootNode.getShortValue();
-                            } else if (targetClass == BigDecimal.class) {
-                                result = rootNode.getBigDecimalValue();
-                            } else if (targetClass == Double.class) {
-                                result = rootNode.getDoubleValue();
-                            } else if (targetClass == Integer.class) {
-                                result = rootNode.getIntegerValue();
-                            } else if (targetClass == Float.class) {
-                                result = rootNode.getFloatValue();
-                            } else if (targetClass == Long.class) {
-                                result = rootNode.getLongValue();
-                            } else if (targetClass == UUID.class) {
-                                result = rootNode.getUUIDValue();
-                            } else if (targetClass == OffsetDateTime.class) {
-                                result = rootNode.getOffsetDateTimeValue();
-                            } else if (targetClass == LocalDate.class) {
-                                result = rootNode.getLocalDateValue();
-                            } else if (targetClass == LocalTime.class) {
-                                result = rootNode.getLocalTimeValue();
-                            } else if (targetClass == PeriodAndDuration.class) {
-                                result = rootNode.getPeriodAndDurationValue();
-                            } else if (targetClass == byte[].class) {
-                                result = rootNode.getByteArrayValue();
-                            } else {
-                                throw new RuntimeException(
-                                        "unexpected payload type " + targetClass.getName());
-                            }
-                            setResponseType(result, span);
-                            return (ModelType) result;
-                        } finally {
-                            deserializationSpan.end();
-                        }
-                    }
-                } finally {
-                    closeResponse(closeResponse, response);
-                }
-            } else {
-                span.addEvent(eventResponseHandlerInvokedKey);
-                return responseHandler.handleResponse(response, errorMappings);
-            }
+            Response response =
+                    this.getHttpResponseMessage(
+                            requestInfo, span, span, null, targetClass == InputStream.class);
+            return this.handlePrimitiveResponse(
+                    response, requestInfo, errorMappings, targetClass, span);
         } finally {
             span.end();
         }
     }
 
-    @Nullable public <ModelType extends Enum<ModelType>> ModelType sendEnum(
+    @Nonnull public <ModelType> CompletableFuture<ModelType> sendPrimitiveAsync(
             @Nonnull final RequestInformation requestInfo,
             @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
-            @Nonnull final ValuedEnumParser<ModelType> enumParser) {
+            @Nonnull final Class<ModelType> targetClass) {
         Objects.requireNonNull(requestInfo, nullRequestInfoParameter);
-        Objects.requireNonNull(enumParser, nullEnumParserParameter);
-        final Span span = startSpan(requestInfo, "sendEnum");
-        try (final Scope scope = span.makeCurrent()) {
-            Response response = this.getHttpResponseMessage(requestInfo, span, span, null);
-            final ResponseHandler responseHandler = getResponseHandler(requestInfo);
-            if (responseHandler == null) {
-                boolean closeResponse = true;
-                try {
-                    this.throwIfFailedResponse(response, span, errorMappings);
-                    if (this.shouldReturnNull(response)) {
-                        return null;
+        Objects.requireNonNull(targetClass, "parameter targetClass cannot be null");
+        final Span span = startSpan(requestInfo, "sendPrimitiveAsync");
+        return this.handleResponseAsync(
+                requestInfo,
+                span,
+                targetClass == InputStream.class,
+                response ->
+                        this.handlePrimitiveResponse(
+                                response, requestInfo, errorMappings, targetClass, span));
+    }
+
+    @Nullable private <ModelType> ModelType handlePrimitiveResponse(
+            @Nonnull final Response response,
+            @Nonnull final RequestInformation requestInfo,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
+            @Nonnull final Class<ModelType> targetClass,
+            @Nonnull final Span span) {
+        final ResponseHandler responseHandler = getResponseHandler(requestInfo);
+        if (responseHandler == null) {
+            boolean closeResponse = true;
+            try {
+                this.throwIfFailedResponse(response, span, errorMappings);
+                if (this.shouldReturnNull(response)) {
+                    return null;
+                }
+                if (targetClass == Void.class) {
+                    return null;
+                } else {
+                    if (targetClass == InputStream.class) {
+                        closeResponse = false;
+                        final ResponseBody body = response.body();
+                        if (body == null) {
+                            return null;
+                        }
+                        final InputStream rawInputStream = body.byteStream();
+                        return (ModelType) rawInputStream;
                     }
                     final ParseNode rootNode = getRootParseNode(response, span, span);
                     if (rootNode == null) {
@@ -473,119 +801,275 @@ public class OkHttpRequestAdapter implements com.microsoft.kiota.RequestAdapter
                     }
                     final Span deserializationSpan =
                             GlobalOpenTelemetry.getTracer(obsOptions.getTracerInstrumentationName())
-                                    .spanBuilder("getEnumValue")
+                                    .spanBuilder("get" + targetClass.getName() + "Value")
                                     .setParent(Context.current().with(span))
                                     .startSpan();
                     try (final Scope deserializationScope = deserializationSpan.makeCurrent()) {
-                        final Object result = rootNode.getEnumValue(enumParser::forValue);
+                        Object result;
+                        if (targetClass == Boolean.class) {
+                            result = rootNode.getBooleanValue();
+                        } else if (targetClass == Byte.class) {
+                            result = rootNode.getByteValue();
+                        } else if (targetClass == String.class) {
+                            result = rootNode.getStringValue();
+                        } else if (targetClass == Short.class) {
+                            result = rootNode.getShortValue();
+                        } else if (targetClass == BigDecimal.class) {
+                            result = rootNode.getBigDecimalValue();
+                        } else if (targetClass == Double.class) {
+                            result = rootNode.getDoubleValue();
+                        } else if (targetClass == Integer.class) {
+                            result = rootNode.getIntegerValue();
+                        } else if (targetClass == Float.class) {
+                            result = rootNode.getFloatValue();
+                        } else if (targetClass == Long.class) {
+                            result = rootNode.getLongValue();
+                        } else if (targetClass == UUID.class) {
+                            result = rootNode.getUUIDValue();
+                        } else if (targetClass == OffsetDateTime.class) {
+                            result = rootNode.getOffsetDateTimeValue();
+                        } else if (targetClass == LocalDate.class) {
+                            result = rootNode.getLocalDateValue();
+                        } else if (targetClass == LocalTime.class) {
+                            result = rootNode.getLocalTimeValue();
+                        } else if (targetClass == PeriodAndDuration.class) {
+                            result = rootNode.getPeriodAndDurationValue();
+                        } else if (targetClass == byte[].class) {
+                            result = rootNode.getByteArrayValue();
+                        } else {
+                            throw new RuntimeException(
+                                    "unexpected payload type " + targetClass.getName());
+                        }
                         setResponseType(result, span);
                         return (ModelType) result;
                     } finally {
                         deserializationSpan.end();
                     }
+                }
+            } finally {
+                closeResponse(closeResponse, response);
+            }
+        } else {
+            span.addEvent(eventResponseHandlerInvokedKey);
+            return responseHandler.handleResponse(response, errorMappings);
+        }
+    }
+
+    @Nullable public <ModelType extends Enum<ModelType>> ModelType sendEnum(
+            @Nonnull final RequestInformation requestInfo,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
+            @Nonnull final ValuedEnumParser<ModelType> enumParser) {
+        Objects.requireNonNull(requestInfo, nullRequestInfoParameter);
+        Objects.requireNonNull(enumParser, nullEnumParserParameter);
+        final Span span = startSpan(requestInfo, "sendEnum");
+        try (final Scope scope = span.makeCurrent()) {
+            Response response = this.getHttpResponseMessage(requestInfo, span, span, null, false);
+            return this.handleEnumResponse(response, requestInfo, errorMappings, enumParser, span);
+        } finally {
+            span.end();
+        }
+    }
+
+    @Nonnull public <ModelType extends Enum<ModelType>> CompletableFuture<ModelType> sendEnumAsync(
+            @Nonnull final RequestInformation requestInfo,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
+            @Nonnull final ValuedEnumParser<ModelType> enumParser) {
+        Objects.requireNonNull(requestInfo, nullRequestInfoParameter);
+        Objects.requireNonNull(enumParser, nullEnumParserParameter);
+        final Span span = startSpan(requestInfo, "sendEnumAsync");
+        return this.handleResponseAsync(
+                requestInfo,
+                span,
+                false,
+                response ->
+                        this.handleEnumResponse(
+                                response, requestInfo, errorMappings, enumParser, span));
+    }
+
+    @Nullable private <ModelType extends Enum<ModelType>> ModelType handleEnumResponse(
+            @Nonnull final Response response,
+            @Nonnull final RequestInformation requestInfo,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
+            @Nonnull final ValuedEnumParser<ModelType> enumParser,
+            @Nonnull final Span span) {
+        final ResponseHandler responseHandler = getResponseHandler(requestInfo);
+        if (responseHandler == null) {
+            boolean closeResponse = true;
+            try {
+                this.throwIfFailedResponse(response, span, errorMappings);
+                if (this.shouldReturnNull(response)) {
+                    return null;
+                }
+                final ParseNode rootNode = getRootParseNode(response, span, span);
+                if (rootNode == null) {
+                    closeResponse = false;
+                    return null;
+                }
+                final Span deserializationSpan =
+                        GlobalOpenTelemetry.getTracer(obsOptions.getTracerInstrumentationName())
+                                .spanBuilder("getEnumValue")
+                                .setParent(Context.current().with(span))
+                                .startSpan();
+                try (final Scope deserializationScope = deserializationSpan.makeCurrent()) {
+                    final Object result = rootNode.getEnumValue(enumParser::forValue);
+                    setResponseType(result, span);
+                    return (ModelType) result;
+                } finally {
+                    deserializationSpan.end();
+                }
+            } finally {
+                closeResponse(closeResponse, response);
+            }
+        } else {
+            span.addEvent(eventResponseHandlerInvokedKey);
+            return responseHandler.handleResponse(response, errorMappings);
+        }
+    }
+
+    @Nullable public <ModelType extends Enum<ModelType>> List<ModelType> sendEnumCollection(
+            @Nonnull final RequestInformation requestInfo,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
+            @Nonnull final ValuedEnumParser<ModelType> enumParser) {
+        Objects.requireNonNull(requestInfo, nullRequestInfoParameter);
+        Objects.requireNonNull(enumParser, nullEnumParserParameter);
+        final Span span = startSpan(requestInfo, "sendEnumCollection");
+        try (final Scope scope = span.makeCurrent()) {
+            Response response = this.getHttpResponseMessage(requestInfo, span, span, null, false);
+            return this.handleEnumCollectionResponse(
+                    response, requestInfo, errorMappings, enumParser, span);
+        } finally {
+            span.end();
+        }
+    }
+
+    @Nonnull public <ModelType extends Enum<ModelType>>
+            CompletableFuture<List<ModelType>> sendEnumCollectionAsync(
+                    @Nonnull final RequestInformation requestInfo,
+                    @Nullable final HashMap<String, ParsableFactory<? extends Parsable>>
+                                    errorMappings,
+                    @Nonnull final ValuedEnumParser<ModelType> enumParser) {
+        Objects.requireNonNull(requestInfo, nullRequestInfoParameter);
+        Objects.requireNonNull(enumParser, nullEnumParserParameter);
+        final Span span = startSpan(requestInfo, "sendEnumCollectionAsync");
+        return this.handleResponseAsync(
+                requestInfo,
+                span,
+                false,
+                response ->
+                        this.handleEnumCollectionResponse(
+                                response, requestInfo, errorMappings, enumParser, span));
+    }
+
+    @Nullable private <ModelType extends Enum<ModelType>> List<ModelType> handleEnumCollectionResponse(
+            @Nonnull final Response response,
+            @Nonnull final RequestInformation requestInfo,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
+            @Nonnull final ValuedEnumParser<ModelType> enumParser,
+            @Nonnull final Span span) {
+        final ResponseHandler responseHandler = getResponseHandler(requestInfo);
+        if (responseHandler == null) {
+            boolean closeResponse = true;
+            try {
+                this.throwIfFailedResponse(response, span, errorMappings);
+                if (this.shouldReturnNull(response)) {
+                    return null;
+                }
+                final ParseNode rootNode = getRootParseNode(response, span, span);
+                if (rootNode == null) {
+                    closeResponse = false;
+                    return null;
+                }
+                final Span deserializationSpan =
+                        GlobalOpenTelemetry.getTracer(obsOptions.getTracerInstrumentationName())
+                                .spanBuilder("getCollectionOfEnumValues")
+                                .setParent(Context.current().with(span))
+                                .startSpan();
+                try (final Scope deserializationScope = deserializationSpan.makeCurrent()) {
+                    final Object result = rootNode.getCollectionOfEnumValues(enumParser::forValue);
+                    setResponseType(result, span);
+                    return (List<ModelType>) result;
                 } finally {
-                    closeResponse(closeResponse, response);
+                    deserializationSpan.end();
                 }
-            } else {
-                span.addEvent(eventResponseHandlerInvokedKey);
-                return responseHandler.handleResponse(response, errorMappings);
+            } finally {
+                closeResponse(closeResponse, response);
             }
-        } finally {
-            span.end();
+        } else {
+            span.addEvent(eventResponseHandlerInvokedKey);
+            return responseHandler.handleResponse(response, errorMappings);
         }
     }
 
-    @Nullable public <ModelType extends Enum<ModelType>> List<ModelType> sendEnumCollection(
+    @Nullable public <ModelType> List<ModelType> sendPrimitiveCollection(
             @Nonnull final RequestInformation requestInfo,
             @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
-            @Nonnull final ValuedEnumParser<ModelType> enumParser) {
+            @Nonnull final Class<ModelType> targetClass) {
         Objects.requireNonNull(requestInfo, nullRequestInfoParameter);
-        Objects.requireNonNull(enumParser, nullEnumParserParameter);
-        final Span span = startSpan(requestInfo, "sendEnumCollection");
+
+        final Span span = startSpan(requestInfo, "sendPrimitiveCollection");
         try (final Scope scope = span.makeCurrent()) {
-            Response response = this.getHttpResponseMessage(requestInfo, span, span, null);
-            final ResponseHandler responseHandler = getResponseHandler(requestInfo);
-            if (responseHandler == null) {
-                boolean closeResponse = true;
-                try {
-                    this.throwIfFailedResponse(response, span, errorMappings);
-                    if (this.shouldReturnNull(response)) {
-                        return null;
-                    }
-                    final ParseNode rootNode = getRootParseNode(response, span, span);
-                    if (rootNode == null) {
-                        closeResponse = false;
-                        return null;
-                    }
-                    final Span deserializationSpan =
-                            GlobalOpenTelemetry.getTracer(obsOptions.getTracerInstrumentationName())
-                                    .spanBuilder("getCollectionOfEnumValues")
-                                    .setParent(Context.current().with(span))
-                                    .startSpan();
-                    try (final Scope deserializationScope = deserializationSpan.makeCurrent()) {
-                        final Object result =
-                                rootNode.getCollectionOfEnumValues(enumParser::forValue);
-                        setResponseType(result, span);
-                        return (List<ModelType>) result;
-                    } finally {
-                        deserializationSpan.end();
-                    }
-                } finally {
-                    closeResponse(closeResponse, response);
-                }
-            } else {
-                span.addEvent(eventResponseHandlerInvokedKey);
-                return responseHandler.handleResponse(response, errorMappings);
-            }
+            Response response = this.getHttpResponseMessage(requestInfo, span, span, null, false);
+            return this.handlePrimitiveCollectionResponse(
+                    response, requestInfo, errorMappings, targetClass, span);
         } finally {
             span.end();
         }
     }
 
-    @Nullable public <ModelType> List<ModelType> sendPrimitiveCollection(
+    @Nonnull public <ModelType> CompletableFuture<List<ModelType>> sendPrimitiveCollectionAsync(
             @Nonnull final RequestInformation requestInfo,
             @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
             @Nonnull final Class<ModelType> targetClass) {
         Objects.requireNonNull(requestInfo, nullRequestInfoParameter);
 
-        final Span span = startSpan(requestInfo, "sendPrimitiveCollection");
-        try (final Scope scope = span.makeCurrent()) {
-            Response response = getHttpResponseMessage(requestInfo, span, span, null);
-            final ResponseHandler responseHandler = getResponseHandler(requestInfo);
-            if (responseHandler == null) {
-                boolean closeResponse = true;
-                try {
-                    this.throwIfFailedResponse(response, span, errorMappings);
-                    if (this.shouldReturnNull(response)) {
-                        return null;
-                    }
-                    final ParseNode rootNode = getRootParseNode(response, span, span);
-                    if (rootNode == null) {
-                        closeResponse = false;
-                        return null;
-                    }
-                    final Span deserializationSpan =
-                            GlobalOpenTelemetry.getTracer(obsOptions.getTracerInstrumentationName())
-                                    .spanBuilder("getCollectionOfPrimitiveValues")
-                                    .setParent(Context.current().with(span))
-                                    .startSpan();
-                    try (final Scope deserializationScope = deserializationSpan.makeCurrent()) {
-                        final List<ModelType> result =
-                                rootNode.getCollectionOfPrimitiveValues(targetClass);
-                        setResponseType(result, span);
-                        return result;
-                    } finally {
-                        deserializationSpan.end();
-                    }
+        final Span span = startSpan(requestInfo, "sendPrimitiveCollectionAsync");
+        return this.handleResponseAsync(
+                requestInfo,
+                span,
+                false,
+                response ->
+                        this.handlePrimitiveCollectionResponse(
+                                response, requestInfo, errorMappings, targetClass, span));
+    }
+
+    @Nullable private <ModelType> List<ModelType> handlePrimitiveCollectionResponse(
+            @Nonnull final Response response,
+            @Nonnull final RequestInformation requestInfo,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
+            @Nonnull final Class<ModelType> targetClass,
+            @Nonnull final Span span) {
+        final ResponseHandler responseHandler = getResponseHandler(requestInfo);
+        if (responseHandler == null) {
+            boolean closeResponse = true;
+            try {
+                this.throwIfFailedResponse(response, span, errorMappings);
+                if (this.shouldReturnNull(response)) {
+                    return null;
+                }
+                final ParseNode rootNode = getRootParseNode(response, span, span);
+                if (rootNode == null) {
+                    closeResponse = false;
+                    return null;
+                }
+                final Span deserializationSpan =
+                        GlobalOpenTelemetry.getTracer(obsOptions.getTracerInstrumentationName())
+                                .spanBuilder("getCollectionOfPrimitiveValues")
+                                .setParent(Context.current().with(span))
+                                .startSpan();
+                try (final Scope deserializationScope = deserializationSpan.makeCurrent()) {
+                    final List<ModelType> result =
+                            rootNode.getCollectionOfPrimitiveValues(targetClass);
+                    setResponseType(result, span);
+                    return result;
                 } finally {
-                    closeResponse(closeResponse, response);
+                    deserializationSpan.end();
                 }
-            } else {
-                span.addEvent(eventResponseHandlerInvokedKey);
-                return responseHandler.handleResponse(response, errorMappings);
+            } finally {
+                closeResponse(closeResponse, response);
             }
-        } finally {
-            span.end();
+        } else {
+            span.addEvent(eventResponseHandlerInvokedKey);
+            return responseHandler.handleResponse(response, errorMappings);
         }
     }
 
@@ -726,7 +1210,8 @@ public class OkHttpRequestAdapter implements com.microsoft.kiota.RequestAdapter
             @Nonnull final RequestInformation requestInfo,
             @Nonnull final Span parentSpan,
             @Nonnull final Span spanForAttributes,
-            @Nullable final String claims) {
+            @Nullable final String claims,
+            final boolean streamed) {
         Objects.requireNonNull(requestInfo, nullRequestInfoParameter);
         final Span span =
                 GlobalOpenTelemetry.getTracer(obsOptions.getTracerInstrumentationName())
@@ -734,45 +1219,419 @@ public class OkHttpRequestAdapter implements com.microsoft.kiota.RequestAdapter
                         .setParent(Context.current().with(parentSpan))
                         .startSpan();
         try (final Scope scope = span.makeCurrent()) {
-            this.setBaseUrlForRequestInformation(requestInfo);
-            final Map<String, Object> additionalContext = new HashMap<String, Object>();
-            additionalContext.put("parent-span", span);
-            if (claims != null && !claims.isEmpty()) {
-                additionalContext.put(claimsKey, claims);
-            }
-            this.authProvider.authenticateRequest(requestInfo, additionalContext);
             final Response response =
-                    this.client
-                            .newCall(
-                                    getRequestFromRequestInformation(
-                                            requestInfo, span, spanForAttributes))
-                            .execute();
-            final String contentLengthHeaderValue =
-                    getHeaderValue(response, CONTENT_LENGTH_HEADER_KEY);
-            if (contentLengthHeaderValue != null && !contentLengthHeaderValue.isEmpty()) {
-                final long contentLengthHeaderValueAsLong =
-                        Long.parseLong(contentLengthHeaderValue);
-                spanForAttributes.setAttribute(
-                        EXPERIMENTAL_HTTP_RESPONSE_BODY_SIZE, contentLengthHeaderValueAsLong);
-            }
-            final String contentTypeHeaderValue = getHeaderValue(response, CONTENT_TYPE_HEADER_KEY);
-            if (contentTypeHeaderValue != null && !contentTypeHeaderValue.isEmpty()) {
-                spanForAttributes.setAttribute(
-                        HTTP_RESPONSE_HEADER_CONTENT_TYPE, contentTypeHeaderValue);
-            }
-            spanForAttributes.setAttribute(HTTP_RESPONSE_STATUS_CODE, response.code());
-            spanForAttributes.setAttribute(
-                    NETWORK_PROTOCOL_NAME, response.protocol().toString().toUpperCase(Locale.ROOT));
+                    execute(
+                            getAuthenticatedRequest(requestInfo, span, spanForAttributes, claims),
+                            requestInfo,
+                            span,
+                            streamed);
+            setResponseAttributes(response, spanForAttributes);
             return this.retryCAEResponseIfRequired(
-                    response, requestInfo, span, spanForAttributes, claims);
+                    response, requestInfo, span, spanForAttributes, claims, streamed);
         } catch (IOException | URISyntaxException ex) {
             spanForAttributes.recordException(ex);
-            throw new RuntimeException(ex);
+            throw wrapException(ex);
         } finally {
             span.end();
         }
     }
 
+    private CompletableFuture<Response> getHttpResponseMessageAsync(
+            @Nonnull final RequestInformation requestInfo,
+            @Nonnull final Span parentSpan,
+            @Nonnull final Span spanForAttributes,
+            @Nullable final String claims,
+            final boolean streamed) {
+        Objects.requireNonNull(requestInfo, nullRequestInfoParameter);
+        final Span span =
+                GlobalOpenTelemetry.getTracer(obsOptions.getTracerInstrumentationName())
+                        .spanBuilder("getHttpResponseMessageAsync")
+                        .setParent(Context.current().with(parentSpan))
+                        .startSpan();
+        final CompletableFuture<Response> result = new CompletableFuture<>();
+        result.whenComplete((response, ex) -> span.end());
+        try (final Scope scope = span.makeCurrent()) {
+            Request request = getAuthenticatedRequest(requestInfo, span, spanForAttributes, claims);
+            final AsyncRetryContext retryContext;
+            if (asyncRetryEnabled) {
+                retryContext = new AsyncRetryContext();
+                request = request.newBuilder().tag(AsyncRetryContext.class, retryContext).build();
+            } else {
+                retryContext = null;
+            }
+            enqueue(
+                    request,
+                    requestInfo,
+                    span,
+                    streamed,
+                    result,
+                    new Callback() {
+                        @Override
+                        public void onFailure(
+                                @Nonnull final Call call, @Nonnull final IOException ex) {
+                            if (retryContext != null && retryContext.isDeferralRequested()) {
+                                // the rate limiter reserved a later turn for the request
+                                final long delay = retryContext.getDeferralDelay();
+                                retryContext.prepareDeferredAttempt();
+                                resend(call, delay, this, result);
+                                return;
+                            }
+                            spanForAttributes.recordException(ex);
+                            result.completeExceptionally(wrapException(ex));
+                        }
+
+                        @Override
+                        public void onResponse(
+                                @Nonnull final Call call, @Nonnull final Response response) {
+                            if (retryContext != null && retryContext.isRetryRequested()) {
+                                scheduleRetry(call, response, retryContext, this, result);
+                                return;
+                            }
+                            try (final Scope callbackScope = span.makeCurrent()) {
+                                setResponseAttributes(response, spanForAttributes);
+                                final CompletableFuture<Response> retried =
+                                        retryCAEResponseIfRequiredAsync(
+                                                response,
+                                                requestInfo,
+                                                span,
+                                                spanForAttributes,
+                                                claims,
+                                                streamed);
+                                whenCancelled(result, () -> retried.cancel(false));
+                                retried.whenComplete(
+                                        (retriedResponse, retryEx) -> {
+                                            if (retryEx != null) {
+                                                result.completeExceptionally(retryEx);
+                                            } else if (!result.complete(retriedResponse)) {
+                                                // the request was cancelled meanwhile
+                                                retriedResponse.close();
+                                            }
+                                        });
+                            } catch (RuntimeException ex) {
+                                response.close();
+                                result.completeExceptionally(ex);
+                            }
+                        }
+                    });
+        } catch (IOException | URISyntaxException ex) {
+            spanForAttributes.recordException(ex);
+            result.completeExceptionally(wrapException(ex));
+        } catch (RuntimeException ex) {
+            result.completeExceptionally(ex);
+        }
+        return result;
+    }
+
+    /**
+     * Wraps an exception raised while sending a request, middleware fail requests with an ApiException as the cause of an IOException
+     * @param ex the exception raised while sending the request
+     * @return the ApiException raised by the middleware, or the exception wrapped in a RuntimeException
+     */
+    @Nonnull private static RuntimeException wrapException(@Nonnull final Exception ex) {
+        if (ex.getCause() instanceof ApiException) {
+            return (ApiException) ex.getCause();
+        }
+        return new RuntimeException(ex);
+    }
+
+    private void scheduleRetry(
+            @Nonnull final Call call,
+            @Nonnull final Response response,
+            @Nonnull final AsyncRetryContext retryContext,
+            @Nonnull final Callback callback,
+            @Nonnull final CompletableFuture<Response> result) {
+        response.close();
+        final long delay = retryContext.getRetryDelay();
+        retryContext.prepareNextAttempt();
+        resend(call, delay, callback, result);
+    }
+
+    private void resend(
+            @Nonnull final Call call,
+            final long delay,
+            @Nonnull final Callback callback,
+            @Nonnull final CompletableFuture<Response> result) {
+        try {
+            DelayScheduler.instance.schedule(
+                    () -> {
+                        if (result.isDone()) {
+                            // cancelled while the attempt was waiting
+                            return;
+                        }
+                        try {
+                            final Call nextCall = this.client.newCall(call.request());
+                            whenCancelled(result, nextCall::cancel);
+                            nextCall.enqueue(callback);
+                        } catch (RuntimeException ex) {
+                            result.completeExceptionally(ex);
+                        }
+                    },
+                    delay,
+                    TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ex) {
+            result.completeExceptionally(ex);
+        }
+    }
+
+    private Response execute(
+            @Nonnull final Request request,
+            @Nonnull final RequestInformation requestInfo,
+            @Nonnull final Span span,
+            final boolean streamed)
+            throws IOException {
+        // a shared response is buffered, which defeats streaming the body
+        final RequestCoalescer coalescer = streamed ? null : this.requestCoalescer;
+        final String coalescingKey = coalescer == null ? null : RequestCoalescer.getKey(request);
+        if (coalescer == null || coalescingKey == null) {
+            return send(request, requestInfo, span);
+        }
+        final RequestCoalescer.Flight flight = new RequestCoalescer.Flight();
+        final CompletableFuture<RequestCoalescer.SharedResponse> inFlight =
+                coalescer.join(coalescingKey, flight);
+        if (inFlight != null) {
+            span.addEvent(eventRequestCoalescedKey);
+            return await(inFlight, null).newResponse();
+        }
+        final Response response;
+        try {
+            response = send(request, requestInfo, span);
+        } catch (IOException | RuntimeException ex) {
+            coalescer.fail(coalescingKey, flight, ex);
+            throw ex;
+        }
+        return coalescer.complete(coalescingKey, flight, response);
+    }
+
+    private Response send(
+            @Nonnull final Request request,
+            @Nonnull final RequestInformation requestInfo,
+            @Nonnull final Span span)
+            throws IOException {
+        final HedgingPolicy policy = getHedgingPolicy(request);
+        if (policy == null) {
+            return this.client.newCall(request).execute();
+        }
+        final CompletableFuture<Response> result = new CompletableFuture<>();
+        final HedgedCall hedgedCall =
+                new HedgedCall(
+                        this.client,
+                        request,
+                        getHedgingKey(request, requestInfo),
+                        policy,
+                        span,
+                        new Callback() {
+                            @Override
+                            public void onFailure(
+                                    @Nonnull final Call call, @Nonnull final IOException ex) {
+                                result.completeExceptionally(ex);
+                            }
+
+                            @Override
+                            public void onResponse(
+                                    @Nonnull final Call call, @Nonnull final Response response) {
+                                result.complete(response);
+                            }
+                        });
+        // the first copy is sent on the calling thread, only the second one goes through the
+        // dispatcher
+        hedgedCall.execute(DelayScheduler.instance);
+        return await(result, hedgedCall::cancel);
+    }
+
+    private static <T> T await(
+            @Nonnull final CompletableFuture<T> future, @Nullable final Runnable onInterrupted)
+            throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            if (onInterrupted != null) {
+                onInterrupted.run();
+            }
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while waiting for the response");
+        } catch (ExecutionException ex) {
+            throw toIOException(ex.getCause());
+        }
+    }
+
+    private static IOException toIOException(@Nullable final Throwable ex) {
+        if (ex instanceof IOException) {
+            return (IOException) ex;
+        }
+        if (ex instanceof RuntimeException) {
+            throw (RuntimeException) ex;
+        }
+        return new IOException(ex);
+    }
+
+    private void enqueue(
+            @Nonnull final Request request,
+            @Nonnull final RequestInformation requestInfo,
+            @Nonnull final Span span,
+            final boolean streamed,
+            @Nonnull final CompletableFuture<?> result,
+            @Nonnull final Callback callback) {
+        // a shared response is buffered, which defeats streaming the body
+        final RequestCoalescer coalescer = streamed ? null : this.requestCoalescer;
+        final String coalescingKey = coalescer == null ? null : RequestCoalescer.getKey(request);
+        if (coalescer == null || coalescingKey == null) {
+            dispatch(request, requestInfo, span, result, callback);
+            return;
+        }
+        final RequestCoalescer.Flight flight = new RequestCoalescer.Flight();
+        final CompletableFuture<RequestCoalescer.SharedResponse> inFlight =
+                coalescer.join(coalescingKey, flight);
+        if (inFlight != null) {
+            span.addEvent(eventRequestCoalescedKey);
+            // the callback receives a call for its own request, which is never sent
+            final Call call = this.client.newCall(request);
+            inFlight.whenComplete(
+                    (shared, ex) -> {
+                        try {
+                            if (ex == null) {
+                                callback.onResponse(call, shared.newResponse());
+                            } else {
+                                callback.onFailure(call, toIOException(ex));
+                            }
+                        } catch (IOException | RuntimeException callbackEx) {
+                            callback.onFailure(
+                                    call,
+                                    callbackEx instanceof IOException
+                                            ? (IOException) callbackEx
+                                            : new IOException(callbackEx));
+                        }
+                    });
+            return;
+        }
+        // the shared call keeps running when the request is cancelled, for the requests joining it
+        dispatch(
+                request,
+                requestInfo,
+                span,
+                null,
+                new Callback() {
+                    @Override
+                    public void onFailure(@Nonnull final Call call, @Nonnull final IOException ex) {
+                        coalescer.fail(coalescingKey, flight, ex);
+                        callback.onFailure(call, ex);
+                    }
+
+                    @Override
+                    public void onResponse(
+                            @Nonnull final Call call, @Nonnull final Response response)
+                            throws IOException {
+                        final Response sharedResponse;
+                        try {
+                            sharedResponse = coalescer.complete(coalescingKey, flight, response);
+                        } catch (IOException ex) {
+                            callback.onFailure(call, ex);
+                            return;
+                        }
+                        callback.onResponse(call, sharedResponse);
+                    }
+                });
+    }
+
+    private void dispatch(
+            @Nonnull final Request request,
+            @Nonnull final RequestInformation requestInfo,
+            @Nonnull final Span span,
+            @Nullable final CompletableFuture<?> result,
+            @Nonnull final Callback callback) {
+        final HedgingPolicy policy = getHedgingPolicy(request);
+        if (policy == null) {
+            final Call call = this.client.newCall(request);
+            if (result != null) {
+                whenCancelled(result, call::cancel);
+            }
+            call.enqueue(callback);
+            return;
+        }
+        final HedgedCall hedgedCall =
+                new HedgedCall(
+                        this.client,
+                        request,
+                        getHedgingKey(request, requestInfo),
+                        policy,
+                        span,
+                        callback);
+        if (result != null) {
+            whenCancelled(result, hedgedCall::cancel);
+        }
+        hedgedCall.enqueue(DelayScheduler.instance);
+    }
+
+    @Nullable private HedgingPolicy getHedgingPolicy(@Nonnull final Request request) {
+        final HedgingPolicy policy = this.hedgingPolicy;
+        // requests whose retries are scheduled by the adapter track a single call
+        if (policy == null || request.tag(AsyncRetryContext.class) != null) {
+            return null;
+        }
+        final RequestBody body = request.body();
+        if (body != null && body.isOneShot()) {
+            return null;
+        }
+        final HedgingOptions requestOption = request.tag(HedgingOptions.class);
+        if (requestOption != null) {
+            return requestOption.isEnabled() ? policy : null;
+        }
+        final String method = request.method();
+        return "GET".equals(method) || "HEAD".equals(method) ? policy : null;
+    }
+
+    @Nonnull private static String getHedgingKey(
+            @Nonnull final Request request, @Nonnull final RequestInformation requestInfo) {
+        final String urlTemplate = requestInfo.urlTemplate;
+        return request.method()
+                + " "
+                + (urlTemplate == null ? request.url().encodedPath() : urlTemplate);
+    }
+
+    /** Holds the scheduler shared by all adapters, created on the first scheduled retry or hedge. */
+    private static final class DelayScheduler {
+        static final ScheduledExecutorService instance =
+                Executors.newSingleThreadScheduledExecutor(
+                        runnable -> {
+                            final Thread thread = new Thread(runnable, "kiota-delay-scheduler");
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+    }
+
+    private Request getAuthenticatedRequest(
+            @Nonnull final RequestInformation requestInfo,
+            @Nonnull final Span span,
+            @Nonnull final Span spanForAttributes,
+            @Nullable final String claims)
+            throws URISyntaxException, IOException {
+        this.setBaseUrlForRequestInformation(requestInfo);
+        final Map<String, Object> additionalContext = new HashMap<String, Object>();
+        additionalContext.put("parent-span", span);
+        if (claims != null && !claims.isEmpty()) {
+            additionalContext.put(claimsKey, claims);
+        }
+        this.authProvider.authenticateRequest(requestInfo, additionalContext);
+        return getRequestFromRequestInformation(requestInfo, span, spanForAttributes);
+    }
+
+    private void setResponseAttributes(
+            @Nonnull final Response response, @Nonnull final Span spanForAttributes) {
+        final String contentLengthHeaderValue = getHeaderValue(response, CONTENT_LENGTH_HEADER_KEY);
+        if (contentLengthHeaderValue != null && !contentLengthHeaderValue.isEmpty()) {
+            final long contentLengthHeaderValueAsLong = Long.parseLong(contentLengthHeaderValue);
+            spanForAttributes.setAttribute(
+                    EXPERIMENTAL_HTTP_RESPONSE_BODY_SIZE, contentLengthHeaderValueAsLong);
+        }
+        final String contentTypeHeaderValue = getHeaderValue(response, CONTENT_TYPE_HEADER_KEY);
+        if (contentTypeHeaderValue != null && !contentTypeHeaderValue.isEmpty()) {
+            spanForAttributes.setAttribute(
+                    HTTP_RESPONSE_HEADER_CONTENT_TYPE, contentTypeHeaderValue);
+        }
+        spanForAttributes.setAttribute(HTTP_RESPONSE_STATUS_CODE, response.code());
+        spanForAttributes.setAttribute(
+                NETWORK_PROTOCOL_NAME, response.protocol().toString().toUpperCase(Locale.ROOT));
+    }
+
     private String getHeaderValue(final Response response, String key) {
         final List<String> headerValue = response.headers().values(key);
         if (headerValue != null && headerValue.size() > 0) {
@@ -795,28 +1654,19 @@ public class OkHttpRequestAdapter implements com.microsoft.kiota.RequestAdapter
             @Nonnull final RequestInformation requestInfo,
             @Nonnull final Span parentSpan,
             @Nonnull final Span spanForAttributes,
-            @Nullable final String claims) {
+            @Nullable final String claims,
+            final boolean streamed) {
         final Span span =
                 GlobalOpenTelemetry.getTracer(obsOptions.getTracerInstrumentationName())
                         .spanBuilder("retryCAEResponseIfRequired")
                         .setParent(Context.current().with(parentSpan))
                         .startSpan();
         try (final Scope scope = span.makeCurrent()) {
-            final String responseClaims = this.getClaimsFromResponse(response, requestInfo, claims);
-            if (responseClaims != null && !responseClaims.isEmpty()) {
-                if (requestInfo.content != null && requestInfo.content.markSupported()) {
-                    try {
-                        requestInfo.content.reset();
-                    } catch (IOException ex) {
-                        spanForAttributes.recordException(ex);
-                        throw new RuntimeException(ex);
-                    }
-                }
-                closeResponse(true, response);
-                span.addEvent(authenticateChallengedEventKey);
-                spanForAttributes.setAttribute(HTTP_REQUEST_RESEND_COUNT, 1);
+            final String responseClaims =
+                    this.prepareCAERetry(response, requestInfo, span, spanForAttributes, claims);
+            if (responseClaims != null) {
                 return this.getHttpResponseMessage(
-                        requestInfo, span, spanForAttributes, responseClaims);
+                        requestInfo, span, spanForAttributes, responseClaims, streamed);
             }
             return response;
         } finally {
@@ -824,6 +1674,68 @@ public class OkHttpRequestAdapter implements com.microsoft.kiota.RequestAdapter
         }
     }
 
+    private CompletableFuture<Response> retryCAEResponseIfRequiredAsync(
+            @Nonnull final Response response,
+            @Nonnull final RequestInformation requestInfo,
+            @Nonnull final Span parentSpan,
+            @Nonnull final Span spanForAttributes,
+            @Nullable final String claims,
+            final boolean streamed) {
+        final Span span =
+                GlobalOpenTelemetry.getTracer(obsOptions.getTracerInstrumentationName())
+                        .spanBuilder("retryCAEResponseIfRequired")
+                        .setParent(Context.current().with(parentSpan))
+                        .startSpan();
+        try (final Scope scope = span.makeCurrent()) {
+            final String responseClaims =
+                    this.prepareCAERetry(response, requestInfo, span, spanForAttributes, claims);
+            if (responseClaims != null) {
+                final CompletableFuture<Response> retried =
+                        this.getHttpResponseMessageAsync(
+                                requestInfo, span, spanForAttributes, responseClaims, streamed);
+                final CompletableFuture<Response> result =
+                        retried.whenComplete((retriedResponse, ex) -> span.end());
+                whenCancelled(result, () -> retried.cancel(false));
+                return result;
+            }
+            span.end();
+            return CompletableFuture.completedFuture(response);
+        } catch (RuntimeException ex) {
+            span.end();
+            throw ex;
+        }
+    }
+
+    /**
+     * Checks whether the response carries a continuous access evaluation challenge and, when it
+     * does, prepares the request for a second attempt.
+     *
+     * @return the claims to use for the retry, or null if the request should not be retried.
+     */
+    @Nullable private String prepareCAERetry(
+            @Nonnull final Response response,
+            @Nonnull final RequestInformation requestInfo,
+            @Nonnull final Span span,
+            @Nonnull final Span spanForAttributes,
+            @Nullable final String claims) {
+        final String responseClaims = this.getClaimsFromResponse(response, requestInfo, claims);
+        if (responseClaims == null || responseClaims.isEmpty()) {
+            return null;
+        }
+        if (requestInfo.content != null && requestInfo.content.markSupported()) {
+            try {
+                requestInfo.content.reset();
+            } catch (IOException ex) {
+                spanForAttributes.recordException(ex);
+                throw new RuntimeException(ex);
+            }
+        }
+        closeResponse(true, response);
+        span.addEvent(authenticateChallengedEventKey);
+        spanForAttributes.setAttribute(HTTP_REQUEST_RESEND_COUNT, 1);
+        return responseClaims;
+    }
+
     String getClaimsFromResponse(
             @Nonnull final Response response,
             @Nonnull final RequestInformation requestInfo,
@@ -858,6 +1770,27 @@ public class OkHttpRequestAdapter implements com.microsoft.kiota.RequestAdapter
         }
     }
 
+    @Nullable private static MediaType getRequestContentType(
+            @Nonnull final RequestInformation requestInfo, @Nonnull final Span spanForAttributes) {
+        final String contentType = getFirstHeaderValue(requestInfo, CONTENT_TYPE_HEADER_KEY);
+        if (contentType == null) {
+            return null;
+        }
+        spanForAttributes.setAttribute(HTTP_REQUEST_HEADER_CONTENT_TYPE, contentType);
+        return MediaType.parse(contentType);
+    }
+
+    private static long getRequestContentLength(@Nonnull final RequestInformation requestInfo) {
+        final String contentLength = getFirstHeaderValue(requestInfo, CONTENT_LENGTH_HEADER_KEY);
+        return contentLength == null ? -1L : Long.parseLong(contentLength);
+    }
+
+    @Nullable private static String getFirstHeaderValue(
+            @Nonnull final RequestInformation requestInfo, @Nonnull final String key) {
+        final Set<String> values = requestInfo.headers.get(key);
+        return values == null || values.isEmpty() ? null : values.iterator().next();
+    }
+
     /**
      * Creates a new request from the request information instance.
      *
@@ -893,73 +1826,114 @@ public class OkHttpRequestAdapter implements com.microsoft.kiota.RequestAdapter
             spanForAttributes.setAttribute(URL_SCHEME, requestURL.getProtocol());
 
             final InputStream requestContent = requestInfo.content;
-            RequestBody body =
-                    requestContent == null
+            final DeferredRequestContent deferredContent = requestInfo.getDeferredContent();
+            // resolved once as OkHttp queries the body several times per request
+            final MediaType requestContentType =
+                    requestContent == null && deferredContent == null
                             ? null
-                            : new RequestBody() {
-                                @Override
-                                public MediaType contentType() {
-                                    final Set<String> contentTypes =
-                                            requestInfo.headers.getOrDefault(
-                                                    CONTENT_TYPE_HEADER_KEY, new HashSet<>());
-                                    if (contentTypes.isEmpty()) {
-                                        return null;
-                                    } else {
-                                        final String contentType =
-                                                contentTypes.toArray(new String[] {})[0];
-                                        spanForAttributes.setAttribute(
-                                                HTTP_REQUEST_HEADER_CONTENT_TYPE, contentType);
-                                        return MediaType.parse(contentType);
-                                    }
-                                }
+                            : getRequestContentType(requestInfo, spanForAttributes);
+            final long requestContentLength = getRequestContentLength(requestInfo);
+            RequestBody body = null;
+            if (requestContent instanceof SerializedContentStream) {
+                // serialized models are written straight from the buffer of the writer on every
+                // attempt, rather than streamed with mark and reset
+                final SerializedContentStream serializedContent =
+                        (SerializedContentStream) requestContent;
+                body =
+                        new RequestBody() {
+                            @Override
+                            public MediaType contentType() {
+                                return requestContentType;
+                            }
+
+                            @Override
+                            public long contentLength() {
+                                return requestContentLength >= 0
+                                        ? requestContentLength
+                                        : serializedContent.available();
+                            }
+
+                            @Override
+                            public void writeTo(@Nonnull BufferedSink sink) throws IOException {
+                                serializedContent.writeRemainingTo(sink.outputStream());
+                            }
+                        };
+            } else if (requestContent != null) {
+                body =
+                        new RequestBody() {
+                            @Override
+                            public MediaType contentType() {
+                                return requestContentType;
+                            }
+
+                            @Override
+                            public boolean isOneShot() {
+                                return requestContent == null || !requestContent.markSupported();
+                            }
 
-                                @Override
-                                public boolean isOneShot() {
-                                    return requestContent == null
-                                            || !requestContent.markSupported();
+                            @Override
+                            public long contentLength() throws IOException {
+                                // super.contentLength() is not relied on since it defaults to
+                                // -1L, causing wrong telemetry added to the attributes.
+                                if (requestContentLength < 0
+                                        && requestContent instanceof ByteArrayInputStream) {
+                                    // using available() on a byte-array backed input stream is
+                                    // reliable because array size is defined.
+                                    return requestContent.available();
                                 }
+                                return requestContentLength;
+                            }
 
-                                @Override
-                                public long contentLength() throws IOException {
-                                    final Set<String> contentLength =
-                                            requestInfo.headers.getOrDefault(
-                                                    CONTENT_LENGTH_HEADER_KEY, new HashSet<>());
-                                    if (!contentLength.isEmpty()) {
-                                        return Long.parseLong(
-                                                contentLength.toArray(new String[] {})[0]);
-                                    }
-                                    // super.contentLength() is not relied on since it defaults to
-                                    // -1L, causing wrong telemetry added to the attributes.
-                                    if (requestContent instanceof ByteArrayInputStream) {
-                                        final ByteArrayInputStream contentStream =
-                                                (ByteArrayInputStream) requestContent;
-                                        // using available() on a byte-array backed input stream is
-                                        // reliable because array size is defined.
-                                        return contentStream.available();
+                            @Override
+                            public void writeTo(@Nonnull BufferedSink sink) throws IOException {
+                                final long contentLength = contentLength();
+                                if (contentLength > 0) {
+                                    requestContent.mark((int) contentLength);
+                                }
+                                sink.writeAll(Okio.source(requestContent));
+                                if (!isOneShot()) {
+                                    try {
+                                        requestContent.reset();
+                                    } catch (Exception ex) {
+                                        spanForAttributes.recordException(ex);
+                                        // we don't want to fail the request if reset() fails
+                                        // reset() was a measure to prevent draining the request
+                                        // body by an interceptor before
+                                        // the final network request
                                     }
-                                    return super.contentLength();
                                 }
+                            }
+                        };
+            }
 
-                                @Override
-                                public void writeTo(@Nonnull BufferedSink sink) throws IOException {
-                                    final long contentLength = contentLength();
-                                    if (contentLength > 0) {
-                                        requestContent.mark((int) contentLength);
-                                    }
-                                    sink.writeAll(Okio.source(requestContent));
-                                    if (!isOneShot()) {
-                                        try {
-                                            requestContent.reset();
-                                        } catch (Exception ex) {
-                                            spanForAttributes.recordException(ex);
-                                            // we don't want to fail the request if reset() fails
-                                            // reset() was a measure to prevent draining the request
-                                            // body by an interceptor before
-                                            // the final network request
-                                        }
-                                    }
+            if (body == null && deferredContent != null) {
+                body =
+                        new RequestBody() {
+                            @Override
+                            public MediaType contentType() {
+                                return requestContentType;
+                            }
+
+                            @Override
+                            public long contentLength() {
+                                // without a header the content is serialized while it is
+                                // written, its length is unknown until then.
+                                return requestContentLength;
+                            }
+
+                            @Override
+                            public void writeTo(@Nonnull BufferedSink sink) throws IOException {
+                                try {
+                                    deferredContent.writeTo(sink.outputStream());
+                                } catch (RuntimeException ex) {
+                                    // surfaced as an IOException so OkHttp fails the call
+                                    // instead of the thread running it.
+                                    throw new IOException(
+                                            "could not serialize the request body", ex);
                                 }
-                            };
+                            }
+                        };
+            }
 
             // https://stackoverflow.com/a/35743536
             if (body == null
@@ -989,6 +1963,7 @@ public class OkHttpRequestAdapter implements com.microsoft.kiota.RequestAdapter
                 requestBuilder.tag(obsOptions.getType(), obsOptions);
             }
             requestBuilder.tag(Span.class, parentSpan);
+            requestBuilder.tag(RequestInformation.class, requestInfo);
             final Request request = requestBuilder.build();
             if (request != null) {
                 RequestBody requestBody = request.body();
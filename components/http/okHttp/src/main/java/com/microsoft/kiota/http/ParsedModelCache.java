@@ -0,0 +1,293 @@
+package com.microsoft.kiota.http;
+
+import com.microsoft.kiota.PeriodAndDuration;
+import com.microsoft.kiota.serialization.ParsableFactory;
+import com.microsoft.kiota.serialization.UntypedArray;
+import com.microsoft.kiota.serialization.UntypedNode;
+import com.microsoft.kiota.serialization.UntypedObject;
+import com.microsoft.kiota.store.BackedModel;
+import com.microsoft.kiota.store.BackingStore;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import okhttp3.Request;
+import okhttp3.Response;
+
+import okio.ByteString;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the models deserialized from GET responses, keyed by url, identity and ETag, so a response whose ETag did not change is not parsed again.
+ * Only models backed by a store can be cached: the cache keeps a copy of their backing store values and every caller receives a copy of its own, so changes made by a caller are never seen by another.
+ * The cache is bounded by the number of values held by the cached models, evicting the least recently used models first.
+ */
+final class ParsedModelCache {
+    /** The kind of the cache entries holding a single model */
+    static final String OBJECT = "object";
+
+    /** The kind of the cache entries holding a collection of models */
+    static final String COLLECTION = "collection";
+
+    private final long maxWeight;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final LongAdder hitCount = new LongAdder();
+    private long totalWeight;
+
+    /**
+     * Creates a new cache
+     * @param maxWeight the maximum number of values held by the cached models
+     */
+    ParsedModelCache(final long maxWeight) {
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * Gets the maximum number of values held by the cached models
+     * @return the maximum weight of the cache
+     */
+    long getMaxWeight() {
+        return maxWeight;
+    }
+
+    /**
+     * Gets the number of responses which were served a cached model instead of being parsed
+     * @return the number of cache hits
+     */
+    long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * Gets the key the models deserialized from a response are cached with
+     * @param response the response the models are deserialized from
+     * @param kind the kind of result, {@link #OBJECT} or {@link #COLLECTION}
+     * @param factory the factory the models are created with
+     * @return the key, or null if the models of the response cannot be cached
+     */
+    @Nullable static String getKey(
+            @Nonnull final Response response,
+            @Nonnull final String kind,
+            @Nonnull final ParsableFactory<?> factory) {
+        final Request request = response.request();
+        if (!"GET".equals(request.method())) {
+            return null;
+        }
+        String etag = response.header("ETag");
+        if (etag == null && response.code() == 304) {
+            final String ifNoneMatch = request.header("If-None-Match");
+            if (ifNoneMatch != null && ifNoneMatch.indexOf(',') < 0) {
+                etag = ifNoneMatch;
+            }
+        }
+        if (etag == null) {
+            return null;
+        }
+        final String authorization = request.header("Authorization");
+        // factories created at the same call site share a class, other factories only miss
+        return kind
+                + "\n"
+                + factory.getClass().getName()
+                + "\n"
+                + request.url()
+                + "\n"
+                + (authorization == null ? "" : ByteString.encodeUtf8(authorization).sha256().hex())
+                + "\n"
+                + etag.trim();
+    }
+
+    /**
+     * Checks whether a result can be cached, which requires every model to be backed by a store
+     * @param result the model or collection of models
+     * @return whether the result can be cached
+     */
+    static boolean isCacheable(@Nullable final Object result) {
+        if (result instanceof BackedModel) {
+            return true;
+        }
+        if (result instanceof Collection) {
+            for (final Object item : (Collection<?>) result) {
+                if (!(item instanceof BackedModel)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gets a copy of a cached model
+     * @param key the key of the model
+     * @return a copy of the model, or null if no model is cached for the key
+     */
+    @Nullable Object get(@Nonnull final String key) {
+        final Entry entry;
+        lock.lock();
+        try {
+            entry = entries.get(key);
+        } finally {
+            lock.unlock();
+        }
+        if (entry == null) {
+            return null;
+        }
+        try {
+            final Object copy = new Copier().copy(entry.value);
+            hitCount.increment();
+            return copy;
+        } catch (UncopyableValueException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Caches a copy of a model, models which are not backed by a store are not cached
+     * @param key the key of the model
+     * @param value the model or collection of models
+     */
+    void put(@Nonnull final String key, @Nonnull final Object value) {
+        final Copier copier = new Copier();
+        final Object copy;
+        try {
+            copy = copier.copy(value);
+        } catch (UncopyableValueException ex) {
+            return;
+        }
+        if (copier.weight > maxWeight) {
+            return;
+        }
+        lock.lock();
+        try {
+            final Entry previous = entries.put(key, new Entry(copy, copier.weight));
+            if (previous != null) {
+                totalWeight -= previous.weight;
+            }
+            totalWeight += copier.weight;
+            final Iterator<Entry> eldest = entries.values().iterator();
+            while (totalWeight > maxWeight && eldest.hasNext()) {
+                totalWeight -= eldest.next().weight;
+                eldest.remove();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static final class Entry {
+        private final Object value;
+        private final long weight;
+
+        Entry(@Nonnull final Object value, final long weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    /** Thrown when a value cannot be copied, in which case the model is not cached */
+    private static final class UncopyableValueException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        UncopyableValueException() {
+            super(null, null, false, false);
+        }
+    }
+
+    /** Deep copies models through their backing store, counting the values copied */
+    private static final class Copier {
+        private long weight;
+
+        @Nullable Object copy(@Nullable final Object value) throws UncopyableValueException {
+            weight++;
+            if (value == null || isImmutable(value)) {
+                return value;
+            } else if (value instanceof BackedModel) {
+                return copyModel((BackedModel) value);
+            } else if (value instanceof List) {
+                final List<Object> result = new ArrayList<>(((List<?>) value).size());
+                for (final Object item : (List<?>) value) {
+                    result.add(copy(item));
+                }
+                return result;
+            } else if (value instanceof Map) {
+                final Map<Object, Object> result = new LinkedHashMap<>();
+                for (final Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                    result.put(entry.getKey(), copy(entry.getValue()));
+                }
+                return result;
+            } else if (value instanceof byte[]) {
+                return ((byte[]) value).clone();
+            } else if (value instanceof UntypedObject) {
+                final Map<String, UntypedNode> properties = new LinkedHashMap<>();
+                for (final Map.Entry<String, UntypedNode> entry :
+                        ((UntypedObject) value).getValue().entrySet()) {
+                    properties.put(entry.getKey(), (UntypedNode) copy(entry.getValue()));
+                }
+                return new UntypedObject(properties);
+            } else if (value instanceof UntypedArray) {
+                final List<UntypedNode> items = new ArrayList<>();
+                for (final UntypedNode item : ((UntypedArray) value).getValue()) {
+                    items.add((UntypedNode) copy(item));
+                }
+                return new UntypedArray(items);
+            }
+            throw new UncopyableValueException();
+        }
+
+        @Nonnull private BackedModel copyModel(@Nonnull final BackedModel source)
+                throws UncopyableValueException {
+            final BackedModel target;
+            try {
+                target = source.getClass().getConstructor().newInstance();
+            } catch (ReflectiveOperationException | RuntimeException ex) {
+                throw new UncopyableValueException();
+            }
+            final BackingStore store = target.getBackingStore();
+            store.setIsInitializationCompleted(false);
+            for (final Map.Entry<String, Object> entry :
+                    source.getBackingStore().enumerate().entrySet()) {
+                store.set(entry.getKey(), copy(entry.getValue()));
+            }
+            store.setIsInitializationCompleted(true);
+            return target;
+        }
+
+        private static boolean isImmutable(@Nonnull final Object value) {
+            return value instanceof String
+                    || value instanceof Boolean
+                    || value instanceof Integer
+                    || value instanceof Long
+                    || value instanceof Short
+                    || value instanceof Byte
+                    || value instanceof Double
+                    || value instanceof Float
+                    || value instanceof Character
+                    || value instanceof BigDecimal
+                    || value instanceof BigInteger
+                    || value instanceof Enum
+                    || value instanceof UUID
+                    || value instanceof OffsetDateTime
+                    || value instanceof LocalDate
+                    || value instanceof LocalTime
+                    || value instanceof PeriodAndDuration
+                    || (value instanceof UntypedNode
+                            && !(value instanceof UntypedObject)
+                            && !(value instanceof UntypedArray));
+        }
+    }
+}
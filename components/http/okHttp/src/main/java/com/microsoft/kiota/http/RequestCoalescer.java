@@ -0,0 +1,158 @@
+package com.microsoft.kiota.http;
+
+import com.microsoft.kiota.RequestInformation;
+import com.microsoft.kiota.http.middleware.AsyncRetryContext;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Shares the response of a GET request among the identical requests sent while it is in flight.
+ * The first request sends the call. When identical requests joined it, its response body is buffered once and every request receives a response of its own over the buffered body.
+ * Requests are identical when they have the same url and the same headers, which include the authorization of the caller.
+ * Requests carrying request options are not coalesced, as the options may change how their response is handled.
+ */
+final class RequestCoalescer {
+    private final ConcurrentHashMap<String, Flight> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder coalescedCount = new LongAdder();
+
+    /**
+     * Gets the key identical requests share
+     * @param request the request to get the key for
+     * @return the key, or null if the request cannot be coalesced
+     */
+    @Nullable static String getKey(@Nonnull final Request request) {
+        Objects.requireNonNull(request, "parameter request cannot be null");
+        // requests whose retries are scheduled by the adapter track a single call
+        if (!"GET".equals(request.method())
+                || request.body() != null
+                || request.tag(AsyncRetryContext.class) != null) {
+            return null;
+        }
+        // options such as a response handler or a headers inspection apply to a single request
+        final RequestInformation requestInfo = request.tag(RequestInformation.class);
+        if (requestInfo != null && !requestInfo.getRequestOptions().isEmpty()) {
+            return null;
+        }
+        return request.url() + "\n" + request.headers();
+    }
+
+    /**
+     * Gets the number of requests which were served the response of an identical request instead of being sent
+     * @return the number of coalesced requests
+     */
+    long getCoalescedCount() {
+        return coalescedCount.sum();
+    }
+
+    /**
+     * Joins the identical request in flight, or registers the caller as the one sending the request
+     * @param key the key of the request
+     * @param flight the flight the caller completes with {@link #complete} or {@link #fail} if it sends the request
+     * @return the response of the identical request in flight, or null if the caller must send the request
+     */
+    @Nullable CompletableFuture<SharedResponse> join(
+            @Nonnull final String key, @Nonnull final Flight flight) {
+        // joining and completing a flight are atomic for the key, so the sender knows whether a
+        // request joined it once the flight is removed
+        final Flight existing =
+                inFlight.compute(
+                        key,
+                        (k, current) -> {
+                            if (current == null) {
+                                return flight;
+                            }
+                            current.joinedCount.incrementAndGet();
+                            return current;
+                        });
+        if (existing == flight) {
+            return null;
+        }
+        coalescedCount.increment();
+        return existing.response;
+    }
+
+    /**
+     * Shares the response of the request with the identical requests which joined it, buffering its body only when some did
+     * @param key the key of the request
+     * @param flight the flight registered by {@link #join}
+     * @param response the response received
+     * @return the response for the caller which sent the request
+     * @throws IOException when the response body cannot be read
+     */
+    @Nonnull Response complete(
+            @Nonnull final String key,
+            @Nonnull final Flight flight,
+            @Nonnull final Response response)
+            throws IOException {
+        // later requests are sent again rather than served a response which is already complete
+        inFlight.remove(key, flight);
+        if (flight.joinedCount.get() == 0) {
+            return response;
+        }
+        final SharedResponse shared;
+        try {
+            shared = new SharedResponse(response);
+        } catch (IOException | RuntimeException ex) {
+            flight.response.completeExceptionally(ex);
+            throw ex;
+        }
+        flight.response.complete(shared);
+        return shared.newResponse();
+    }
+
+    /**
+     * Fails the identical requests which joined the request
+     * @param key the key of the request
+     * @param flight the flight registered by {@link #join}
+     * @param ex the failure of the request
+     */
+    void fail(
+            @Nonnull final String key, @Nonnull final Flight flight, @Nonnull final Throwable ex) {
+        inFlight.remove(key, flight);
+        flight.response.completeExceptionally(ex);
+    }
+
+    /** A request in flight, which identical requests can join until its response is received */
+    static final class Flight {
+        private final CompletableFuture<SharedResponse> response = new CompletableFuture<>();
+        private final AtomicInteger joinedCount = new AtomicInteger();
+    }
+
+    /** A response whose body was buffered so it can be read by several requests */
+    static final class SharedResponse {
+        private final Response response;
+        @Nullable private final byte[] content;
+        @Nullable private final MediaType contentType;
+
+        SharedResponse(@Nonnull final Response response) throws IOException {
+            this.response = response;
+            try (final ResponseBody body = response.body()) {
+                this.content = body == null ? null : body.bytes();
+                this.contentType = body == null ? null : body.contentType();
+            }
+        }
+
+        /**
+         * Creates a response over the buffered body
+         * @return a response with a body of its own
+         */
+        @Nonnull Response newResponse() {
+            return response.newBuilder()
+                    .body(content == null ? null : ResponseBody.create(content, contentType))
+                    .build();
+        }
+    }
+}
@@ -80,6 +80,18 @@ public final class TelemetrySemanticConventions {
     public static final AttributeKey<Long> EXPERIMENTAL_HTTP_REQUEST_BODY_SIZE =
             longKey("http.request.body.size"); // experimental
 
+    /**
+     * HTTP request body size before compression
+     */
+    public static final AttributeKey<Long> EXPERIMENTAL_HTTP_REQUEST_BODY_UNCOMPRESSED_SIZE =
+            longKey("http.request.body.uncompressed_size"); // custom
+
+    /**
+     * HTTP request body size after compression
+     */
+    public static final AttributeKey<Long> EXPERIMENTAL_HTTP_REQUEST_BODY_COMPRESSED_SIZE =
+            longKey("http.request.body.compressed_size"); // custom
+
     /**
      * HTTP response content type
      */
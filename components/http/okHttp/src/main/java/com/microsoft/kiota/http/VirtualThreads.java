@@ -0,0 +1,69 @@
+package com.microsoft.kiota.http;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Gives access to virtual threads when the runtime supports them (Java 21 and above), while the library keeps targeting Java 8 and Android.
+ * Blocking calls to the request adapter, including the waits between retries, release their carrier thread when they run on a virtual thread.
+ */
+public final class VirtualThreads {
+    @Nullable private static final Method newVirtualThreadPerTaskExecutor = findFactoryMethod();
+
+    private VirtualThreads() {}
+
+    /**
+     * Gets whether the runtime supports virtual threads.
+     * @return true if virtual threads are available.
+     */
+    public static boolean isSupported() {
+        return newVirtualThreadPerTaskExecutor != null;
+    }
+
+    /**
+     * Creates an executor which starts a new virtual thread for each task.
+     * @return the executor.
+     * @throws UnsupportedOperationException when the runtime does not support virtual threads.
+     */
+    @Nonnull public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        if (newVirtualThreadPerTaskExecutor == null) {
+            throw new UnsupportedOperationException(
+                    "virtual threads are not supported by this runtime");
+        }
+        return invoke(newVirtualThreadPerTaskExecutor);
+    }
+
+    @Nullable private static Method findFactoryMethod() {
+        final Method method;
+        try {
+            method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (final NoSuchMethodException | SecurityException ex) {
+            return null;
+        }
+        try {
+            // the method exists on Java 19 and 20, but fails unless preview features are enabled
+            invoke(method).shutdown();
+            return method;
+        } catch (final UnsupportedOperationException ex) {
+            return null;
+        }
+    }
+
+    @Nonnull private static ExecutorService invoke(@Nonnull final Method method) {
+        try {
+            return (ExecutorService) method.invoke(null);
+        } catch (final InvocationTargetException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw new UnsupportedOperationException(ex.getCause());
+        } catch (final IllegalAccessException ex) {
+            throw new UnsupportedOperationException(ex);
+        }
+    }
+}
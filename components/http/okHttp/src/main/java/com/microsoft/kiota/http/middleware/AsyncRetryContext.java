@@ -0,0 +1,99 @@
+package com.microsoft.kiota.http.middleware;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracks the attempts of a request sent asynchronously with retries scheduled by the caller.
+ * When a request carries this tag, the {@link RetryHandler} does not wait between attempts: it returns the response and records the delay after which the caller should send the request again.
+ * Likewise the {@link RateLimitHandler} does not wait for the turn of the request: it fails the attempt and records the delay after which the caller should send it, without counting it as a new attempt.
+ */
+public final class AsyncRetryContext {
+    private final AtomicInteger executionCount = new AtomicInteger(1);
+    private volatile long retryDelay = -1;
+    private volatile long deferralDelay = -1;
+    private volatile boolean deferredAttempt;
+
+    /** Creates a new context for the first attempt of a request */
+    public AsyncRetryContext() {}
+
+    /**
+     * Gets the number of the current attempt, starting at 1
+     * @return the number of the current attempt
+     */
+    public int getExecutionCount() {
+        return executionCount.get();
+    }
+
+    /**
+     * Gets whether the retry handler requested another attempt
+     * @return true if the request should be sent again after {@link #getRetryDelay()}
+     */
+    public boolean isRetryRequested() {
+        return retryDelay >= 0;
+    }
+
+    /**
+     * Gets the delay in milliseconds after which the request should be sent again
+     * @return the delay in milliseconds, or -1 if no retry was requested
+     */
+    public long getRetryDelay() {
+        return retryDelay;
+    }
+
+    /**
+     * Requests another attempt of the request
+     * @param retryDelay the delay in milliseconds after which the request should be sent again
+     */
+    public void requestRetry(final long retryDelay) {
+        if (retryDelay < 0) throw new IllegalArgumentException("Retry delay cannot be negative");
+        this.retryDelay = retryDelay;
+    }
+
+    /** Moves to the next attempt, clearing the requested retry */
+    public void prepareNextAttempt() {
+        this.executionCount.incrementAndGet();
+        this.retryDelay = -1;
+        this.deferralDelay = -1;
+        this.deferredAttempt = false;
+    }
+
+    /**
+     * Gets whether a middleware deferred the current attempt
+     * @return true if the attempt should be sent again after {@link #getDeferralDelay()}
+     */
+    public boolean isDeferralRequested() {
+        return deferralDelay >= 0;
+    }
+
+    /**
+     * Gets the delay in milliseconds after which the deferred attempt should be sent
+     * @return the delay in milliseconds, or -1 if the attempt was not deferred
+     */
+    public long getDeferralDelay() {
+        return deferralDelay;
+    }
+
+    /**
+     * Defers the current attempt, the middleware reserved its turn and lets it through when it is sent again
+     * @param deferralDelay the delay in milliseconds after which the attempt should be sent
+     */
+    public void requestDeferral(final long deferralDelay) {
+        if (deferralDelay < 0)
+            throw new IllegalArgumentException("Deferral delay cannot be negative");
+        this.deferralDelay = deferralDelay;
+    }
+
+    /**
+     * Gets whether the current attempt is sent after being deferred
+     * @return true if the middleware which deferred the attempt already reserved its turn
+     */
+    public boolean isDeferredAttempt() {
+        return deferredAttempt;
+    }
+
+    /** Sends the current attempt again after its deferral, clearing the requested deferral */
+    public void prepareDeferredAttempt() {
+        this.deferralDelay = -1;
+        this.deferredAttempt = true;
+    }
+}
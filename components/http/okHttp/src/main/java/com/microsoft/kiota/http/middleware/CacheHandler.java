@@ -0,0 +1,335 @@
+package com.microsoft.kiota.http.middleware;
+
+import com.microsoft.kiota.http.middleware.options.CacheHandlerOption;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Scope;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import okhttp3.CacheControl;
+import okhttp3.Headers;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import okio.ByteString;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The middleware responsible for serving GET requests from a cache of the responses previously received.
+ * Responses are stored according to their Cache-Control, Expires and Vary headers, and stale responses are revalidated with their ETag or Last-Modified validators.
+ * Responses are cached per identity: the key of a response includes a hash of the Authorization header of its request, so callers never share responses.
+ * Successful requests with other methods invalidate the response cached for their url.
+ */
+public class CacheHandler implements Interceptor {
+    private static final String AUTHORIZATION = "Authorization";
+    private static final String ETAG = "ETag";
+    private static final String LAST_MODIFIED = "Last-Modified";
+    private static final String IF_NONE_MATCH = "If-None-Match";
+    private static final String IF_MODIFIED_SINCE = "If-Modified-Since";
+    private static final String VARY = "Vary";
+
+    @Nonnull private final CacheHandlerOption mCacheOption;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder revalidatedCount = new LongAdder();
+
+    /**
+     * Initialize cache handler with cache option
+     * @param cacheOption Create cache handler using cache option
+     */
+    public CacheHandler(@Nullable final CacheHandlerOption cacheOption) {
+        if (cacheOption == null) {
+            this.mCacheOption = new CacheHandlerOption();
+        } else {
+            this.mCacheOption = new CacheHandlerOption(cacheOption);
+        }
+    }
+
+    /**
+     * Initialize cache handler with default cache option, storing responses in memory
+     */
+    public CacheHandler() {
+        this(null);
+    }
+
+    /**
+     * Gets a copy of the cache options in use by the handler.
+     * @return a copy of the cache options in use by the handler.
+     */
+    @Nonnull public CacheHandlerOption getCacheOptions() {
+        return new CacheHandlerOption(this.mCacheOption);
+    }
+
+    /**
+     * Gets the number of requests served from the cache without contacting the service
+     * @return the number of cache hits
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * Gets the number of cacheable requests for which no usable response was cached
+     * @return the number of cache misses
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * Gets the number of cached responses the service confirmed were still current
+     * @return the number of successful revalidations
+     */
+    public long getRevalidatedCount() {
+        return revalidatedCount.sum();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @SuppressWarnings("UnknownNullness")
+    @Nonnull public Response intercept(final Chain chain) throws IOException {
+        Objects.requireNonNull(chain, "parameter chain cannot be null");
+        final Request request = chain.request();
+        if (request == null) {
+            throw new IllegalArgumentException("request cannot be null");
+        }
+        CacheHandlerOption requestOption = request.tag(CacheHandlerOption.class);
+        if (requestOption == null) {
+            requestOption = mCacheOption;
+        }
+        if (!requestOption.isEnabled()) {
+            return chain.proceed(request);
+        }
+        final CacheStore store = mCacheOption.getStore();
+        final String key = getKey(request);
+        if (!"GET".equals(request.method())) {
+            final Response response = chain.proceed(request);
+            if (!"HEAD".equals(request.method()) && response.isSuccessful()) {
+                store.remove(key);
+            }
+            return response;
+        }
+        final CacheControl requestCacheControl = request.cacheControl();
+        // requests which carry their own validators or ranges manage their responses themselves
+        if (requestCacheControl.noStore()
+                || request.header(IF_NONE_MATCH) != null
+                || request.header(IF_MODIFIED_SINCE) != null
+                || request.header("Range") != null) {
+            return chain.proceed(request);
+        }
+        final Span span = ObservabilityHelper.getSpanForRequest(request, "CacheHandler_Intercept");
+        Scope scope = null;
+        if (span != null) {
+            scope = span.makeCurrent();
+            span.setAttribute("com.microsoft.kiota.handler.cache.enable", true);
+        }
+        try {
+            CachedResponse cached = store.get(key);
+            if (cached != null && !cached.matchesVary(request)) {
+                cached = null;
+            }
+            if (cached == null) {
+                missCount.increment();
+                setStatus(span, "miss");
+                return store(request, chain.proceed(request), key, store);
+            }
+            final long now = System.currentTimeMillis();
+            if (!requestOption.isAlwaysRevalidate() && isFresh(cached, requestCacheControl, now)) {
+                hitCount.increment();
+                setStatus(span, "hit");
+                return cached.toResponse(request);
+            }
+            final Request.Builder conditional = request.newBuilder();
+            final String etag = cached.getHeaders().get(ETAG);
+            final String lastModified = cached.getHeaders().get(LAST_MODIFIED);
+            if (etag == null && lastModified == null) {
+                missCount.increment();
+                setStatus(span, "miss");
+                return store(request, chain.proceed(request), key, store);
+            }
+            if (etag != null) {
+                conditional.header(IF_NONE_MATCH, etag);
+            }
+            if (lastModified != null) {
+                conditional.header(IF_MODIFIED_SINCE, lastModified);
+            }
+            final Response response = chain.proceed(conditional.build());
+            if (response.code() != 304) {
+                missCount.increment();
+                setStatus(span, "miss");
+                return store(request, response, key, store);
+            }
+            final ResponseBody notModifiedBody = response.body();
+            if (notModifiedBody != null) {
+                notModifiedBody.close();
+            }
+            final CachedResponse revalidated =
+                    cached.withHeaders(
+                            mergeHeaders(cached.getHeaders(), response.headers()),
+                            response.receivedResponseAtMillis() > 0
+                                    ? response.receivedResponseAtMillis()
+                                    : System.currentTimeMillis());
+            store.put(key, revalidated);
+            revalidatedCount.increment();
+            setStatus(span, "revalidated");
+            return revalidated.toResponse(request);
+        } finally {
+            if (scope != null) {
+                scope.close();
+            }
+            if (span != null) {
+                span.end();
+            }
+        }
+    }
+
+    /**
+     * Gets the key a response is cached with, which separates the callers by their Authorization header
+     * @param request the request to get the key for
+     * @return the key
+     */
+    @Nonnull static String getKey(@Nonnull final Request request) {
+        final String authorization = request.header(AUTHORIZATION);
+        return request.url()
+                + "\n"
+                + (authorization == null
+                        ? ""
+                        : ByteString.encodeUtf8(authorization).sha256().hex());
+    }
+
+    /**
+     * Checks whether a cached response can be served without being revalidated
+     * @param cached the cached response
+     * @param requestCacheControl the cache directives of the request
+     * @param now the current time in milliseconds since the epoch
+     * @return whether the response is fresh
+     */
+    static boolean isFresh(
+            @Nonnull final CachedResponse cached,
+            @Nonnull final CacheControl requestCacheControl,
+            final long now) {
+        final CacheControl responseCacheControl = CacheControl.parse(cached.getHeaders());
+        if (requestCacheControl.noCache() || responseCacheControl.noCache()) {
+            return false;
+        }
+        final long ageMillis = getAgeMillis(cached, now);
+        if (requestCacheControl.maxAgeSeconds() >= 0
+                && ageMillis > TimeUnit.SECONDS.toMillis(requestCacheControl.maxAgeSeconds())) {
+            return false;
+        }
+        return ageMillis < getFreshnessLifetimeMillis(cached.getHeaders());
+    }
+
+    private static long getAgeMillis(@Nonnull final CachedResponse cached, final long now) {
+        long ageMillis = Math.max(0, now - cached.getReceivedAtMillis());
+        final String age = cached.getHeaders().get("Age");
+        if (age != null) {
+            try {
+                ageMillis += TimeUnit.SECONDS.toMillis(Math.max(0, Long.parseLong(age.trim())));
+            } catch (NumberFormatException ex) {
+                // an invalid age is ignored
+            }
+        }
+        return ageMillis;
+    }
+
+    private static long getFreshnessLifetimeMillis(@Nonnull final Headers headers) {
+        final CacheControl cacheControl = CacheControl.parse(headers);
+        if (cacheControl.maxAgeSeconds() >= 0) {
+            return TimeUnit.SECONDS.toMillis(cacheControl.maxAgeSeconds());
+        }
+        final Date expires = headers.getDate("Expires");
+        if (expires == null) {
+            return 0;
+        }
+        final Date date = headers.getDate("Date");
+        return expires.getTime() - (date == null ? System.currentTimeMillis() : date.getTime());
+    }
+
+    @Nonnull private Response store(
+            @Nonnull final Request request,
+            @Nonnull final Response response,
+            @Nonnull final String key,
+            @Nonnull final CacheStore store)
+            throws IOException {
+        if (response.code() != 200) {
+            return response;
+        }
+        final Headers headers = response.headers();
+        final String vary = String.join(",", headers.values(VARY));
+        if (response.cacheControl().noStore()
+                || vary.contains("*")
+                || (headers.get(ETAG) == null
+                        && headers.get(LAST_MODIFIED) == null
+                        && getFreshnessLifetimeMillis(headers) <= 0)) {
+            store.remove(key);
+            return response;
+        }
+        final long maxEntryBytes = mCacheOption.getMaxEntryBytes();
+        final ByteString body = response.peekBody(maxEntryBytes + 1).byteString();
+        if (body.size() > maxEntryBytes) {
+            store.remove(key);
+            return response;
+        }
+        final Map<String, String> varyHeaders = new HashMap<>();
+        for (final String name : vary.split(",")) {
+            final String trimmed = name.trim();
+            if (!trimmed.isEmpty()) {
+                final String value = request.header(trimmed);
+                varyHeaders.put(trimmed, value == null ? "" : value);
+            }
+        }
+        store.put(
+                key,
+                new CachedResponse(
+                        response.code(),
+                        response.message(),
+                        response.protocol().toString(),
+                        headers,
+                        varyHeaders,
+                        body,
+                        response.receivedResponseAtMillis() > 0
+                                ? response.receivedResponseAtMillis()
+                                : System.currentTimeMillis()));
+        return response;
+    }
+
+    @Nonnull private static Headers mergeHeaders(
+            @Nonnull final Headers cached, @Nonnull final Headers notModified) {
+        final Headers.Builder builder = cached.newBuilder();
+        for (final String name : notModified.names()) {
+            // the headers describing the stored body are kept from the cached response
+            switch (name.toLowerCase(Locale.ROOT)) {
+                case "content-length":
+                case "content-encoding":
+                case "content-type":
+                case "transfer-encoding":
+                    continue;
+                default:
+                    builder.removeAll(name);
+                    for (final String value : notModified.values(name)) {
+                        builder.addUnsafeNonAscii(name, value);
+                    }
+            }
+        }
+        return builder.build();
+    }
+
+    private static void setStatus(@Nullable final Span span, @Nonnull final String status) {
+        if (span != null) {
+            span.setAttribute("com.microsoft.kiota.handler.cache.status", status);
+        }
+    }
+}
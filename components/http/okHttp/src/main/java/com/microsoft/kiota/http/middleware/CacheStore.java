@@ -0,0 +1,33 @@
+package com.microsoft.kiota.http.middleware;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+/**
+ * Stores the responses cached by the {@link CacheHandler}.
+ * Implementations must be thread safe, and should treat storage failures as cache misses rather than throw.
+ */
+public interface CacheStore {
+    /**
+     * Gets a cached response
+     * @param key the key of the response
+     * @return the cached response, or null if none is stored for the key
+     */
+    @Nullable CachedResponse get(@Nonnull final String key);
+
+    /**
+     * Stores a response, replacing the response stored for the key if any
+     * @param key the key of the response
+     * @param response the response to store
+     */
+    void put(@Nonnull final String key, @Nonnull final CachedResponse response);
+
+    /**
+     * Removes a cached response
+     * @param key the key of the response
+     */
+    void remove(@Nonnull final String key);
+
+    /** Removes all the cached responses */
+    void clear();
+}
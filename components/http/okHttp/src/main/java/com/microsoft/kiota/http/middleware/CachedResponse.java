@@ -0,0 +1,178 @@
+package com.microsoft.kiota.http.middleware;
+
+import jakarta.annotation.Nonnull;
+
+import okhttp3.Headers;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import okio.ByteString;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * A response stored by the {@link CacheHandler}, along with the values of the request headers the response varies on.
+ */
+public final class CachedResponse {
+    private final int statusCode;
+    @Nonnull private final String message;
+    @Nonnull private final String protocol;
+    @Nonnull private final Headers headers;
+    @Nonnull private final Map<String, String> varyHeaders;
+    @Nonnull private final ByteString body;
+    private final long receivedAtMillis;
+
+    /**
+     * Creates a new cached response
+     * @param statusCode the status code of the response
+     * @param message the status message of the response
+     * @param protocol the protocol the response was received with, as returned by {@link Protocol#toString()}
+     * @param headers the headers of the response
+     * @param varyHeaders the values of the request headers listed by the Vary header of the response, empty values for absent headers
+     * @param body the body of the response
+     * @param receivedAtMillis the time the response was received or last revalidated, in milliseconds since the epoch
+     */
+    public CachedResponse(
+            final int statusCode,
+            @Nonnull final String message,
+            @Nonnull final String protocol,
+            @Nonnull final Headers headers,
+            @Nonnull final Map<String, String> varyHeaders,
+            @Nonnull final ByteString body,
+            final long receivedAtMillis) {
+        this.statusCode = statusCode;
+        this.message = Objects.requireNonNull(message, "parameter message cannot be null");
+        this.protocol = Objects.requireNonNull(protocol, "parameter protocol cannot be null");
+        this.headers = Objects.requireNonNull(headers, "parameter headers cannot be null");
+        Objects.requireNonNull(varyHeaders, "parameter varyHeaders cannot be null");
+        final TreeMap<String, String> vary = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        vary.putAll(varyHeaders);
+        this.varyHeaders = Collections.unmodifiableMap(vary);
+        this.body = Objects.requireNonNull(body, "parameter body cannot be null");
+        this.receivedAtMillis = receivedAtMillis;
+    }
+
+    /**
+     * Gets the status code of the response
+     * @return the status code
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Gets the status message of the response
+     * @return the status message
+     */
+    @Nonnull public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Gets the protocol the response was received with
+     * @return the protocol, as returned by {@link Protocol#toString()}
+     */
+    @Nonnull public String getProtocol() {
+        return protocol;
+    }
+
+    /**
+     * Gets the headers of the response
+     * @return the headers
+     */
+    @Nonnull public Headers getHeaders() {
+        return headers;
+    }
+
+    /**
+     * Gets the values of the request headers listed by the Vary header of the response
+     * @return the request header values, empty values for absent headers
+     */
+    @Nonnull public Map<String, String> getVaryHeaders() {
+        return varyHeaders;
+    }
+
+    /**
+     * Gets the body of the response
+     * @return the body
+     */
+    @Nonnull public ByteString getBody() {
+        return body;
+    }
+
+    /**
+     * Gets the time the response was received or last revalidated
+     * @return the time in milliseconds since the epoch
+     */
+    public long getReceivedAtMillis() {
+        return receivedAtMillis;
+    }
+
+    /**
+     * Gets the size of the response, used by the stores to enforce their limits
+     * @return the approximate size in bytes
+     */
+    public long getSize() {
+        return body.size() + headers.byteCount();
+    }
+
+    /**
+     * Checks whether a request has the header values the response was stored for
+     * @param request the request to check
+     * @return whether the response can be used for the request
+     */
+    boolean matchesVary(@Nonnull final Request request) {
+        for (final Map.Entry<String, String> entry : varyHeaders.entrySet()) {
+            final String value = request.header(entry.getKey());
+            if (!entry.getValue().equals(value == null ? "" : value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Creates a copy of the response with new headers and reception time, after a successful revalidation
+     * @param newHeaders the headers of the revalidated response
+     * @param newReceivedAtMillis the time the revalidation response was received
+     * @return the updated response
+     */
+    @Nonnull CachedResponse withHeaders(@Nonnull final Headers newHeaders, final long newReceivedAtMillis) {
+        return new CachedResponse(
+                statusCode, message, protocol, newHeaders, varyHeaders, body, newReceivedAtMillis);
+    }
+
+    /**
+     * Creates a response served from the cache
+     * @param request the request the response is for
+     * @return the response
+     */
+    @Nonnull Response toResponse(@Nonnull final Request request) {
+        final String contentType = headers.get("Content-Type");
+        Protocol responseProtocol;
+        try {
+            responseProtocol = Protocol.get(protocol);
+        } catch (IOException ex) {
+            responseProtocol = Protocol.HTTP_1_1;
+        }
+        return new Response.Builder()
+                .request(request)
+                .protocol(responseProtocol)
+                .code(statusCode)
+                .message(message)
+                .headers(headers)
+                .body(
+                        ResponseBody.create(
+                                body, contentType == null ? null : MediaType.parse(contentType)))
+                .sentRequestAtMillis(receivedAtMillis)
+                .receivedResponseAtMillis(receivedAtMillis)
+                .build();
+    }
+}
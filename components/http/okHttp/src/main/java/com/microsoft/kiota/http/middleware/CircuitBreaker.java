@@ -0,0 +1,125 @@
+package com.microsoft.kiota.http.middleware;
+
+import com.microsoft.kiota.http.middleware.options.CircuitBreakerOption;
+
+import jakarta.annotation.Nonnull;
+
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The circuit of a single host: closed while requests succeed, open after consecutive failures and half open while probe requests are in flight.
+ */
+final class CircuitBreaker {
+    /** The states of a circuit */
+    enum State {
+        /** Requests are sent */
+        CLOSED,
+        /** Requests fail immediately */
+        OPEN,
+        /** A limited number of probe requests are sent */
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openDurationNanos;
+    private final int halfOpenProbes;
+    private final ReentrantLock lock = new ReentrantLock();
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private int probesInFlight;
+    private long openedAt;
+
+    CircuitBreaker(@Nonnull final CircuitBreakerOption option) {
+        Objects.requireNonNull(option, "parameter option cannot be null");
+        this.failureThreshold = option.getFailureThreshold();
+        this.openDurationNanos = option.getOpenDuration().toNanos();
+        this.halfOpenProbes = option.getHalfOpenProbes();
+    }
+
+    /**
+     * Gets the current state of the circuit
+     * @return the current state of the circuit
+     */
+    @Nonnull State getState() {
+        lock.lock();
+        try {
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Checks whether a request can be sent, every allowed request must report its outcome
+     * @return whether the request can be sent
+     */
+    boolean tryAcquire() {
+        lock.lock();
+        try {
+            if (state == State.OPEN) {
+                if (System.nanoTime() - openedAt < openDurationNanos) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                probesInFlight = 0;
+            }
+            if (state == State.HALF_OPEN) {
+                if (probesInFlight >= halfOpenProbes) {
+                    return false;
+                }
+                probesInFlight++;
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Records a request which succeeded, closing the circuit */
+    void onSuccess() {
+        lock.lock();
+        try {
+            state = State.CLOSED;
+            consecutiveFailures = 0;
+            probesInFlight = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Records a request which was allowed but not sent, releasing its probe when the circuit is half open */
+    void onNotSent() {
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN && probesInFlight > 0) {
+                probesInFlight--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records a request which failed, opening the circuit when a probe fails or the threshold is reached
+     * @return whether the circuit opened because of this failure
+     */
+    boolean onFailure() {
+        lock.lock();
+        try {
+            if (state == State.OPEN) {
+                return false;
+            }
+            consecutiveFailures++;
+            if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+                state = State.OPEN;
+                openedAt = System.nanoTime();
+                probesInFlight = 0;
+                return true;
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.microsoft.kiota.http.middleware;
+
+import static com.microsoft.kiota.http.TelemetrySemanticConventions.EXPERIMENTAL_HTTP_REQUEST_BODY_COMPRESSED_SIZE;
+import static com.microsoft.kiota.http.TelemetrySemanticConventions.EXPERIMENTAL_HTTP_REQUEST_BODY_UNCOMPRESSED_SIZE;
+
+import com.microsoft.kiota.http.middleware.options.CompressionHandlerOption;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Scope;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.DeflaterSink;
+import okio.ForwardingSink;
+import okio.GzipSink;
+import okio.Okio;
+import okio.Sink;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.zip.Deflater;
+
+/**
+ * The middleware responsible for compressing request bodies before they are sent.
+ * Bodies are compressed while they are written, so their length is not known in advance and they are sent in chunks.
+ * If the service answers that it does not support the compressed body, the request is sent again uncompressed when its body can be replayed.
+ */
+public class CompressionHandler implements Interceptor {
+    private static final String CONTENT_ENCODING = "Content-Encoding";
+
+    @Nonnull private final CompressionHandlerOption mCompressionOption;
+
+    /**
+     * Initialize compression handler with compression option
+     * @param compressionOption Create compression handler using compression option
+     */
+    public CompressionHandler(@Nullable final CompressionHandlerOption compressionOption) {
+        if (compressionOption == null) {
+            this.mCompressionOption = new CompressionHandlerOption();
+        } else {
+            this.mCompressionOption = new CompressionHandlerOption(compressionOption);
+        }
+    }
+
+    /**
+     * Initialize compression handler with default compression option
+     */
+    public CompressionHandler() {
+        this(null);
+    }
+
+    /**
+     * Gets a copy of the compression options in use by the handler.
+     * @return a copy of the compression options in use by the handler.
+     */
+    @Nonnull public CompressionHandlerOption getCompressionOptions() {
+        return new CompressionHandlerOption(this.mCompressionOption);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @SuppressWarnings("UnknownNullness")
+    @Nonnull public Response intercept(final Chain chain) throws IOException {
+        Objects.requireNonNull(chain, "parameter chain cannot be null");
+        final Request request = chain.request();
+        if (request == null) {
+            throw new IllegalArgumentException("request cannot be null");
+        }
+        CompressionHandlerOption requestOption = request.tag(CompressionHandlerOption.class);
+        if (requestOption == null) {
+            requestOption = mCompressionOption;
+        }
+        final RequestBody body = request.body();
+        if (!requestOption.isEnabled()
+                || body == null
+                || request.header(CONTENT_ENCODING) != null
+                || !shouldCompress(body, requestOption)) {
+            return chain.proceed(request);
+        }
+        final Span span =
+                ObservabilityHelper.getSpanForRequest(request, "CompressionHandler_Intercept");
+        Scope scope = null;
+        if (span != null) {
+            scope = span.makeCurrent();
+            span.setAttribute("com.microsoft.kiota.handler.compression.enable", true);
+        }
+        try {
+            final CompressionHandlerOption.Algorithm algorithm = requestOption.getAlgorithm();
+            final Request compressedRequest =
+                    request.newBuilder()
+                            .header(CONTENT_ENCODING, algorithm.getContentEncoding())
+                            .removeHeader("Content-Length")
+                            .method(
+                                    request.method(),
+                                    new CompressedRequestBody(body, algorithm, span))
+                            .build();
+            final Response response = chain.proceed(compressedRequest);
+            if (response.code() != 415 || body.isOneShot()) {
+                return response;
+            }
+            // the service does not accept the encoding, the body is sent as is
+            if (span != null) {
+                span.addEvent("com.microsoft.kiota.handler.compression.unsupported");
+            }
+            response.close();
+            return chain.proceed(request);
+        } finally {
+            if (scope != null) {
+                scope.close();
+            }
+            if (span != null) {
+                span.end();
+            }
+        }
+    }
+
+    private static boolean shouldCompress(
+            @Nonnull final RequestBody body, @Nonnull final CompressionHandlerOption option)
+            throws IOException {
+        final MediaType contentType = body.contentType();
+        if (contentType == null
+                || !option.getContentTypes()
+                        .contains(
+                                (contentType.type() + "/" + contentType.subtype())
+                                        .toLowerCase(Locale.ROOT))) {
+            return false;
+        }
+        final long contentLength = body.contentLength();
+        // bodies of unknown length are usually large serialized payloads
+        return contentLength < 0 || contentLength >= option.getMinimumSize();
+    }
+
+    /** A request body compressed while it is written */
+    private static final class CompressedRequestBody extends RequestBody {
+        private final RequestBody body;
+        private final CompressionHandlerOption.Algorithm algorithm;
+        @Nullable private final Span span;
+
+        CompressedRequestBody(
+                @Nonnull final RequestBody body,
+                @Nonnull final CompressionHandlerOption.Algorithm algorithm,
+                @Nullable final Span span) {
+            this.body = body;
+            this.algorithm = algorithm;
+            this.span = span;
+        }
+
+        @Override
+        public MediaType contentType() {
+            return body.contentType();
+        }
+
+        @Override
+        public long contentLength() {
+            return -1L;
+        }
+
+        @Override
+        public boolean isOneShot() {
+            return body.isOneShot();
+        }
+
+        @Override
+        public void writeTo(@Nonnull final BufferedSink sink) throws IOException {
+            final CountingSink compressed = new CountingSink(sink);
+            final Sink compressor =
+                    algorithm == CompressionHandlerOption.Algorithm.GZIP
+                            ? new GzipSink(compressed)
+                            : new DeflaterSink(compressed, new Deflater());
+            final CountingSink uncompressed = new CountingSink(compressor);
+            // closing the compressing sink writes the trailer, as OkHttp's own gzip recipe does
+            try (BufferedSink bufferedSink = Okio.buffer(uncompressed)) {
+                body.writeTo(bufferedSink);
+            }
+            if (span != null) {
+                span.setAttribute(
+                        EXPERIMENTAL_HTTP_REQUEST_BODY_UNCOMPRESSED_SIZE, uncompressed.count);
+                span.setAttribute(EXPERIMENTAL_HTTP_REQUEST_BODY_COMPRESSED_SIZE, compressed.count);
+            }
+        }
+    }
+
+    /** Counts the bytes written to a sink */
+    private static final class CountingSink extends ForwardingSink {
+        private long count;
+
+        CountingSink(@Nonnull final Sink delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public void write(@Nonnull final Buffer source, final long byteCount) throws IOException {
+            super.write(source, byteCount);
+            count += byteCount;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.microsoft.kiota.http.middleware;
+
+import com.microsoft.kiota.http.middleware.options.DecompressionHandlerOption;
+import com.microsoft.kiota.http.middleware.options.IContentDecoder;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Scope;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import okio.Buffer;
+import okio.ForwardingSource;
+import okio.Okio;
+import okio.Source;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The middleware responsible for advertising the content encodings of its decoders and decoding the response bodies sent with them.
+ * Bodies are decoded while they are read. OkHttp only decodes gzip bodies when it sets the Accept-Encoding header itself, so gzip is decoded by the handler as well.
+ * Requests which already have an Accept-Encoding header are left to the caller.
+ * Only gzip and deflate are decoded out of the box. The library ships no brotli or zstd decoder, so br and zstd are neither advertised nor decoded unless a decoder for them is added to the {@link DecompressionHandlerOption}.
+ */
+public class DecompressionHandler implements Interceptor {
+    private static final String ACCEPT_ENCODING = "Accept-Encoding";
+    private static final String CONTENT_ENCODING = "Content-Encoding";
+
+    @Nonnull private final DecompressionHandlerOption mDecompressionOption;
+    private final LongAdder wireByteCount = new LongAdder();
+    private final LongAdder decodedByteCount = new LongAdder();
+
+    /**
+     * Initialize decompression handler with decompression option
+     * @param decompressionOption Create decompression handler using decompression option
+     */
+    public DecompressionHandler(@Nullable final DecompressionHandlerOption decompressionOption) {
+        if (decompressionOption == null) {
+            this.mDecompressionOption = new DecompressionHandlerOption();
+        } else {
+            this.mDecompressionOption = new DecompressionHandlerOption(decompressionOption);
+        }
+    }
+
+    /**
+     * Initialize decompression handler with default decompression option
+     */
+    public DecompressionHandler() {
+        this(null);
+    }
+
+    /**
+     * Gets a copy of the decompression options in use by the handler.
+     * @return a copy of the decompression options in use by the handler.
+     */
+    @Nonnull public DecompressionHandlerOption getDecompressionOptions() {
+        return new DecompressionHandlerOption(this.mDecompressionOption);
+    }
+
+    /**
+     * Gets the number of encoded bytes read from the response bodies decoded by the handler
+     * @return the number of bytes received
+     */
+    public long getWireByteCount() {
+        return wireByteCount.sum();
+    }
+
+    /**
+     * Gets the number of decoded bytes read by the callers from the response bodies decoded by the handler
+     * @return the number of bytes after decoding
+     */
+    public long getDecodedByteCount() {
+        return decodedByteCount.sum();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @SuppressWarnings("UnknownNullness")
+    @Nonnull public Response intercept(final Chain chain) throws IOException {
+        Objects.requireNonNull(chain, "parameter chain cannot be null");
+        final Request request = chain.request();
+        if (request == null) {
+            throw new IllegalArgumentException("request cannot be null");
+        }
+        DecompressionHandlerOption requestOption = request.tag(DecompressionHandlerOption.class);
+        if (requestOption == null) {
+            requestOption = mDecompressionOption;
+        }
+        if (!requestOption.isEnabled() || request.header(ACCEPT_ENCODING) != null) {
+            return chain.proceed(request);
+        }
+        final Span span =
+                ObservabilityHelper.getSpanForRequest(request, "DecompressionHandler_Intercept");
+        Scope scope = null;
+        if (span != null) {
+            scope = span.makeCurrent();
+            span.setAttribute("com.microsoft.kiota.handler.decompression.enable", true);
+        }
+        try {
+            final List<IContentDecoder> decoders = requestOption.getDecoders();
+            final StringBuilder acceptEncoding = new StringBuilder();
+            for (final IContentDecoder decoder : decoders) {
+                if (acceptEncoding.length() > 0) {
+                    acceptEncoding.append(", ");
+                }
+                acceptEncoding.append(decoder.getEncoding());
+            }
+            final Response response =
+                    chain.proceed(
+                            request.newBuilder()
+                                    .header(ACCEPT_ENCODING, acceptEncoding.toString())
+                                    .build());
+            final String contentEncoding = response.header(CONTENT_ENCODING);
+            final ResponseBody body = response.body();
+            if (contentEncoding == null
+                    || body == null
+                    || "HEAD".equals(request.method())
+                    || response.code() == 204
+                    || response.code() == 304) {
+                return response;
+            }
+            // encodings are listed in the order they were applied, they are decoded in reverse
+            final String[] encodings = contentEncoding.split(",");
+            final IContentDecoder[] applied = new IContentDecoder[encodings.length];
+            for (int i = 0; i < encodings.length; i++) {
+                final String encoding = encodings[i].trim();
+                if ("identity".equalsIgnoreCase(encoding)) {
+                    continue;
+                }
+                applied[i] = find(decoders, encoding);
+                if (applied[i] == null) {
+                    return response;
+                }
+            }
+            if (span != null) {
+                span.setAttribute(
+                        "com.microsoft.kiota.handler.decompression.encoding", contentEncoding);
+            }
+            Source decoded = new CountingSource(body.source(), wireByteCount);
+            for (int i = applied.length - 1; i >= 0; i--) {
+                if (applied[i] != null) {
+                    decoded = applied[i].decode(decoded);
+                }
+            }
+            return response.newBuilder()
+                    .removeHeader(CONTENT_ENCODING)
+                    .removeHeader("Content-Length")
+                    .body(
+                            ResponseBody.create(
+                                    Okio.buffer(new CountingSource(decoded, decodedByteCount)),
+                                    body.contentType(),
+                                    -1L))
+                    .build();
+        } finally {
+            if (scope != null) {
+                scope.close();
+            }
+            if (span != null) {
+                span.end();
+            }
+        }
+    }
+
+    @Nullable private static IContentDecoder find(
+            @Nonnull final List<IContentDecoder> decoders, @Nonnull final String encoding) {
+        for (final IContentDecoder decoder : decoders) {
+            if (decoder.getEncoding().equalsIgnoreCase(encoding)) {
+                return decoder;
+            }
+        }
+        return null;
+    }
+
+    /** Counts the bytes read from a source */
+    private static final class CountingSource extends ForwardingSource {
+        private final LongAdder count;
+
+        CountingSource(@Nonnull final Source delegate, @Nonnull final LongAdder count) {
+            super(delegate);
+            this.count = count;
+        }
+
+        @Override
+        public long read(@Nonnull final Buffer sink, final long byteCount) throws IOException {
+            final long read = super.read(sink, byteCount);
+            if (read > 0) {
+                count.add(read);
+            }
+            return read;
+        }
+    }
+}
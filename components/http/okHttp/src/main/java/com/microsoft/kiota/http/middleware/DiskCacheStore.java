@@ -0,0 +1,245 @@
+package com.microsoft.kiota.http.middleware;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import okhttp3.Headers;
+
+import okio.ByteString;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps cached responses in files of a directory, evicting the least recently used responses beyond the configured number of bytes.
+ * Storage failures are treated as cache misses.
+ */
+public final class DiskCacheStore implements CacheStore {
+    private static final int FORMAT_VERSION = 1;
+    private static final String ENTRY_SUFFIX = ".entry";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final long maxBytes;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long totalBytes;
+
+    /**
+     * Creates a new store, the directory is created if it does not exist
+     * @param directory the directory the responses are stored in, which should not be used for anything else
+     * @param maxBytes the maximum total size of the stored files in bytes
+     * @throws IOException when the directory cannot be created or read
+     */
+    public DiskCacheStore(@Nonnull final Path directory, final long maxBytes) throws IOException {
+        Objects.requireNonNull(directory, "parameter directory cannot be null");
+        if (maxBytes < 1) throw new IllegalArgumentException("Max bytes must be positive");
+        this.directory = Files.createDirectories(directory);
+        this.maxBytes = maxBytes;
+        for (final Path file : listEntries()) {
+            totalBytes += Files.size(file);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Nullable public CachedResponse get(@Nonnull final String key) {
+        Objects.requireNonNull(key, "parameter key cannot be null");
+        final Path file = getFile(key);
+        try {
+            if (!Files.exists(file)) {
+                return null;
+            }
+            final CachedResponse response = read(key, Files.readAllBytes(file));
+            if (response != null) {
+                Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            }
+            return response;
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void put(@Nonnull final String key, @Nonnull final CachedResponse response) {
+        Objects.requireNonNull(key, "parameter key cannot be null");
+        Objects.requireNonNull(response, "parameter response cannot be null");
+        final byte[] content;
+        try {
+            content = write(key, response);
+        } catch (IOException ex) {
+            return;
+        }
+        if (content.length > maxBytes) {
+            remove(key);
+            return;
+        }
+        final Path file = getFile(key);
+        lock.lock();
+        try {
+            final Path temp = directory.resolve(file.getFileName() + TEMP_SUFFIX);
+            Files.write(temp, content);
+            final long previousSize = Files.exists(file) ? Files.size(file) : 0;
+            try {
+                Files.move(
+                        temp,
+                        file,
+                        StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            totalBytes += content.length - previousSize;
+            if (totalBytes > maxBytes) {
+                evict();
+            }
+        } catch (IOException ex) {
+            // the response is not cached
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void remove(@Nonnull final String key) {
+        Objects.requireNonNull(key, "parameter key cannot be null");
+        lock.lock();
+        try {
+            delete(getFile(key));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            for (final Path file : listEntries()) {
+                delete(file);
+            }
+        } catch (IOException ex) {
+            // the files which could not be listed are left in place
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Nonnull private Path getFile(@Nonnull final String key) {
+        return directory.resolve(ByteString.encodeUtf8(key).sha256().hex() + ENTRY_SUFFIX);
+    }
+
+    @Nonnull private List<Path> listEntries() throws IOException {
+        final List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream =
+                Files.newDirectoryStream(directory, "*" + ENTRY_SUFFIX)) {
+            for (final Path file : stream) {
+                files.add(file);
+            }
+        }
+        return files;
+    }
+
+    private void delete(@Nonnull final Path file) {
+        try {
+            final long size = Files.exists(file) ? Files.size(file) : 0;
+            if (Files.deleteIfExists(file)) {
+                totalBytes -= size;
+            }
+        } catch (IOException ex) {
+            // the file is left in place
+        }
+    }
+
+    private void evict() throws IOException {
+        final List<Path> files = listEntries();
+        final Map<Path, Long> lastModified = new HashMap<>();
+        for (final Path file : files) {
+            lastModified.put(file, Files.getLastModifiedTime(file).toMillis());
+        }
+        files.sort((a, b) -> Long.compare(lastModified.get(a), lastModified.get(b)));
+        for (final Path file : files) {
+            if (totalBytes <= maxBytes) {
+                return;
+            }
+            delete(file);
+        }
+    }
+
+    @Nonnull private static byte[] write(@Nonnull final String key, @Nonnull final CachedResponse response)
+            throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeInt(FORMAT_VERSION);
+            output.writeUTF(key);
+            output.writeInt(response.getStatusCode());
+            output.writeUTF(response.getMessage());
+            output.writeUTF(response.getProtocol());
+            output.writeLong(response.getReceivedAtMillis());
+            final Headers headers = response.getHeaders();
+            output.writeInt(headers.size());
+            for (int i = 0; i < headers.size(); i++) {
+                output.writeUTF(headers.name(i));
+                output.writeUTF(headers.value(i));
+            }
+            output.writeInt(response.getVaryHeaders().size());
+            for (final Map.Entry<String, String> entry : response.getVaryHeaders().entrySet()) {
+                output.writeUTF(entry.getKey());
+                output.writeUTF(entry.getValue());
+            }
+            final ByteString body = response.getBody();
+            output.writeInt(body.size());
+            body.write(output);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Nullable private static CachedResponse read(@Nonnull final String key, @Nonnull final byte[] content)
+            throws IOException {
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(content))) {
+            if (input.readInt() != FORMAT_VERSION || !key.equals(input.readUTF())) {
+                return null;
+            }
+            final int statusCode = input.readInt();
+            final String message = input.readUTF();
+            final String protocol = input.readUTF();
+            final long receivedAtMillis = input.readLong();
+            final Headers.Builder headers = new Headers.Builder();
+            final int headerCount = input.readInt();
+            for (int i = 0; i < headerCount; i++) {
+                headers.addUnsafeNonAscii(input.readUTF(), input.readUTF());
+            }
+            final Map<String, String> varyHeaders = new HashMap<>();
+            final int varyCount = input.readInt();
+            for (int i = 0; i < varyCount; i++) {
+                varyHeaders.put(input.readUTF(), input.readUTF());
+            }
+            final ByteString body = ByteString.read(input, input.readInt());
+            return new CachedResponse(
+                    statusCode,
+                    message,
+                    protocol,
+                    headers.build(),
+                    varyHeaders,
+                    body,
+                    receivedAtMillis);
+        }
+    }
+}
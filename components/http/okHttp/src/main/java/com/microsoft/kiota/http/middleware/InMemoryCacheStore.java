@@ -0,0 +1,111 @@
+package com.microsoft.kiota.http.middleware;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps cached responses in memory, evicting the least recently used responses beyond the configured number of entries or bytes.
+ */
+public final class InMemoryCacheStore implements CacheStore {
+    /** Default maximum number of cached responses */
+    public static final int DEFAULT_MAX_ENTRIES = 1000;
+
+    /** Default maximum total size of the cached responses in bytes */
+    public static final long DEFAULT_MAX_BYTES = 32L * 1024 * 1024;
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, CachedResponse> entries =
+            new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    /** Creates a new store with the default limits */
+    public InMemoryCacheStore() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * Creates a new store
+     * @param maxEntries the maximum number of cached responses
+     * @param maxBytes the maximum total size of the cached responses in bytes
+     */
+    public InMemoryCacheStore(final int maxEntries, final long maxBytes) {
+        if (maxEntries < 1) throw new IllegalArgumentException("Max entries must be positive");
+        if (maxBytes < 1) throw new IllegalArgumentException("Max bytes must be positive");
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Nullable public CachedResponse get(@Nonnull final String key) {
+        Objects.requireNonNull(key, "parameter key cannot be null");
+        lock.lock();
+        try {
+            return entries.get(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void put(@Nonnull final String key, @Nonnull final CachedResponse response) {
+        Objects.requireNonNull(key, "parameter key cannot be null");
+        Objects.requireNonNull(response, "parameter response cannot be null");
+        if (response.getSize() > maxBytes) {
+            remove(key);
+            return;
+        }
+        lock.lock();
+        try {
+            final CachedResponse previous = entries.put(key, response);
+            if (previous != null) {
+                totalBytes -= previous.getSize();
+            }
+            totalBytes += response.getSize();
+            final Iterator<Map.Entry<String, CachedResponse>> eldest =
+                    entries.entrySet().iterator();
+            while ((entries.size() > maxEntries || totalBytes > maxBytes) && eldest.hasNext()) {
+                totalBytes -= eldest.next().getValue().getSize();
+                eldest.remove();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void remove(@Nonnull final String key) {
+        Objects.requireNonNull(key, "parameter key cannot be null");
+        lock.lock();
+        try {
+            final CachedResponse previous = entries.remove(key);
+            if (previous != null) {
+                totalBytes -= previous.getSize();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+            totalBytes = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
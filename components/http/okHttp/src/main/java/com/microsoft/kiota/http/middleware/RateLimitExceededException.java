@@ -0,0 +1,31 @@
+package com.microsoft.kiota.http.middleware;
+
+import jakarta.annotation.Nonnull;
+
+import java.io.IOException;
+
+/** Thrown by the {@link RateLimitHandler} when a request would wait longer than allowed for its turn. */
+public class RateLimitExceededException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    /** The time in milliseconds the request would have waited */
+    private final long waitMillis;
+
+    /**
+     * Creates a new instance of the exception.
+     * @param message the description of the limit.
+     * @param waitMillis the time in milliseconds the request would have waited.
+     */
+    public RateLimitExceededException(@Nonnull final String message, final long waitMillis) {
+        super(message);
+        this.waitMillis = waitMillis;
+    }
+
+    /**
+     * Gets the time in milliseconds the request would have waited for its turn.
+     * @return the time in milliseconds the request would have waited.
+     */
+    public long getWaitMillis() {
+        return waitMillis;
+    }
+}
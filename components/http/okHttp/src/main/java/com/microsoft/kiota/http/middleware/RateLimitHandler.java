@@ -0,0 +1,312 @@
+package com.microsoft.kiota.http.middleware;
+
+import com.microsoft.kiota.RequestInformation;
+import com.microsoft.kiota.http.middleware.options.RateLimitHandlerOption;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Scope;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The middleware responsible for pacing requests to a host before they are sent, so throttled services are not flooded with requests bound to fail.
+ * A token bucket is kept per host, or per url template when configured. Its rate is reduced when the service answers with a 429 or a Retry-After header, and recovers gradually as requests succeed.
+ * Requests wait for their turn up to the configured maximum wait and are rejected with a {@link RateLimitExceededException} beyond it.
+ * Synchronous requests wait on the calling thread. Requests carrying an {@link AsyncRetryContext} do not hold on to the dispatcher thread: their attempt fails with a {@link RateLimitExceededException} and the context records the delay after which the caller sends it again.
+ */
+public class RateLimitHandler implements Interceptor {
+    private static final String RETRY_AFTER = "Retry-After";
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Nonnull private final RateLimitHandlerOption mRateLimitOption;
+    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * Initialize rate limit handler with rate limit option
+     * @param rateLimitOption Create rate limit handler using rate limit option
+     */
+    public RateLimitHandler(@Nullable final RateLimitHandlerOption rateLimitOption) {
+        if (rateLimitOption == null) {
+            this.mRateLimitOption = new RateLimitHandlerOption();
+        } else {
+            this.mRateLimitOption = new RateLimitHandlerOption(rateLimitOption);
+        }
+    }
+
+    /**
+     * Initialize rate limit handler with default rate limit option
+     */
+    public RateLimitHandler() {
+        this(null);
+    }
+
+    /**
+     * Gets a copy of the rate limit options in use by the handler.
+     * @return a copy of the rate limit options in use by the handler.
+     */
+    @Nonnull public RateLimitHandlerOption getRateLimitOptions() {
+        return new RateLimitHandlerOption(this.mRateLimitOption);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @SuppressWarnings("UnknownNullness")
+    @Nonnull public Response intercept(final Chain chain) throws IOException {
+        Objects.requireNonNull(chain, "parameter chain cannot be null");
+        final Request request = chain.request();
+        if (request == null) {
+            throw new IllegalArgumentException("request cannot be null");
+        }
+        RateLimitHandlerOption requestOption = request.tag(RateLimitHandlerOption.class);
+        if (requestOption == null) {
+            requestOption = mRateLimitOption;
+        }
+        if (!requestOption.isEnabled()) {
+            return chain.proceed(request);
+        }
+        final Span span =
+                ObservabilityHelper.getSpanForRequest(request, "RateLimitHandler_Intercept");
+        Scope scope = null;
+        if (span != null) {
+            scope = span.makeCurrent();
+            span.setAttribute("com.microsoft.kiota.handler.ratelimit.enable", true);
+        }
+        try {
+            final RateLimitHandlerOption option = requestOption;
+            final Bucket bucket =
+                    buckets.computeIfAbsent(getKey(request, option), k -> new Bucket(option));
+            final AsyncRetryContext asyncRetryContext = request.tag(AsyncRetryContext.class);
+            // a deferred attempt reserved its turn before it was deferred
+            final long waitNanos =
+                    asyncRetryContext != null && asyncRetryContext.isDeferredAttempt()
+                            ? 0
+                            : bucket.acquire(option);
+            if (waitNanos > 0) {
+                final long waitMillis = TimeUnit.NANOSECONDS.toMillis(waitNanos);
+                if (span != null) {
+                    span.setAttribute("com.microsoft.kiota.handler.ratelimit.wait", waitMillis);
+                }
+                if (asyncRetryContext != null) {
+                    // the caller sends the request again once its turn comes, rounded up so it is
+                    // not early
+                    final long deferralMillis =
+                            TimeUnit.NANOSECONDS.toMillis(
+                                    waitNanos + TimeUnit.MILLISECONDS.toNanos(1) - 1);
+                    asyncRetryContext.requestDeferral(deferralMillis);
+                    throw new RateLimitExceededException(
+                            "the request was deferred by "
+                                    + deferralMillis
+                                    + "ms for the rate limit",
+                            deferralMillis);
+                }
+                try {
+                    TimeUnit.NANOSECONDS.sleep(waitNanos);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException(
+                            "interrupted while waiting for the rate limit");
+                }
+            }
+            final Response response = chain.proceed(request);
+            if (response == null)
+                throw new RuntimeException("unable to get a response from the chain");
+            bucket.onResponse(response, option);
+            return response;
+        } finally {
+            if (scope != null) {
+                scope.close();
+            }
+            if (span != null) {
+                span.end();
+            }
+        }
+    }
+
+    /**
+     * Gets the current rate of the bucket a request is paced by
+     * @param request the request to get the rate for
+     * @return the current number of requests per second, or the maximum rate if no request was sent yet
+     */
+    double getRate(@Nonnull final Request request) {
+        RateLimitHandlerOption requestOption = request.tag(RateLimitHandlerOption.class);
+        if (requestOption == null) {
+            requestOption = mRateLimitOption;
+        }
+        final Bucket bucket = buckets.get(getKey(request, requestOption));
+        if (bucket == null) {
+            return requestOption.getMaxRequestsPerSecond();
+        }
+        bucket.lock.lock();
+        try {
+            return bucket.getRate(requestOption);
+        } finally {
+            bucket.lock.unlock();
+        }
+    }
+
+    @Nonnull private static String getKey(
+            @Nonnull final Request request, @Nonnull final RateLimitHandlerOption option) {
+        final HttpUrl url = request.url();
+        final String hostKey = url.host() + ":" + url.port();
+        if (option.isPerUrlTemplate()) {
+            final RequestInformation requestInformation = request.tag(RequestInformation.class);
+            if (requestInformation != null && requestInformation.urlTemplate != null) {
+                return hostKey + " " + requestInformation.urlTemplate;
+            }
+        }
+        return hostKey;
+    }
+
+    /**
+     * Parses the Retry-After header of a response
+     * @param response the response to read the header from
+     * @return the delay in nanoseconds, or -1 if the header is absent or invalid
+     */
+    static long getRetryAfterNanos(@Nonnull final Response response) {
+        final String retryAfterHeader = response.header(RETRY_AFTER);
+        if (retryAfterHeader == null) {
+            return -1;
+        }
+        try {
+            final double seconds = Double.parseDouble(retryAfterHeader.trim());
+            return seconds >= 0 ? (long) (seconds * NANOS_PER_SECOND) : -1;
+        } catch (NumberFormatException e) {
+            // not a delay in seconds, try an http date
+        }
+        try {
+            final Instant headerTime =
+                    Instant.from(DateTimeFormatter.RFC_1123_DATE_TIME.parse(retryAfterHeader));
+            final long millis = headerTime.toEpochMilli() - System.currentTimeMillis();
+            return millis > 0 ? TimeUnit.MILLISECONDS.toNanos(millis) : 0;
+        } catch (DateTimeParseException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * The token bucket of a host or url template, shared by the requests sent to it.
+     * The settings are those of the request being paced, so a request option can use a different rate, burst or maximum wait than the handler.
+     */
+    private static final class Bucket {
+        // a lock rather than synchronized so callers on virtual threads do not pin their carrier
+        final ReentrantLock lock = new ReentrantLock();
+        // the rate learned from the responses, unbounded until the host throttles a request
+        double rate = Double.POSITIVE_INFINITY;
+        double tokens;
+        long lastRefill = System.nanoTime();
+        long blockedUntil = lastRefill;
+        long lastDecrease = lastRefill - NANOS_PER_SECOND;
+
+        Bucket(@Nonnull final RateLimitHandlerOption option) {
+            this.tokens = option.getBurst();
+        }
+
+        /**
+         * Reserves a token, the reservation is undone when the wait exceeds the maximum
+         * @param option the options of the request
+         * @return the time in nanoseconds the caller should wait before sending the request
+         * @throws RateLimitExceededException when the wait exceeds the maximum
+         */
+        long acquire(@Nonnull final RateLimitHandlerOption option)
+                throws RateLimitExceededException {
+            final long maxWaitNanos = option.getMaxWait().toNanos();
+            lock.lock();
+            try {
+                final long now = System.nanoTime();
+                refill(now, option);
+                tokens -= 1;
+                final long tokenWait =
+                        tokens < 0 ? (long) (-tokens / getRate(option) * NANOS_PER_SECOND) : 0;
+                final long waitNanos = Math.max(blockedUntil - now, tokenWait);
+                if (waitNanos > maxWaitNanos) {
+                    tokens += 1;
+                    final long waitMillis = TimeUnit.NANOSECONDS.toMillis(waitNanos);
+                    throw new RateLimitExceededException(
+                            "the request would wait "
+                                    + waitMillis
+                                    + "ms for the rate limit, more than the maximum of "
+                                    + TimeUnit.NANOSECONDS.toMillis(maxWaitNanos)
+                                    + "ms",
+                            waitMillis);
+                }
+                return waitNanos;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void onResponse(
+                @Nonnull final Response response, @Nonnull final RateLimitHandlerOption option) {
+            final int statusCode = response.code();
+            final long retryAfterNanos = getRetryAfterNanos(response);
+            final boolean throttled =
+                    statusCode == RetryHandler.MSClientErrorCodeTooManyRequests
+                            || (statusCode == RetryHandler.MSClientErrorCodeServiceUnavailable
+                                    && retryAfterNanos >= 0);
+            lock.lock();
+            try {
+                final long now = System.nanoTime();
+                refill(now, option);
+                if (throttled) {
+                    // responses to requests sent before the decrease should not reduce the rate
+                    // again
+                    if (now - lastDecrease >= NANOS_PER_SECOND) {
+                        rate =
+                                Math.max(
+                                        option.getMinRequestsPerSecond(),
+                                        getRate(option) * option.getMultiplicativeDecrease());
+                        lastDecrease = now;
+                    }
+                    tokens = Math.min(tokens, 0);
+                    if (retryAfterNanos > 0 && now + retryAfterNanos - blockedUntil > 0) {
+                        blockedUntil = now + retryAfterNanos;
+                    }
+                } else if (statusCode < 400 && rate < option.getMaxRequestsPerSecond()) {
+                    // adding increase / rate per success adds increase every second at full pace
+                    rate =
+                            Math.min(
+                                    option.getMaxRequestsPerSecond(),
+                                    rate + option.getAdditiveIncrease() / rate);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Gets the rate a request is paced at, the rate learned from earlier requests capped by the maximum of the request
+         * @param option the options of the request
+         * @return the number of requests per second
+         */
+        private double getRate(@Nonnull final RateLimitHandlerOption option) {
+            return Math.min(rate, option.getMaxRequestsPerSecond());
+        }
+
+        private void refill(final long now, @Nonnull final RateLimitHandlerOption option) {
+            final long elapsed = now - lastRefill;
+            if (elapsed > 0) {
+                tokens =
+                        Math.min(
+                                option.getBurst(),
+                                tokens + (double) elapsed / NANOS_PER_SECOND * getRate(option));
+                lastRefill = now;
+            }
+        }
+    }
+}
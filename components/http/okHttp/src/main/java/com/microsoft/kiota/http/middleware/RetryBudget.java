@@ -0,0 +1,99 @@
+package com.microsoft.kiota.http.middleware;
+
+import com.microsoft.kiota.http.middleware.options.RetryBudgetOption;
+
+import jakarta.annotation.Nonnull;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Counts the successful requests and the retries over a sliding window of one second slots, allowing retries up to a fraction of the successful requests.
+ */
+final class RetryBudget {
+    private final double retryRatio;
+    private final double minRetries;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final long[] slotSeconds;
+    private final long[] successes;
+    private final long[] retries;
+
+    RetryBudget(@Nonnull final RetryBudgetOption option) {
+        Objects.requireNonNull(option, "parameter option cannot be null");
+        final int windowSeconds = (int) Math.min(option.getWindow().getSeconds(), 3600);
+        this.retryRatio = option.getRetryRatio();
+        this.minRetries = option.getMinRetriesPerSecond() * windowSeconds;
+        this.slotSeconds = new long[windowSeconds];
+        this.successes = new long[windowSeconds];
+        this.retries = new long[windowSeconds];
+    }
+
+    /** Records a request which succeeded, which allows further retries */
+    void recordSuccess() {
+        lock.lock();
+        try {
+            successes[currentSlot()]++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Withdraws a retry from the budget
+     * @return whether the retry is allowed
+     */
+    boolean tryRetry() {
+        lock.lock();
+        try {
+            final int slot = currentSlot();
+            long totalSuccesses = 0;
+            long totalRetries = 0;
+            for (int i = 0; i < slotSeconds.length; i++) {
+                if (slotSeconds[i] > slotSeconds[slot] - slotSeconds.length) {
+                    totalSuccesses += successes[i];
+                    totalRetries += retries[i];
+                }
+            }
+            if (totalRetries + 1 > minRetries + retryRatio * totalSuccesses) {
+                return false;
+            }
+            retries[slot]++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Gives back the last retry withdrawn from the budget, for a retry which was not sent */
+    void refundRetry() {
+        lock.lock();
+        try {
+            final int slot = currentSlot();
+            int latest = -1;
+            for (int i = 0; i < slotSeconds.length; i++) {
+                if (retries[i] > 0
+                        && slotSeconds[i] > slotSeconds[slot] - slotSeconds.length
+                        && (latest < 0 || slotSeconds[i] > slotSeconds[latest])) {
+                    latest = i;
+                }
+            }
+            if (latest >= 0) {
+                retries[latest]--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int currentSlot() {
+        final long second = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime());
+        final int slot = (int) Math.floorMod(second, (long) slotSeconds.length);
+        if (slotSeconds[slot] != second) {
+            slotSeconds[slot] = second;
+            successes[slot] = 0;
+            retries[slot] = 0;
+        }
+        return slot;
+    }
+}
@@ -2,7 +2,10 @@ package com.microsoft.kiota.http.middleware;
 
 import static com.microsoft.kiota.http.TelemetrySemanticConventions.*;
 
+import com.microsoft.kiota.ApiException;
+import com.microsoft.kiota.http.middleware.options.CircuitBreakerOption;
 import com.microsoft.kiota.http.middleware.options.IShouldRetry;
+import com.microsoft.kiota.http.middleware.options.RetryBudgetOption;
 import com.microsoft.kiota.http.middleware.options.RetryHandlerOption;
 
 import io.opentelemetry.api.trace.Span;
@@ -23,14 +26,24 @@ import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.time.temporal.ChronoUnit;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * The middleware responsible for retrying requests when they fail because of transient issues
+ * The middleware responsible for retrying requests when they fail because of transient issues.
+ * Retries can be limited by a {@link RetryBudgetOption} shared by all the requests of the client, and requests to a failing host can be stopped by a {@link CircuitBreakerOption}.
  */
 public class RetryHandler implements Interceptor {
 
     @Nonnull private RetryHandlerOption mRetryOption;
 
+    @Nullable private final RetryBudgetOption mRetryBudgetOption;
+
+    @Nullable private final RetryBudget retryBudget;
+
+    @Nullable private final CircuitBreakerOption mCircuitBreakerOption;
+
+    private final ConcurrentHashMap<String, CircuitBreaker> circuits = new ConcurrentHashMap<>();
+
     /**
      * Header name to track the retry attempt number
      */
@@ -41,6 +54,18 @@ public class RetryHandler implements Interceptor {
      */
     private static final String RETRY_AFTER = "Retry-After";
 
+    /** Span event recorded when a retry is skipped because the retry budget is exhausted */
+    private static final String RETRY_BUDGET_EXHAUSTED_EVENT =
+            "com.microsoft.kiota.handler.retry.budget_exhausted";
+
+    /** Span event recorded when the circuit of a host opens */
+    private static final String CIRCUIT_OPENED_EVENT =
+            "com.microsoft.kiota.handler.retry.circuit_opened";
+
+    /** Span event recorded when a request is rejected because the circuit of its host is open */
+    private static final String CIRCUIT_REJECTED_EVENT =
+            "com.microsoft.kiota.handler.retry.circuit_rejected";
+
     /**
      * Too many requests status code
      */
@@ -66,11 +91,31 @@ public class RetryHandler implements Interceptor {
      * @param retryOption Create Retry handler using retry option
      */
     public RetryHandler(@Nullable final RetryHandlerOption retryOption) {
+        this(retryOption, null, null);
+    }
+
+    /**
+     * Initialize retry handler with retry option, retry budget and circuit breaker
+     * @param retryOption Create Retry handler using retry option
+     * @param retryBudgetOption The retry budget shared by the requests, retries are not limited if null
+     * @param circuitBreakerOption The circuit breaker applied to each host, circuits are not used if null
+     */
+    public RetryHandler(
+            @Nullable final RetryHandlerOption retryOption,
+            @Nullable final RetryBudgetOption retryBudgetOption,
+            @Nullable final CircuitBreakerOption circuitBreakerOption) {
         if (retryOption == null) {
             this.mRetryOption = new RetryHandlerOption();
         } else {
             this.mRetryOption = retryOption;
         }
+        this.mRetryBudgetOption =
+                retryBudgetOption == null ? null : new RetryBudgetOption(retryBudgetOption);
+        this.retryBudget = retryBudgetOption == null ? null : new RetryBudget(retryBudgetOption);
+        this.mCircuitBreakerOption =
+                circuitBreakerOption == null
+                        ? null
+                        : new CircuitBreakerOption(circuitBreakerOption);
     }
 
     /**
@@ -86,6 +131,34 @@ public class RetryHandler implements Interceptor {
             @Nonnull final Request request,
             @Nonnull final RetryHandlerOption retryOption,
             @Nullable final Span span) {
+        final long retryInterval =
+                getRetryInterval(response, executionCount, request, retryOption, span);
+        if (retryInterval < 0) {
+            return false;
+        }
+        try {
+            Thread.sleep(retryInterval);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return true;
+    }
+
+    /**
+     * Gets the delay before the request should be retried
+     * @param response Response
+     * @param executionCount Execution count of the request
+     * @param request Request
+     * @param retryOption Retry options in use for the request
+     * @param span Span to record the delay on
+     * @return the delay in milliseconds, or -1 if the request should not be retried
+     */
+    long getRetryInterval(
+            @Nonnull final Response response,
+            int executionCount,
+            @Nonnull final Request request,
+            @Nonnull final RetryHandlerOption retryOption,
+            @Nullable final Span span) {
 
         // Should retry option
         // Use should retry common for all requests
@@ -108,18 +181,20 @@ public class RetryHandler implements Interceptor {
                         && shouldRetryCallback.shouldRetry(
                                 retryOption.delay(), executionCount, request, response);
 
-        if (shouldRetry) {
-            long retryInterval = getRetryAfter(response, retryOption.delay(), executionCount);
+        if (!shouldRetry) {
+            return -1;
+        }
+        if (!tryRetryFromBudget(request)) {
             if (span != null) {
-                span.setAttribute(HTTP_REQUEST_RESEND_DELAY, Math.round(retryInterval / 1000f));
-            }
-            try {
-                Thread.sleep(retryInterval);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
+                span.addEvent(RETRY_BUDGET_EXHAUSTED_EVENT);
             }
+            return -1;
+        }
+        long retryInterval = getRetryAfter(response, retryOption.delay(), executionCount);
+        if (span != null) {
+            span.setAttribute(HTTP_REQUEST_RESEND_DELAY, Math.round(retryInterval / 1000f));
         }
-        return shouldRetry;
+        return retryInterval;
     }
 
     /**
@@ -230,6 +305,126 @@ public class RetryHandler implements Interceptor {
         return this.mRetryOption;
     }
 
+    /**
+     * Gets a copy of the retry budget options in use by the handler.
+     * @return a copy of the retry budget options in use by the handler, null if retries are not limited.
+     */
+    @Nullable public RetryBudgetOption getRetryBudgetOptions() {
+        final RetryBudgetOption option = this.mRetryBudgetOption;
+        return option == null ? null : new RetryBudgetOption(option);
+    }
+
+    /**
+     * Gets a copy of the circuit breaker options in use by the handler.
+     * @return a copy of the circuit breaker options in use by the handler, null if circuits are not used.
+     */
+    @Nullable public CircuitBreakerOption getCircuitBreakerOptions() {
+        final CircuitBreakerOption option = this.mCircuitBreakerOption;
+        return option == null ? null : new CircuitBreakerOption(option);
+    }
+
+    /**
+     * Gets the state of the circuit of the host a request is sent to
+     * @param request the request to get the circuit state for
+     * @return the state of the circuit, null if no request was sent to the host through a circuit yet
+     */
+    @Nullable CircuitBreaker.State getCircuitState(@Nonnull final Request request) {
+        final CircuitBreaker circuit = circuits.get(getHostKey(request));
+        return circuit == null ? null : circuit.getState();
+    }
+
+    private boolean tryRetryFromBudget(@Nonnull final Request request) {
+        return retryBudget == null || !isRetryBudgetEnabled(request) || retryBudget.tryRetry();
+    }
+
+    private boolean isRetryBudgetEnabled(@Nonnull final Request request) {
+        if (retryBudget == null) {
+            return false;
+        }
+        final RetryBudgetOption requestOption = request.tag(RetryBudgetOption.class);
+        final RetryBudgetOption option = requestOption == null ? mRetryBudgetOption : requestOption;
+        return option != null && option.isEnabled();
+    }
+
+    @Nullable private CircuitBreaker getCircuit(@Nonnull final Request request) {
+        final CircuitBreakerOption handlerOption = mCircuitBreakerOption;
+        if (handlerOption == null) {
+            return null;
+        }
+        final CircuitBreakerOption requestOption = request.tag(CircuitBreakerOption.class);
+        final CircuitBreakerOption option = requestOption == null ? handlerOption : requestOption;
+        if (!option.isEnabled()) {
+            return null;
+        }
+        return circuits.computeIfAbsent(
+                getHostKey(request), k -> new CircuitBreaker(handlerOption));
+    }
+
+    @Nonnull private static String getHostKey(@Nonnull final Request request) {
+        return request.url().host() + ":" + request.url().port();
+    }
+
+    @Nonnull private Response proceed(
+            @Nonnull final Chain chain,
+            @Nonnull final Request request,
+            @Nullable final CircuitBreaker circuit,
+            final int executionCount,
+            @Nullable final Span span)
+            throws IOException {
+        final Response response;
+        try {
+            response = chain.proceed(request);
+        } catch (RateLimitExceededException ex) {
+            // the request was paced by the client and never reached the host, which is not a
+            // failure of the host and does not use up a retry
+            if (circuit != null) {
+                circuit.onNotSent();
+            }
+            // a deferred attempt is sent again later and keeps its retry
+            final AsyncRetryContext asyncRetryContext = request.tag(AsyncRetryContext.class);
+            if (executionCount > 1
+                    && (asyncRetryContext == null || !asyncRetryContext.isDeferralRequested())
+                    && retryBudget != null
+                    && isRetryBudgetEnabled(request)) {
+                retryBudget.refundRetry();
+            }
+            throw ex;
+        } catch (IOException | RuntimeException ex) {
+            if (circuit != null && circuit.onFailure() && span != null) {
+                span.addEvent(CIRCUIT_OPENED_EVENT);
+            }
+            throw ex;
+        }
+        if (response == null) throw new RuntimeException("unable to get a response from the chain");
+        if (checkStatus(response.code())) {
+            if (circuit != null && circuit.onFailure() && span != null) {
+                span.addEvent(CIRCUIT_OPENED_EVENT);
+            }
+        } else {
+            if (circuit != null) {
+                circuit.onSuccess();
+            }
+            if (retryBudget != null) {
+                retryBudget.recordSuccess();
+            }
+        }
+        return response;
+    }
+
+    @Nonnull private static IOException circuitOpen(
+            @Nonnull final Request request, @Nullable final Span span) {
+        final String message =
+                "the circuit for host "
+                        + request.url().host()
+                        + " is open after repeated failures, the request was not sent";
+        if (span != null) {
+            span.addEvent(CIRCUIT_REJECTED_EVENT);
+        }
+        // interceptors can only throw IOExceptions without disrupting asynchronous calls, the
+        // request adapter surfaces the ApiException cause
+        return new IOException(message, new ApiException(message));
+    }
+
     /** {@inheritDoc} */
     @Override
     @SuppressWarnings("UnknownNullness")
@@ -249,9 +444,23 @@ public class RetryHandler implements Interceptor {
             if (span != null) {
                 request = request.newBuilder().tag(Span.class, span).build();
             }
-            Response response = chain.proceed(request);
-            if (response == null)
-                throw new RuntimeException("unable to get a response from the chain");
+            final AsyncRetryContext asyncRetryContext = request.tag(AsyncRetryContext.class);
+            int executionCount = 1;
+            if (asyncRetryContext != null && asyncRetryContext.getExecutionCount() > 1) {
+                executionCount = asyncRetryContext.getExecutionCount();
+                request =
+                        request.newBuilder()
+                                .header(RETRY_ATTEMPT_HEADER, String.valueOf(executionCount - 1))
+                                .build();
+                if (span != null) {
+                    span.setAttribute(HTTP_REQUEST_RESEND_COUNT, executionCount);
+                }
+            }
+            final CircuitBreaker circuit = getCircuit(request);
+            if (circuit != null && !circuit.tryAcquire()) {
+                throw circuitOpen(request, span);
+            }
+            Response response = proceed(chain, request, circuit, executionCount, span);
 
             // Use should retry pass along with this request
             RetryHandlerOption retryOption = request.tag(RetryHandlerOption.class);
@@ -259,9 +468,26 @@ public class RetryHandler implements Interceptor {
                 retryOption = mRetryOption;
             }
 
-            int executionCount = 1;
+            if (asyncRetryContext != null) {
+                // the caller waits for the delay without holding on to this thread and sends the
+                // request again
+                final long retryInterval =
+                        getRetryInterval(response, executionCount, request, retryOption, span);
+                if (retryInterval >= 0) {
+                    asyncRetryContext.requestRetry(retryInterval);
+                }
+                return response;
+            }
+
             while (retryRequest(
                     response, executionCount, request, Objects.requireNonNull(retryOption), span)) {
+                if (circuit != null && !circuit.tryAcquire()) {
+                    // the circuit opened while waiting, the last response is returned as is
+                    if (span != null) {
+                        span.addEvent(CIRCUIT_REJECTED_EVENT);
+                    }
+                    break;
+                }
                 final Request.Builder builder =
                         request.newBuilder()
                                 .addHeader(RETRY_ATTEMPT_HEADER, String.valueOf(executionCount));
@@ -281,9 +507,7 @@ public class RetryHandler implements Interceptor {
                 retrySpan.setAttribute(HTTP_REQUEST_RESEND_COUNT, executionCount);
                 retrySpan.setAttribute(HTTP_RESPONSE_STATUS_CODE, response.code());
                 retrySpan.end();
-                response = chain.proceed(request);
-                if (response == null)
-                    throw new RuntimeException("unable to get a response from the chain");
+                response = proceed(chain, request, circuit, executionCount, span);
             }
             return response;
         } finally {
@@ -0,0 +1,123 @@
+package com.microsoft.kiota.http.middleware.options;
+
+import com.microsoft.kiota.RequestOption;
+import com.microsoft.kiota.http.middleware.CacheStore;
+import com.microsoft.kiota.http.middleware.InMemoryCacheStore;
+
+import jakarta.annotation.Nonnull;
+
+import java.util.Objects;
+
+/**
+ * The options of the cache middleware.
+ * The store and entry size limit are read from the options the handler was created with, a request option can only disable the cache or force revalidation for a request.
+ */
+public final class CacheHandlerOption implements RequestOption {
+    /** Default maximum size of a cached response body in bytes */
+    public static final long DEFAULT_MAX_ENTRY_BYTES = 1024L * 1024;
+
+    private boolean enabled = true;
+    private boolean alwaysRevalidate;
+    private long maxEntryBytes = DEFAULT_MAX_ENTRY_BYTES;
+    @Nonnull private CacheStore store;
+
+    /**
+     * Create default instance of cache options, storing responses in memory.
+     */
+    public CacheHandlerOption() {
+        this(new InMemoryCacheStore());
+    }
+
+    /**
+     * Create an instance of cache options storing responses in the provided store.
+     * @param store the store the responses are kept in
+     */
+    public CacheHandlerOption(@Nonnull final CacheStore store) {
+        this.store = Objects.requireNonNull(store, "parameter store cannot be null");
+    }
+
+    /**
+     * Create a copy of the provided cache options, sharing its store.
+     * @param source the options to copy
+     */
+    public CacheHandlerOption(@Nonnull final CacheHandlerOption source) {
+        Objects.requireNonNull(source, "parameter source cannot be null");
+        this.enabled = source.enabled;
+        this.alwaysRevalidate = source.alwaysRevalidate;
+        this.maxEntryBytes = source.maxEntryBytes;
+        this.store = source.store;
+    }
+
+    /**
+     * Gets whether responses are served from and stored in the cache.
+     * @return whether the cache is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether responses are served from and stored in the cache.
+     * @param enabled whether the cache is enabled
+     */
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Gets whether cached responses are revalidated with the service even while they are fresh.
+     * @return whether cached responses are always revalidated
+     */
+    public boolean isAlwaysRevalidate() {
+        return alwaysRevalidate;
+    }
+
+    /**
+     * Sets whether cached responses are revalidated with the service even while they are fresh.
+     * @param alwaysRevalidate whether cached responses are always revalidated
+     */
+    public void setAlwaysRevalidate(final boolean alwaysRevalidate) {
+        this.alwaysRevalidate = alwaysRevalidate;
+    }
+
+    /**
+     * Gets the maximum size of a cached response body, larger responses are not stored.
+     * @return the maximum size in bytes
+     */
+    public long getMaxEntryBytes() {
+        return maxEntryBytes;
+    }
+
+    /**
+     * Sets the maximum size of a cached response body, larger responses are not stored.
+     * @param maxEntryBytes the maximum size in bytes, zero or more
+     */
+    public void setMaxEntryBytes(final long maxEntryBytes) {
+        if (maxEntryBytes < 0)
+            throw new IllegalArgumentException("Max entry bytes cannot be negative");
+        this.maxEntryBytes = maxEntryBytes;
+    }
+
+    /**
+     * Gets the store the responses are kept in.
+     * @return the store
+     */
+    @Nonnull public CacheStore getStore() {
+        return store;
+    }
+
+    /**
+     * Sets the store the responses are kept in.
+     * @param store the store
+     */
+    public void setStore(@Nonnull final CacheStore store) {
+        this.store = Objects.requireNonNull(store, "parameter store cannot be null");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @SuppressWarnings("unchecked")
+    @Nonnull public <T extends RequestOption> Class<T> getType() {
+        return (Class<T>) CacheHandlerOption.class;
+    }
+}
@@ -0,0 +1,125 @@
+package com.microsoft.kiota.http.middleware.options;
+
+import com.microsoft.kiota.RequestOption;
+
+import jakarta.annotation.Nonnull;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * The options of the per host circuit breaker applied by the retry middleware.
+ * The circuit of a host opens after a number of consecutive failures, requests to the host then fail immediately.
+ * Once the open duration elapsed, a limited number of probe requests are let through: the circuit closes if they succeed and opens again otherwise.
+ * Responses with a retryable status code (429, 503 and 504) and network errors count as failures.
+ */
+public final class CircuitBreakerOption implements RequestOption {
+    /** Default number of consecutive failures after which the circuit opens */
+    public static final int DEFAULT_FAILURE_THRESHOLD = 5;
+
+    /** Default duration during which requests fail immediately once the circuit opened */
+    @Nonnull public static final Duration DEFAULT_OPEN_DURATION = Duration.ofSeconds(30);
+
+    /** Default number of concurrent probe requests let through once the open duration elapsed */
+    public static final int DEFAULT_HALF_OPEN_PROBES = 1;
+
+    private boolean enabled = true;
+    private int failureThreshold = DEFAULT_FAILURE_THRESHOLD;
+    @Nonnull private Duration openDuration = DEFAULT_OPEN_DURATION;
+    private int halfOpenProbes = DEFAULT_HALF_OPEN_PROBES;
+
+    /**
+     * Create default instance of circuit breaker options.
+     */
+    public CircuitBreakerOption() {}
+
+    /**
+     * Create a copy of the provided circuit breaker options.
+     * @param source the options to copy
+     */
+    public CircuitBreakerOption(@Nonnull final CircuitBreakerOption source) {
+        Objects.requireNonNull(source, "parameter source cannot be null");
+        this.enabled = source.enabled;
+        this.failureThreshold = source.failureThreshold;
+        this.openDuration = source.openDuration;
+        this.halfOpenProbes = source.halfOpenProbes;
+    }
+
+    /**
+     * Gets whether the circuit breaker is enabled.
+     * @return whether the circuit breaker is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether the circuit breaker is enabled.
+     * @param enabled whether the circuit breaker is enabled
+     */
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Gets the number of consecutive failures after which the circuit opens.
+     * @return the failure threshold
+     */
+    public int getFailureThreshold() {
+        return failureThreshold;
+    }
+
+    /**
+     * Sets the number of consecutive failures after which the circuit opens.
+     * @param failureThreshold the failure threshold
+     */
+    public void setFailureThreshold(final int failureThreshold) {
+        if (failureThreshold < 1)
+            throw new IllegalArgumentException("Failure threshold must be positive");
+        this.failureThreshold = failureThreshold;
+    }
+
+    /**
+     * Gets the duration during which requests fail immediately once the circuit opened.
+     * @return the open duration
+     */
+    @Nonnull public Duration getOpenDuration() {
+        return openDuration;
+    }
+
+    /**
+     * Sets the duration during which requests fail immediately once the circuit opened.
+     * @param openDuration the open duration
+     */
+    public void setOpenDuration(@Nonnull final Duration openDuration) {
+        Objects.requireNonNull(openDuration, "parameter openDuration cannot be null");
+        if (openDuration.isNegative())
+            throw new IllegalArgumentException("Open duration cannot be negative");
+        this.openDuration = openDuration;
+    }
+
+    /**
+     * Gets the number of concurrent probe requests let through once the open duration elapsed.
+     * @return the number of probe requests
+     */
+    public int getHalfOpenProbes() {
+        return halfOpenProbes;
+    }
+
+    /**
+     * Sets the number of concurrent probe requests let through once the open duration elapsed.
+     * @param halfOpenProbes the number of probe requests
+     */
+    public void setHalfOpenProbes(final int halfOpenProbes) {
+        if (halfOpenProbes < 1)
+            throw new IllegalArgumentException("Half open probes must be positive");
+        this.halfOpenProbes = halfOpenProbes;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @SuppressWarnings("unchecked")
+    @Nonnull public <T extends RequestOption> Class<T> getType() {
+        return (Class<T>) CircuitBreakerOption.class;
+    }
+}
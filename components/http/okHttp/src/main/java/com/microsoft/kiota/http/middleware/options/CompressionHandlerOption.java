@@ -0,0 +1,152 @@
+package com.microsoft.kiota.http.middleware.options;
+
+import com.microsoft.kiota.RequestOption;
+
+import jakarta.annotation.Nonnull;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The options of the request body compression middleware.
+ */
+public final class CompressionHandlerOption implements RequestOption {
+    /** The algorithms request bodies can be compressed with */
+    public enum Algorithm {
+        /** The gzip format, sent as the gzip content encoding */
+        GZIP("gzip"),
+        /** The zlib format, sent as the deflate content encoding */
+        DEFLATE("deflate");
+
+        private final String contentEncoding;
+
+        Algorithm(@Nonnull final String contentEncoding) {
+            this.contentEncoding = contentEncoding;
+        }
+
+        /**
+         * Gets the value of the Content-Encoding header for the algorithm
+         * @return the content encoding
+         */
+        @Nonnull public String getContentEncoding() {
+            return contentEncoding;
+        }
+    }
+
+    /** Default minimum size of the request bodies to compress in bytes */
+    public static final long DEFAULT_MINIMUM_SIZE = 1024;
+
+    /** Default content types of the request bodies to compress */
+    @Nonnull public static final Set<String> DEFAULT_CONTENT_TYPES =
+            Collections.unmodifiableSet(
+                    new HashSet<>(
+                            Arrays.asList(
+                                    "application/json",
+                                    "application/xml",
+                                    "text/plain",
+                                    "text/xml",
+                                    "text/csv")));
+
+    private boolean enabled = true;
+    @Nonnull private Algorithm algorithm = Algorithm.GZIP;
+    private long minimumSize = DEFAULT_MINIMUM_SIZE;
+    @Nonnull private Set<String> contentTypes = DEFAULT_CONTENT_TYPES;
+
+    /**
+     * Create default instance of compression options.
+     */
+    public CompressionHandlerOption() {}
+
+    /**
+     * Create a copy of the provided compression options.
+     * @param source the options to copy
+     */
+    public CompressionHandlerOption(@Nonnull final CompressionHandlerOption source) {
+        Objects.requireNonNull(source, "parameter source cannot be null");
+        this.enabled = source.enabled;
+        this.algorithm = source.algorithm;
+        this.minimumSize = source.minimumSize;
+        this.contentTypes = source.contentTypes;
+    }
+
+    /**
+     * Gets whether request bodies are compressed.
+     * @return whether request bodies are compressed
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether request bodies are compressed.
+     * @param enabled whether request bodies are compressed
+     */
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Gets the algorithm request bodies are compressed with.
+     * @return the algorithm
+     */
+    @Nonnull public Algorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Sets the algorithm request bodies are compressed with.
+     * @param algorithm the algorithm
+     */
+    public void setAlgorithm(@Nonnull final Algorithm algorithm) {
+        this.algorithm = Objects.requireNonNull(algorithm, "parameter algorithm cannot be null");
+    }
+
+    /**
+     * Gets the minimum size of the request bodies to compress, bodies of unknown size are always compressed.
+     * @return the minimum size in bytes
+     */
+    public long getMinimumSize() {
+        return minimumSize;
+    }
+
+    /**
+     * Sets the minimum size of the request bodies to compress, bodies of unknown size are always compressed.
+     * @param minimumSize the minimum size in bytes, zero or more
+     */
+    public void setMinimumSize(final long minimumSize) {
+        if (minimumSize < 0) throw new IllegalArgumentException("Minimum size cannot be negative");
+        this.minimumSize = minimumSize;
+    }
+
+    /**
+     * Gets the content types of the request bodies to compress, parameters such as the charset are ignored.
+     * @return the content types, in lower case
+     */
+    @Nonnull public Set<String> getContentTypes() {
+        return Collections.unmodifiableSet(contentTypes);
+    }
+
+    /**
+     * Sets the content types of the request bodies to compress, parameters such as the charset are ignored.
+     * @param contentTypes the content types, such as application/json
+     */
+    public void setContentTypes(@Nonnull final Set<String> contentTypes) {
+        Objects.requireNonNull(contentTypes, "parameter contentTypes cannot be null");
+        final Set<String> normalized = new HashSet<>();
+        for (final String contentType : contentTypes) {
+            normalized.add(contentType.trim().toLowerCase(Locale.ROOT));
+        }
+        this.contentTypes = normalized;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @SuppressWarnings("unchecked")
+    @Nonnull public <T extends RequestOption> Class<T> getType() {
+        return (Class<T>) CompressionHandlerOption.class;
+    }
+}
@@ -0,0 +1,124 @@
+package com.microsoft.kiota.http.middleware.options;
+
+import com.microsoft.kiota.RequestOption;
+
+import jakarta.annotation.Nonnull;
+
+import okio.GzipSource;
+import okio.InflaterSource;
+import okio.Okio;
+import okio.Source;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.zip.Inflater;
+
+/**
+ * The options of the response decompression middleware.
+ * Only gzip and deflate decoders are built in, the library does not depend on a brotli or zstd decoder.
+ * Decoders for encodings the JDK does not support, such as br or zstd, can be added by wrapping a decoding stream of a library with {@link Okio#source(java.io.InputStream)}.
+ */
+public final class DecompressionHandlerOption implements RequestOption {
+    /** Decodes the gzip content encoding */
+    @Nonnull public static final IContentDecoder GZIP_DECODER =
+            new IContentDecoder() {
+                @Override
+                @Nonnull public String getEncoding() {
+                    return "gzip";
+                }
+
+                @Override
+                @Nonnull public Source decode(@Nonnull final Source source) {
+                    return new GzipSource(source);
+                }
+            };
+
+    /** Decodes the deflate content encoding, the zlib format */
+    @Nonnull public static final IContentDecoder DEFLATE_DECODER =
+            new IContentDecoder() {
+                @Override
+                @Nonnull public String getEncoding() {
+                    return "deflate";
+                }
+
+                @Override
+                @Nonnull public Source decode(@Nonnull final Source source) {
+                    return new InflaterSource(source, new Inflater());
+                }
+            };
+
+    private boolean enabled = true;
+
+    @Nonnull private List<IContentDecoder> decoders = Arrays.asList(GZIP_DECODER, DEFLATE_DECODER);
+
+    /**
+     * Create default instance of decompression options, decoding gzip and deflate.
+     */
+    public DecompressionHandlerOption() {}
+
+    /**
+     * Create a copy of the provided decompression options.
+     * @param source the options to copy
+     */
+    public DecompressionHandlerOption(@Nonnull final DecompressionHandlerOption source) {
+        Objects.requireNonNull(source, "parameter source cannot be null");
+        this.enabled = source.enabled;
+        this.decoders = source.decoders;
+    }
+
+    /**
+     * Gets whether response bodies are decoded by the handler.
+     * @return whether response bodies are decoded
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether response bodies are decoded by the handler.
+     * @param enabled whether response bodies are decoded
+     */
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Gets the decoders of the encodings advertised to the service, in order of preference.
+     * @return the decoders
+     */
+    @Nonnull public List<IContentDecoder> getDecoders() {
+        return Collections.unmodifiableList(decoders);
+    }
+
+    /**
+     * Sets the decoders of the encodings advertised to the service, in order of preference.
+     * @param decoders the decoders, at least one
+     */
+    public void setDecoders(@Nonnull final List<IContentDecoder> decoders) {
+        Objects.requireNonNull(decoders, "parameter decoders cannot be null");
+        if (decoders.isEmpty()) throw new IllegalArgumentException("Decoders cannot be empty");
+        this.decoders = new ArrayList<>(decoders);
+    }
+
+    /**
+     * Adds a decoder, preferred over the decoders already configured.
+     * @param decoder the decoder
+     */
+    public void addDecoder(@Nonnull final IContentDecoder decoder) {
+        Objects.requireNonNull(decoder, "parameter decoder cannot be null");
+        final List<IContentDecoder> updated = new ArrayList<>(decoders.size() + 1);
+        updated.add(decoder);
+        updated.addAll(decoders);
+        this.decoders = updated;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @SuppressWarnings("unchecked")
+    @Nonnull public <T extends RequestOption> Class<T> getType() {
+        return (Class<T>) DecompressionHandlerOption.class;
+    }
+}
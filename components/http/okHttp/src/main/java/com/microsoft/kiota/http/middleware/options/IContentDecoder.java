@@ -0,0 +1,26 @@
+package com.microsoft.kiota.http.middleware.options;
+
+import jakarta.annotation.Nonnull;
+
+import okio.Source;
+
+import java.io.IOException;
+
+/**
+ * Decodes response bodies sent with a content encoding
+ */
+public interface IContentDecoder {
+    /**
+     * Gets the content encoding the decoder supports, as advertised in the Accept-Encoding header
+     * @return the content encoding, such as br or zstd
+     */
+    @Nonnull String getEncoding();
+
+    /**
+     * Decodes a response body while it is read
+     * @param source the encoded body, closed when the decoded body is closed
+     * @return the decoded body
+     * @throws IOException when the decoder cannot be initialized
+     */
+    @Nonnull Source decode(@Nonnull final Source source) throws IOException;
+}
@@ -0,0 +1,211 @@
+package com.microsoft.kiota.http.middleware.options;
+
+import com.microsoft.kiota.RequestOption;
+
+import jakarta.annotation.Nonnull;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * The options to be passed to the rate limiting middleware.
+ * The handler starts at the maximum rate, divides it by the decrease factor when the service throttles requests and adds the additive increase back every second requests succeed.
+ * When set on a single request, all its settings apply to that request. The rate learned from the responses of a host is shared by the requests sent to it and capped by the maximum rate of each request.
+ */
+public final class RateLimitHandlerOption implements RequestOption {
+    /** Default maximum number of requests per second */
+    public static final double DEFAULT_MAX_REQUESTS_PER_SECOND = 100;
+
+    /** Default minimum number of requests per second the rate is never reduced below */
+    public static final double DEFAULT_MIN_REQUESTS_PER_SECOND = 1;
+
+    /** Default number of requests which can be sent at once after a quiet period */
+    public static final int DEFAULT_BURST = 10;
+
+    /** Default number of requests per second added back every second requests succeed */
+    public static final double DEFAULT_ADDITIVE_INCREASE = 1;
+
+    /** Default factor the rate is multiplied by when the service throttles requests */
+    public static final double DEFAULT_MULTIPLICATIVE_DECREASE = 0.5;
+
+    /** Default maximum time a request waits for its turn before it is rejected */
+    @Nonnull public static final Duration DEFAULT_MAX_WAIT = Duration.ofSeconds(30);
+
+    private boolean enabled = true;
+    private double maxRequestsPerSecond = DEFAULT_MAX_REQUESTS_PER_SECOND;
+    private double minRequestsPerSecond = DEFAULT_MIN_REQUESTS_PER_SECOND;
+    private int burst = DEFAULT_BURST;
+    private double additiveIncrease = DEFAULT_ADDITIVE_INCREASE;
+    private double multiplicativeDecrease = DEFAULT_MULTIPLICATIVE_DECREASE;
+    @Nonnull private Duration maxWait = DEFAULT_MAX_WAIT;
+    private boolean perUrlTemplate;
+
+    /**
+     * Create default instance of rate limit options.
+     */
+    public RateLimitHandlerOption() {}
+
+    /**
+     * Create a copy of the provided rate limit options.
+     * @param source the options to copy
+     */
+    public RateLimitHandlerOption(@Nonnull final RateLimitHandlerOption source) {
+        Objects.requireNonNull(source, "parameter source cannot be null");
+        this.enabled = source.enabled;
+        this.maxRequestsPerSecond = source.maxRequestsPerSecond;
+        this.minRequestsPerSecond = source.minRequestsPerSecond;
+        this.burst = source.burst;
+        this.additiveIncrease = source.additiveIncrease;
+        this.multiplicativeDecrease = source.multiplicativeDecrease;
+        this.maxWait = source.maxWait;
+        this.perUrlTemplate = source.perUrlTemplate;
+    }
+
+    /**
+     * Gets whether requests are rate limited.
+     * @return whether requests are rate limited
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether requests are rate limited.
+     * @param enabled whether requests are rate limited
+     */
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Gets the maximum number of requests per second.
+     * @return the maximum number of requests per second
+     */
+    public double getMaxRequestsPerSecond() {
+        return maxRequestsPerSecond;
+    }
+
+    /**
+     * Sets the maximum number of requests per second, which is also the initial rate.
+     * @param maxRequestsPerSecond the maximum number of requests per second
+     */
+    public void setMaxRequestsPerSecond(final double maxRequestsPerSecond) {
+        if (!(maxRequestsPerSecond > 0))
+            throw new IllegalArgumentException("Max requests per second must be positive");
+        this.maxRequestsPerSecond = maxRequestsPerSecond;
+    }
+
+    /**
+     * Gets the minimum number of requests per second the rate is never reduced below.
+     * @return the minimum number of requests per second
+     */
+    public double getMinRequestsPerSecond() {
+        return minRequestsPerSecond;
+    }
+
+    /**
+     * Sets the minimum number of requests per second the rate is never reduced below.
+     * @param minRequestsPerSecond the minimum number of requests per second
+     */
+    public void setMinRequestsPerSecond(final double minRequestsPerSecond) {
+        if (!(minRequestsPerSecond > 0))
+            throw new IllegalArgumentException("Min requests per second must be positive");
+        this.minRequestsPerSecond = minRequestsPerSecond;
+    }
+
+    /**
+     * Gets the number of requests which can be sent at once after a quiet period.
+     * @return the burst size
+     */
+    public int getBurst() {
+        return burst;
+    }
+
+    /**
+     * Sets the number of requests which can be sent at once after a quiet period.
+     * @param burst the burst size
+     */
+    public void setBurst(final int burst) {
+        if (burst < 1) throw new IllegalArgumentException("Burst must be positive");
+        this.burst = burst;
+    }
+
+    /**
+     * Gets the number of requests per second added back every second requests succeed.
+     * @return the additive increase
+     */
+    public double getAdditiveIncrease() {
+        return additiveIncrease;
+    }
+
+    /**
+     * Sets the number of requests per second added back every second requests succeed.
+     * @param additiveIncrease the additive increase
+     */
+    public void setAdditiveIncrease(final double additiveIncrease) {
+        if (!(additiveIncrease > 0))
+            throw new IllegalArgumentException("Additive increase must be positive");
+        this.additiveIncrease = additiveIncrease;
+    }
+
+    /**
+     * Gets the factor the rate is multiplied by when the service throttles requests.
+     * @return the multiplicative decrease
+     */
+    public double getMultiplicativeDecrease() {
+        return multiplicativeDecrease;
+    }
+
+    /**
+     * Sets the factor the rate is multiplied by when the service throttles requests.
+     * @param multiplicativeDecrease the multiplicative decrease, between 0 and 1 excluded
+     */
+    public void setMultiplicativeDecrease(final double multiplicativeDecrease) {
+        if (!(multiplicativeDecrease > 0 && multiplicativeDecrease < 1))
+            throw new IllegalArgumentException(
+                    "Multiplicative decrease must be between 0 and 1 excluded");
+        this.multiplicativeDecrease = multiplicativeDecrease;
+    }
+
+    /**
+     * Gets the maximum time a request waits for its turn before it is rejected.
+     * @return the maximum wait
+     */
+    @Nonnull public Duration getMaxWait() {
+        return maxWait;
+    }
+
+    /**
+     * Sets the maximum time a request waits for its turn before it is rejected, zero rejects requests which cannot be sent immediately.
+     * @param maxWait the maximum wait
+     */
+    public void setMaxWait(@Nonnull final Duration maxWait) {
+        Objects.requireNonNull(maxWait, "parameter maxWait cannot be null");
+        if (maxWait.isNegative()) throw new IllegalArgumentException("Max wait cannot be negative");
+        this.maxWait = maxWait;
+    }
+
+    /**
+     * Gets whether a separate rate is kept for each url template of a host.
+     * @return whether the rate is kept per url template
+     */
+    public boolean isPerUrlTemplate() {
+        return perUrlTemplate;
+    }
+
+    /**
+     * Sets whether a separate rate is kept for each url template of a host, instead of one rate per host.
+     * Requests which were not built from a url template share the rate of their host.
+     * @param perUrlTemplate whether the rate is kept per url template
+     */
+    public void setPerUrlTemplate(final boolean perUrlTemplate) {
+        this.perUrlTemplate = perUrlTemplate;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @SuppressWarnings("unchecked")
+    @Nonnull public <T extends RequestOption> Class<T> getType() {
+        return (Class<T>) RateLimitHandlerOption.class;
+    }
+}
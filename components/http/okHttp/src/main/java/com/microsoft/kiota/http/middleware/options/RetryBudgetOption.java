@@ -0,0 +1,124 @@
+package com.microsoft.kiota.http.middleware.options;
+
+import com.microsoft.kiota.RequestOption;
+
+import jakarta.annotation.Nonnull;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * The options of the retry budget applied by the retry middleware.
+ * The budget allows retries up to a fraction of the requests which succeeded recently, plus a small reserve so clients with little traffic can still retry.
+ * When the budget is exhausted, failed responses are returned to the caller without being retried.
+ */
+public final class RetryBudgetOption implements RequestOption {
+    /** Default fraction of the recently successful requests which can be retried */
+    public static final double DEFAULT_RETRY_RATIO = 0.1;
+
+    /** Default number of retries per second allowed regardless of the traffic */
+    public static final double DEFAULT_MIN_RETRIES_PER_SECOND = 1;
+
+    /** Default duration over which the requests and retries are counted */
+    @Nonnull public static final Duration DEFAULT_WINDOW = Duration.ofSeconds(10);
+
+    private boolean enabled = true;
+    private double retryRatio = DEFAULT_RETRY_RATIO;
+    private double minRetriesPerSecond = DEFAULT_MIN_RETRIES_PER_SECOND;
+    @Nonnull private Duration window = DEFAULT_WINDOW;
+
+    /**
+     * Create default instance of retry budget options.
+     */
+    public RetryBudgetOption() {}
+
+    /**
+     * Create a copy of the provided retry budget options.
+     * @param source the options to copy
+     */
+    public RetryBudgetOption(@Nonnull final RetryBudgetOption source) {
+        Objects.requireNonNull(source, "parameter source cannot be null");
+        this.enabled = source.enabled;
+        this.retryRatio = source.retryRatio;
+        this.minRetriesPerSecond = source.minRetriesPerSecond;
+        this.window = source.window;
+    }
+
+    /**
+     * Gets whether retries are limited by the budget.
+     * @return whether retries are limited by the budget
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether retries are limited by the budget.
+     * @param enabled whether retries are limited by the budget
+     */
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Gets the fraction of the recently successful requests which can be retried.
+     * @return the retry ratio
+     */
+    public double getRetryRatio() {
+        return retryRatio;
+    }
+
+    /**
+     * Sets the fraction of the recently successful requests which can be retried.
+     * @param retryRatio the retry ratio, zero or more
+     */
+    public void setRetryRatio(final double retryRatio) {
+        if (!(retryRatio >= 0))
+            throw new IllegalArgumentException("Retry ratio cannot be negative");
+        this.retryRatio = retryRatio;
+    }
+
+    /**
+     * Gets the number of retries per second allowed regardless of the traffic.
+     * @return the minimum number of retries per second
+     */
+    public double getMinRetriesPerSecond() {
+        return minRetriesPerSecond;
+    }
+
+    /**
+     * Sets the number of retries per second allowed regardless of the traffic.
+     * @param minRetriesPerSecond the minimum number of retries per second, zero or more
+     */
+    public void setMinRetriesPerSecond(final double minRetriesPerSecond) {
+        if (!(minRetriesPerSecond >= 0))
+            throw new IllegalArgumentException("Min retries per second cannot be negative");
+        this.minRetriesPerSecond = minRetriesPerSecond;
+    }
+
+    /**
+     * Gets the duration over which the requests and retries are counted.
+     * @return the window
+     */
+    @Nonnull public Duration getWindow() {
+        return window;
+    }
+
+    /**
+     * Sets the duration over which the requests and retries are counted, rounded to whole seconds.
+     * @param window the window, at least one second
+     */
+    public void setWindow(@Nonnull final Duration window) {
+        Objects.requireNonNull(window, "parameter window cannot be null");
+        if (window.getSeconds() < 1)
+            throw new IllegalArgumentException("Window must be at least one second");
+        this.window = window;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @SuppressWarnings("unchecked")
+    @Nonnull public <T extends RequestOption> Class<T> getType() {
+        return (Class<T>) RetryBudgetOption.class;
+    }
+}
@@ -0,0 +1,133 @@
+package com.microsoft.kiota.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.opentelemetry.api.trace.Span;
+
+import jakarta.annotation.Nonnull;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+class HedgedCallTest {
+    private static final String KEY = "GET /users";
+    private static final Request REQUEST =
+            new Request.Builder().url("https://graph.microsoft.com/v1.0/users").build();
+
+    private final Call primary = mock(Call.class);
+    private final Call hedge = mock(Call.class);
+    private RecordingCallback callback;
+
+    private static HedgingPolicy createPolicy() {
+        final var options = new HedgingOptions();
+        options.setInitialDelay(Duration.ofMillis(1));
+        options.setMinDelay(Duration.ofMillis(1));
+        options.setPercentile(50);
+        options.setMaxExtraLoad(1);
+        return new HedgingPolicy(options);
+    }
+
+    private static Response respond(final int statusCode) {
+        return new Response.Builder()
+                .request(REQUEST)
+                .protocol(Protocol.HTTP_1_1)
+                .code(statusCode)
+                .message("Status")
+                .body(ResponseBody.create("", null))
+                .build();
+    }
+
+    /**
+     * Sends the first copy of a request, waits and sends the second copy
+     * @param policy the hedging policy
+     * @param delayMillis the time the first copy is in flight before the second one is sent
+     * @return the hedged call
+     */
+    private HedgedCall sendWithHedge(final HedgingPolicy policy, final long delayMillis)
+            throws InterruptedException {
+        final var client = mock(Call.Factory.class);
+        when(client.newCall(any(Request.class))).thenReturn(primary, hedge);
+        final var scheduler = mock(ScheduledExecutorService.class);
+        callback = new RecordingCallback();
+        final var hedgedCall =
+                new HedgedCall(client, REQUEST, KEY, policy, mock(Span.class), callback);
+        hedgedCall.enqueue(scheduler);
+        final var sendHedge = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).schedule(sendHedge.capture(), anyLong(), any(TimeUnit.class));
+        Thread.sleep(delayMillis);
+        sendHedge.getValue().run();
+        verify(hedge).enqueue(hedgedCall);
+        return hedgedCall;
+    }
+
+    @Test
+    void recordsTheLatencyOfTheFirstCopyWhenTheSecondOneWins() throws Exception {
+        final var policy = createPolicy();
+        for (int i = 0; i < HedgingPolicy.MIN_SAMPLES; i++) {
+            final var hedgedCall = sendWithHedge(policy, 20);
+            final var response = respond(200);
+            hedgedCall.onResponse(hedge, response);
+            assertSame(response, callback.result.getNow(null));
+        }
+        // the second copies answered immediately, the first ones were in flight for 20ms
+        assertTrue(policy.getDelayMillis(KEY) >= 20);
+    }
+
+    @Test
+    void serverErrorsWaitForTheOtherCopy() throws Exception {
+        final var hedgedCall = sendWithHedge(createPolicy(), 0);
+
+        hedgedCall.onResponse(primary, respond(503));
+        assertFalse(callback.result.isDone());
+        final var response = respond(200);
+        hedgedCall.onResponse(hedge, response);
+
+        assertSame(response, callback.result.getNow(null));
+        verify(primary).cancel();
+    }
+
+    @Test
+    void serverErrorsAreReturnedWhenTheOtherCopyFails() throws Exception {
+        final var hedgedCall = sendWithHedge(createPolicy(), 0);
+
+        hedgedCall.onResponse(primary, respond(503));
+        hedgedCall.onFailure(hedge, new IOException("connection reset"));
+
+        assertEquals(503, callback.result.get().code());
+    }
+
+    private static final class RecordingCallback implements Callback {
+        private final CompletableFuture<Response> result = new CompletableFuture<>();
+
+        @Override
+        public void onResponse(@Nonnull final Call call, @Nonnull final Response response) {
+            result.complete(response);
+        }
+
+        @Override
+        public void onFailure(@Nonnull final Call call, @Nonnull final IOException ex) {
+            result.completeExceptionally(ex);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.microsoft.kiota.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+class HedgingPolicyTest {
+
+    private static HedgingOptions createOptions(double maxExtraLoad) {
+        final var options = new HedgingOptions();
+        options.setInitialDelay(Duration.ofMillis(500));
+        options.setMinDelay(Duration.ofMillis(5));
+        options.setPercentile(90);
+        options.setMaxExtraLoad(maxExtraLoad);
+        return options;
+    }
+
+    @Test
+    void usesTheInitialDelayUntilEnoughLatenciesWereRecorded() {
+        final var policy = new HedgingPolicy(createOptions(0.1));
+        for (int i = 1; i < HedgingPolicy.MIN_SAMPLES; i++) {
+            policy.recordLatency("GET /users", 10);
+        }
+        assertEquals(500, policy.getDelayMillis("GET /users"));
+    }
+
+    @Test
+    void usesThePercentileOfTheRecentLatencies() {
+        final var policy = new HedgingPolicy(createOptions(0.1));
+        for (int i = 1; i <= 100; i++) {
+            policy.recordLatency("GET /users", i);
+            policy.recordLatency("GET /groups", 1);
+        }
+        assertEquals(90, policy.getDelayMillis("GET /users"));
+        // the minimum delay applies to fast url templates
+        assertEquals(5, policy.getDelayMillis("GET /groups"));
+    }
+
+    @Test
+    void capsTheExtraLoad() {
+        final var policy = new HedgingPolicy(createOptions(0.25));
+        for (int i = 0; i < 4; i++) {
+            assertFalse(policy.tryAcquireHedge());
+            policy.recordRequest();
+        }
+        assertTrue(policy.tryAcquireHedge());
+        assertFalse(policy.tryAcquireHedge());
+    }
+}
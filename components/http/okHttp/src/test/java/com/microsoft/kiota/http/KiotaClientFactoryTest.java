@@ -7,25 +7,40 @@ import com.microsoft.kiota.RequestOption;
 import com.microsoft.kiota.authentication.AccessTokenProvider;
 import com.microsoft.kiota.authentication.BaseBearerTokenAuthenticationProvider;
 import com.microsoft.kiota.http.middleware.AuthorizationHandler;
+import com.microsoft.kiota.http.middleware.CacheHandler;
 import com.microsoft.kiota.http.middleware.ChaosHandler;
+import com.microsoft.kiota.http.middleware.CompressionHandler;
+import com.microsoft.kiota.http.middleware.DecompressionHandler;
 import com.microsoft.kiota.http.middleware.HeadersInspectionHandler;
 import com.microsoft.kiota.http.middleware.ParametersNameDecodingHandler;
+import com.microsoft.kiota.http.middleware.RateLimitHandler;
 import com.microsoft.kiota.http.middleware.RedirectHandler;
 import com.microsoft.kiota.http.middleware.RetryHandler;
 import com.microsoft.kiota.http.middleware.UrlReplaceHandler;
 import com.microsoft.kiota.http.middleware.UserAgentHandler;
+import com.microsoft.kiota.http.middleware.options.CacheHandlerOption;
+import com.microsoft.kiota.http.middleware.options.CompressionHandlerOption;
+import com.microsoft.kiota.http.middleware.options.DecompressionHandlerOption;
+import com.microsoft.kiota.http.middleware.options.RateLimitHandlerOption;
 import com.microsoft.kiota.http.middleware.options.RetryHandlerOption;
 import com.microsoft.kiota.http.middleware.options.UrlReplaceHandlerOption;
 
 import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
 
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 public class KiotaClientFactoryTest {
 
@@ -103,6 +118,81 @@ public class KiotaClientFactoryTest {
         }
     }
 
+    @Test
+    void testDefaultInterceptorsAddCacheHandlerBeforeRedirectsWhenOptionPassedIn() {
+        final CacheHandlerOption cacheHandlerOption = new CacheHandlerOption();
+
+        Interceptor[] interceptors =
+                KiotaClientFactory.createDefaultInterceptors(
+                        new RequestOption[] {cacheHandlerOption});
+        assertEquals(7, interceptors.length);
+        assertTrue(interceptors[3] instanceof HeadersInspectionHandler);
+        assertTrue(interceptors[4] instanceof CacheHandler);
+        assertTrue(interceptors[5] instanceof RedirectHandler);
+        assertSame(
+                cacheHandlerOption.getStore(),
+                ((CacheHandler) interceptors[4]).getCacheOptions().getStore());
+
+        OkHttpClient client =
+                KiotaClientFactory.create(
+                                mock(BaseBearerTokenAuthenticationProvider.class),
+                                new RequestOption[] {cacheHandlerOption})
+                        .build();
+        assertTrue(client.interceptors().get(4) instanceof AuthorizationHandler);
+        assertTrue(client.interceptors().get(5) instanceof CacheHandler);
+    }
+
+    @Test
+    void testDefaultInterceptorsAddCompressionHandlerBeforeRedirectsWhenOptionPassedIn() {
+        final CompressionHandlerOption compressionHandlerOption = new CompressionHandlerOption();
+        compressionHandlerOption.setMinimumSize(42);
+
+        Interceptor[] interceptors =
+                KiotaClientFactory.createDefaultInterceptors(
+                        new RequestOption[] {compressionHandlerOption});
+        assertEquals(7, interceptors.length);
+        assertTrue(interceptors[4] instanceof CompressionHandler);
+        assertTrue(interceptors[5] instanceof RedirectHandler);
+        assertEquals(
+                42,
+                ((CompressionHandler) interceptors[4]).getCompressionOptions().getMinimumSize());
+    }
+
+    @Test
+    void testDefaultInterceptorsAddDecompressionHandlerAfterCacheWhenOptionPassedIn() {
+        final DecompressionHandlerOption decompressionHandlerOption =
+                new DecompressionHandlerOption();
+
+        Interceptor[] interceptors =
+                KiotaClientFactory.createDefaultInterceptors(
+                        new RequestOption[] {decompressionHandlerOption, new CacheHandlerOption()});
+        assertEquals(8, interceptors.length);
+        assertTrue(interceptors[4] instanceof CacheHandler);
+        assertTrue(interceptors[5] instanceof DecompressionHandler);
+        assertTrue(interceptors[6] instanceof RedirectHandler);
+        assertEquals(
+                decompressionHandlerOption.getDecoders(),
+                ((DecompressionHandler) interceptors[5]).getDecompressionOptions().getDecoders());
+    }
+
+    @Test
+    void testDefaultInterceptorsAddRateLimitHandlerWhenOptionPassedIn() {
+        final RateLimitHandlerOption rateLimitHandlerOption = new RateLimitHandlerOption();
+        rateLimitHandlerOption.setMaxRequestsPerSecond(10);
+
+        Interceptor[] interceptors =
+                KiotaClientFactory.createDefaultInterceptors(
+                        new RequestOption[] {rateLimitHandlerOption});
+        assertEquals(7, interceptors.length);
+        assertTrue(interceptors[5] instanceof RetryHandler);
+        assertTrue(interceptors[6] instanceof RateLimitHandler);
+        assertEquals(
+                10,
+                ((RateLimitHandler) interceptors[6])
+                        .getRateLimitOptions()
+                        .getMaxRequestsPerSecond());
+    }
+
     @Test
     void testCreateWithAuthProviderAndRequestOptions() throws IOException {
         RetryHandlerOption retryHandlerOption =
@@ -159,6 +249,97 @@ public class KiotaClientFactoryTest {
         assertFalse(client.followRedirects());
     }
 
+    @Test
+    void defaultOptionsKeepTheDefaultConnectionConfiguration() {
+        OkHttpClient client = KiotaClientFactory.create().build();
+        assertEquals(64, client.dispatcher().getMaxRequests());
+        assertEquals(5, client.dispatcher().getMaxRequestsPerHost());
+        assertEquals(100_000, client.callTimeoutMillis());
+        assertEquals(0, client.pingIntervalMillis());
+        assertTrue(client.protocols().contains(Protocol.HTTP_1_1));
+    }
+
+    @Test
+    void appliesTheHighThroughputSingleHostPreset() {
+        OkHttpClient client =
+                KiotaClientFactory.create(KiotaClientOptions.highThroughputSingleHost()).build();
+        assertEquals(6, client.interceptors().size());
+        assertEquals(256, client.dispatcher().getMaxRequestsPerHost());
+        assertEquals(30_000, client.pingIntervalMillis());
+    }
+
+    @Test
+    void appliesTheClientOptions() {
+        final KiotaClientOptions options = KiotaClientOptions.manyHosts();
+        options.setHttp2PriorKnowledge(true);
+        options.setReadTimeout(Duration.ofSeconds(10));
+        OkHttpClient client =
+                KiotaClientFactory.create(new Interceptor[] {new ChaosHandler()}, options).build();
+        assertEquals(1, client.interceptors().size());
+        assertEquals(16, client.dispatcher().getMaxRequestsPerHost());
+        assertEquals(10_000, client.readTimeoutMillis());
+        assertEquals(List.of(Protocol.H2_PRIOR_KNOWLEDGE), client.protocols());
+        assertThrows(IllegalArgumentException.class, () -> options.setMaxRequestsPerHost(0));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> options.setPingInterval(Duration.ofSeconds(-1)));
+    }
+
+    @Test
+    void runsAsynchronousCallsOnVirtualThreadsWhenSupported() {
+        final KiotaClientOptions options = new KiotaClientOptions();
+        options.setUseVirtualThreads(true);
+        OkHttpClient client = KiotaClientFactory.create(options).build();
+        assertEquals(
+                VirtualThreads.isSupported(),
+                !(client.dispatcher().executorService() instanceof ThreadPoolExecutor));
+        if (!VirtualThreads.isSupported()) {
+            assertThrows(
+                    UnsupportedOperationException.class,
+                    VirtualThreads::newVirtualThreadPerTaskExecutor);
+        }
+    }
+
+    @Test
+    void prewarmsConnectionsWithoutTheMiddleware() throws Exception {
+        try (final MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse());
+            server.start();
+            final KiotaClientOptions options = new KiotaClientOptions();
+            options.setPrewarmUrls(List.of(server.url("/v1.0").toString(), "not a url"));
+            OkHttpClient client = KiotaClientFactory.create(options).build();
+
+            KiotaClientFactory.prewarmConnections(client, options).get(10, TimeUnit.SECONDS);
+
+            final RecordedRequest request = server.takeRequest(10, TimeUnit.SECONDS);
+            assertNotNull(request);
+            assertEquals("HEAD", request.getMethod());
+            assertFalse(request.getHeader("User-Agent").contains("kiota-java"));
+            assertEquals(1, client.connectionPool().connectionCount());
+        }
+    }
+
+    @Test
+    void prewarmsConnectionsWithTheConfiguredMethod() throws Exception {
+        try (final MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse());
+            server.start();
+            final KiotaClientOptions options = new KiotaClientOptions();
+            options.setPrewarmUrls(List.of(server.url("/health").toString()));
+            options.setPrewarmMethod("OPTIONS");
+            OkHttpClient client = KiotaClientFactory.create(options).build();
+
+            KiotaClientFactory.prewarmConnections(client, options).get(10, TimeUnit.SECONDS);
+
+            final RecordedRequest request = server.takeRequest(10, TimeUnit.SECONDS);
+            assertNotNull(request);
+            assertEquals("OPTIONS", request.getMethod());
+            assertEquals("/health", request.getPath());
+            assertNull(request.getHeader("Authorization"));
+            assertThrows(IllegalArgumentException.class, () -> options.setPrewarmMethod("POST"));
+        }
+    }
+
     private static RetryHandler getDisabledRetryHandler() {
         RetryHandlerOption retryHandlerOption =
                 new RetryHandlerOption((delay, executionCount, request, response) -> false, 0, 0);
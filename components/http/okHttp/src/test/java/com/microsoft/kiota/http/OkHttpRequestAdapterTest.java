@@ -10,10 +10,18 @@ import com.microsoft.kiota.NativeResponseHandler;
 import com.microsoft.kiota.RequestInformation;
 import com.microsoft.kiota.authentication.AuthenticationProvider;
 import com.microsoft.kiota.http.middleware.MockResponseHandler;
+import com.microsoft.kiota.http.middleware.RateLimitHandler;
+import com.microsoft.kiota.http.middleware.RetryHandler;
+import com.microsoft.kiota.http.middleware.options.RateLimitHandlerOption;
 import com.microsoft.kiota.serialization.Parsable;
 import com.microsoft.kiota.serialization.ParsableFactory;
 import com.microsoft.kiota.serialization.ParseNode;
 import com.microsoft.kiota.serialization.ParseNodeFactory;
+import com.microsoft.kiota.serialization.SerializationWriter;
+import com.microsoft.kiota.serialization.SerializedContentStream;
+import com.microsoft.kiota.store.BackedModel;
+import com.microsoft.kiota.store.BackingStore;
+import com.microsoft.kiota.store.InMemoryBackingStore;
 
 import io.opentelemetry.api.GlobalOpenTelemetry;
 import io.opentelemetry.api.trace.Span;
@@ -29,6 +37,9 @@ import okhttp3.Response;
 import okhttp3.ResponseBody;
 import okhttp3.logging.HttpLoggingInterceptor;
 import okhttp3.logging.HttpLoggingInterceptor.Level;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
 
 import okio.Buffer;
 import okio.Okio;
@@ -44,10 +55,18 @@ import org.mockito.stubbing.Answer;
 import java.io.*;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 public class OkHttpRequestAdapterTest {
@@ -215,6 +234,656 @@ public class OkHttpRequestAdapterTest {
         assertNotNull(response);
     }
 
+    @ParameterizedTest
+    @ValueSource(ints = {200, 201, 202, 203})
+    void sendAsyncReturnsObjectOnContent(int statusCode) throws Exception {
+        final var authenticationProviderMock = mock(AuthenticationProvider.class);
+        authenticationProviderMock.authenticateRequest(
+                any(RequestInformation.class), any(Map.class));
+        final var client =
+                getMockClient(
+                        new Response.Builder()
+                                .code(statusCode)
+                                .message("OK")
+                                .protocol(Protocol.HTTP_1_1)
+                                .request(new Request.Builder().url("http://localhost").build())
+                                .body(
+                                        ResponseBody.create(
+                                                "test".getBytes("UTF-8"),
+                                                MediaType.parse("application/json")))
+                                .build());
+        final var requestInformation =
+                new RequestInformation() {
+                    {
+                        setUri(new URI("https://localhost"));
+                        httpMethod = HttpMethod.GET;
+                    }
+                };
+        final var mockEntity = creatMockEntity();
+        final var mockParseNode = creatMockParseNode(mockEntity);
+        final var mockFactory = creatMockParseNodeFactory(mockParseNode, "application/json");
+        final var requestAdapter =
+                new OkHttpRequestAdapter(authenticationProviderMock, mockFactory, null, client);
+        final var response =
+                requestAdapter.sendAsync(requestInformation, null, (node) -> mockEntity).get();
+        assertNotNull(response);
+        verify(client.newCall(any()), never()).execute();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {200, 201, 202, 203, 204, 205, 304})
+    void sendAsyncReturnsNullOnNoContent(int statusCode) throws Exception {
+        final var authenticationProviderMock = mock(AuthenticationProvider.class);
+        authenticationProviderMock.authenticateRequest(
+                any(RequestInformation.class), any(Map.class));
+        final var client =
+                getMockClient(
+                        new Response.Builder()
+                                .code(statusCode)
+                                .message("OK")
+                                .protocol(Protocol.HTTP_1_1)
+                                .request(new Request.Builder().url("http://localhost").build())
+                                .body(null)
+                                .build());
+        final var requestAdapter =
+                new OkHttpRequestAdapter(authenticationProviderMock, null, null, client);
+        final var requestInformation =
+                new RequestInformation() {
+                    {
+                        setUri(new URI("https://localhost"));
+                        httpMethod = HttpMethod.GET;
+                    }
+                };
+        final var mockEntity = creatMockEntity();
+        assertNull(requestAdapter.sendAsync(requestInformation, null, (node) -> mockEntity).get());
+        assertNull(
+                requestAdapter
+                        .sendPrimitiveAsync(requestInformation, null, InputStream.class)
+                        .get());
+    }
+
+    @Test
+    void sendAsyncCompletesExceptionallyOnFailedResponse() throws Exception {
+        final var authenticationProviderMock = mock(AuthenticationProvider.class);
+        authenticationProviderMock.authenticateRequest(
+                any(RequestInformation.class), any(Map.class));
+        final var client =
+                getMockClient(
+                        new Response.Builder()
+                                .code(404)
+                                .message("Not Found")
+                                .protocol(Protocol.HTTP_1_1)
+                                .request(new Request.Builder().url("http://localhost").build())
+                                .body(
+                                        ResponseBody.create(
+                                                "test".getBytes("UTF-8"),
+                                                MediaType.parse("application/json")))
+                                .build());
+        final var requestInformation =
+                new RequestInformation() {
+                    {
+                        setUri(new URI("https://localhost"));
+                        httpMethod = HttpMethod.GET;
+                    }
+                };
+        final var mockEntity = creatMockEntity();
+        final var requestAdapter =
+                new OkHttpRequestAdapter(authenticationProviderMock, null, null, client);
+        final var future = requestAdapter.sendAsync(requestInformation, null, node -> mockEntity);
+        final var exception = assertThrows(ExecutionException.class, future::get);
+        assertInstanceOf(ApiException.class, exception.getCause());
+        assertEquals(404, ((ApiException) exception.getCause()).getResponseStatusCode());
+    }
+
+    @Test
+    void sendAsyncCompletesExceptionallyOnNetworkFailure() throws Exception {
+        final var authenticationProviderMock = mock(AuthenticationProvider.class);
+        final OkHttpClient mockClient = mock(OkHttpClient.class);
+        final Call remoteCall = mock(Call.class);
+        doAnswer(
+                        (Answer<Void>)
+                                invocation -> {
+                                    Callback callback = invocation.getArgument(0);
+                                    callback.onFailure(remoteCall, new IOException("boom"));
+                                    return null;
+                                })
+                .when(remoteCall)
+                .enqueue(any(Callback.class));
+        when(mockClient.newCall(any())).thenReturn(remoteCall);
+        final var requestInformation =
+                new RequestInformation() {
+                    {
+                        setUri(new URI("https://localhost"));
+                        httpMethod = HttpMethod.GET;
+                    }
+                };
+        final var requestAdapter =
+                new OkHttpRequestAdapter(authenticationProviderMock, null, null, mockClient);
+        final var future =
+                requestAdapter.sendPrimitiveAsync(requestInformation, null, String.class);
+        final var exception = assertThrows(ExecutionException.class, future::get);
+        assertInstanceOf(IOException.class, exception.getCause().getCause());
+    }
+
+    @Test
+    void sendAsyncCancelsTheCallWhenTheFutureIsCancelled() throws Exception {
+        final OkHttpClient mockClient = mock(OkHttpClient.class);
+        final Call remoteCall = mock(Call.class);
+        when(mockClient.newCall(any())).thenReturn(remoteCall);
+        final var requestInformation =
+                new RequestInformation() {
+                    {
+                        setUri(new URI("https://localhost"));
+                        httpMethod = HttpMethod.GET;
+                    }
+                };
+        final var requestAdapter =
+                new OkHttpRequestAdapter(
+                        mock(AuthenticationProvider.class), null, null, mockClient);
+        final var future =
+                requestAdapter.sendPrimitiveAsync(requestInformation, null, String.class);
+        verify(remoteCall).enqueue(any(Callback.class));
+
+        assertTrue(future.cancel(true));
+
+        verify(remoteCall).cancel();
+    }
+
+    @Test
+    void sendAsyncSchedulesRetriesWithoutHoldingTheDispatcherThread() throws Exception {
+        try (final var server = new MockWebServer()) {
+            final var throttledCount = new AtomicInteger();
+            server.setDispatcher(
+                    new okhttp3.mockwebserver.Dispatcher() {
+                        @Override
+                        public MockResponse dispatch(final RecordedRequest request) {
+                            if ("/throttled".equals(request.getPath())
+                                    && throttledCount.getAndIncrement() == 0) {
+                                return new MockResponse()
+                                        .setResponseCode(429)
+                                        .setHeader("Retry-After", "1");
+                            }
+                            return new MockResponse().setBody("ok");
+                        }
+                    });
+            server.start();
+            final var executor = Executors.newSingleThreadExecutor();
+            final var client =
+                    new OkHttpClient.Builder()
+                            .dispatcher(new Dispatcher(executor))
+                            .addInterceptor(new RetryHandler())
+                            .build();
+            final var requestAdapter =
+                    new OkHttpRequestAdapter(
+                            mock(AuthenticationProvider.class), null, null, client);
+            requestAdapter.setAsyncRetryEnabled(true);
+            try {
+                final var throttled =
+                        requestAdapter.sendPrimitiveAsync(
+                                getRequestInformation(server.url("/throttled").uri()),
+                                null,
+                                InputStream.class);
+                assertEquals("/throttled", server.takeRequest().getPath());
+
+                // the only dispatcher thread is free while the throttled request waits
+                final var healthy =
+                        requestAdapter.sendPrimitiveAsync(
+                                getRequestInformation(server.url("/healthy").uri()),
+                                null,
+                                InputStream.class);
+                healthy.get(500, TimeUnit.MILLISECONDS).close();
+                assertFalse(throttled.isDone());
+
+                try (final var body = throttled.get(5, TimeUnit.SECONDS)) {
+                    assertEquals("ok", new String(body.readAllBytes(), StandardCharsets.UTF_8));
+                }
+                assertEquals("/healthy", server.takeRequest().getPath());
+                assertEquals("1", server.takeRequest().getHeader("Retry-Attempt"));
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+
+    @Test
+    void sendAsyncDefersRateLimitedRequestsWithoutHoldingTheDispatcherThread() throws Exception {
+        try (final var server = new MockWebServer()) {
+            server.setDispatcher(
+                    new okhttp3.mockwebserver.Dispatcher() {
+                        @Override
+                        public MockResponse dispatch(final RecordedRequest request) {
+                            return new MockResponse().setBody("ok");
+                        }
+                    });
+            server.start();
+            final var rateLimitOption = new RateLimitHandlerOption();
+            rateLimitOption.setMaxRequestsPerSecond(2);
+            rateLimitOption.setBurst(1);
+            final var executor = Executors.newSingleThreadExecutor();
+            final var client =
+                    new OkHttpClient.Builder()
+                            .dispatcher(new Dispatcher(executor))
+                            .addInterceptor(new RetryHandler())
+                            .addInterceptor(new RateLimitHandler(rateLimitOption))
+                            .build();
+            final var requestAdapter =
+                    new OkHttpRequestAdapter(
+                            mock(AuthenticationProvider.class), null, null, client);
+            requestAdapter.setAsyncRetryEnabled(true);
+            try {
+                requestAdapter
+                        .sendPrimitiveAsync(
+                                getRequestInformation(server.url("/first").uri()),
+                                null,
+                                InputStream.class)
+                        .get(5, TimeUnit.SECONDS)
+                        .close();
+                // the burst is used up, the next request waits half a second for its turn
+                final var paced =
+                        requestAdapter.sendPrimitiveAsync(
+                                getRequestInformation(server.url("/paced").uri()),
+                                null,
+                                InputStream.class);
+
+                // the only dispatcher thread is free while the paced request waits
+                final var unlimited = new RateLimitHandlerOption();
+                unlimited.setEnabled(false);
+                final var unlimitedRequest = getRequestInformation(server.url("/unlimited").uri());
+                unlimitedRequest.addRequestOptions(List.of(unlimited));
+                requestAdapter
+                        .sendPrimitiveAsync(unlimitedRequest, null, InputStream.class)
+                        .get(300, TimeUnit.MILLISECONDS)
+                        .close();
+                assertFalse(paced.isDone());
+
+                paced.get(5, TimeUnit.SECONDS).close();
+                assertEquals("/first", server.takeRequest().getPath());
+                assertEquals("/unlimited", server.takeRequest().getPath());
+                final var pacedRequest = server.takeRequest();
+                assertEquals("/paced", pacedRequest.getPath());
+                assertNull(pacedRequest.getHeader("Retry-Attempt"));
+                assertEquals(3, server.getRequestCount());
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+
+    private static MockWebServer startSlowFirstResponseServer(final long delayMillis)
+            throws IOException {
+        final var server = new MockWebServer();
+        final var requestCount = new AtomicInteger();
+        server.setDispatcher(
+                new okhttp3.mockwebserver.Dispatcher() {
+                    @Override
+                    public MockResponse dispatch(final RecordedRequest request) {
+                        if (requestCount.getAndIncrement() == 0) {
+                            return new MockResponse()
+                                    .setHeadersDelay(delayMillis, TimeUnit.MILLISECONDS)
+                                    .setBody("slow");
+                        }
+                        return new MockResponse().setBody("fast");
+                    }
+                });
+        server.start();
+        return server;
+    }
+
+    @Test
+    void sendHedgesSlowGetRequests() throws Exception {
+        try (final var server = startSlowFirstResponseServer(5000)) {
+            final var requestAdapter =
+                    new OkHttpRequestAdapter(
+                            mock(AuthenticationProvider.class),
+                            null,
+                            null,
+                            new OkHttpClient.Builder().build());
+            final var hedgingOptions = new HedgingOptions();
+            hedgingOptions.setInitialDelay(Duration.ofMillis(50));
+            hedgingOptions.setMaxExtraLoad(1);
+            requestAdapter.setHedgingOptions(hedgingOptions);
+
+            final long start = System.nanoTime();
+            try (final var body =
+                    requestAdapter.sendPrimitive(
+                            getRequestInformation(server.url("/slow").uri()),
+                            null,
+                            InputStream.class)) {
+                assertNotNull(body);
+                assertEquals("fast", new String(body.readAllBytes(), StandardCharsets.UTF_8));
+            }
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(4));
+            assertEquals(2, server.getRequestCount());
+        }
+    }
+
+    @Test
+    void sendHedgesOnTheCallingThreadWhenTheDispatcherIsBusy() throws Exception {
+        try (final var server = new MockWebServer()) {
+            server.setDispatcher(
+                    new okhttp3.mockwebserver.Dispatcher() {
+                        @Override
+                        public MockResponse dispatch(final RecordedRequest request) {
+                            if ("/busy".equals(request.getPath())) {
+                                return new MockResponse()
+                                        .setHeadersDelay(3, TimeUnit.SECONDS)
+                                        .setBody("busy");
+                            }
+                            return new MockResponse().setBody("ok");
+                        }
+                    });
+            server.start();
+            final var dispatcher = new Dispatcher();
+            dispatcher.setMaxRequestsPerHost(1);
+            final var client = new OkHttpClient.Builder().dispatcher(dispatcher).build();
+            final var requestAdapter =
+                    new OkHttpRequestAdapter(
+                            mock(AuthenticationProvider.class), null, null, client);
+            final var hedgingOptions = new HedgingOptions();
+            hedgingOptions.setInitialDelay(Duration.ofSeconds(1));
+            requestAdapter.setHedgingOptions(hedgingOptions);
+            // the only dispatcher slot for the host is taken by a slow asynchronous call
+            final var busy = client.newCall(new Request.Builder().url(server.url("/busy")).build());
+            busy.enqueue(
+                    new Callback() {
+                        @Override
+                        public void onFailure(Call call, IOException e) {}
+
+                        @Override
+                        public void onResponse(Call call, Response response) {
+                            response.close();
+                        }
+                    });
+
+            final long start = System.nanoTime();
+            try (final var body =
+                    requestAdapter.sendPrimitive(
+                            getRequestInformation(server.url("/ok").uri()),
+                            null,
+                            InputStream.class)) {
+                assertNotNull(body);
+                assertEquals("ok", new String(body.readAllBytes(), StandardCharsets.UTF_8));
+            }
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+            busy.cancel();
+        }
+    }
+
+    @Test
+    void sendDoesNotHedgeBeyondTheExtraLoadCap() throws Exception {
+        try (final var server = startSlowFirstResponseServer(300)) {
+            final var requestAdapter =
+                    new OkHttpRequestAdapter(
+                            mock(AuthenticationProvider.class),
+                            null,
+                            null,
+                            new OkHttpClient.Builder().build());
+            final var hedgingOptions = new HedgingOptions();
+            hedgingOptions.setInitialDelay(Duration.ofMillis(50));
+            hedgingOptions.setMaxExtraLoad(0);
+            requestAdapter.setHedgingOptions(hedgingOptions);
+
+            final var body =
+                    requestAdapter
+                            .sendPrimitiveAsync(
+                                    getRequestInformation(server.url("/slow").uri()),
+                                    null,
+                                    InputStream.class)
+                            .get(5, TimeUnit.SECONDS);
+            assertNotNull(body);
+            try (body) {
+                assertEquals("slow", new String(body.readAllBytes(), StandardCharsets.UTF_8));
+            }
+            assertEquals(1, server.getRequestCount());
+        }
+    }
+
+    private static MockWebServer startSlowSharedResponseServer() throws IOException {
+        final var server = new MockWebServer();
+        server.setDispatcher(
+                new okhttp3.mockwebserver.Dispatcher() {
+                    @Override
+                    public MockResponse dispatch(final RecordedRequest request) {
+                        return new MockResponse()
+                                .setHeadersDelay(300, TimeUnit.MILLISECONDS)
+                                .setHeader("Content-Type", "application/json")
+                                .setBody("shared");
+                    }
+                });
+        server.start();
+        return server;
+    }
+
+    @Test
+    void sendAsyncCoalescesIdenticalConcurrentGetRequests() throws Exception {
+        try (final var server = startSlowSharedResponseServer()) {
+            // the parse node returns the body it was created over
+            final var parseNodeFactory = mock(ParseNodeFactory.class);
+            when(parseNodeFactory.getValidContentType()).thenReturn("application/json");
+            when(parseNodeFactory.getParseNode(any(String.class), any(InputStream.class)))
+                    .thenAnswer(
+                            invocation -> {
+                                final InputStream body = invocation.getArgument(1);
+                                final var parseNode = mock(ParseNode.class);
+                                when(parseNode.getStringValue())
+                                        .thenReturn(
+                                                new String(
+                                                        body.readAllBytes(),
+                                                        StandardCharsets.UTF_8));
+                                return parseNode;
+                            });
+            final var requestAdapter =
+                    new OkHttpRequestAdapter(
+                            mock(AuthenticationProvider.class),
+                            parseNodeFactory,
+                            null,
+                            new OkHttpClient.Builder().build());
+            requestAdapter.setRequestCoalescingEnabled(true);
+
+            final var responses = new ArrayList<CompletableFuture<String>>();
+            for (int i = 0; i < 4; i++) {
+                responses.add(
+                        requestAdapter.sendPrimitiveAsync(
+                                getRequestInformation(server.url("/shared").uri()),
+                                null,
+                                String.class));
+            }
+            for (final var response : responses) {
+                assertEquals("shared", response.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, server.getRequestCount());
+            assertEquals(3, requestAdapter.getCoalescedRequestCount());
+
+            // requests sent once the shared response completed are sent again
+            requestAdapter
+                    .sendPrimitiveAsync(
+                            getRequestInformation(server.url("/shared").uri()), null, String.class)
+                    .get(5, TimeUnit.SECONDS);
+            assertEquals(2, server.getRequestCount());
+        }
+    }
+
+    @Test
+    void sendAsyncDoesNotCoalesceRequestsForStreams() throws Exception {
+        try (final var server = startSlowSharedResponseServer()) {
+            final var requestAdapter =
+                    new OkHttpRequestAdapter(
+                            mock(AuthenticationProvider.class),
+                            null,
+                            null,
+                            new OkHttpClient.Builder().build());
+            requestAdapter.setRequestCoalescingEnabled(true);
+
+            final var responses = new ArrayList<CompletableFuture<InputStream>>();
+            for (int i = 0; i < 2; i++) {
+                responses.add(
+                        requestAdapter.sendPrimitiveAsync(
+                                getRequestInformation(server.url("/shared").uri()),
+                                null,
+                                InputStream.class));
+            }
+            for (final var response : responses) {
+                final var body = response.get(5, TimeUnit.SECONDS);
+                assertNotNull(body);
+                try (body) {
+                    assertEquals("shared", new String(body.readAllBytes(), StandardCharsets.UTF_8));
+                }
+            }
+            assertEquals(2, server.getRequestCount());
+            assertEquals(0, requestAdapter.getCoalescedRequestCount());
+        }
+    }
+
+    @Test
+    void sendServesCachedModelsForUnchangedETags() throws Exception {
+        try (final var server = new MockWebServer()) {
+            server.enqueue(
+                    new MockResponse()
+                            .setHeader("ETag", "\"v1\"")
+                            .setHeader("Content-Type", "application/json")
+                            .setBody("{}"));
+            server.enqueue(
+                    new MockResponse()
+                            .setHeader("ETag", "\"v1\"")
+                            .setHeader("Content-Type", "application/json")
+                            .setBody("{}"));
+            server.enqueue(new MockResponse().setResponseCode(304).setHeader("ETag", "\"v1\""));
+            server.enqueue(
+                    new MockResponse()
+                            .setHeader("ETag", "\"v2\"")
+                            .setHeader("Content-Type", "application/json")
+                            .setBody("{}"));
+            server.start();
+            final var parseCount = new AtomicInteger();
+            final var mockParseNode = mock(ParseNode.class);
+            when(mockParseNode.getObjectValue(any(ParsableFactory.class)))
+                    .thenAnswer(
+                            invocation -> {
+                                final var model = new BackedTestModel();
+                                model.setName("parsed " + parseCount.incrementAndGet());
+                                model.setTags(new ArrayList<>(Arrays.asList("a", "b")));
+                                return model;
+                            });
+            final var requestAdapter =
+                    new OkHttpRequestAdapter(
+                            mock(AuthenticationProvider.class),
+                            creatMockParseNodeFactory(mockParseNode, "application/json"),
+                            null,
+                            new OkHttpClient.Builder().build());
+            requestAdapter.setParsedModelCacheMaxWeight(1000);
+            final ParsableFactory<BackedTestModel> factory = node -> new BackedTestModel();
+            final URI uri = server.url("/model").uri();
+
+            final var first = requestAdapter.send(getRequestInformation(uri), null, factory);
+            assertNotNull(first);
+            first.setName("changed by the caller");
+            first.getTags().add("c");
+            final var second = requestAdapter.send(getRequestInformation(uri), null, factory);
+            final var notModified = requestAdapter.send(getRequestInformation(uri), null, factory);
+            final var changed = requestAdapter.send(getRequestInformation(uri), null, factory);
+
+            assertEquals(2, parseCount.get());
+            assertEquals(2, requestAdapter.getParsedModelCacheHitCount());
+            assertNotNull(second);
+            assertNotNull(notModified);
+            assertNotSame(second, notModified);
+            assertEquals("parsed 1", second.getName());
+            assertEquals(Arrays.asList("a", "b"), second.getTags());
+            assertEquals("parsed 1", notModified.getName());
+            assertTrue(notModified.getBackingStore().getIsInitializationCompleted());
+            assertNotNull(changed);
+            assertEquals("parsed 2", changed.getName());
+        }
+    }
+
+    /** A model backed by a store, as generated when the backing store is enabled */
+    public static class BackedTestModel implements Parsable, BackedModel {
+        private final BackingStore backingStore = new InMemoryBackingStore();
+
+        public BackedTestModel() {}
+
+        @Override
+        public BackingStore getBackingStore() {
+            return backingStore;
+        }
+
+        public String getName() {
+            return backingStore.get("name");
+        }
+
+        public void setName(String value) {
+            backingStore.set("name", value);
+        }
+
+        public List<String> getTags() {
+            return backingStore.get("tags");
+        }
+
+        public void setTags(List<String> value) {
+            backingStore.set("tags", value);
+        }
+
+        @Override
+        public Map<String, Consumer<ParseNode>> getFieldDeserializers() {
+            return new HashMap<>();
+        }
+
+        @Override
+        public void serialize(SerializationWriter writer) {}
+    }
+
+    private static RequestInformation getRequestInformation(final URI uri) {
+        final var requestInformation = new RequestInformation();
+        requestInformation.setUri(uri);
+        requestInformation.httpMethod = HttpMethod.GET;
+        return requestInformation;
+    }
+
+    @Test
+    void sendCollectionStreamClosesTheResponseOnceExhausted() throws Exception {
+        final var authenticationProviderMock = mock(AuthenticationProvider.class);
+        final var bufferedSource =
+                Okio.buffer(Okio.source(new ByteArrayInputStream("[]".getBytes("UTF-8"))));
+        final var client =
+                getMockClient(
+                        new Response.Builder()
+                                .code(200)
+                                .message("OK")
+                                .protocol(Protocol.HTTP_1_1)
+                                .request(new Request.Builder().url("http://localhost").build())
+                                .body(
+                                        ResponseBody.create(
+                                                bufferedSource,
+                                                MediaType.parse("application/json"),
+                                                2))
+                                .build());
+        final var requestInformation =
+                new RequestInformation() {
+                    {
+                        setUri(new URI("https://localhost"));
+                        httpMethod = HttpMethod.GET;
+                    }
+                };
+        final var firstEntity = creatMockEntity();
+        final var secondEntity = creatMockEntity();
+        final var mockParseNode = mock(ParseNode.class);
+        when(mockParseNode.iterateCollectionOfObjectValues(any(ParsableFactory.class)))
+                .thenReturn(List.of(firstEntity, secondEntity).iterator());
+        final var mockFactory = creatMockParseNodeFactory(mockParseNode, "application/json");
+        final var requestAdapter =
+                new OkHttpRequestAdapter(authenticationProviderMock, mockFactory, null, client);
+        try (final var iterator =
+                requestAdapter.sendCollectionStream(
+                        requestInformation, null, (node) -> firstEntity)) {
+            assertNotNull(iterator);
+            assertSame(firstEntity, iterator.next());
+            assertTrue(bufferedSource.isOpen());
+            assertSame(secondEntity, iterator.next());
+            assertFalse(iterator.hasNext());
+            assertFalse(bufferedSource.isOpen());
+        }
+    }
+
     private static Stream<Arguments> providesErrorMappings() {
         return Stream.of(
                 // unexpected error code exception
@@ -316,6 +985,39 @@ public class OkHttpRequestAdapterTest {
         assertEquals(request.body().contentType(), MediaType.parse("application/json"));
     }
 
+    @Test
+    void getRequestFromRequestInformationWritesSerializedContentRepeatedly() throws Exception {
+        final var requestInformation = new RequestInformation();
+        requestInformation.setUri(new URI("https://localhost"));
+        final var payload = "{\"name\":\"value\"}";
+        final var content = new SerializedContentStream(payload.getBytes(StandardCharsets.UTF_8));
+        // the caller marked the start of the content and read its first character
+        content.mark(payload.length());
+        assertEquals('{', content.read());
+        requestInformation.setStreamContent(content, "application/json");
+        requestInformation.httpMethod = HttpMethod.POST;
+
+        final var adapter = new OkHttpRequestAdapter(mock(AuthenticationProvider.class));
+        final var requestBody =
+                adapter.getRequestFromRequestInformation(
+                                requestInformation, mock(Span.class), mock(Span.class))
+                        .body();
+
+        assertNotNull(requestBody);
+        assertFalse(requestBody.isOneShot());
+        assertEquals(payload.length() - 1, requestBody.contentLength());
+        assertEquals(MediaType.parse("application/json"), requestBody.contentType());
+        for (int i = 0; i < 2; i++) {
+            final var sink = new Buffer();
+            requestBody.writeTo(sink);
+            assertEquals(payload.substring(1), sink.readUtf8());
+        }
+        // the position and the mark of the content are left as the caller set them
+        assertEquals(payload.length() - 1, content.available());
+        content.reset();
+        assertEquals(payload.length(), content.available());
+    }
+
     @Test
     void getRequestFromRequestInformationIncludesContentLength_FilePayload() throws Exception {
         final var authenticationProviderMock = mock(AuthenticationProvider.class);
@@ -342,6 +1044,33 @@ public class OkHttpRequestAdapterTest {
         }
     }
 
+    @Test
+    void getRequestFromRequestInformationWritesDeferredContentToTheSink() throws Exception {
+        final var authenticationProviderMock = mock(AuthenticationProvider.class);
+        final var requestInformation = new RequestInformation();
+        requestInformation.setUri(new URI("https://localhost"));
+        requestInformation.httpMethod = HttpMethod.POST;
+        requestInformation.setDeferredContent(
+                outputStream -> outputStream.write("{\"id\":\"opaque\"}".getBytes("UTF-8")),
+                "application/json");
+
+        final var adapter = new OkHttpRequestAdapter(authenticationProviderMock);
+        final var request =
+                adapter.getRequestFromRequestInformation(
+                        requestInformation, mock(Span.class), mock(Span.class));
+
+        final var requestBody = request.body();
+        assertNotNull(requestBody);
+        assertEquals(-1L, requestBody.contentLength());
+        assertFalse(requestBody.isOneShot());
+        assertEquals(MediaType.parse("application/json"), requestBody.contentType());
+        for (int i = 0; i < 2; i++) {
+            final var buffer = new Buffer();
+            requestBody.writeTo(buffer);
+            assertEquals("{\"id\":\"opaque\"}", buffer.readUtf8());
+        }
+    }
+
     @Test
     void getRequestFromRequestInformationWithoutContentLengthOverrideForStreamBody()
             throws Exception {
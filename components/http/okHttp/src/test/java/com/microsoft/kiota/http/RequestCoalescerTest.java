@@ -0,0 +1,85 @@
+package com.microsoft.kiota.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.microsoft.kiota.RequestInformation;
+import com.microsoft.kiota.http.middleware.options.HeadersInspectionOption;
+
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class RequestCoalescerTest {
+    private static final Request REQUEST =
+            new Request.Builder().url("https://graph.microsoft.com/v1.0/users").build();
+
+    private static Response respond(final String body) {
+        return new Response.Builder()
+                .request(REQUEST)
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .message("OK")
+                .body(ResponseBody.create(body, MediaType.get("application/json")))
+                .build();
+    }
+
+    @Test
+    void returnsTheResponseAsIsWhenNoRequestJoined() throws Exception {
+        final var coalescer = new RequestCoalescer();
+        final var key = RequestCoalescer.getKey(REQUEST);
+        assertNotNull(key);
+        final var flight = new RequestCoalescer.Flight();
+        assertNull(coalescer.join(key, flight));
+        final var response = respond("users");
+
+        assertSame(response, coalescer.complete(key, flight, response));
+        assertEquals(0, coalescer.getCoalescedCount());
+    }
+
+    @Test
+    void buffersTheResponseForTheRequestsWhichJoined() throws Exception {
+        final var coalescer = new RequestCoalescer();
+        final var key = RequestCoalescer.getKey(REQUEST);
+        assertNotNull(key);
+        final var flight = new RequestCoalescer.Flight();
+        assertNull(coalescer.join(key, flight));
+        final var joined = coalescer.join(key, new RequestCoalescer.Flight());
+        assertNotNull(joined);
+        assertFalse(joined.isDone());
+        final var response = respond("users");
+
+        final var senderResponse = coalescer.complete(key, flight, response);
+
+        assertNotSame(response, senderResponse);
+        assertEquals("users", senderResponse.body().string());
+        assertEquals("users", joined.get().newResponse().body().string());
+        assertEquals(1, coalescer.getCoalescedCount());
+        // the flight is complete, later requests are sent again
+        assertNull(coalescer.join(key, new RequestCoalescer.Flight()));
+    }
+
+    @Test
+    void doesNotCoalesceRequestsCarryingRequestOptions() {
+        final var requestInfo = new RequestInformation();
+        requestInfo.addRequestOptions(List.of(new HeadersInspectionOption()));
+        final var request = REQUEST.newBuilder().tag(RequestInformation.class, requestInfo).build();
+
+        assertNull(RequestCoalescer.getKey(request));
+        assertNotNull(
+                RequestCoalescer.getKey(
+                        REQUEST.newBuilder()
+                                .tag(RequestInformation.class, new RequestInformation())
+                                .build()));
+    }
+}
@@ -0,0 +1,218 @@
+package com.microsoft.kiota.http.middleware;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.microsoft.kiota.http.KiotaClientFactory;
+import com.microsoft.kiota.http.middleware.options.CacheHandlerOption;
+
+import okhttp3.Headers;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import okio.ByteString;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+class CacheHandlerTest {
+
+    private static final String URL = "https://graph.microsoft.com/v1.0/me";
+
+    /** Answers with a body counting the requests, honoring If-None-Match for the configured ETag */
+    private static class Service implements Interceptor {
+        private final String cacheControl;
+        private final String etag;
+        private final List<Request> requests = new ArrayList<>();
+
+        Service(String cacheControl, String etag) {
+            this.cacheControl = cacheControl;
+            this.etag = etag;
+        }
+
+        @Override
+        public Response intercept(Chain chain) {
+            final Request request = chain.request();
+            requests.add(request);
+            final Response.Builder builder =
+                    new Response.Builder()
+                            .message("OK")
+                            .protocol(Protocol.HTTP_1_1)
+                            .request(request)
+                            .header("Cache-Control", cacheControl);
+            if (etag != null) {
+                builder.header("ETag", etag);
+                if (etag.equals(request.header("If-None-Match"))) {
+                    return builder.code(304).body(ResponseBody.create("", null)).build();
+                }
+            }
+            return builder.code(200)
+                    .body(
+                            ResponseBody.create(
+                                    "response " + requests.size(),
+                                    MediaType.parse("application/json")))
+                    .build();
+        }
+    }
+
+    private static OkHttpClient createClient(CacheHandler handler, Interceptor service) {
+        return KiotaClientFactory.create(new Interceptor[] {handler, service}).build();
+    }
+
+    private static String get(OkHttpClient client, Request request) throws IOException {
+        try (Response response = client.newCall(request).execute()) {
+            return response.body().string();
+        }
+    }
+
+    @Test
+    void servesFreshResponsesWithoutContactingTheService() throws IOException {
+        final CacheHandler handler = new CacheHandler();
+        final Service service = new Service("max-age=60", null);
+        final OkHttpClient client = createClient(handler, service);
+        final Request request = new Request.Builder().url(URL).build();
+
+        assertEquals("response 1", get(client, request));
+        assertEquals("response 1", get(client, request));
+        assertEquals(1, service.requests.size());
+        assertEquals(1, handler.getHitCount());
+        assertEquals(1, handler.getMissCount());
+    }
+
+    @Test
+    void revalidatesStaleResponsesWithTheirETag() throws IOException {
+        final CacheHandler handler = new CacheHandler();
+        final Service service = new Service("no-cache", "\"v1\"");
+        final OkHttpClient client = createClient(handler, service);
+        final Request request = new Request.Builder().url(URL).build();
+
+        assertEquals("response 1", get(client, request));
+        assertEquals("response 1", get(client, request));
+        assertEquals(2, service.requests.size());
+        assertEquals("\"v1\"", service.requests.get(1).header("If-None-Match"));
+        assertEquals(1, handler.getRevalidatedCount());
+    }
+
+    @Test
+    void revalidatesFreshResponsesWhenRequested() throws IOException {
+        final CacheHandlerOption option = new CacheHandlerOption();
+        option.setAlwaysRevalidate(true);
+        final CacheHandler handler = new CacheHandler(option);
+        final Service service = new Service("max-age=60", "\"v1\"");
+        final OkHttpClient client = createClient(handler, service);
+        final Request request = new Request.Builder().url(URL).build();
+
+        assertEquals("response 1", get(client, request));
+        assertEquals("response 1", get(client, request));
+        assertEquals(2, service.requests.size());
+        assertEquals(0, handler.getHitCount());
+        assertEquals(1, handler.getRevalidatedCount());
+    }
+
+    @Test
+    void doesNotShareResponsesBetweenIdentities() throws IOException {
+        final CacheHandler handler = new CacheHandler();
+        final Service service = new Service("max-age=60", null);
+        final OkHttpClient client = createClient(handler, service);
+
+        final Request alice =
+                new Request.Builder().url(URL).header("Authorization", "Bearer alice").build();
+        final Request bob =
+                new Request.Builder().url(URL).header("Authorization", "Bearer bob").build();
+        assertEquals("response 1", get(client, alice));
+        assertEquals("response 2", get(client, bob));
+        assertEquals("response 1", get(client, alice));
+        assertEquals(2, service.requests.size());
+    }
+
+    @Test
+    void doesNotStoreNoStoreResponses() throws IOException {
+        final CacheHandler handler = new CacheHandler();
+        final Service service = new Service("no-store", "\"v1\"");
+        final OkHttpClient client = createClient(handler, service);
+        final Request request = new Request.Builder().url(URL).build();
+
+        assertEquals("response 1", get(client, request));
+        assertEquals("response 2", get(client, request));
+        assertNull(service.requests.get(1).header("If-None-Match"));
+    }
+
+    @Test
+    void invalidatesResponsesOnSuccessfulUnsafeRequests() throws IOException {
+        final CacheHandler handler = new CacheHandler();
+        final Service service = new Service("max-age=60", null);
+        final OkHttpClient client = createClient(handler, service);
+        final Request request = new Request.Builder().url(URL).build();
+
+        assertEquals("response 1", get(client, request));
+        client.newCall(
+                        new Request.Builder()
+                                .url(URL)
+                                .patch(
+                                        RequestBody.create(
+                                                "{}", MediaType.parse("application/json")))
+                                .build())
+                .execute()
+                .close();
+        assertEquals("response 3", get(client, request));
+    }
+
+    @Test
+    void diskStoreKeepsResponsesAcrossInstances(@TempDir Path directory) throws IOException {
+        final ByteString body = ByteString.encodeUtf8("cached");
+        final CachedResponse response =
+                new CachedResponse(
+                        200,
+                        "OK",
+                        "http/1.1",
+                        Headers.of("ETag", "\"v1\"", "Content-Type", "application/json"),
+                        Collections.singletonMap("Accept", "application/json"),
+                        body,
+                        1234);
+        new DiskCacheStore(directory, 1024 * 1024).put("key", response);
+
+        final CachedResponse read = new DiskCacheStore(directory, 1024 * 1024).get("key");
+        assertNotNull(read);
+        assertEquals(200, read.getStatusCode());
+        assertEquals("\"v1\"", read.getHeaders().get("ETag"));
+        assertEquals("application/json", read.getVaryHeaders().get("accept"));
+        assertEquals(1234, read.getReceivedAtMillis());
+        assertEquals(body, read.getBody());
+        assertNull(new DiskCacheStore(directory, 1024 * 1024).get("other"));
+    }
+
+    @Test
+    void inMemoryStoreEvictsTheLeastRecentlyUsedResponses() {
+        final InMemoryCacheStore store = new InMemoryCacheStore(2, 1024 * 1024);
+        final CachedResponse response =
+                new CachedResponse(
+                        200,
+                        "OK",
+                        "http/1.1",
+                        Headers.of(),
+                        Collections.emptyMap(),
+                        ByteString.of((byte) 0),
+                        0);
+        store.put("a", response);
+        store.put("b", response);
+        store.get("a");
+        store.put("c", response);
+
+        assertNotNull(store.get("a"));
+        assertNull(store.get("b"));
+        assertNotNull(store.get("c"));
+    }
+}
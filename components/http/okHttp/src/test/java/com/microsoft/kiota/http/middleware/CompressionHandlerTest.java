@@ -0,0 +1,128 @@
+package com.microsoft.kiota.http.middleware;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.microsoft.kiota.http.KiotaClientFactory;
+import com.microsoft.kiota.http.middleware.options.CompressionHandlerOption;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import okio.Buffer;
+import okio.GzipSource;
+import okio.InflaterSource;
+import okio.Okio;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.zip.Inflater;
+
+class CompressionHandlerTest {
+
+    private static final String URL = "https://graph.microsoft.com/v1.0/me";
+    private static final MediaType JSON = MediaType.parse("application/json; charset=utf-8");
+
+    /** Records the requests it receives along with their decoded bodies */
+    private static class Service implements Interceptor {
+        private final List<Request> requests = new ArrayList<>();
+        private final List<String> bodies = new ArrayList<>();
+        private final int statusCode;
+
+        Service(int statusCode) {
+            this.statusCode = statusCode;
+        }
+
+        @Override
+        public Response intercept(Chain chain) throws IOException {
+            final Request request = chain.request();
+            requests.add(request);
+            final Buffer buffer = new Buffer();
+            Objects.requireNonNull(request.body()).writeTo(buffer);
+            final String encoding = request.header("Content-Encoding");
+            if ("gzip".equals(encoding)) {
+                bodies.add(Okio.buffer(new GzipSource(buffer)).readUtf8());
+            } else if ("deflate".equals(encoding)) {
+                bodies.add(Okio.buffer(new InflaterSource(buffer, new Inflater())).readUtf8());
+            } else {
+                bodies.add(buffer.readUtf8());
+            }
+            return new Response.Builder()
+                    .code(encoding == null ? 200 : statusCode)
+                    .message("OK")
+                    .protocol(Protocol.HTTP_1_1)
+                    .request(request)
+                    .body(ResponseBody.create("", null))
+                    .build();
+        }
+    }
+
+    private static String largePayload() {
+        return "{\"value\":\"" + String.join("", Collections.nCopies(2048, "a")) + "\"}";
+    }
+
+    private static void post(CompressionHandler handler, Service service, RequestBody body)
+            throws IOException {
+        final OkHttpClient client =
+                KiotaClientFactory.create(new Interceptor[] {handler, service}).build();
+        client.newCall(new Request.Builder().url(URL).post(body).build()).execute().close();
+    }
+
+    @Test
+    void compressesLargeBodiesWithGzip() throws IOException {
+        final Service service = new Service(200);
+        post(new CompressionHandler(), service, RequestBody.create(largePayload(), JSON));
+
+        final Request request = service.requests.get(0);
+        assertEquals("gzip", request.header("Content-Encoding"));
+        assertEquals(-1L, Objects.requireNonNull(request.body()).contentLength());
+        assertEquals(largePayload(), service.bodies.get(0));
+    }
+
+    @Test
+    void compressesWithTheConfiguredAlgorithm() throws IOException {
+        final CompressionHandlerOption option = new CompressionHandlerOption();
+        option.setAlgorithm(CompressionHandlerOption.Algorithm.DEFLATE);
+        final Service service = new Service(200);
+        post(new CompressionHandler(option), service, RequestBody.create(largePayload(), JSON));
+
+        assertEquals("deflate", service.requests.get(0).header("Content-Encoding"));
+        assertEquals(largePayload(), service.bodies.get(0));
+    }
+
+    @Test
+    void doesNotCompressSmallBodiesOrOtherContentTypes() throws IOException {
+        final Service service = new Service(200);
+        post(new CompressionHandler(), service, RequestBody.create("{}", JSON));
+        post(
+                new CompressionHandler(),
+                service,
+                RequestBody.create(largePayload(), MediaType.parse("image/png")));
+
+        assertNull(service.requests.get(0).header("Content-Encoding"));
+        assertNull(service.requests.get(1).header("Content-Encoding"));
+        assertEquals("{}", service.bodies.get(0));
+    }
+
+    @Test
+    void sendsTheBodyUncompressedWhenTheEncodingIsNotSupported() throws IOException {
+        final Service service = new Service(415);
+        post(new CompressionHandler(), service, RequestBody.create(largePayload(), JSON));
+
+        assertEquals(2, service.requests.size());
+        assertEquals("gzip", service.requests.get(0).header("Content-Encoding"));
+        assertNull(service.requests.get(1).header("Content-Encoding"));
+        assertEquals(largePayload(), service.bodies.get(1));
+    }
+}
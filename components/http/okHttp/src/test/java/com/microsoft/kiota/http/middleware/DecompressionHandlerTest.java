@@ -0,0 +1,169 @@
+package com.microsoft.kiota.http.middleware;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.microsoft.kiota.http.KiotaClientFactory;
+import com.microsoft.kiota.http.middleware.options.DecompressionHandlerOption;
+import com.microsoft.kiota.http.middleware.options.IContentDecoder;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.ByteString;
+import okio.GzipSink;
+import okio.Okio;
+import okio.Source;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+class DecompressionHandlerTest {
+
+    private static final String URL = "https://graph.microsoft.com/v1.0/me";
+    private static final MediaType JSON = MediaType.parse("application/json; charset=utf-8");
+    private static final String PAYLOAD =
+            "{\"value\":\"" + String.join("", Collections.nCopies(2048, "a")) + "\"}";
+
+    /** Records the requests it receives and answers with a fixed body */
+    private static class Service implements Interceptor {
+        private final List<Request> requests = new ArrayList<>();
+        private final ByteString body;
+        private final String contentEncoding;
+
+        Service(ByteString body, String contentEncoding) {
+            this.body = body;
+            this.contentEncoding = contentEncoding;
+        }
+
+        @Override
+        public Response intercept(Chain chain) {
+            final Request request = chain.request();
+            requests.add(request);
+            final Response.Builder builder =
+                    new Response.Builder()
+                            .code(200)
+                            .message("OK")
+                            .protocol(Protocol.HTTP_1_1)
+                            .request(request)
+                            .header("Content-Length", String.valueOf(body.size()))
+                            .body(ResponseBody.create(body, JSON));
+            if (contentEncoding != null) {
+                builder.header("Content-Encoding", contentEncoding);
+            }
+            return builder.build();
+        }
+    }
+
+    /** A decoder of an encoding which reverses the bytes of the body */
+    private static final IContentDecoder REVERSE_DECODER =
+            new IContentDecoder() {
+                @Override
+                public String getEncoding() {
+                    return "reverse";
+                }
+
+                @Override
+                public Source decode(Source source) throws IOException {
+                    final byte[] bytes = Okio.buffer(source).readByteArray();
+                    final Buffer result = new Buffer();
+                    for (int i = bytes.length - 1; i >= 0; i--) {
+                        result.writeByte(bytes[i]);
+                    }
+                    return result;
+                }
+            };
+
+    private static ByteString gzip(String value) throws IOException {
+        final Buffer buffer = new Buffer();
+        try (BufferedSink sink = Okio.buffer(new GzipSink(buffer))) {
+            sink.writeUtf8(value);
+        }
+        return buffer.readByteString();
+    }
+
+    private static Response get(DecompressionHandler handler, Service service, Request request)
+            throws IOException {
+        final OkHttpClient client =
+                KiotaClientFactory.create(new Interceptor[] {handler, service}).build();
+        return client.newCall(request).execute();
+    }
+
+    @Test
+    void decodesGzipBodies() throws IOException {
+        final Service service = new Service(gzip(PAYLOAD), "gzip");
+        final DecompressionHandler handler = new DecompressionHandler();
+        try (Response response =
+                get(handler, service, new Request.Builder().url(URL).get().build())) {
+            assertEquals("gzip, deflate", service.requests.get(0).header("Accept-Encoding"));
+            assertNull(response.header("Content-Encoding"));
+            assertNull(response.header("Content-Length"));
+            assertEquals(PAYLOAD, Objects.requireNonNull(response.body()).string());
+        }
+        assertEquals(gzip(PAYLOAD).size(), handler.getWireByteCount());
+        assertEquals(PAYLOAD.length(), handler.getDecodedByteCount());
+    }
+
+    @Test
+    void decodesWithTheConfiguredDecoders() throws IOException {
+        final DecompressionHandlerOption option = new DecompressionHandlerOption();
+        option.addDecoder(REVERSE_DECODER);
+        final Service service =
+                new Service(
+                        ByteString.encodeUtf8(new StringBuilder("{\"a\":1}").reverse().toString()),
+                        "reverse");
+        try (Response response =
+                get(
+                        new DecompressionHandler(option),
+                        service,
+                        new Request.Builder().url(URL).get().build())) {
+            assertEquals(
+                    "reverse, gzip, deflate", service.requests.get(0).header("Accept-Encoding"));
+            assertEquals("{\"a\":1}", Objects.requireNonNull(response.body()).string());
+        }
+    }
+
+    @Test
+    void leavesBodiesOfUnknownEncodingsUntouched() throws IOException {
+        final Service service = new Service(ByteString.encodeUtf8("encoded"), "br");
+        try (Response response =
+                get(
+                        new DecompressionHandler(),
+                        service,
+                        new Request.Builder().url(URL).get().build())) {
+            assertEquals("br", response.header("Content-Encoding"));
+            assertEquals("encoded", Objects.requireNonNull(response.body()).string());
+        }
+    }
+
+    @Test
+    void leavesRequestsWithAnAcceptEncodingToTheCaller() throws IOException {
+        final Service service = new Service(gzip(PAYLOAD), "gzip");
+        final DecompressionHandler handler = new DecompressionHandler();
+        try (Response response =
+                get(
+                        handler,
+                        service,
+                        new Request.Builder()
+                                .url(URL)
+                                .header("Accept-Encoding", "gzip")
+                                .get()
+                                .build())) {
+            assertEquals("gzip", response.header("Content-Encoding"));
+            assertEquals(gzip(PAYLOAD), Objects.requireNonNull(response.body()).byteString());
+        }
+        assertEquals(0, handler.getWireByteCount());
+    }
+}
@@ -0,0 +1,213 @@
+package com.microsoft.kiota.http.middleware;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.microsoft.kiota.http.KiotaClientFactory;
+import com.microsoft.kiota.http.middleware.options.RateLimitHandlerOption;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+
+class RateLimitHandlerTest {
+
+    private static final String URL = "https://graph.microsoft.com/v1.0/me";
+
+    private static Interceptor respondWith(int statusCode, String retryAfter) {
+        return chain -> {
+            final Response.Builder builder =
+                    new Response.Builder()
+                            .code(statusCode)
+                            .message("OK")
+                            .protocol(Protocol.HTTP_1_1)
+                            .request(chain.request())
+                            .body(ResponseBody.create("", MediaType.parse("application/json")));
+            if (retryAfter != null) {
+                builder.header("Retry-After", retryAfter);
+            }
+            return builder.build();
+        };
+    }
+
+    private static OkHttpClient createClient(RateLimitHandler handler, Interceptor responder) {
+        return KiotaClientFactory.create(new Interceptor[] {handler, responder}).build();
+    }
+
+    private static RateLimitHandlerOption createOption(double maxRequestsPerSecond, int burst) {
+        final RateLimitHandlerOption option = new RateLimitHandlerOption();
+        option.setMaxRequestsPerSecond(maxRequestsPerSecond);
+        option.setBurst(burst);
+        option.setMaxWait(Duration.ZERO);
+        return option;
+    }
+
+    @Test
+    void rejectsRequestsBeyondTheBurstWhenTheyCannotWait() throws IOException {
+        final RateLimitHandler handler = new RateLimitHandler(createOption(1, 2));
+        final OkHttpClient client = createClient(handler, new MockResponseHandler());
+        final Request request = new Request.Builder().url(URL).build();
+
+        client.newCall(request).execute().close();
+        client.newCall(request).execute().close();
+        final RateLimitExceededException exception =
+                assertThrows(
+                        RateLimitExceededException.class, () -> client.newCall(request).execute());
+        assertTrue(exception.getWaitMillis() > 0);
+    }
+
+    @Test
+    void waitsForItsTurnWithinTheMaximumWait() throws IOException {
+        final RateLimitHandlerOption option = createOption(20, 1);
+        option.setMaxWait(Duration.ofSeconds(1));
+        final RateLimitHandler handler = new RateLimitHandler(option);
+        final OkHttpClient client = createClient(handler, new MockResponseHandler());
+        final Request request = new Request.Builder().url(URL).build();
+
+        final long start = System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            client.newCall(request).execute().close();
+        }
+        // two requests beyond the burst at 20 requests per second wait 50ms each
+        assertTrue(System.nanoTime() - start >= Duration.ofMillis(90).toNanos());
+    }
+
+    @Test
+    void defersAsyncRequestsInsteadOfWaiting() throws IOException {
+        final RateLimitHandlerOption option = createOption(1, 1);
+        option.setMaxWait(Duration.ofSeconds(5));
+        final RateLimitHandler handler = new RateLimitHandler(option);
+        final OkHttpClient client = createClient(handler, new MockResponseHandler());
+        final AsyncRetryContext retryContext = new AsyncRetryContext();
+        final Request request =
+                new Request.Builder().url(URL).tag(AsyncRetryContext.class, retryContext).build();
+
+        client.newCall(request).execute().close();
+        final long start = System.nanoTime();
+        assertThrows(RateLimitExceededException.class, () -> client.newCall(request).execute());
+
+        assertTrue(System.nanoTime() - start < Duration.ofMillis(500).toNanos());
+        assertTrue(retryContext.isDeferralRequested());
+        assertTrue(retryContext.getDeferralDelay() > 900);
+        // the deferred attempt reserved its turn and is let through when sent again
+        retryContext.prepareDeferredAttempt();
+        try (Response response = client.newCall(request).execute()) {
+            assertEquals(200, response.code());
+        }
+        assertFalse(retryContext.isDeferralRequested());
+    }
+
+    @Test
+    void keepsASeparateBucketPerHost() throws IOException {
+        final RateLimitHandler handler = new RateLimitHandler(createOption(1, 1));
+        final OkHttpClient client = createClient(handler, new MockResponseHandler());
+
+        client.newCall(new Request.Builder().url(URL).build()).execute().close();
+        client.newCall(new Request.Builder().url("https://example.com/").build()).execute().close();
+        assertThrows(
+                RateLimitExceededException.class,
+                () -> client.newCall(new Request.Builder().url(URL).build()).execute());
+    }
+
+    @Test
+    void reducesTheRateWhenThrottledAndRecoversOnSuccess() throws IOException {
+        final RateLimitHandlerOption option = createOption(100, 100);
+        option.setMaxWait(Duration.ofSeconds(1));
+        final RateLimitHandler throttledHandler = new RateLimitHandler(option);
+        final Request request = new Request.Builder().url(URL).build();
+
+        createClient(throttledHandler, respondWith(429, null)).newCall(request).execute().close();
+        // throttled responses within a second of the decrease do not reduce the rate again
+        createClient(throttledHandler, respondWith(429, null)).newCall(request).execute().close();
+        assertEquals(50, throttledHandler.getRate(request));
+
+        final OkHttpClient client = createClient(throttledHandler, new MockResponseHandler());
+        client.newCall(request).execute().close();
+        final double recovered = throttledHandler.getRate(request);
+        assertTrue(recovered > 50 && recovered < 51);
+    }
+
+    @Test
+    void blocksTheHostForTheRetryAfterDelay() throws IOException {
+        final RateLimitHandler handler = new RateLimitHandler(createOption(100, 100));
+        final Request request = new Request.Builder().url(URL).build();
+
+        createClient(handler, respondWith(503, "10")).newCall(request).execute().close();
+        final RateLimitExceededException exception =
+                assertThrows(
+                        RateLimitExceededException.class,
+                        () ->
+                                createClient(handler, new MockResponseHandler())
+                                        .newCall(request)
+                                        .execute());
+        assertTrue(exception.getWaitMillis() > 9000);
+    }
+
+    @Test
+    void requestOptionCanDisableTheLimiter() throws IOException {
+        final RateLimitHandler handler = new RateLimitHandler(createOption(1, 1));
+        final OkHttpClient client = createClient(handler, new MockResponseHandler());
+        final RateLimitHandlerOption disabled = new RateLimitHandlerOption();
+        disabled.setEnabled(false);
+        final Request request =
+                new Request.Builder().url(URL).tag(RateLimitHandlerOption.class, disabled).build();
+
+        for (int i = 0; i < 3; i++) {
+            try (Response response = client.newCall(request).execute()) {
+                assertEquals(200, response.code());
+            }
+        }
+    }
+
+    @Test
+    void requestOptionSettingsApplyToTheRequest() throws IOException {
+        final RateLimitHandler handler = new RateLimitHandler(createOption(100, 100));
+        final OkHttpClient client = createClient(handler, new MockResponseHandler());
+        final RateLimitHandlerOption strict = createOption(1, 1);
+        final Request request =
+                new Request.Builder().url(URL).tag(RateLimitHandlerOption.class, strict).build();
+
+        client.newCall(request).execute().close();
+        final RateLimitExceededException exception =
+                assertThrows(
+                        RateLimitExceededException.class, () -> client.newCall(request).execute());
+        // a token is refilled every second at the rate of the request option
+        assertTrue(exception.getWaitMillis() > 900);
+        assertEquals(1, handler.getRate(request));
+        assertEquals(100, handler.getRate(new Request.Builder().url(URL).build()));
+    }
+
+    @Test
+    void keepsACopyOfItsOptions() throws IOException {
+        final RateLimitHandlerOption option = createOption(1, 1);
+        final RateLimitHandler handler = new RateLimitHandler(option);
+        final OkHttpClient client = createClient(handler, new MockResponseHandler());
+        final Request request = new Request.Builder().url(URL).build();
+        option.setEnabled(false);
+        handler.getRateLimitOptions().setEnabled(false);
+
+        client.newCall(request).execute().close();
+        assertThrows(RateLimitExceededException.class, () -> client.newCall(request).execute());
+    }
+
+    @Test
+    void rejectsInvalidOptions() {
+        final RateLimitHandlerOption option = new RateLimitHandlerOption();
+        assertThrows(IllegalArgumentException.class, () -> option.setMaxRequestsPerSecond(0));
+        assertThrows(IllegalArgumentException.class, () -> option.setBurst(0));
+        assertThrows(IllegalArgumentException.class, () -> option.setMultiplicativeDecrease(1));
+        assertThrows(
+                IllegalArgumentException.class, () -> option.setMaxWait(Duration.ofMillis(-1)));
+    }
+}
@@ -1,23 +1,40 @@
 package com.microsoft.kiota.http.middleware;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.microsoft.kiota.ApiException;
+import com.microsoft.kiota.http.ObservabilityOptions;
+import com.microsoft.kiota.http.middleware.options.CircuitBreakerOption;
+import com.microsoft.kiota.http.middleware.options.RetryBudgetOption;
 import com.microsoft.kiota.http.middleware.options.RetryHandlerOption;
 
 import io.opentelemetry.api.trace.Span;
 
+import okhttp3.Interceptor;
+import okhttp3.Protocol;
 import okhttp3.Request;
 import okhttp3.Response;
+import okhttp3.ResponseBody;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.ArgumentCaptor;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 class RetryHandlerTest {
@@ -140,4 +157,228 @@ class RetryHandlerTest {
             assertTrue(result, "Expected retryRequest to return true on iteration " + i);
         }
     }
+
+    @Test
+    void recordsTheRetryDelayInsteadOfWaitingForAsyncRequests() throws IOException {
+        final AsyncRetryContext retryContext = new AsyncRetryContext();
+        final Request request =
+                new Request.Builder()
+                        .url("https://graph.microsoft.com/v1.0/me")
+                        .tag(AsyncRetryContext.class, retryContext)
+                        .build();
+        final Interceptor.Chain chain = mock(Interceptor.Chain.class);
+        when(chain.request()).thenReturn(request);
+        when(chain.proceed(any(Request.class)))
+                .thenAnswer(
+                        invocation ->
+                                new Response.Builder()
+                                        .request(invocation.getArgument(0))
+                                        .protocol(Protocol.HTTP_1_1)
+                                        .code(429)
+                                        .message("Too Many Requests")
+                                        .header("Retry-After", "10")
+                                        .build());
+
+        final Response response = retryHandler.intercept(chain);
+
+        assertEquals(429, response.code());
+        verify(chain, times(1)).proceed(any(Request.class));
+        assertTrue(retryContext.isRetryRequested());
+        assertEquals(10 * DELAY_MILLISECONDS, retryContext.getRetryDelay(), DELTA);
+    }
+
+    @Test
+    void sendsTheRetryAttemptHeaderForScheduledAsyncRetries() throws IOException {
+        final AsyncRetryContext retryContext = new AsyncRetryContext();
+        retryContext.requestRetry(0);
+        retryContext.prepareNextAttempt();
+        final Request request =
+                new Request.Builder()
+                        .url("https://graph.microsoft.com/v1.0/me")
+                        .tag(AsyncRetryContext.class, retryContext)
+                        .build();
+        final Interceptor.Chain chain = mock(Interceptor.Chain.class);
+        when(chain.request()).thenReturn(request);
+        final ArgumentCaptor<Request> proceededRequest = ArgumentCaptor.forClass(Request.class);
+        when(chain.proceed(proceededRequest.capture()))
+                .thenAnswer(
+                        invocation ->
+                                new Response.Builder()
+                                        .request(invocation.getArgument(0))
+                                        .protocol(Protocol.HTTP_1_1)
+                                        .code(200)
+                                        .message("OK")
+                                        .build());
+
+        retryHandler.intercept(chain);
+
+        assertEquals("1", proceededRequest.getValue().header("Retry-Attempt"));
+        assertFalse(retryContext.isRetryRequested());
+    }
+
+    private static Interceptor.Chain mockChain(final int... statusCodes) throws IOException {
+        // requests sent by the adapter always carry the observability options
+        final Request request =
+                new Request.Builder()
+                        .url("https://graph.microsoft.com/v1.0/me")
+                        .tag(ObservabilityOptions.class, new ObservabilityOptions())
+                        .build();
+        final Interceptor.Chain chain = mock(Interceptor.Chain.class);
+        when(chain.request()).thenReturn(request);
+        final AtomicInteger index = new AtomicInteger();
+        when(chain.proceed(any(Request.class)))
+                .thenAnswer(
+                        invocation ->
+                                new Response.Builder()
+                                        .request(invocation.getArgument(0))
+                                        .protocol(Protocol.HTTP_1_1)
+                                        .code(
+                                                statusCodes[
+                                                        Math.min(
+                                                                index.getAndIncrement(),
+                                                                statusCodes.length - 1)])
+                                        .message("Status")
+                                        .header("Retry-After", "0.001")
+                                        .body(ResponseBody.create("", null))
+                                        .build());
+        return chain;
+    }
+
+    private static RetryBudgetOption createBudget(double retryRatio) {
+        final RetryBudgetOption option = new RetryBudgetOption();
+        option.setRetryRatio(retryRatio);
+        option.setMinRetriesPerSecond(0);
+        return option;
+    }
+
+    @Test
+    void skipsRetriesWhenTheRetryBudgetIsExhausted() throws IOException {
+        final RetryHandler handler = new RetryHandler(null, createBudget(0), null);
+        final Interceptor.Chain chain = mockChain(503);
+
+        final Response response = handler.intercept(chain);
+
+        assertEquals(503, response.code());
+        verify(chain, times(1)).proceed(any(Request.class));
+    }
+
+    @Test
+    void allowsRetriesUpToAFractionOfTheSuccessfulRequests() throws IOException {
+        final RetryHandler handler = new RetryHandler(null, createBudget(0.5), null);
+        final Interceptor.Chain chain = mockChain(200, 200, 503);
+
+        handler.intercept(chain);
+        handler.intercept(chain);
+        final Response response = handler.intercept(chain);
+
+        assertEquals(503, response.code());
+        // two successes allow a single retry
+        verify(chain, times(4)).proceed(any(Request.class));
+    }
+
+    @Test
+    void failsFastOnceTheCircuitIsOpen() throws IOException {
+        final CircuitBreakerOption circuitBreakerOption = new CircuitBreakerOption();
+        circuitBreakerOption.setFailureThreshold(2);
+        final RetryHandler handler =
+                new RetryHandler(
+                        new RetryHandlerOption((delay, count, request, response) -> false, 0, 0),
+                        null,
+                        circuitBreakerOption);
+        final Interceptor.Chain chain = mockChain(503);
+
+        handler.intercept(chain);
+        handler.intercept(chain);
+        final IOException exception =
+                assertThrows(IOException.class, () -> handler.intercept(chain));
+
+        assertInstanceOf(ApiException.class, exception.getCause());
+        assertEquals(CircuitBreaker.State.OPEN, handler.getCircuitState(chain.request()));
+        verify(chain, times(2)).proceed(any(Request.class));
+    }
+
+    @Test
+    void closesTheCircuitWhenTheProbeSucceeds() throws IOException {
+        final CircuitBreakerOption circuitBreakerOption = new CircuitBreakerOption();
+        circuitBreakerOption.setFailureThreshold(1);
+        circuitBreakerOption.setOpenDuration(Duration.ZERO);
+        final RetryHandler handler =
+                new RetryHandler(
+                        new RetryHandlerOption((delay, count, request, response) -> false, 0, 0),
+                        null,
+                        circuitBreakerOption);
+        final Interceptor.Chain chain = mockChain(503, 503, 200);
+
+        handler.intercept(chain);
+        assertEquals(CircuitBreaker.State.OPEN, handler.getCircuitState(chain.request()));
+        // the failed probe opens the circuit again
+        handler.intercept(chain);
+        assertEquals(CircuitBreaker.State.OPEN, handler.getCircuitState(chain.request()));
+        handler.intercept(chain);
+        assertEquals(CircuitBreaker.State.CLOSED, handler.getCircuitState(chain.request()));
+    }
+
+    @Test
+    void stopsRetryingWhenTheCircuitOpens() throws IOException {
+        final CircuitBreakerOption circuitBreakerOption = new CircuitBreakerOption();
+        circuitBreakerOption.setFailureThreshold(2);
+        final RetryHandler handler = new RetryHandler(null, null, circuitBreakerOption);
+        final Interceptor.Chain chain = mockChain(503);
+
+        final Response response = handler.intercept(chain);
+
+        assertEquals(503, response.code());
+        verify(chain, times(2)).proceed(any(Request.class));
+    }
+
+    @Test
+    void doesNotCountRequestsPacedByTheRateLimiterAsHostFailures() throws IOException {
+        final CircuitBreakerOption circuitBreakerOption = new CircuitBreakerOption();
+        circuitBreakerOption.setFailureThreshold(1);
+        final RetryHandler handler =
+                new RetryHandler(
+                        new RetryHandlerOption((delay, count, request, response) -> false, 0, 0),
+                        null,
+                        circuitBreakerOption);
+        final Interceptor.Chain chain = mockChain(200);
+        when(chain.proceed(any(Request.class)))
+                .thenThrow(new RateLimitExceededException("paced by the client", 1000));
+
+        assertThrows(RateLimitExceededException.class, () -> handler.intercept(chain));
+        assertThrows(RateLimitExceededException.class, () -> handler.intercept(chain));
+
+        assertEquals(CircuitBreaker.State.CLOSED, handler.getCircuitState(chain.request()));
+    }
+
+    @Test
+    void refundsRetriesPacedByTheRateLimiter() throws IOException {
+        final RetryHandler handler = new RetryHandler(null, createBudget(0.5), null);
+        final Interceptor.Chain chain = mockChain(200);
+        when(chain.proceed(any(Request.class)))
+                .thenAnswer(invocation -> respond(invocation.getArgument(0), 200))
+                .thenAnswer(invocation -> respond(invocation.getArgument(0), 200))
+                .thenAnswer(invocation -> respond(invocation.getArgument(0), 503))
+                .thenThrow(new RateLimitExceededException("paced by the client", 1000))
+                .thenAnswer(invocation -> respond(invocation.getArgument(0), 503));
+
+        handler.intercept(chain);
+        handler.intercept(chain);
+        // two successes allow a single retry, which is given back when the client paces it
+        assertThrows(RateLimitExceededException.class, () -> handler.intercept(chain));
+        final Response response = handler.intercept(chain);
+
+        assertEquals(503, response.code());
+        verify(chain, times(6)).proceed(any(Request.class));
+    }
+
+    private static Response respond(final Request request, final int statusCode) {
+        return new Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(statusCode)
+                .message("Status")
+                .header("Retry-After", "0.001")
+                .body(ResponseBody.create("", null))
+                .build();
+    }
 }
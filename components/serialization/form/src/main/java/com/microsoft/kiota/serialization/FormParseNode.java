@@ -330,7 +330,7 @@ public class FormParseNode implements ParseNode {
     @Nonnull public <T extends Parsable> T getObjectValue(@Nonnull final ParsableFactory<T> factory) {
         Objects.requireNonNull(factory, "parameter factory cannot be null");
         final T item = factory.create(this);
-        assignFieldValues(item, item.getFieldDeserializers());
+        assignFieldValues(item, FieldDeserializerDispatch.of(item));
         return item;
     }
 
@@ -360,7 +360,7 @@ public class FormParseNode implements ParseNode {
     }
 
     private <T extends Parsable> void assignFieldValues(
-            final T item, final Map<String, Consumer<ParseNode>> fieldDeserializers) {
+            final T item, final FieldDeserializerDispatch<T> fieldDeserializers) {
         if (!fields.isEmpty()) {
             if (this.onBeforeAssignFieldValues != null) {
                 this.onBeforeAssignFieldValues.accept(item);
@@ -371,13 +371,14 @@ public class FormParseNode implements ParseNode {
             }
             for (final Map.Entry<String, String> fieldEntry : fields.entrySet()) {
                 final String fieldKey = fieldEntry.getKey();
-                final Consumer<ParseNode> fieldDeserializer = fieldDeserializers.get(fieldKey);
                 final String fieldValue = fieldEntry.getValue();
                 if (fieldValue == null) continue;
-                if (fieldDeserializer != null) {
+                if (fieldDeserializers.canDeserialize(fieldKey)) {
                     final Consumer<Parsable> onBefore = this.onBeforeAssignFieldValues;
                     final Consumer<Parsable> onAfter = this.onAfterAssignFieldValues;
-                    fieldDeserializer.accept(
+                    fieldDeserializers.deserialize(
+                            item,
+                            fieldKey,
                             new FormParseNode(fieldValue) {
                                 {
                                     this.setOnBeforeAssignFieldValues(onBefore);
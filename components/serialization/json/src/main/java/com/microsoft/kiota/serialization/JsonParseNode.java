@@ -165,6 +165,29 @@ public class JsonParseNode implements ParseNode {
         } else return null;
     }
 
+    @Nullable public <T extends Parsable> Iterator<T> iterateCollectionOfObjectValues(
+            @Nonnull final ParsableFactory<T> factory) {
+        Objects.requireNonNull(factory, "parameter factory cannot be null");
+        if (!currentNode.isJsonArray()) {
+            return null;
+        }
+        final Iterator<JsonElement> sourceIterator = currentNode.getAsJsonArray().iterator();
+        return new Iterator<T>() {
+            @Override
+            public boolean hasNext() {
+                return sourceIterator.hasNext();
+            }
+
+            @Override
+            public T next() {
+                final JsonParseNode itemNode = createNewNode(sourceIterator.next());
+                itemNode.setOnBeforeAssignFieldValues(getOnBeforeAssignFieldValues());
+                itemNode.setOnAfterAssignFieldValues(getOnAfterAssignFieldValues());
+                return itemNode.getObjectValue(factory);
+            }
+        };
+    }
+
     @Nullable public <T extends Enum<T>> List<T> getCollectionOfEnumValues(
             @Nonnull final ValuedEnumParser<T> enumParser) {
         Objects.requireNonNull(enumParser, "parameter enumParser cannot be null");
@@ -189,7 +212,7 @@ public class JsonParseNode implements ParseNode {
         Objects.requireNonNull(factory, "parameter factory cannot be null");
         final T item = factory.create(this);
         if (item.getClass() == UntypedNode.class) return (T) getUntypedValue();
-        assignFieldValues(item, item.getFieldDeserializers());
+        assignFieldValues(item, FieldDeserializerDispatch.of(item));
         return item;
     }
 
@@ -197,7 +220,7 @@ public class JsonParseNode implements ParseNode {
         return getUntypedValue(currentNode);
     }
 
-    @Nonnull private UntypedNode getUntypedValue(JsonElement element) {
+    @Nonnull static UntypedNode getUntypedValue(@Nonnull final JsonElement element) {
         if (element.isJsonNull()) return new UntypedNull();
         else if (element.isJsonPrimitive()) {
             final JsonPrimitive primitive = element.getAsJsonPrimitive();
@@ -257,8 +280,8 @@ public class JsonParseNode implements ParseNode {
         return EnumSet.copyOf(result);
     }
 
-    private <T extends Parsable> void assignFieldValues(
-            final T item, final Map<String, Consumer<ParseNode>> fieldDeserializers) {
+    <T extends Parsable> void assignFieldValues(
+            final T item, final FieldDeserializerDispatch<T> fieldDeserializers) {
         if (currentNode.isJsonObject()) {
             if (this.onBeforeAssignFieldValues != null) {
                 this.onBeforeAssignFieldValues.accept(item);
@@ -270,16 +293,15 @@ public class JsonParseNode implements ParseNode {
             for (final Map.Entry<String, JsonElement> fieldEntry :
                     currentNode.getAsJsonObject().entrySet()) {
                 final String fieldKey = fieldEntry.getKey();
-                final Consumer<ParseNode> fieldDeserializer = fieldDeserializers.get(fieldKey);
                 final JsonElement fieldValue = fieldEntry.getValue();
                 if (fieldValue.isJsonNull()) continue;
-                if (fieldDeserializer != null) {
+                if (fieldDeserializers.canDeserialize(fieldKey)) {
                     final JsonParseNode itemNode = createNewNode(fieldValue);
                     itemNode.setOnBeforeAssignFieldValues(this.onBeforeAssignFieldValues);
                     itemNode.setOnAfterAssignFieldValues(this.onAfterAssignFieldValues);
-                    fieldDeserializer.accept(itemNode);
+                    fieldDeserializers.deserialize(item, fieldKey, itemNode);
                 } else if (itemAdditionalData != null)
-                    itemAdditionalData.put(fieldKey, this.tryGetAnything(fieldValue));
+                    itemAdditionalData.put(fieldKey, tryGetAnything(fieldValue));
             }
             if (this.onAfterAssignFieldValues != null) {
                 this.onAfterAssignFieldValues.accept(item);
@@ -287,7 +309,7 @@ public class JsonParseNode implements ParseNode {
         }
     }
 
-    private Object tryGetAnything(final JsonElement element) {
+    @Nullable static Object tryGetAnything(@Nonnull final JsonElement element) {
         if (element.isJsonNull()) return null;
         else if (element.isJsonPrimitive()) {
             final JsonPrimitive primitive = element.getAsJsonPrimitive();
@@ -7,10 +7,10 @@ import com.microsoft.kiota.PeriodAndDuration;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.lang.reflect.Field;
 import java.math.BigDecimal;
@@ -31,8 +31,9 @@ import java.util.stream.Stream;
 
 /** Serialization writer implementation for JSON */
 public class JsonSerializationWriter implements SerializationWriter {
-    private final ByteArrayOutputStream stream = new ByteArrayOutputStream();
-    private final JsonWriter writer;
+    @Nullable private final ByteArrayOutputStream stream;
+    private final OutputStreamWriter streamWriter;
+    private JsonWriter writer;
     private final Gson gson;
 
     /**
@@ -47,7 +48,23 @@ public class JsonSerializationWriter implements SerializationWriter {
      * @param gson the {@link Gson} instance to use for writing value types.
      */
     public JsonSerializationWriter(@Nonnull Gson gson) {
-        this.writer = new JsonWriter(new OutputStreamWriter(this.stream, StandardCharsets.UTF_8));
+        this.stream = new ByteArrayOutputStream();
+        this.streamWriter = new OutputStreamWriter(this.stream, StandardCharsets.UTF_8);
+        this.writer = new JsonWriter(this.streamWriter);
+        this.gson = Objects.requireNonNull(gson, "parameter gson cannot be null");
+    }
+
+    /**
+     * Creates a new instance of a json serialization writer that writes directly to the provided stream.
+     * The stream is flushed but not closed when the writer is closed, and {@link #getSerializedContent()} is not supported.
+     * @param gson the {@link Gson} instance to use for writing value types.
+     * @param outputStream the stream to write the json payload to.
+     */
+    public JsonSerializationWriter(@Nonnull Gson gson, @Nonnull OutputStream outputStream) {
+        Objects.requireNonNull(outputStream, "parameter outputStream cannot be null");
+        this.stream = null;
+        this.streamWriter = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+        this.writer = new JsonWriter(this.streamWriter);
         this.gson = Objects.requireNonNull(gson, "parameter gson cannot be null");
     }
 
@@ -438,9 +455,13 @@ public class JsonSerializationWriter implements SerializationWriter {
     }
 
     @Nonnull public InputStream getSerializedContent() {
+        if (this.stream == null) {
+            throw new UnsupportedOperationException(
+                    "the content was written to the stream provided to the writer");
+        }
         try {
             this.writer.flush();
-            return new ByteArrayInputStream(this.stream.toByteArray());
+            return new SerializedContentStream(this.stream.toByteArray());
             // This copies the whole array in memory could result in memory pressure for large
             // objects, we might want to replace by some kind of piping in the future
         } catch (IOException ex) {
@@ -448,7 +469,40 @@ public class JsonSerializationWriter implements SerializationWriter {
         }
     }
 
+    /**
+     * Discards the serialized content and the serialization callbacks so the writer can be reused.
+     * The buffer allocated for the previous content is retained.
+     */
+    public void reset() {
+        if (this.stream == null) {
+            throw new UnsupportedOperationException(
+                    "the content was written to the stream provided to the writer");
+        }
+        try {
+            this.writer.flush();
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+        this.stream.reset();
+        this.writer = new JsonWriter(this.streamWriter);
+        this.onBeforeObjectSerialization = null;
+        this.onAfterObjectSerialization = null;
+        this.onStartObjectSerialization = null;
+    }
+
+    /**
+     * Gets the number of bytes currently held by the writer's buffer.
+     * @return the number of buffered bytes, 0 when the writer streams to a provided output stream.
+     */
+    int getBufferedContentLength() {
+        return this.stream == null ? 0 : this.stream.size();
+    }
+
     public void close() throws IOException {
+        if (this.stream == null) {
+            this.writer.flush();
+            return;
+        }
         this.writer.close();
         this.stream.close();
     }
@@ -4,11 +4,12 @@ import com.google.gson.Gson;
 
 import jakarta.annotation.Nonnull;
 
+import java.io.OutputStream;
 import java.util.Objects;
 
 /** Creates new Json serialization writers. */
 public class JsonSerializationWriterFactory implements SerializationWriterFactory {
-    private final Gson gson;
+    final Gson gson;
 
     /** Creates a new factory */
     public JsonSerializationWriterFactory() {
@@ -34,12 +35,24 @@ public class JsonSerializationWriterFactory implements SerializationWriterFactor
     /** {@inheritDoc} */
     @Override
     @Nonnull public SerializationWriter getSerializationWriter(@Nonnull final String contentType) {
+        validateContentType(contentType);
+        return new JsonSerializationWriter(gson);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Nonnull public SerializationWriter getSerializationWriter(
+            @Nonnull final String contentType, @Nonnull final OutputStream outputStream) {
+        validateContentType(contentType);
+        return new JsonSerializationWriter(gson, outputStream);
+    }
+
+    static void validateContentType(@Nonnull final String contentType) {
         Objects.requireNonNull(contentType, "parameter contentType cannot be null");
         if (contentType.isEmpty()) {
             throw new NullPointerException("contentType cannot be empty");
         } else if (!contentType.equals(validContentType)) {
             throw new IllegalArgumentException("expected a " + validContentType + " content type");
         }
-        return new JsonSerializationWriter(gson);
     }
 }
@@ -0,0 +1,540 @@
+package com.microsoft.kiota.serialization;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.microsoft.kiota.PeriodAndDuration;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * ParseNode implementation for JSON reading values straight from a {@link JsonReader} token stream.
+ * Objects and collections are deserialized while the tokens are read, without building a document tree first.
+ * Values are only buffered when they are scalars, when they are looked up with {@link #getChildNode(String)} before the object is deserialized (e.g. discriminator lookups), or when they end up in additional data or untyped nodes.
+ * Object and collection values can only be streamed once, the node does not close the underlying reader.
+ */
+public class JsonStreamingParseNode implements ParseNode {
+    private static final String readErrorMessage = "could not read the json payload";
+    private final JsonReader reader;
+    private final Gson gson;
+
+    /** The value once it has been fully read in memory. */
+    private JsonElement bufferedElement;
+
+    /** The fields read ahead from an object whose BEGIN_OBJECT token was already consumed. */
+    private JsonObject readAheadFields;
+
+    /** The token that started the value when it was streamed, null until then. */
+    private JsonToken streamedToken;
+
+    /** The collection produced when an array value was streamed. */
+    private List<?> streamedCollection;
+
+    /**
+     * Creates a new instance of the JsonStreamingParseNode class.
+     * @param reader the reader positioned before the value to parse.
+     */
+    public JsonStreamingParseNode(@Nonnull final JsonReader reader) {
+        this(reader, DefaultGsonBuilder.getDefaultInstance());
+    }
+
+    /**
+     * Creates a new instance of the JsonStreamingParseNode class.
+     * @param reader the reader positioned before the value to parse.
+     * @param gson the Gson instance to use and deserialize the values with.
+     */
+    public JsonStreamingParseNode(@Nonnull final JsonReader reader, @Nonnull final Gson gson) {
+        this.reader = Objects.requireNonNull(reader, "parameter reader cannot be null");
+        this.gson = Objects.requireNonNull(gson, "parameter gson cannot be null");
+    }
+
+    /**
+     * Creates a new {@link JsonStreamingParseNode} for the next value of the stream.
+     * @return the newly created {@link JsonStreamingParseNode}.
+     */
+    @Nonnull private JsonStreamingParseNode createStreamingNode() {
+        final JsonStreamingParseNode result = new JsonStreamingParseNode(reader, gson);
+        result.setOnBeforeAssignFieldValues(this.onBeforeAssignFieldValues);
+        result.setOnAfterAssignFieldValues(this.onAfterAssignFieldValues);
+        return result;
+    }
+
+    /**
+     * Creates a new {@link JsonParseNode} for a value that was already read in memory.
+     * @param element the element to wrap.
+     * @return the newly created {@link JsonParseNode}.
+     */
+    @Nonnull private JsonParseNode createBufferedNode(@Nonnull final JsonElement element) {
+        final JsonParseNode result = new JsonParseNode(element, gson);
+        result.setOnBeforeAssignFieldValues(this.onBeforeAssignFieldValues);
+        result.setOnAfterAssignFieldValues(this.onAfterAssignFieldValues);
+        return result;
+    }
+
+    @Nonnull private JsonParseNode getBufferedNode() {
+        return createBufferedNode(materialize());
+    }
+
+    /**
+     * Reads the remainder of the current value in memory.
+     * @return the element representing the current value.
+     */
+    @Nonnull private JsonElement materialize() {
+        if (bufferedElement == null) {
+            if (streamedToken != null) {
+                throw new IllegalStateException(
+                        "the value of this parse node was already streamed and cannot be read"
+                                + " again");
+            }
+            if (readAheadFields != null) {
+                while (hasNext()) {
+                    readAheadFields.add(nextName(), readElement());
+                }
+                endObject();
+                bufferedElement = readAheadFields;
+                readAheadFields = null;
+            } else {
+                bufferedElement = readElement();
+            }
+        }
+        return bufferedElement;
+    }
+
+    /**
+     * Checks whether the current value can be read as a scalar.
+     * @return true if the value is a scalar or was read in memory already.
+     */
+    private boolean isScalarOrBuffered() {
+        if (bufferedElement != null) return true;
+        if (readAheadFields != null || streamedToken != null) return false;
+        final JsonToken token = peek();
+        return token != JsonToken.BEGIN_OBJECT && token != JsonToken.BEGIN_ARRAY;
+    }
+
+    /** Moves the reader past the current value if it has not been read. */
+    private void skipRemaining() {
+        if (bufferedElement != null || streamedToken != null) return;
+        if (readAheadFields != null) {
+            while (hasNext()) {
+                nextName();
+                skipValue();
+            }
+            endObject();
+            readAheadFields = null;
+            streamedToken = JsonToken.BEGIN_OBJECT;
+        } else {
+            streamedToken = peek();
+            skipValue();
+        }
+    }
+
+    /**
+     * Enters the current object if it has not been entered already.
+     * @return true if the current value is an object which fields can be read from the stream.
+     */
+    private boolean enterObject() {
+        if (readAheadFields != null) return true;
+        if (streamedToken != null || peek() != JsonToken.BEGIN_OBJECT) return false;
+        beginObject();
+        readAheadFields = new JsonObject();
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Nullable public ParseNode getChildNode(@Nonnull final String identifier) {
+        Objects.requireNonNull(identifier, "identifier parameter is required");
+        if (bufferedElement != null) return getBufferedNode().getChildNode(identifier);
+        if (streamedToken == JsonToken.BEGIN_OBJECT) {
+            throw new IllegalStateException(
+                    "the object of this parse node was already streamed, child nodes cannot be"
+                            + " read anymore");
+        }
+        if (!enterObject()) return null;
+        JsonElement childNodeElement = readAheadFields.get(identifier);
+        while (childNodeElement == null && hasNext()) {
+            final String fieldKey = nextName();
+            final JsonElement fieldValue = readElement();
+            readAheadFields.add(fieldKey, fieldValue);
+            if (fieldKey.equals(identifier)) {
+                childNodeElement = fieldValue;
+            }
+        }
+        if (childNodeElement == null) {
+            // the whole object was read ahead without finding the identifier
+            endObject();
+            bufferedElement = readAheadFields;
+            readAheadFields = null;
+            return null;
+        }
+        return createBufferedNode(childNodeElement);
+    }
+
+    @Nullable public String getStringValue() {
+        return isScalarOrBuffered() ? getBufferedNode().getStringValue() : null;
+    }
+
+    @Nullable public Boolean getBooleanValue() {
+        return isScalarOrBuffered() ? getBufferedNode().getBooleanValue() : null;
+    }
+
+    @Nullable public Byte getByteValue() {
+        return isScalarOrBuffered() ? getBufferedNode().getByteValue() : null;
+    }
+
+    @Nullable public Short getShortValue() {
+        return isScalarOrBuffered() ? getBufferedNode().getShortValue() : null;
+    }
+
+    @Nullable public BigDecimal getBigDecimalValue() {
+        return isScalarOrBuffered() ? getBufferedNode().getBigDecimalValue() : null;
+    }
+
+    @Nullable public Integer getIntegerValue() {
+        return isScalarOrBuffered() ? getBufferedNode().getIntegerValue() : null;
+    }
+
+    @Nullable public Float getFloatValue() {
+        return isScalarOrBuffered() ? getBufferedNode().getFloatValue() : null;
+    }
+
+    @Nullable public Double getDoubleValue() {
+        return isScalarOrBuffered() ? getBufferedNode().getDoubleValue() : null;
+    }
+
+    @Nullable public Long getLongValue() {
+        return isScalarOrBuffered() ? getBufferedNode().getLongValue() : null;
+    }
+
+    @Nullable public UUID getUUIDValue() {
+        return isScalarOrBuffered() ? getBufferedNode().getUUIDValue() : null;
+    }
+
+    @Nullable public OffsetDateTime getOffsetDateTimeValue() {
+        return isScalarOrBuffered() ? getBufferedNode().getOffsetDateTimeValue() : null;
+    }
+
+    @Nullable public LocalDate getLocalDateValue() {
+        return isScalarOrBuffered() ? getBufferedNode().getLocalDateValue() : null;
+    }
+
+    @Nullable public LocalTime getLocalTimeValue() {
+        return isScalarOrBuffered() ? getBufferedNode().getLocalTimeValue() : null;
+    }
+
+    @Nullable public PeriodAndDuration getPeriodAndDurationValue() {
+        return isScalarOrBuffered() ? getBufferedNode().getPeriodAndDurationValue() : null;
+    }
+
+    @Nullable public byte[] getByteArrayValue() {
+        return isScalarOrBuffered() ? getBufferedNode().getByteArrayValue() : null;
+    }
+
+    @Nullable public <T extends Enum<T>> T getEnumValue(@Nonnull final ValuedEnumParser<T> enumParser) {
+        return isScalarOrBuffered() ? getBufferedNode().getEnumValue(enumParser) : null;
+    }
+
+    @Nullable public <T extends Enum<T>> EnumSet<T> getEnumSetValue(
+            @Nonnull final ValuedEnumParser<T> enumParser) {
+        return isScalarOrBuffered() ? getBufferedNode().getEnumSetValue(enumParser) : null;
+    }
+
+    /**
+     * Checks whether the current value is an array which items can be streamed.
+     * @return true if the items can be streamed.
+     */
+    private boolean isStreamableArray() {
+        return readAheadFields == null && streamedToken == null && peek() == JsonToken.BEGIN_ARRAY;
+    }
+
+    /**
+     * Gets the collection produced by a previous streaming of the current array.
+     * Composed types probe for collections before reading them, which would otherwise require reading the array twice.
+     * @param <T> the type of the collection items.
+     * @return the collection previously produced.
+     */
+    @SuppressWarnings("unchecked")
+    @Nonnull private <T> List<T> getStreamedCollection() {
+        if (streamedCollection == null) {
+            throw new IllegalStateException(
+                    "the collection of this parse node was already iterated and cannot be read"
+                            + " again");
+        }
+        return (List<T>) streamedCollection;
+    }
+
+    private <T> List<T> iterateOnArray(final Function<JsonStreamingParseNode, T> fn) {
+        beginArray();
+        final List<T> result = new ArrayList<>();
+        while (hasNext()) {
+            final JsonStreamingParseNode itemNode = createStreamingNode();
+            result.add(fn.apply(itemNode));
+            itemNode.skipRemaining();
+        }
+        endArray();
+        streamedToken = JsonToken.BEGIN_ARRAY;
+        streamedCollection = result;
+        return result;
+    }
+
+    @Nullable public <T> List<T> getCollectionOfPrimitiveValues(@Nonnull final Class<T> targetClass) {
+        Objects.requireNonNull(targetClass, "parameter targetClass cannot be null");
+        if (bufferedElement != null)
+            return getBufferedNode().getCollectionOfPrimitiveValues(targetClass);
+        if (streamedToken == JsonToken.BEGIN_ARRAY) return getStreamedCollection();
+        if (readAheadFields == null && streamedToken == null && peek() == JsonToken.NULL)
+            return null;
+        if (isStreamableArray()) {
+            return iterateOnArray(itemNode -> itemNode.readValue(targetClass));
+        } else throw new RuntimeException("invalid state expected to have an array node");
+    }
+
+    @Nullable public <T extends Parsable> List<T> getCollectionOfObjectValues(
+            @Nonnull final ParsableFactory<T> factory) {
+        Objects.requireNonNull(factory, "parameter factory cannot be null");
+        if (bufferedElement != null) return getBufferedNode().getCollectionOfObjectValues(factory);
+        if (streamedToken == JsonToken.BEGIN_ARRAY) return getStreamedCollection();
+        if (isStreamableArray()) {
+            return iterateOnArray(itemNode -> itemNode.getObjectValue(factory));
+        } else return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The items are read from the stream as the iterator advances, the collection cannot be read again afterwards.
+     */
+    @Nullable public <T extends Parsable> Iterator<T> iterateCollectionOfObjectValues(
+            @Nonnull final ParsableFactory<T> factory) {
+        Objects.requireNonNull(factory, "parameter factory cannot be null");
+        if (bufferedElement != null)
+            return getBufferedNode().iterateCollectionOfObjectValues(factory);
+        if (streamedToken == JsonToken.BEGIN_ARRAY)
+            return this.<T>getStreamedCollection().iterator();
+        if (!isStreamableArray()) return null;
+        beginArray();
+        streamedToken = JsonToken.BEGIN_ARRAY;
+        return new Iterator<T>() {
+            private JsonStreamingParseNode currentItemNode;
+            private boolean endOfArray;
+
+            @Override
+            public boolean hasNext() {
+                if (endOfArray) return false;
+                if (currentItemNode != null) {
+                    currentItemNode.skipRemaining();
+                    currentItemNode = null;
+                }
+                if (JsonStreamingParseNode.this.hasNext()) return true;
+                endArray();
+                endOfArray = true;
+                return false;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                currentItemNode = createStreamingNode();
+                return currentItemNode.getObjectValue(factory);
+            }
+        };
+    }
+
+    @Nullable public <T extends Enum<T>> List<T> getCollectionOfEnumValues(
+            @Nonnull final ValuedEnumParser<T> enumParser) {
+        Objects.requireNonNull(enumParser, "parameter enumParser cannot be null");
+        if (bufferedElement != null) return getBufferedNode().getCollectionOfEnumValues(enumParser);
+        if (streamedToken == JsonToken.BEGIN_ARRAY) return getStreamedCollection();
+        if (readAheadFields == null && streamedToken == null && peek() == JsonToken.NULL)
+            return null;
+        if (isStreamableArray()) {
+            // null items and unknown values are skipped
+            final List<T> result =
+                    iterateOnArray(
+                            itemNode -> {
+                                final String rawValue = itemNode.readValue(String.class);
+                                if (rawValue == null || rawValue.isEmpty()) {
+                                    return null;
+                                }
+                                return enumParser.forValue(rawValue);
+                            });
+            result.removeIf(Objects::isNull);
+            return result;
+        } else throw new RuntimeException("invalid state expected to have an array node");
+    }
+
+    @Nullable private <T> T readValue(@Nonnull final Class<T> targetClass) {
+        streamedToken = peek();
+        try {
+            return gson.getAdapter(targetClass).read(reader);
+        } catch (IOException ex) {
+            throw new RuntimeException(readErrorMessage, ex);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nonnull public <T extends Parsable> T getObjectValue(@Nonnull final ParsableFactory<T> factory) {
+        Objects.requireNonNull(factory, "parameter factory cannot be null");
+        final T item = factory.create(this);
+        if (item.getClass() == UntypedNode.class)
+            return (T) JsonParseNode.getUntypedValue(materialize());
+        if (bufferedElement != null) {
+            getBufferedNode().assignFieldValues(item, FieldDeserializerDispatch.of(item));
+        } else if (streamedToken == JsonToken.BEGIN_OBJECT) {
+            throw new IllegalStateException(
+                    "the object of this parse node was already streamed and cannot be read"
+                            + " again");
+        } else if (enterObject()) {
+            assignFieldValues(item, FieldDeserializerDispatch.of(item));
+        }
+        return item;
+    }
+
+    private <T extends Parsable> void assignFieldValues(
+            final T item, final FieldDeserializerDispatch<T> fieldDeserializers) {
+        if (this.onBeforeAssignFieldValues != null) {
+            this.onBeforeAssignFieldValues.accept(item);
+        }
+        Map<String, Object> itemAdditionalData = null;
+        if (item instanceof AdditionalDataHolder) {
+            itemAdditionalData = ((AdditionalDataHolder) item).getAdditionalData();
+        }
+        // fields read ahead for discriminator lookups come first in the payload
+        final JsonObject readAhead = readAheadFields;
+        readAheadFields = null;
+        streamedToken = JsonToken.BEGIN_OBJECT;
+        for (final Map.Entry<String, JsonElement> fieldEntry : readAhead.entrySet()) {
+            final String fieldKey = fieldEntry.getKey();
+            final JsonElement fieldValue = fieldEntry.getValue();
+            if (fieldValue.isJsonNull()) continue;
+            if (fieldDeserializers.canDeserialize(fieldKey)) {
+                fieldDeserializers.deserialize(item, fieldKey, createBufferedNode(fieldValue));
+            } else if (itemAdditionalData != null)
+                itemAdditionalData.put(fieldKey, JsonParseNode.tryGetAnything(fieldValue));
+        }
+        while (hasNext()) {
+            final String fieldKey = nextName();
+            if (peek() == JsonToken.NULL) {
+                skipValue();
+                continue;
+            }
+            if (fieldDeserializers.canDeserialize(fieldKey)) {
+                final JsonStreamingParseNode itemNode = createStreamingNode();
+                fieldDeserializers.deserialize(item, fieldKey, itemNode);
+                itemNode.skipRemaining();
+            } else if (itemAdditionalData != null)
+                itemAdditionalData.put(fieldKey, JsonParseNode.tryGetAnything(readElement()));
+            else skipValue();
+        }
+        endObject();
+        if (this.onAfterAssignFieldValues != null) {
+            this.onAfterAssignFieldValues.accept(item);
+        }
+    }
+
+    @Nonnull private JsonToken peek() {
+        try {
+            return reader.peek();
+        } catch (IOException ex) {
+            throw new RuntimeException(readErrorMessage, ex);
+        }
+    }
+
+    private boolean hasNext() {
+        try {
+            return reader.hasNext();
+        } catch (IOException ex) {
+            throw new RuntimeException(readErrorMessage, ex);
+        }
+    }
+
+    @Nonnull private String nextName() {
+        try {
+            return reader.nextName();
+        } catch (IOException ex) {
+            throw new RuntimeException(readErrorMessage, ex);
+        }
+    }
+
+    private void skipValue() {
+        try {
+            reader.skipValue();
+        } catch (IOException ex) {
+            throw new RuntimeException(readErrorMessage, ex);
+        }
+    }
+
+    private void beginObject() {
+        try {
+            reader.beginObject();
+        } catch (IOException ex) {
+            throw new RuntimeException(readErrorMessage, ex);
+        }
+    }
+
+    private void endObject() {
+        try {
+            reader.endObject();
+        } catch (IOException ex) {
+            throw new RuntimeException(readErrorMessage, ex);
+        }
+    }
+
+    private void beginArray() {
+        try {
+            reader.beginArray();
+        } catch (IOException ex) {
+            throw new RuntimeException(readErrorMessage, ex);
+        }
+    }
+
+    private void endArray() {
+        try {
+            reader.endArray();
+        } catch (IOException ex) {
+            throw new RuntimeException(readErrorMessage, ex);
+        }
+    }
+
+    @Nonnull private JsonElement readElement() {
+        return JsonParser.parseReader(reader);
+    }
+
+    @Nullable public Consumer<Parsable> getOnBeforeAssignFieldValues() {
+        return this.onBeforeAssignFieldValues;
+    }
+
+    @Nullable public Consumer<Parsable> getOnAfterAssignFieldValues() {
+        return this.onAfterAssignFieldValues;
+    }
+
+    private Consumer<Parsable> onBeforeAssignFieldValues;
+
+    public void setOnBeforeAssignFieldValues(@Nullable final Consumer<Parsable> value) {
+        this.onBeforeAssignFieldValues = value;
+    }
+
+    private Consumer<Parsable> onAfterAssignFieldValues;
+
+    public void setOnAfterAssignFieldValues(@Nullable final Consumer<Parsable> value) {
+        this.onAfterAssignFieldValues = value;
+    }
+}
@@ -0,0 +1,70 @@
+package com.microsoft.kiota.serialization;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonNull;
+import com.google.gson.Strictness;
+import com.google.gson.stream.JsonReader;
+
+import jakarta.annotation.Nonnull;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Creates new Json parse nodes reading the payload as a token stream.
+ * Unlike {@link JsonParseNodeFactory}, the payload is not parsed in a document tree upfront and the stream is not closed by the factory, it must remain open until the deserialization completes.
+ */
+public class JsonStreamingParseNodeFactory implements ParseNodeFactory {
+    private final Gson gson;
+
+    /** Creates a new factory */
+    public JsonStreamingParseNodeFactory() {
+        this(DefaultGsonBuilder.getDefaultInstance());
+    }
+
+    /**
+     * Creates a new factory
+     * @param gson the {@link Gson} instance to use for parsing value types.
+     */
+    public JsonStreamingParseNodeFactory(@Nonnull Gson gson) {
+        Objects.requireNonNull(gson, "parameter gson cannot be null");
+        this.gson = gson;
+    }
+
+    /** {@inheritDoc} */
+    @Nonnull public String getValidContentType() {
+        return validContentType;
+    }
+
+    private static final String validContentType = "application/json";
+
+    /** {@inheritDoc} */
+    @Override
+    @Nonnull public ParseNode getParseNode(
+            @Nonnull final String contentType, @Nonnull final InputStream rawResponse) {
+        Objects.requireNonNull(contentType, "parameter contentType cannot be null");
+        Objects.requireNonNull(rawResponse, "parameter rawResponse cannot be null");
+        if (contentType.isEmpty()) {
+            throw new NullPointerException("contentType cannot be empty");
+        } else if (!contentType.equals(validContentType)) {
+            throw new IllegalArgumentException("expected a " + validContentType + " content type");
+        }
+        final JsonReader reader =
+                new JsonReader(new InputStreamReader(rawResponse, StandardCharsets.UTF_8));
+        // aligned with JsonParser.parseReader used by the tree based parse node
+        reader.setStrictness(Strictness.LENIENT);
+        try {
+            reader.peek();
+        } catch (EOFException ex) {
+            // empty payloads are represented as null values
+            return new JsonParseNode(JsonNull.INSTANCE, gson);
+        } catch (IOException ex) {
+            throw new RuntimeException("could not read the payload", ex);
+        }
+        return new JsonStreamingParseNode(reader, gson);
+    }
+}
@@ -0,0 +1,142 @@
+package com.microsoft.kiota.serialization;
+
+import com.google.gson.Gson;
+
+import jakarta.annotation.Nonnull;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Creates Json serialization writers from a bounded pool.
+ * Writers are reset and returned to the pool when they are closed, retaining their buffer unless it grew beyond the configured size.
+ */
+public class PooledJsonSerializationWriterFactory extends JsonSerializationWriterFactory {
+    /** The default maximum number of idle writers kept by the pool. */
+    public static final int DEFAULT_MAX_POOL_SIZE = 32;
+
+    /** The default maximum buffer size, in bytes, of a writer returned to the pool. */
+    public static final int DEFAULT_MAX_RETAINED_BUFFER_SIZE = 256 * 1024;
+
+    private final Queue<PooledJsonSerializationWriter> pool = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooledWriterCount = new AtomicInteger();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final int maxPoolSize;
+    private final int maxRetainedBufferSize;
+
+    /** Creates a new factory */
+    public PooledJsonSerializationWriterFactory() {
+        this(DefaultGsonBuilder.getDefaultInstance());
+    }
+
+    /**
+     * Creates a new factory
+     * @param gson the {@link Gson} instance to use for writing value types.
+     */
+    public PooledJsonSerializationWriterFactory(@Nonnull final Gson gson) {
+        this(gson, DEFAULT_MAX_POOL_SIZE, DEFAULT_MAX_RETAINED_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a new factory
+     * @param gson the {@link Gson} instance to use for writing value types.
+     * @param maxPoolSize the maximum number of idle writers kept by the pool.
+     * @param maxRetainedBufferSize the maximum buffer size, in bytes, of a writer returned to the pool, writers that grew larger are discarded.
+     */
+    public PooledJsonSerializationWriterFactory(
+            @Nonnull final Gson gson, final int maxPoolSize, final int maxRetainedBufferSize) {
+        super(gson);
+        if (maxPoolSize < 0) {
+            throw new IllegalArgumentException("maxPoolSize cannot be negative");
+        }
+        if (maxRetainedBufferSize < 0) {
+            throw new IllegalArgumentException("maxRetainedBufferSize cannot be negative");
+        }
+        this.maxPoolSize = maxPoolSize;
+        this.maxRetainedBufferSize = maxRetainedBufferSize;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Nonnull public SerializationWriter getSerializationWriter(@Nonnull final String contentType) {
+        validateContentType(contentType);
+        final PooledJsonSerializationWriter writer = pool.poll();
+        if (writer == null) {
+            misses.incrementAndGet();
+            return new PooledJsonSerializationWriter(gson, this);
+        }
+        pooledWriterCount.decrementAndGet();
+        hits.incrementAndGet();
+        writer.released = false;
+        return writer;
+    }
+
+    /**
+     * Gets the number of writers that were served from the pool.
+     * @return the number of pool hits.
+     */
+    public long getPoolHits() {
+        return hits.get();
+    }
+
+    /**
+     * Gets the number of writers that had to be allocated because the pool was empty.
+     * @return the number of pool misses.
+     */
+    public long getPoolMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Gets the number of idle writers currently held by the pool.
+     * @return the number of pooled writers.
+     */
+    public int getPooledWriterCount() {
+        return pooledWriterCount.get();
+    }
+
+    private boolean release(@Nonnull final PooledJsonSerializationWriter writer) {
+        if (writer.getBufferedContentLength() > maxRetainedBufferSize) {
+            return false;
+        }
+        if (pooledWriterCount.incrementAndGet() > maxPoolSize) {
+            pooledWriterCount.decrementAndGet();
+            return false;
+        }
+        try {
+            writer.reset();
+        } catch (RuntimeException ex) {
+            pooledWriterCount.decrementAndGet();
+            throw ex;
+        }
+        pool.offer(writer);
+        return true;
+    }
+
+    private static final class PooledJsonSerializationWriter extends JsonSerializationWriter {
+        private final PooledJsonSerializationWriterFactory factory;
+        private boolean released;
+
+        PooledJsonSerializationWriter(
+                @Nonnull final Gson gson,
+                @Nonnull final PooledJsonSerializationWriterFactory factory) {
+            super(gson);
+            this.factory = factory;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (released) {
+                return;
+            }
+            released = true;
+            if (!factory.release(this)) {
+                super.close();
+            }
+        }
+    }
+}
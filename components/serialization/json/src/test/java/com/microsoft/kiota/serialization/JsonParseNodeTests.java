@@ -27,6 +27,10 @@ import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
 import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 class JsonParseNodeTests {
     private static final JsonParseNodeFactory _parseNodeFactory = new JsonParseNodeFactory();
@@ -126,6 +130,40 @@ class JsonParseNodeTests {
         assertNull(result);
     }
 
+    static class RegisteredEntity extends TestEntity {
+        static {
+            final Map<String, BiConsumer<? super RegisteredEntity, ParseNode>> deserializers =
+                    new HashMap<>();
+            deserializers.put("id", (o, n) -> o.setId(n.getStringValue()));
+            deserializers.put(
+                    "phones",
+                    (o, n) -> {
+                        final var value = n.getCollectionOfPrimitiveValues(String.class);
+                        if (value != null) {
+                            o.setPhones(value);
+                        }
+                    });
+            FieldDeserializerDispatch.register(RegisteredEntity.class, deserializers);
+        }
+
+        @Override
+        public Map<String, Consumer<ParseNode>> getFieldDeserializers() {
+            throw new UnsupportedOperationException("the registered deserializers are expected");
+        }
+    }
+
+    @Test
+    void usesTheFieldDeserializersRegisteredForTheType() {
+        final var jsonElement =
+                JsonParser.parseString("{\"id\":\"opaque\",\"phones\":[\"+1\"],\"extra\":true}");
+        final var result =
+                new JsonParseNode(jsonElement, DefaultGsonBuilder.getDefaultInstance())
+                        .getObjectValue(parseNode -> new RegisteredEntity());
+        assertEquals("opaque", result.getId());
+        assertEquals(1, result.getPhones().size());
+        assertEquals(true, result.getAdditionalData().get("extra"));
+    }
+
     @Test
     void testParsesDateTimeOffset() {
         final var dateTimeOffsetString = "2024-02-12T19:47:39+02:00";
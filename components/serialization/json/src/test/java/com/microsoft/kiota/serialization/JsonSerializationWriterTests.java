@@ -2,7 +2,9 @@ package com.microsoft.kiota.serialization;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import com.microsoft.kiota.Compatibility;
 import com.microsoft.kiota.PeriodAndDuration;
@@ -12,6 +14,7 @@ import com.microsoft.kiota.serialization.mocks.UntypedTestEntity;
 
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.Duration;
@@ -77,6 +80,29 @@ class JsonSerializationWriterTests {
         }
     }
 
+    @Test
+    void writesDirectlyToTheProvidedStream() throws IOException {
+        var testEntity = new TestEntity();
+        testEntity.setId("opaque");
+        final var outputStream =
+                new ByteArrayOutputStream() {
+                    boolean closed;
+
+                    @Override
+                    public void close() {
+                        closed = true;
+                    }
+                };
+        final var factory = new JsonSerializationWriterFactory();
+        try (final var jsonSerializer =
+                factory.getSerializationWriter("application/json", outputStream)) {
+            jsonSerializer.writeObjectValue("", testEntity);
+            assertThrows(UnsupportedOperationException.class, jsonSerializer::getSerializedContent);
+        }
+        assertEquals("{\"id\":\"opaque\"}", outputStream.toString("UTF-8"));
+        assertFalse(outputStream.closed);
+    }
+
     @Test
     void useNonStandardOffsetDateTimeFormat() throws IOException {
         var testEntity = new TestEntity();
@@ -0,0 +1,194 @@
+package com.microsoft.kiota.serialization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.microsoft.kiota.serialization.mocks.MyEnum;
+import com.microsoft.kiota.serialization.mocks.TestEntity;
+import com.microsoft.kiota.serialization.mocks.UnionTypeMock;
+import com.microsoft.kiota.serialization.mocks.UntypedTestEntity;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.UnsupportedEncodingException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+class JsonStreamingParseNodeTests {
+    private static final JsonStreamingParseNodeFactory _parseNodeFactory =
+            new JsonStreamingParseNodeFactory();
+    private static final String contentType = "application/json";
+
+    private static final String testJsonString =
+            "{\"displayName\":\"My"
+                + " Group\",\"phones\":[\"+1234567890\"],\"myEnum\":\"VALUE1\",\"enumCollection\":[\"VALUE1\",null,\"unknown\"],\"id\":\"11111111-1111-1111-1111-111111111111"
+                + "\",\"members@delta\":[{\"@odata.type\":\"#microsoft.graph.user\",\"id\":\"22222222-2222-2222-2222-222222222222\"}],\"officeLocation\":null,\"birthDay\":\"2017-09-04\"}";
+
+    private ParseNode getParseNode(final String payload) throws UnsupportedEncodingException {
+        return _parseNodeFactory.getParseNode(
+                contentType, new ByteArrayInputStream(payload.getBytes("UTF-8")));
+    }
+
+    @Test
+    void getsEntityFromTheTokenStream() throws UnsupportedEncodingException {
+        final var parseNode = getParseNode(testJsonString);
+        assertInstanceOf(JsonStreamingParseNode.class, parseNode);
+        final var entity = parseNode.getObjectValue(TestEntity::createFromDiscriminatorValue);
+        assertEquals("11111111-1111-1111-1111-111111111111", entity.getId());
+        assertEquals(1, entity.getPhones().size());
+        assertEquals(MyEnum.MY_VALUE1, entity.getMyEnum());
+        assertEquals(1, entity.getEnumCollection().size());
+        assertNull(entity.getOfficeLocation());
+        assertEquals(LocalDate.of(2017, 9, 4), entity.getBirthDay());
+        assertEquals("My Group", entity.getAdditionalData().get("displayName"));
+        final var arrayValue = (UntypedArray) entity.getAdditionalData().get("members@delta");
+        assertEquals(1, arrayValue.getValue().spliterator().estimateSize());
+    }
+
+    @Test
+    void getsTheSameResultAsTheTreeParseNode() throws UnsupportedEncodingException {
+        final var treeEntity =
+                new JsonParseNodeFactory()
+                        .getParseNode(
+                                contentType,
+                                new ByteArrayInputStream(testJsonString.getBytes("UTF-8")))
+                        .getObjectValue(TestEntity::createFromDiscriminatorValue);
+        final var streamedEntity =
+                getParseNode(testJsonString)
+                        .getObjectValue(TestEntity::createFromDiscriminatorValue);
+        assertEquals(treeEntity.getId(), streamedEntity.getId());
+        assertEquals(treeEntity.getPhones(), streamedEntity.getPhones());
+        assertEquals(treeEntity.getEnumCollection(), streamedEntity.getEnumCollection());
+        assertEquals(treeEntity.getBirthDay(), streamedEntity.getBirthDay());
+        assertEquals(
+                treeEntity.getAdditionalData().keySet(),
+                streamedEntity.getAdditionalData().keySet());
+    }
+
+    @Test
+    void readsDiscriminatorAheadOfTheOtherFields() throws UnsupportedEncodingException {
+        final var parseNode =
+                getParseNode(
+                        "{\"officeLocation\":\"Montreal\",\"@odata.type\":\"#microsoft.graph.testEntity\","
+                            + " \"id\": \"opaque\"}");
+        final var result = parseNode.getObjectValue(UnionTypeMock::createFromDiscriminatorValue);
+        assertNotNull(result.getComposedType1());
+        assertEquals("Montreal", result.getComposedType1().getOfficeLocation());
+        assertEquals("opaque", result.getComposedType1().getId());
+    }
+
+    @Test
+    void buffersTheObjectWhenTheChildNodeIsMissing() throws UnsupportedEncodingException {
+        final var parseNode = getParseNode("{\"id\":\"opaque\",\"officeLocation\":\"Montreal\"}");
+        assertNull(parseNode.getChildNode("@odata.type"));
+        final var result = parseNode.getObjectValue(TestEntity::createFromDiscriminatorValue);
+        assertEquals("opaque", result.getId());
+        assertEquals("Montreal", result.getOfficeLocation());
+    }
+
+    @Test
+    void streamsCollectionsProbedByComposedTypes() throws UnsupportedEncodingException {
+        final var parseNode =
+                getParseNode(
+                        "[{\"@odata.type\":\"#microsoft.graph.TestEntity\",\"officeLocation\":\"Ottawa\","
+                            + " \"id\": \"11\"}, {\"officeLocation\":\"Montreal\", \"id\":"
+                            + " \"10\"}]");
+        final var result = parseNode.getObjectValue(UnionTypeMock::createFromDiscriminatorValue);
+        assertNotNull(result.getComposedType3());
+        assertEquals(2, result.getComposedType3().size());
+        assertEquals("11", result.getComposedType3().get(0).getId());
+        assertEquals("Montreal", result.getComposedType3().get(1).getOfficeLocation());
+    }
+
+    @Test
+    void iteratesOverCollectionsLazily() throws UnsupportedEncodingException {
+        final var parseNode =
+                getParseNode(
+                        "[{\"id\":\"1\",\"phones\":[\"+1\"],\"extra\":{\"a\":[1]}},null,{\"id\":\"3\"}]");
+        final var iterator =
+                parseNode.iterateCollectionOfObjectValues(TestEntity::createFromDiscriminatorValue);
+        assertNotNull(iterator);
+        assertTrue(iterator.hasNext());
+        assertTrue(iterator.hasNext());
+        assertEquals("1", iterator.next().getId());
+        assertNull(iterator.next().getId());
+        assertEquals("3", iterator.next().getId());
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+    @Test
+    void readsScalarRootValues() throws UnsupportedEncodingException {
+        final var parseNode = getParseNode("\"officeLocation\"");
+        final var result = parseNode.getObjectValue(UnionTypeMock::createFromDiscriminatorValue);
+        assertEquals("officeLocation", result.getStringValue());
+        assertEquals(42, getParseNode("42").getIntegerValue());
+    }
+
+    @Test
+    void getsUntypedNodes() throws UnsupportedEncodingException {
+        final var parseNode =
+                getParseNode(
+                        "{\"id\":\"5\",\"location\":{\"displayName\":\"Microsoft Building"
+                            + " 92\",\"floorCount\":50},\"table\":[[1,2],[3,4]],\"detail\":null}");
+        final var entity =
+                parseNode.getObjectValue(UntypedTestEntity::createFromDiscriminatorValue);
+        assertEquals("5", entity.getId());
+        final var location = (UntypedObject) entity.getLocation();
+        assertEquals(
+                "Microsoft Building 92",
+                ((UntypedString) location.getValue().get("displayName")).getValue());
+        final var table = (UntypedArray) entity.getTable();
+        final List<UntypedNode> rows = new ArrayList<>();
+        table.getValue().forEach(rows::add);
+        assertEquals(2, rows.size());
+        assertNull(entity.getDetail());
+    }
+
+    @Test
+    void getsCollectionsOfPrimitiveValues() throws UnsupportedEncodingException {
+        final var doubles =
+                getParseNode("[1.1,2.2,null]").getCollectionOfPrimitiveValues(Double.class);
+        assertEquals(3, doubles.size());
+        assertEquals(2.2, doubles.get(1), 0.000001);
+        assertNull(doubles.get(2));
+        assertNull(getParseNode("null").getCollectionOfPrimitiveValues(Double.class));
+    }
+
+    @Test
+    void returnsNullValueForEmptyPayloads() throws UnsupportedEncodingException {
+        final var parseNode = getParseNode("");
+        assertNull(parseNode.getStringValue());
+        assertNull(parseNode.getCollectionOfObjectValues(TestEntity::createFromDiscriminatorValue));
+    }
+
+    @Test
+    void failsWhenAnObjectIsStreamedTwice() throws UnsupportedEncodingException {
+        final var parseNode = getParseNode("{\"id\":\"opaque\"}");
+        parseNode.getObjectValue(TestEntity::createFromDiscriminatorValue);
+        assertThrows(
+                IllegalStateException.class,
+                () -> parseNode.getObjectValue(TestEntity::createFromDiscriminatorValue));
+    }
+
+    @Test
+    void returnsNullForTypedScalarsOfObjectValues() throws UnsupportedEncodingException {
+        assertNull(getParseNode("{\"id\":\"opaque\"}").getUUIDValue());
+        final var parseNode = getParseNode("{\"id\":\"opaque\"}");
+        final var entity = parseNode.getObjectValue(TestEntity::createFromDiscriminatorValue);
+        assertEquals("opaque", entity.getId());
+        assertNull(parseNode.getUUIDValue());
+        assertNull(parseNode.getOffsetDateTimeValue());
+        assertNull(parseNode.getLocalDateValue());
+        assertNull(parseNode.getLocalTimeValue());
+        assertNull(parseNode.getPeriodAndDurationValue());
+    }
+}
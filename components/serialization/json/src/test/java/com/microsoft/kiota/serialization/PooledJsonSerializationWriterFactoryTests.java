@@ -0,0 +1,67 @@
+package com.microsoft.kiota.serialization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.microsoft.kiota.Compatibility;
+import com.microsoft.kiota.serialization.mocks.TestEntity;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+class PooledJsonSerializationWriterFactoryTests {
+    private static final String contentType = "application/json";
+
+    private static String serialize(final SerializationWriter writer, final String id)
+            throws IOException {
+        final TestEntity testEntity = new TestEntity();
+        testEntity.setId(id);
+        writer.writeObjectValue("", testEntity);
+        return new String(
+                Compatibility.readAllBytes(writer.getSerializedContent()), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void reusesWritersReturnedToThePool() throws IOException {
+        final var factory = new PooledJsonSerializationWriterFactory();
+        final var firstWriter = factory.getSerializationWriter(contentType);
+        assertEquals("{\"id\":\"first\"}", serialize(firstWriter, "first"));
+        firstWriter.setOnBeforeObjectSerialization(x -> {});
+        firstWriter.close();
+        firstWriter.close();
+        assertEquals(1, factory.getPooledWriterCount());
+
+        final var secondWriter = factory.getSerializationWriter(contentType);
+        assertSame(firstWriter, secondWriter);
+        assertNull(secondWriter.getOnBeforeObjectSerialization());
+        assertEquals("{\"id\":\"second\"}", serialize(secondWriter, "second"));
+        assertEquals(1, factory.getPoolHits());
+        assertEquals(1, factory.getPoolMisses());
+        assertEquals(0, factory.getPooledWriterCount());
+    }
+
+    @Test
+    void discardsWritersBeyondTheConfiguredLimits() throws IOException {
+        final var factory =
+                new PooledJsonSerializationWriterFactory(
+                        DefaultGsonBuilder.getDefaultInstance(), 1, 16);
+        final var largeWriter = factory.getSerializationWriter(contentType);
+        serialize(largeWriter, "a value longer than the retained buffer");
+        largeWriter.close();
+        assertEquals(0, factory.getPooledWriterCount());
+
+        final var firstWriter = factory.getSerializationWriter(contentType);
+        final var secondWriter = factory.getSerializationWriter(contentType);
+        serialize(firstWriter, "first");
+        serialize(secondWriter, "second");
+        firstWriter.close();
+        secondWriter.close();
+        assertEquals(1, factory.getPooledWriterCount());
+        assertEquals(3, factory.getPoolMisses());
+        assertNotSame(largeWriter, factory.getSerializationWriter(contentType));
+    }
+}
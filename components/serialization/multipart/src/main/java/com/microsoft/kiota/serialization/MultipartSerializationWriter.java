@@ -6,7 +6,6 @@ import com.microsoft.kiota.PeriodAndDuration;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -159,7 +158,7 @@ public class MultipartSerializationWriter implements SerializationWriter {
     }
 
     @Nonnull public InputStream getSerializedContent() {
-        return new ByteArrayInputStream(this.stream.toByteArray());
+        return new SerializedContentStream(this.stream.toByteArray());
     }
 
     public void close() throws IOException {
@@ -5,7 +5,6 @@ import com.microsoft.kiota.PeriodAndDuration;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -163,7 +162,7 @@ public class TextSerializationWriter implements SerializationWriter {
     @Nonnull public InputStream getSerializedContent() {
         try {
             this.writer.flush();
-            return new ByteArrayInputStream(this.stream.toByteArray());
+            return new SerializedContentStream(this.stream.toByteArray());
             // This copies the whole array in memory could result in memory pressure for large
             // objects, we might want to replace by some kind of piping in the future
         } catch (IOException ex) {